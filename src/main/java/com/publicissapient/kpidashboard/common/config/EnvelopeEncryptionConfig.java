@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Envelope encryption of credentials: secrets are encrypted with AES-GCM under
+ * a data key of the active key version instead of a key derived per value.
+ * Values encrypted before the mode was enabled stay readable and are migrated
+ * by the connection re-encryption job.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "envelope-encryption")
+public class EnvelopeEncryptionConfig {
+	private boolean enabled;
+	/* version new values are encrypted with */
+	private int activeKeyVersion = 1;
+	/* key version to the secret its data key is derived from */
+	private Map<Integer, String> keys = new HashMap<>();
+	/* AES key of the values encrypted before envelope encryption */
+	private String legacyKey;
+	private boolean reEncryptOnStartup;
+}
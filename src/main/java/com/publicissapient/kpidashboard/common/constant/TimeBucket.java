@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.constant;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+
+/**
+ * Bucket sizes for server-side downsampling of time series. Each bucket knows
+ * the {@code $dateToString} format that names it and how to turn that name
+ * back into the first day of the bucket.
+ */
+public enum TimeBucket {
+	DAY("%Y-%m-%d"), WEEK("%G-W%V"), MONTH("%Y-%m");
+
+	private final String dateFormat;
+
+	TimeBucket(String dateFormat) {
+		this.dateFormat = dateFormat;
+	}
+
+	public String getDateFormat() {
+		return dateFormat;
+	}
+
+	/**
+	 * Parses a bucket name produced with {@link #getDateFormat()}.
+	 *
+	 * @param key
+	 *          bucket name
+	 * @return first day of the bucket (the Monday for weeks)
+	 */
+	public LocalDate startOf(String key) {
+		return switch (this) {
+			case WEEK -> {
+				String[] parts = key.split("-W");
+				yield LocalDate.of(Integer.parseInt(parts[0]), 1, 4)
+						.with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, Integer.parseInt(parts[1])).with(DayOfWeek.MONDAY);
+			}
+			case MONTH -> YearMonth.parse(key).atDay(1);
+			default -> LocalDate.parse(key);
+		};
+	}
+}
@@ -19,6 +19,8 @@
 package com.publicissapient.kpidashboard.common.model.application;
 
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.publicissapient.kpidashboard.common.constant.BuildStatus;
@@ -36,7 +38,19 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "build_details")
+@CompoundIndexes({
+		@CompoundIndex(name = Build.PROJECT_TIMING_INDEX, def = "{'basicProjectConfigId': 1, 'startTime': 1, 'endTime': 1, 'buildStatus': 1, 'duration': 1, 'buildJob': 1}"),
+		@CompoundIndex(name = "projectToolConfigId_1_number_1", def = "{'projectToolConfigId': 1, 'number': 1}"),
+		@CompoundIndex(name = "projectToolConfigId_1_buildJob_1", def = "{'projectToolConfigId': 1, 'buildJob': 1}"),
+		@CompoundIndex(name = "basicProjectConfigId_1_buildJob_1_number_1", def = "{'basicProjectConfigId': 1, 'buildJob': 1, 'number': 1}")})
 public class Build extends BasicModel {
+
+	/**
+	 * Name of the index backing date-range build queries. Its key set also covers
+	 * the fields read by the build frequency and duration KPIs.
+	 */
+	public static final String PROJECT_TIMING_INDEX = "basicProjectConfigId_1_startTime_1_endTime_1_buildStatus_1_duration_1_buildJob_1";
+
 	private ObjectId processorId;
 	private ObjectId basicProjectConfigId;
 	private ObjectId projectToolConfigId;
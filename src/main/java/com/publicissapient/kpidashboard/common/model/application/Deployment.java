@@ -9,8 +9,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.publicissapient.kpidashboard.common.constant.DeploymentStatus;
 import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+import com.publicissapient.kpidashboard.common.util.DateUtil;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,10 +19,10 @@ import lombok.Setter;
 @Data
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "deployments")
 @CompoundIndex(def = "{'basicProjectConfigId': 1, 'startTime': 1}", name = "basicProjectConfigId_1_startTime_1")
+@CompoundIndex(def = "{'basicProjectConfigId': 1, 'startTimeEpoch': 1}", name = "basicProjectConfigId_1_startTimeEpoch_1")
 public class Deployment extends BasicModel {
 
 	private ObjectId processorId;
@@ -46,6 +46,53 @@ public class Deployment extends BasicModel {
 	private List<String> changeSets;
 	private String tool;
 	private String repoUrl;
+	/** startTime in epoch millis, kept in sync by the setter and backfilled for old documents */
+	private Long startTimeEpoch;
+	/** endTime in epoch millis, kept in sync by the setter and backfilled for old documents */
+	private Long endTimeEpoch;
+
+	/*
+	 * all-args constructor without the derived epoch fields, so it keeps the
+	 * signature callers compiled against
+	 */
+	@SuppressWarnings("java:S107")
+	public Deployment(ObjectId processorId, ObjectId basicProjectConfigId, ObjectId projectToolConfigId, String envId,
+			String envName, String envUrl, String startTime, String endTime, long duration,
+			DeploymentStatus deploymentStatus, String jobId, String jobName, String jobFolderName, String pipelineName,
+			String deployedBy, String number, String createdAt, String updatedTime, List<String> changeSets, String tool,
+			String repoUrl) {
+		this.processorId = processorId;
+		this.basicProjectConfigId = basicProjectConfigId;
+		this.projectToolConfigId = projectToolConfigId;
+		this.envId = envId;
+		this.envName = envName;
+		this.envUrl = envUrl;
+		setStartTime(startTime);
+		setEndTime(endTime);
+		this.duration = duration;
+		this.deploymentStatus = deploymentStatus;
+		this.jobId = jobId;
+		this.jobName = jobName;
+		this.jobFolderName = jobFolderName;
+		this.pipelineName = pipelineName;
+		this.deployedBy = deployedBy;
+		this.number = number;
+		this.createdAt = createdAt;
+		this.updatedTime = updatedTime;
+		this.changeSets = changeSets;
+		this.tool = tool;
+		this.repoUrl = repoUrl;
+	}
+
+	public void setStartTime(String startTime) {
+		this.startTime = startTime;
+		this.startTimeEpoch = DateUtil.parseToEpochMillis(startTime);
+	}
+
+	public void setEndTime(String endTime) {
+		this.endTime = endTime;
+		this.endTimeEpoch = DateUtil.parseToEpochMillis(endTime);
+	}
 
 	@Override
 	public boolean equals(Object o) {
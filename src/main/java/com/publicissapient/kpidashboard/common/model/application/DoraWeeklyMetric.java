@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.application;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestCube.PercentileSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The four DORA metrics of one project in one week.
+ *
+ * <p>
+ * Deployment frequency and change failure rate are taken from deployments
+ * started in the week; when a project has no deployment tool the change failure
+ * rate falls back to its builds. Lead time covers the merge requests delivered
+ * in the week and time to restore covers the production incidents opened in the
+ * week.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "dora_weekly_metrics")
+@CompoundIndex(def = "{'basicProjectConfigId': 1, 'week': 1}", unique = true)
+public class DoraWeeklyMetric extends BasicModel {
+
+	private ObjectId basicProjectConfigId;
+
+	/** Monday of the week, yyyy-MM-dd (UTC) */
+	private String week;
+
+	private int deploymentCount;
+
+	private int failedDeploymentCount;
+
+	private int buildCount;
+
+	private int failedBuildCount;
+
+	/** First commit to delivery in milliseconds */
+	private PercentileSummary leadTime;
+
+	private int incidentCount;
+
+	private int restoredIncidentCount;
+
+	/** Incident creation to closure in milliseconds */
+	private PercentileSummary timeToRestore;
+
+	/** Epoch millis of the last recomputation */
+	private long computedAt;
+
+	/**
+	 * @return failed share of deployments, or of builds when there were no
+	 *         deployments; null when there was neither
+	 */
+	public Double getChangeFailureRate() {
+		if (deploymentCount > 0) {
+			return (double) failedDeploymentCount / deploymentCount;
+		}
+		if (buildCount > 0) {
+			return (double) failedBuildCount / buildCount;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.model.application;
+
+import java.time.LocalDateTime;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change of one field mapping field, the append-only counterpart of an
+ * entry in the {@code history<Field>} lists of {@link FieldMappingHistory}.
+ * Node specific fields carry the release node the change applies to.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "field_mapping_change_log")
+@CompoundIndex(name = "project_field_node_changed_at_idx", def = "{'basicProjectConfigId': 1, 'fieldName': 1, 'releaseNodeId': 1, 'changedAt': 1}")
+public class FieldMappingChangeLog extends BasicModel {
+
+	private ObjectId basicProjectConfigId;
+	private String fieldName;
+	private String releaseNodeId;
+	private LocalDateTime changedAt;
+	private Object changedFrom;
+	private Object changedTo;
+	private String changedBy;
+
+	/**
+	 * @return the change in the form kept in {@link FieldMappingHistory}
+	 */
+	public ConfigurationHistoryChangeLog toHistoryChangeLog() {
+		ConfigurationHistoryChangeLog changeLog = new ConfigurationHistoryChangeLog(changedFrom, changedTo, changedBy,
+				changedAt == null ? null : changedAt.toString());
+		changeLog.setReleaseNodeId(releaseNodeId);
+		return changeLog;
+	}
+}
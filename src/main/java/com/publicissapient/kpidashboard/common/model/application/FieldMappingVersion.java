@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.model.application;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.Data;
+
+/**
+ * Version stamp of a project's field mapping, incremented on every save so
+ * that each node can tell when its cached field mapping is out of date.
+ */
+@Data
+@Document(collection = "field_mapping_version")
+public class FieldMappingVersion extends BasicModel {
+	@Indexed(unique = true)
+	private ObjectId basicProjectConfigId;
+	private long version;
+}
@@ -1,7 +1,9 @@
 package com.publicissapient.kpidashboard.common.model.application;
 
+import java.util.Locale;
 import java.util.TreeSet;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
@@ -11,6 +13,32 @@ import lombok.Data;
 @Data
 @Document(collection = "hierarchy_level_suggestions")
 public class HierarchyLevelSuggestion extends BasicModel {
+	/*
+	 * unique, the index is created by the repository once duplicate levels are
+	 * merged
+	 */
 	private String hierarchyLevelId;
 	private TreeSet<String> values;
+	/*
+	 * case-folded values, used to add a value only when no casing of it exists
+	 */
+	private TreeSet<String> normalizedValues;
+
+	/**
+	 * @param value
+	 *          a suggestion value
+	 * @return the value with collapsed whitespace
+	 */
+	public static String normalizeValue(String value) {
+		return StringUtils.normalizeSpace(value);
+	}
+
+	/**
+	 * @param value
+	 *          a suggestion value or prefix
+	 * @return the case-folded form suggestions are matched on
+	 */
+	public static String foldValue(String value) {
+		return normalizeValue(value).toLowerCase(Locale.ROOT);
+	}
 }
@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.application;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of syncing the stored nodes of a project with its desired nodes. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectHierarchySyncResult {
+
+	private int inserted;
+	private int updated;
+	private int deleted;
+	private int unchanged;
+
+	/**
+	 * @return whether any document was written
+	 */
+	public boolean hasChanges() {
+		return inserted + updated + deleted > 0;
+	}
+}
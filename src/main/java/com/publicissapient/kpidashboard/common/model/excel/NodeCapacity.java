@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.excel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.application.AdditionalFilterCapacity;
+import com.publicissapient.kpidashboard.common.model.application.LeafNodeCapacity;
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Capacity of a single additional filter node (e.g. a squad) flattened out of
+ * {@link CapacityKpiData} for scrum sprints or {@link KanbanCapacity} for
+ * kanban date ranges, so that a node's capacity can be read without decoding
+ * every node of the parent document.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "node_capacity")
+@CompoundIndexes({
+		@CompoundIndex(name = "basicProjectConfigId_1_filterId_1_additionalFilterId_1_sprintID_1", def = "{'basicProjectConfigId': 1, 'filterId': 1, 'additionalFilterId': 1, 'sprintID': 1}"),
+		@CompoundIndex(name = "basicProjectConfigId_1_filterId_1_additionalFilterId_1_startDate_1_endDate_1", def = "{'basicProjectConfigId': 1, 'filterId': 1, 'additionalFilterId': 1, 'startDate': 1, 'endDate': 1}")})
+public class NodeCapacity extends BasicModel {
+
+	private ObjectId basicProjectConfigId;
+	private boolean kanban;
+	/*
+	 * Scrum capacity is keyed by sprint, kanban capacity by its date range
+	 */
+	private String sprintID;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	/*
+	 * filterId is stored upper-cased as lookups are case-insensitive on it
+	 */
+	private String filterId;
+	private String additionalFilterId;
+	private Double capacity;
+
+	/**
+	 * Flattens the additional filter breakdown of a sprint's capacity.
+	 *
+	 * @param capacityKpiData
+	 *          sprint capacity
+	 * @return one entry per additional filter node
+	 */
+	public static List<NodeCapacity> of(CapacityKpiData capacityKpiData) {
+		List<NodeCapacity> nodeCapacities = new ArrayList<>();
+		flatten(capacityKpiData.getAdditionalFilterCapacityList(),
+				(filterId, leaf) -> nodeCapacities.add(NodeCapacity.builder()
+						.basicProjectConfigId(capacityKpiData.getBasicProjectConfigId()).kanban(false)
+						.sprintID(capacityKpiData.getSprintID()).filterId(filterId)
+						.additionalFilterId(leaf.getAdditionalFilterId()).capacity(leaf.getAdditionalFilterCapacity())
+						.build()));
+		return nodeCapacities;
+	}
+
+	/**
+	 * Flattens the additional filter breakdown of a kanban capacity range.
+	 *
+	 * @param kanbanCapacity
+	 *          kanban capacity
+	 * @return one entry per additional filter node
+	 */
+	public static List<NodeCapacity> of(KanbanCapacity kanbanCapacity) {
+		List<NodeCapacity> nodeCapacities = new ArrayList<>();
+		flatten(kanbanCapacity.getAdditionalFilterCapacityList(),
+				(filterId, leaf) -> nodeCapacities.add(NodeCapacity.builder()
+						.basicProjectConfigId(kanbanCapacity.getBasicProjectConfigId()).kanban(true)
+						.startDate(kanbanCapacity.getStartDate()).endDate(kanbanCapacity.getEndDate()).filterId(filterId)
+						.additionalFilterId(leaf.getAdditionalFilterId()).capacity(leaf.getAdditionalFilterCapacity())
+						.build()));
+		return nodeCapacities;
+	}
+
+	/**
+	 * @param filterId
+	 *          additional filter id as configured
+	 * @return the stored form of the filter id
+	 */
+	public static String normalizeFilterId(String filterId) {
+		return filterId == null ? null : filterId.toUpperCase(Locale.ROOT);
+	}
+
+	private static void flatten(List<AdditionalFilterCapacity> additionalFilterCapacityList,
+			BiConsumer<String, LeafNodeCapacity> consumer) {
+		if (CollectionUtils.isEmpty(additionalFilterCapacityList)) {
+			return;
+		}
+		for (AdditionalFilterCapacity additionalFilterCapacity : additionalFilterCapacityList) {
+			if (additionalFilterCapacity.getFilterId() == null
+					|| CollectionUtils.isEmpty(additionalFilterCapacity.getNodeCapacityList())) {
+				continue;
+			}
+			String filterId = normalizeFilterId(additionalFilterCapacity.getFilterId());
+			additionalFilterCapacity.getNodeCapacityList().stream()
+					.filter(leaf -> leaf != null && leaf.getAdditionalFilterId() != null)
+					.forEach(leaf -> consumer.accept(filterId, leaf));
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.jira;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Happiness ratings of a sprint summed up over all {@link HappinessKpiData}
+ * submissions: overall and per user rating counts, sums and distributions.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "happiness_summary")
+@CompoundIndex(name = "basicProjectConfigId_1_sprintID_1", def = "{'basicProjectConfigId': 1, 'sprintID': 1}", unique = true)
+public class HappinessSummary extends BasicModel {
+
+	private ObjectId basicProjectConfigId;
+	private String sprintID;
+	private long ratingCount;
+	private long ratingSum;
+	/*
+	 * rating value to number of times it was given
+	 */
+	@Builder.Default
+	private Map<String, Long> distribution = new TreeMap<>();
+	@Builder.Default
+	private List<UserHappiness> users = new ArrayList<>();
+
+	/**
+	 * @return average rating of the sprint, null when nobody rated
+	 */
+	public Double getAverageRating() {
+		return average(ratingSum, ratingCount);
+	}
+
+	private static Double average(long sum, long count) {
+		return count == 0 ? null : (double) sum / count;
+	}
+
+	/** Ratings given by one user in the sprint. */
+	@Data
+	@Builder
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class UserHappiness {
+		private String userId;
+		private String userName;
+		private long ratingCount;
+		private long ratingSum;
+		@Builder.Default
+		private Map<String, Long> distribution = new TreeMap<>();
+
+		/**
+		 * @return average rating of the user, null when the user did not rate
+		 */
+		public Double getAverageRating() {
+			return average(ratingSum, ratingCount);
+		}
+	}
+}
@@ -50,6 +50,7 @@ import lombok.Setter;
 @CompoundIndex(def = "{'processorItemId': 1, 'commitTimestamp': -1}")
 @CompoundIndex(def = "{'commitAuthorId': 1, 'commitTimestamp': -1}")
 @CompoundIndex(def = "{'repositoryName': 1, 'commitTimestamp': -1}")
+@CompoundIndex(def = "{'processorItemId': 1, 'fileChanges.filePath': 1}")
 public class ScmCommits extends BasicModel {
 
 	private List<ObjectId> projectConfigId = new ArrayList<>();
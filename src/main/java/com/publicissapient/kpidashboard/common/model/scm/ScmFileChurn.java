@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.scm;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incrementally maintained change statistics of one file in one repository,
+ * used for churn and hotspot analysis without reading commits.
+ *
+ * <p>
+ * Totals cover every recorded commit; {@link #weeks} holds the same figures per
+ * week, keyed by the ISO date (yyyy-MM-dd) of the week's Monday in UTC.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "scm_file_churn")
+@CompoundIndex(def = "{'processorItemId': 1, 'filePath': 1}", unique = true)
+@CompoundIndex(def = "{'processorItemId': 1, 'changeCount': -1}")
+public class ScmFileChurn extends BasicModel {
+
+	/** Tool configuration ID that identifies the repository */
+	private ObjectId processorItemId;
+
+	/** Path of the file */
+	private String filePath;
+
+	/** Number of commits that changed the file */
+	private long changeCount;
+
+	/** Lines added over all commits */
+	private long addedLines;
+
+	/** Lines removed over all commits */
+	private long removedLines;
+
+	/** Distinct commit author ids that changed the file */
+	@Builder.Default
+	private Set<String> authorIds = new HashSet<>();
+
+	/** Timestamp of the latest recorded change, epoch millis */
+	private Long lastChangedAt;
+
+	/** Per-week statistics keyed by week start date */
+	@Builder.Default
+	private Map<String, WeeklyChurn> weeks = new HashMap<>();
+
+	/**
+	 * Gets the number of distinct authors.
+	 *
+	 * @return distinct author count
+	 */
+	public int getAuthorCount() {
+		return authorIds == null ? 0 : authorIds.size();
+	}
+
+	/** Change statistics of a file within one week. */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class WeeklyChurn {
+		private long changeCount;
+		private long addedLines;
+		private long removedLines;
+		private Set<String> authorIds = new HashSet<>();
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.scm;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cell of the weekly merge-request cube: the merge requests of a repository
+ * (and optionally of one author) in one week, with ready percentile summaries.
+ *
+ * <p>
+ * The repository-wide cell uses {@link #ALL_AUTHORS} as author.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "scm_merge_request_cube")
+@CompoundIndex(def = "{'processorItemId': 1, 'authorUserId': 1, 'week': 1}", unique = true)
+public class ScmMergeRequestCube extends BasicModel {
+
+	public static final String ALL_AUTHORS = "ALL";
+
+	private ObjectId processorItemId;
+
+	/** Author user id, or {@link #ALL_AUTHORS} for the whole repository */
+	private String authorUserId;
+
+	/** Monday of the week, yyyy-MM-dd (UTC) */
+	private String week;
+
+	private int mergeRequestCount;
+
+	private int mergedCount;
+
+	private int closedCount;
+
+	private long linesChanged;
+
+	private long reviewerCount;
+
+	@Builder.Default
+	private Map<ScmMergeRequestTiming.SizeBucket, Integer> sizeBuckets = new EnumMap<>(
+			ScmMergeRequestTiming.SizeBucket.class);
+
+	/** Creation to merge in milliseconds */
+	private PercentileSummary timeToMerge;
+
+	/** Creation to first review in milliseconds */
+	private PercentileSummary reviewLatency;
+
+	/** Nearest-rank percentiles of a set of durations. */
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class PercentileSummary {
+		private int count;
+		private long min;
+		private long p50;
+		private long p75;
+		private long p90;
+		private long p95;
+		private long max;
+		private double mean;
+
+		/**
+		 * Summarises sorted values.
+		 *
+		 * @param sortedValues
+		 *          values in ascending order
+		 * @return the summary, null when there are no values
+		 */
+		public static PercentileSummary of(List<Long> sortedValues) {
+			if (sortedValues == null || sortedValues.isEmpty()) {
+				return null;
+			}
+			int size = sortedValues.size();
+			double mean = sortedValues.stream().mapToLong(Long::longValue).average().orElse(0);
+			return new PercentileSummary(size, sortedValues.get(0), rank(sortedValues, 50), rank(sortedValues, 75),
+					rank(sortedValues, 90), rank(sortedValues, 95), sortedValues.get(size - 1), mean);
+		}
+
+		private static long rank(List<Long> sortedValues, int percentile) {
+			int index = (int) Math.ceil(percentile / 100.0 * sortedValues.size()) - 1;
+			return sortedValues.get(Math.max(index, 0));
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.scm;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lifecycle timings of one merge request, derived from {@link ScmMergeRequests}
+ * on every upsert so PR KPIs do not decode the full merge request.
+ *
+ * <p>
+ * All timestamps are epoch milliseconds, durations are milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "scm_merge_request_timing")
+@CompoundIndex(def = "{'processorItemId': 1, 'externalId': 1}", unique = true)
+@CompoundIndex(def = "{'processorItemId': 1, 'week': 1, 'authorUserId': 1}")
+public class ScmMergeRequestTiming extends BasicModel {
+
+	/** Tool configuration ID that identifies the repository */
+	private ObjectId processorItemId;
+
+	/** External ID of the merge request on the platform */
+	private String externalId;
+
+	/** ID of the User who created the merge request */
+	private String authorUserId;
+
+	/** State of the merge request when last recorded */
+	private String state;
+
+	private Long createdAt;
+
+	/** When the merge request was first picked for review */
+	private Long firstReviewAt;
+
+	private Long mergedAt;
+
+	private Long closedAt;
+
+	private Integer linesChanged;
+
+	private Integer reviewerCount;
+
+	/** Creation to merge, null until merged */
+	private Long timeToMerge;
+
+	/** Creation to first review, null until reviewed */
+	private Long reviewLatency;
+
+	private SizeBucket sizeBucket;
+
+	/**
+	 * Cube week of the merge request: Monday (yyyy-MM-dd, UTC) of the merge week,
+	 * else of the close week, else of the creation week
+	 */
+	private String week;
+
+	/** Merge request size by lines changed. */
+	public enum SizeBucket {
+		XS(10), S(50), M(250), L(1000), XL(Integer.MAX_VALUE);
+
+		private final int maxLines;
+
+		SizeBucket(int maxLines) {
+			this.maxLines = maxLines;
+		}
+
+		/**
+		 * Gets the bucket for a number of changed lines.
+		 *
+		 * @param linesChanged
+		 *          lines added plus removed
+		 * @return the smallest bucket that holds the lines
+		 */
+		public static SizeBucket of(int linesChanged) {
+			for (SizeBucket bucket : values()) {
+				if (linesChanged <= bucket.maxLines) {
+					return bucket;
+				}
+			}
+			return XL;
+		}
+	}
+}
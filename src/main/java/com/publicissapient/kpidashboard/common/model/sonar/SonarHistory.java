@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.publicissapient.kpidashboard.common.constant.SonarAnalysisType;
@@ -42,6 +43,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "sonar_history")
+@CompoundIndex(def = "{'processorItemId': 1, 'timestamp': 1}", name = "processorItemId_1_timestamp_1")
 public class SonarHistory extends BasicModel {
 	private ObjectId processorItemId;
 	private Long timestamp;
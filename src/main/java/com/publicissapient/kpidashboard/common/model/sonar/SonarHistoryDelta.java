@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.sonar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.constant.SonarAnalysisType;
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * One analysis of a component in the delta-encoded sonar history. Every
+ * {@code keyframeInterval}-th analysis is a keyframe holding all metrics; the
+ * analyses in between only hold the metrics that changed since the previous
+ * analysis and the names of the metrics that disappeared.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "sonar_history_delta")
+@CompoundIndex(def = "{'processorItemId': 1, 'sequence': 1}", unique = true)
+@CompoundIndex(def = "{'processorItemId': 1, 'timestamp': 1}")
+public class SonarHistoryDelta extends BasicModel {
+
+	private ObjectId processorItemId;
+
+	/** Position of the analysis in the component history, starting at 0 */
+	private long sequence;
+
+	private boolean keyframe;
+
+	private Long timestamp;
+	private String name;
+	private String url;
+	private SonarAnalysisType type;
+	private String version;
+	private ObjectId buildId;
+	private String qualityType;
+	private String key;
+	private Long date;
+	private Integer platform;
+	private String branch;
+
+	/**
+	 * Date every metric of the analysis carries, left out of the stored metrics
+	 * and restored on read; null when the metric dates differ
+	 */
+	private String metricDate;
+
+	/** All metrics on a keyframe, changed or added metrics otherwise */
+	@Builder.Default
+	private List<SonarMetric> metrics = new ArrayList<>();
+
+	/** Names of metrics no longer reported, always empty on a keyframe */
+	@Builder.Default
+	private List<String> removedMetrics = new ArrayList<>();
+}
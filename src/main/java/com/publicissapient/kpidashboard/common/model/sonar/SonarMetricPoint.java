@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.sonar;
+
+import java.time.LocalDate;
+
+import org.bson.types.ObjectId;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Last value of a sonar metric of one component in one time bucket. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SonarMetricPoint {
+	private ObjectId processorItemId;
+	private String metricName;
+	/** First day of the bucket (UTC) */
+	private LocalDate bucketStart;
+	/** Timestamp of the analysis the value comes from */
+	private Long timestamp;
+	private Object metricValue;
+	private String formattedValue;
+}
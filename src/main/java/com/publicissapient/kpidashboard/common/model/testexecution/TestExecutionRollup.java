@@ -0,0 +1,86 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.model.testexecution;
+
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Test execution totals of a project for one sprint ({@link TestExecution}) or
+ * one day ({@link KanbanTestExecution}). Returned by the roll-up queries and
+ * materialised in {@code test_execution_rollup}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Document(collection = "test_execution_rollup")
+@CompoundIndex(def = "{'basicProjectConfigId': 1, 'granularity': 1, 'groupKey': 1}", unique = true)
+public class TestExecutionRollup extends BasicModel {
+
+	public enum Granularity {
+		SPRINT, DAY
+	}
+
+	private String basicProjectConfigId;
+
+	private Granularity granularity;
+
+	/** Sprint id, or execution day as yyyy-MM-dd */
+	private String groupKey;
+
+	/** Sprint name, null for days */
+	private String sprintName;
+
+	/** Number of execution rows rolled up */
+	private int rowCount;
+
+	private long totalTestCases;
+
+	private long executedTestCase;
+
+	private long passedTestCase;
+
+	private long automatedTestCases;
+
+	private long automatableTestCases;
+
+	/**
+	 * @return automated share of automatable test cases in percent, null when
+	 *         nothing is automatable
+	 */
+	public Double getAutomationPercentage() {
+		return automatableTestCases == 0 ? null : automatedTestCases * 100.0 / automatableTestCases;
+	}
+
+	/**
+	 * @return passed share of executed test cases in percent, null when nothing
+	 *         was executed
+	 */
+	public Double getPassPercentage() {
+		return executedTestCase == 0 ? null : passedTestCase * 100.0 / executedTestCase;
+	}
+}
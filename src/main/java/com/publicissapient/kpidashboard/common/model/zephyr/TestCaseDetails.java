@@ -17,10 +17,21 @@
  ******************************************************************************/
 package com.publicissapient.kpidashboard.common.model.zephyr;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
 
+import org.apache.commons.lang3.StringUtils;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.publicissapient.kpidashboard.common.model.generic.BasicModel;
@@ -29,8 +40,13 @@ import lombok.Data;
 
 @Data
 @Document(collection = "test_case_details")
+@CompoundIndexes({
+		@CompoundIndex(name = "basicProjectConfigId_1_number_1", def = "{'basicProjectConfigId': 1, 'number': 1}"),
+		@CompoundIndex(name = "basicProjectConfigId_1_normalizedLabels_1", def = "{'basicProjectConfigId': 1, 'normalizedLabels': 1}")})
 public class TestCaseDetails extends BasicModel {
 
+	private static final char FIELD_SEPARATOR = '\u001f';
+
 	private ObjectId processorId;
 	private String number;
 	private String originalTypeName;
@@ -55,4 +71,66 @@ public class TestCaseDetails extends BasicModel {
 	private String testCaseStatus;
 
 	private List<TestCaseExecutionData> executions;
+
+	/*
+	 * Sync bookkeeping: trimmed, lower-cased, de-duplicated labels and a hash of
+	 * the fields above, both maintained by TestCaseDetailsRepositoryCustom#syncTestCases
+	 */
+	private List<String> normalizedLabels;
+	private String contentHash;
+
+	/**
+	 * Normalises labels so that label filters can be matched exactly against
+	 * {@code normalizedLabels}.
+	 *
+	 * @param labels
+	 *          raw labels, may be null
+	 * @return sorted, distinct, lower-cased labels without blanks
+	 */
+	public static List<String> normalizeLabels(Collection<String> labels) {
+		if (labels == null) {
+			return List.of();
+		}
+		return labels.stream().filter(StringUtils::isNotBlank).map(label -> label.trim().toLowerCase(Locale.ROOT))
+				.distinct().sorted().toList();
+	}
+
+	/**
+	 * Computes a stable SHA-256 over the fields a Zephyr sync can change. Label,
+	 * defect and execution ordering does not affect the result.
+	 *
+	 * @return hex encoded hash
+	 */
+	public String computeContentHash() {
+		StringBuilder content = new StringBuilder();
+		append(content, processorId, number, originalTypeName, typeName,
+				labels == null
+						? null
+						: labels.stream().sorted(Comparator.nullsFirst(Comparator.naturalOrder())).toList(),
+				createdDate,
+				updateDate, projectName, projectID, basicProjectConfigId, name, testAutomated, isTestAutomated,
+				isTestCanBeAutomated, testCaseFolderName, testAutomatedDate,
+				defectStoryID == null ? null : defectStoryID.stream().sorted().toList(), defectRaisedBy, testCaseStatus);
+		if (executions != null) {
+			executions.stream().filter(Objects::nonNull)
+					.sorted(Comparator.comparing(TestCaseExecutionData::getExecutionId,
+							Comparator.nullsFirst(Comparator.naturalOrder())))
+					.forEach(execution -> append(content, execution.getExecutionId(), execution.getKey(),
+							execution.getExecutionTime(), execution.getEstimatedTime(), execution.getActualEndDate(),
+							execution.getComment(), execution.getTestCycleId(), execution.getTestCaseId(),
+							execution.getExecutedById(), execution.getAssignedToId(), execution.isAutomated()));
+		}
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static void append(StringBuilder content, Object... values) {
+		for (Object value : values) {
+			content.append(value == null ? "" : value).append(FIELD_SEPARATOR);
+		}
+	}
 }
@@ -33,7 +33,8 @@ import com.publicissapient.kpidashboard.common.model.application.Build;
  */
 public interface BuildRepositoryCustom {
 	/**
-	 * Find build list using date wise and projectBasicConfigIds
+	 * Find build list using date wise and projectBasicConfigIds. The console
+	 * {@code log} field is not loaded.
 	 *
 	 * @param mapOfFilters
 	 * @param projectBasicConfigIds
@@ -43,4 +44,35 @@ public interface BuildRepositoryCustom {
 	 */
 	List<Build> findBuildList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
 			String startDate, String endDate);
+
+	/**
+	 * Find build list using date wise and projectBasicConfigIds, optionally
+	 * loading the console {@code log} field.
+	 *
+	 * @param mapOfFilters
+	 * @param projectBasicConfigIds
+	 * @param startDate
+	 * @param endDate
+	 * @param includeLog
+	 *          whether the {@code log} field should be read
+	 * @return the list of Build
+	 */
+	List<Build> findBuildList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
+			String startDate, String endDate, boolean includeLog);
+
+	/**
+	 * Find builds for the frequency and duration KPIs. Only the fields of
+	 * {@link Build#PROJECT_TIMING_INDEX} are returned, so the query is answered
+	 * from the index alone as long as every key in {@code mapOfFilters} is part of
+	 * that index too.
+	 *
+	 * @param mapOfFilters
+	 * @param projectBasicConfigIds
+	 * @param startDate
+	 * @param endDate
+	 * @return the list of Build with basicProjectConfigId, startTime, endTime,
+	 *         buildStatus, duration and buildJob populated
+	 */
+	List<Build> findBuildTimingList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
+			String startDate, String endDate);
 }
@@ -46,12 +46,44 @@ public class BuildRepositoryImpl implements BuildRepositoryCustom {
 	private static final String FIELD_START_TIME = "startTime";
 	private static final String FIELD_END_TIME = "endTime";
 	private static final String FIELD_BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String FIELD_BUILD_STATUS = "buildStatus";
+	private static final String FIELD_DURATION = "duration";
+	private static final String FIELD_BUILD_JOB = "buildJob";
+	private static final String FIELD_LOG = "log";
+	private static final String FIELD_ID = "_id";
 
 	private final MongoOperations mongoOperations;
 
 	@Override
 	public List<Build> findBuildList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
 			String startDate, String endDate) {
+		return findBuildList(mapOfFilters, projectBasicConfigIds, startDate, endDate, false);
+	}
+
+	@Override
+	public List<Build> findBuildList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
+			String startDate, String endDate, boolean includeLog) {
+		Query query = new Query(buildCriteria(mapOfFilters, projectBasicConfigIds, startDate, endDate));
+		if (!includeLog) {
+			query.fields().exclude(FIELD_LOG);
+		}
+		return mongoOperations.find(query, Build.class);
+	}
+
+	@Override
+	public List<Build> findBuildTimingList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
+			String startDate, String endDate) {
+		Query query = new Query(buildCriteria(mapOfFilters, projectBasicConfigIds, startDate, endDate));
+		// _id is not part of the index, it has to be excluded for the query to be
+		// covered
+		query.fields().include(FIELD_BASIC_PROJECT_CONFIG_ID, FIELD_START_TIME, FIELD_END_TIME, FIELD_BUILD_STATUS,
+				FIELD_DURATION, FIELD_BUILD_JOB).exclude(FIELD_ID);
+		query.withHint(Build.PROJECT_TIMING_INDEX);
+		return mongoOperations.find(query, Build.class);
+	}
+
+	private Criteria buildCriteria(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
+			String startDate, String endDate) {
 		Criteria criteria = new Criteria();
 
 		// map of common filters
@@ -64,11 +96,7 @@ public class BuildRepositoryImpl implements BuildRepositoryCustom {
 			criteria = criteria.and(FIELD_START_TIME).gte(startDateUTC).and(FIELD_END_TIME).lte(endDateUTC);
 		}
 
-		criteria.and(FIELD_BASIC_PROJECT_CONFIG_ID).in(projectBasicConfigIds);
-
-		Query query = new Query(criteria);
-
-		return mongoOperations.find(query, Build.class);
+		return criteria.and(FIELD_BASIC_PROJECT_CONFIG_ID).in(projectBasicConfigIds);
 	}
 
 	private Criteria getCommonFiltersCriteria(Map<String, List<String>> mapOfFilters, Criteria criteria) {
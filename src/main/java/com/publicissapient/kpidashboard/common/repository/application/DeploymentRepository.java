@@ -27,4 +27,7 @@ public interface DeploymentRepository extends MongoRepository<Deployment, Object
 			ObjectId basicProjectConfigId);
 
 	Deployment findByProjectToolConfigIdAndNumber(ObjectId projectToolConfigId, String number);
+
+	List<Deployment> findByBasicProjectConfigIdAndChangeSetsIn(ObjectId basicProjectConfigId,
+			Collection<String> changeSets);
 }
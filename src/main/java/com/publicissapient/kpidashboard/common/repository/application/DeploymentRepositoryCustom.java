@@ -17,4 +17,35 @@ public interface DeploymentRepositoryCustom {
 
 	List<Deployment> findDeploymentList(Map<String, List<String>> mapOfFilters, Set<ObjectId> projectBasicConfigIds,
 			String startDateUTC, String endDateUTC);
+
+	/**
+	 * Finds deployments by the epoch-millisecond shadow fields, so the range is an
+	 * index bound on (basicProjectConfigId, startTimeEpoch) with no string
+	 * comparison. Documents the backfill has not reached yet are matched on
+	 * their parsed startTime/endTime instead.
+	 *
+	 * @param mapOfFilters
+	 *          additional field filters
+	 * @param projectBasicConfigIds
+	 *          project ids
+	 * @param startEpochMillis
+	 *          deployments starting at or after this instant
+	 * @param endEpochMillis
+	 *          deployments ending at or before this instant
+	 * @return matching deployments
+	 */
+	List<Deployment> findDeploymentListByEpoch(Map<String, List<String>> mapOfFilters,
+			Set<ObjectId> projectBasicConfigIds, long startEpochMillis, long endEpochMillis);
+
+	/**
+	 * Fills startTimeEpoch/endTimeEpoch for one batch of documents that do not
+	 * have them yet. Unparsable dates are stored as null so the document is not
+	 * picked again.
+	 *
+	 * @param batchSize
+	 *          maximum number of documents to update
+	 * @return number of documents updated, 0 when the backfill is complete
+	 */
+	int backfillEpochFields(int batchSize);
 }
+
@@ -25,12 +25,16 @@ import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import com.publicissapient.kpidashboard.common.model.application.Deployment;
+import com.publicissapient.kpidashboard.common.util.DateUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -45,6 +49,8 @@ public class DeploymentRepositoryImpl implements DeploymentRepositoryCustom {
 	private static final String FIELD_START_TIME = "startTime";
 	private static final String FIELD_END_TIME = "endTime";
 	private static final String FIELD_BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String FIELD_START_TIME_EPOCH = "startTimeEpoch";
+	private static final String FIELD_END_TIME_EPOCH = "endTimeEpoch";
 
 	private final MongoTemplate mongoTemplate;
 
@@ -56,6 +62,47 @@ public class DeploymentRepositoryImpl implements DeploymentRepositoryCustom {
 		return mongoTemplate.find(query, Deployment.class);
 	}
 
+	@Override
+	public List<Deployment> findDeploymentListByEpoch(Map<String, List<String>> filters,
+			Set<ObjectId> projectBasicConfigIds, long startEpochMillis, long endEpochMillis) {
+		Criteria criteria = applyCommonFilters(new Criteria(), filters);
+		criteria = applyProjectFilter(criteria, projectBasicConfigIds);
+		// documents not backfilled yet are matched on their parsed string dates
+		criteria = criteria.orOperator(
+				Criteria.where(FIELD_START_TIME_EPOCH).gte(startEpochMillis).and(FIELD_END_TIME_EPOCH).lte(endEpochMillis),
+				Criteria.where(FIELD_START_TIME_EPOCH).exists(false));
+		return mongoTemplate.find(new Query(criteria), Deployment.class).stream()
+				.filter(deployment -> deployment.getStartTimeEpoch() != null
+						|| isWithin(deployment, startEpochMillis, endEpochMillis))
+				.toList();
+	}
+
+	private static boolean isWithin(Deployment deployment, long startEpochMillis, long endEpochMillis) {
+		Long start = DateUtil.parseToEpochMillis(deployment.getStartTime());
+		Long end = DateUtil.parseToEpochMillis(deployment.getEndTime());
+		return start != null && end != null && start >= startEpochMillis && end <= endEpochMillis;
+	}
+
+	@Override
+	public int backfillEpochFields(int batchSize) {
+		Query query = new Query(Criteria.where(FIELD_START_TIME_EPOCH).exists(false)).limit(batchSize);
+		query.fields().include(FIELD_START_TIME).include(FIELD_END_TIME);
+		List<Document> pending = mongoTemplate.find(query, Document.class,
+				mongoTemplate.getCollectionName(Deployment.class));
+		if (pending.isEmpty()) {
+			return 0;
+		}
+		BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Deployment.class);
+		for (Document deployment : pending) {
+			Update update = new Update()
+					.set(FIELD_START_TIME_EPOCH, DateUtil.parseToEpochMillis(deployment.getString(FIELD_START_TIME)))
+					.set(FIELD_END_TIME_EPOCH, DateUtil.parseToEpochMillis(deployment.getString(FIELD_END_TIME)));
+			bulkOperations.updateOne(new Query(Criteria.where("_id").is(deployment.get("_id"))), update);
+		}
+		bulkOperations.execute();
+		return pending.size();
+	}
+
 	private Criteria buildCriteria(Map<String, List<String>> filters, Set<ObjectId> projectConfigIds, String startDate,
 			String endDate) {
 		Criteria criteria = new Criteria();
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.application.DoraWeeklyMetric;
+
+/** Repository for the weekly DORA metrics. */
+@Repository
+public interface DoraWeeklyMetricRepository
+		extends
+			MongoRepository<DoraWeeklyMetric, ObjectId>,
+			DoraWeeklyMetricRepositoryCustom {
+
+	List<DoraWeeklyMetric> findByBasicProjectConfigIdAndWeekIn(ObjectId basicProjectConfigId, Collection<String> weeks);
+
+	/**
+	 * Finds the metrics of a project in a week range.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param fromWeek
+	 *          first week (inclusive), yyyy-MM-dd
+	 * @param toWeek
+	 *          last week (inclusive), yyyy-MM-dd
+	 * @return metrics ordered by week
+	 */
+	@Query(value = "{'basicProjectConfigId': ?0, 'week': {'$gte': ?1, '$lte': ?2}}", sort = "{'week': 1}")
+	List<DoraWeeklyMetric> findWeeks(ObjectId basicProjectConfigId, String fromWeek, String toWeek);
+
+	void deleteByBasicProjectConfigId(ObjectId basicProjectConfigId);
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+/** Lookups the DORA metrics engine needs outside the metric collection. */
+public interface DoraWeeklyMetricRepositoryCustom {
+
+	/**
+	 * Finds the processor items of all tools configured on a project, which is how
+	 * merge requests are tied to a project.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @return processor item ids, empty when the project has no tools
+	 */
+	List<ObjectId> findProjectProcessorItemIds(ObjectId basicProjectConfigId);
+}
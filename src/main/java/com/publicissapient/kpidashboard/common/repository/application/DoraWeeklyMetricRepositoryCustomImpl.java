@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DoraWeeklyMetricRepositoryCustomImpl implements DoraWeeklyMetricRepositoryCustom {
+
+	private static final String PROJECT_TOOL_CONFIGS_COLLECTION = "project_tool_configs";
+	private static final String PROCESSOR_ITEMS_COLLECTION = "processor_items";
+	private static final String ID = "_id";
+
+	private final MongoOperations operations;
+
+	@Override
+	public List<ObjectId> findProjectProcessorItemIds(ObjectId basicProjectConfigId) {
+		List<ObjectId> toolConfigIds = findIds(
+				new Query(Criteria.where("basicProjectConfigId").is(basicProjectConfigId)),
+				PROJECT_TOOL_CONFIGS_COLLECTION);
+		if (toolConfigIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return findIds(new Query(Criteria.where("toolConfigId").in(toolConfigIds)), PROCESSOR_ITEMS_COLLECTION);
+	}
+
+	private List<ObjectId> findIds(Query query, String collection) {
+		query.fields().include(ID);
+		return operations.find(query, Document.class, collection).stream().map(document -> document.getObjectId(ID))
+				.filter(Objects::nonNull).toList();
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+
+@Repository
+public interface FieldMappingChangeLogRepository
+		extends
+			MongoRepository<FieldMappingChangeLog, ObjectId>,
+			FieldMappingChangeLogRepositoryCustom {
+
+	/**
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param fieldName
+	 *          the field mapping field
+	 * @return every change of the field, oldest first
+	 */
+	List<FieldMappingChangeLog> findByBasicProjectConfigIdAndFieldNameOrderByChangedAtAsc(ObjectId basicProjectConfigId,
+			String fieldName);
+
+	/**
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param fieldName
+	 *          the node specific field mapping field
+	 * @param releaseNodeId
+	 *          the release node
+	 * @return the changes of the field for the node, oldest first
+	 */
+	List<FieldMappingChangeLog> findByBasicProjectConfigIdAndFieldNameAndReleaseNodeIdOrderByChangedAtAsc(
+			ObjectId basicProjectConfigId, String fieldName, String releaseNodeId);
+
+	boolean existsByBasicProjectConfigId(ObjectId basicProjectConfigId);
+
+	void deleteByBasicProjectConfigId(ObjectId basicProjectConfigId);
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+
+public interface FieldMappingChangeLogRepositoryCustom {
+
+	/**
+	 * Finds, for every field and release node of a project, the last change made
+	 * at or before an instant. Each lookup is a walk down the change log index.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param at
+	 *          the instant
+	 * @return one change per field and release node
+	 */
+	List<FieldMappingChangeLog> findLastChangesAtOrBefore(ObjectId basicProjectConfigId, LocalDateTime at);
+
+	/**
+	 * Finds, for every field and release node of a project, the first change made
+	 * after an instant, whose {@code changedFrom} is the value the field had at
+	 * that instant.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param at
+	 *          the instant
+	 * @return one change per field and release node
+	 */
+	List<FieldMappingChangeLog> findFirstChangesAfter(ObjectId basicProjectConfigId, LocalDateTime at);
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class FieldMappingChangeLogRepositoryImpl implements FieldMappingChangeLogRepositoryCustom {
+
+	private static final String BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String FIELD_NAME = "fieldName";
+	private static final String RELEASE_NODE_ID = "releaseNodeId";
+	private static final String CHANGED_AT = "changedAt";
+	private static final String CHANGE = "change";
+
+	private final MongoOperations operations;
+
+	@Override
+	public List<FieldMappingChangeLog> findLastChangesAtOrBefore(ObjectId basicProjectConfigId, LocalDateTime at) {
+		return firstPerField(Criteria.where(BASIC_PROJECT_CONFIG_ID).is(basicProjectConfigId).and(CHANGED_AT).lte(at),
+				Sort.Direction.DESC);
+	}
+
+	@Override
+	public List<FieldMappingChangeLog> findFirstChangesAfter(ObjectId basicProjectConfigId, LocalDateTime at) {
+		return firstPerField(Criteria.where(BASIC_PROJECT_CONFIG_ID).is(basicProjectConfigId).and(CHANGED_AT).gt(at),
+				Sort.Direction.ASC);
+	}
+
+	/*
+	 * sorting every key in one direction follows the change log index, so the
+	 * group only reads the first entry of each field and release node
+	 */
+	private List<FieldMappingChangeLog> firstPerField(Criteria criteria, Sort.Direction direction) {
+		TypedAggregation<FieldMappingChangeLog> aggregation = Aggregation.newAggregation(FieldMappingChangeLog.class,
+				Aggregation.match(criteria), Aggregation.sort(direction, FIELD_NAME, RELEASE_NODE_ID, CHANGED_AT),
+				Aggregation.group(FIELD_NAME, RELEASE_NODE_ID).first(Aggregation.ROOT).as(CHANGE),
+				Aggregation.replaceRoot(CHANGE));
+		return operations.aggregate(aggregation, FieldMappingChangeLog.class).getMappedResults();
+	}
+}
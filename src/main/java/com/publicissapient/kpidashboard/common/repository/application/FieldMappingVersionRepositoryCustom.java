@@ -0,0 +1,33 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import org.bson.types.ObjectId;
+
+public interface FieldMappingVersionRepositoryCustom {
+
+	/**
+	 * Atomically increments the field mapping version of a project, creating the
+	 * stamp on first use.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @return the new version
+	 */
+	long incrementVersion(ObjectId basicProjectConfigId);
+}
@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingVersion;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class FieldMappingVersionRepositoryImpl implements FieldMappingVersionRepositoryCustom {
+
+	private final MongoOperations operations;
+
+	@Override
+	public long incrementVersion(ObjectId basicProjectConfigId) {
+		FieldMappingVersion version = operations.findAndModify(
+				new Query(Criteria.where("basicProjectConfigId").is(basicProjectConfigId)), new Update().inc("version", 1L),
+				FindAndModifyOptions.options().upsert(true).returnNew(true), FieldMappingVersion.class);
+		return version == null ? 0L : version.getVersion();
+	}
+}
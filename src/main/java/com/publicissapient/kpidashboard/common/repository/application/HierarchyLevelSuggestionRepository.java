@@ -12,7 +12,10 @@ import com.publicissapient.kpidashboard.common.model.application.HierarchyLevelS
  * @author Hiren Babariya
  */
 @Repository
-public interface HierarchyLevelSuggestionRepository extends MongoRepository<HierarchyLevelSuggestion, ObjectId> {
+public interface HierarchyLevelSuggestionRepository
+		extends
+			MongoRepository<HierarchyLevelSuggestion, ObjectId>,
+			HierarchyLevelSuggestionRepositoryCustom {
 
 	HierarchyLevelSuggestion findByHierarchyLevelId(String hierarchyLevelId);
 }
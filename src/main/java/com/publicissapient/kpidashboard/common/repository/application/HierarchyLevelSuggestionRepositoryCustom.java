@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.Collection;
+
+public interface HierarchyLevelSuggestionRepositoryCustom {
+
+	/**
+	 * Adds a value to a hierarchy level's suggestions unless some casing of it is
+	 * already there, creating the level's document when needed. Nothing but the
+	 * new value is sent to Mongo.
+	 *
+	 * @param hierarchyLevelId
+	 *          the hierarchy level
+	 * @param value
+	 *          the value as displayed
+	 * @param foldedValue
+	 *          the case-folded value
+	 * @return true when the value was added
+	 */
+	boolean addValue(String hierarchyLevelId, String value, String foldedValue);
+
+	/**
+	 * Stores the case-folded values of a level written before they were kept.
+	 *
+	 * @param hierarchyLevelId
+	 *          the hierarchy level
+	 * @param foldedValues
+	 *          the case-folded values
+	 */
+	void addFoldedValues(String hierarchyLevelId, Collection<String> foldedValues);
+
+	/**
+	 * Merges the documents of hierarchy levels stored more than once into the
+	 * oldest one, then creates the unique hierarchyLevelId index.
+	 *
+	 * @return number of duplicate documents removed
+	 */
+	int ensureUniqueLevels();
+}
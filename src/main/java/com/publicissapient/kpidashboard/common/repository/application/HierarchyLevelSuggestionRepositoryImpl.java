@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.client.result.UpdateResult;
+import com.publicissapient.kpidashboard.common.model.application.HierarchyLevelSuggestion;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class HierarchyLevelSuggestionRepositoryImpl implements HierarchyLevelSuggestionRepositoryCustom {
+
+	private static final String HIERARCHY_LEVEL_ID = "hierarchyLevelId";
+	private static final String VALUES = "values";
+	private static final String NORMALIZED_VALUES = "normalizedValues";
+	private static final String ID = "_id";
+	private static final String COUNT = "count";
+	private static final String UNIQUE_LEVEL_INDEX = "hierarchyLevelId_unique";
+
+	private final MongoOperations operations;
+
+	@Override
+	public boolean addValue(String hierarchyLevelId, String value, String foldedValue) {
+		UpdateResult added = addToExisting(hierarchyLevelId, value, foldedValue);
+		if (added.getMatchedCount() > 0) {
+			return true;
+		}
+		// either the level has no document yet or the value is already there
+		try {
+			UpdateResult created = operations.upsert(
+					new Query(Criteria.where(HIERARCHY_LEVEL_ID).is(hierarchyLevelId)),
+					new Update().setOnInsert(VALUES, List.of(value)).setOnInsert(NORMALIZED_VALUES, List.of(foldedValue)),
+					HierarchyLevelSuggestion.class);
+			return created.getUpsertedId() != null;
+		} catch (DuplicateKeyException e) {
+			// another instance created the level at the same time, the value can now be added to it
+			return addToExisting(hierarchyLevelId, value, foldedValue).getMatchedCount() > 0;
+		}
+	}
+
+	private UpdateResult addToExisting(String hierarchyLevelId, String value, String foldedValue) {
+		return operations.updateFirst(
+				new Query(
+						Criteria.where(HIERARCHY_LEVEL_ID).is(hierarchyLevelId).and(NORMALIZED_VALUES).ne(foldedValue)),
+				new Update().addToSet(VALUES, value).addToSet(NORMALIZED_VALUES, foldedValue),
+				HierarchyLevelSuggestion.class);
+	}
+
+	@Override
+	public void addFoldedValues(String hierarchyLevelId, Collection<String> foldedValues) {
+		operations.updateFirst(new Query(Criteria.where(HIERARCHY_LEVEL_ID).is(hierarchyLevelId)),
+				new Update().addToSet(NORMALIZED_VALUES).each(foldedValues.toArray()), HierarchyLevelSuggestion.class);
+	}
+
+	@Override
+	public int ensureUniqueLevels() {
+		int removed = 0;
+		TypedAggregation<HierarchyLevelSuggestion> duplicates = Aggregation.newAggregation(
+				HierarchyLevelSuggestion.class, Aggregation.group(HIERARCHY_LEVEL_ID).count().as(COUNT),
+				Aggregation.match(Criteria.where(COUNT).gt(1)));
+		for (Document duplicate : operations.aggregate(duplicates, Document.class).getMappedResults()) {
+			removed += mergeLevel(duplicate.getString(ID));
+		}
+		operations.indexOps(HierarchyLevelSuggestion.class)
+				.ensureIndex(new Index().on(HIERARCHY_LEVEL_ID, Sort.Direction.ASC).unique().named(UNIQUE_LEVEL_INDEX));
+		return removed;
+	}
+
+	private int mergeLevel(String hierarchyLevelId) {
+		List<HierarchyLevelSuggestion> levels = operations.find(
+				new Query(Criteria.where(HIERARCHY_LEVEL_ID).is(hierarchyLevelId)).with(Sort.by(ID)),
+				HierarchyLevelSuggestion.class);
+		Set<String> values = new TreeSet<>();
+		Set<String> normalizedValues = new TreeSet<>();
+		for (HierarchyLevelSuggestion level : levels) {
+			CollectionUtils.emptyIfNull(level.getValues()).forEach(values::add);
+			CollectionUtils.emptyIfNull(level.getNormalizedValues()).forEach(normalizedValues::add);
+		}
+		HierarchyLevelSuggestion kept = levels.get(0);
+		operations.updateFirst(new Query(Criteria.where(ID).is(kept.getId())),
+				new Update().addToSet(VALUES).each(values.toArray()).addToSet(NORMALIZED_VALUES)
+						.each(normalizedValues.toArray()),
+				HierarchyLevelSuggestion.class);
+		List<ObjectId> duplicateIds = levels.stream().skip(1).map(HierarchyLevelSuggestion::getId).toList();
+		operations.remove(new Query(Criteria.where(ID).in(duplicateIds)), HierarchyLevelSuggestion.class);
+		return duplicateIds.size();
+	}
+}
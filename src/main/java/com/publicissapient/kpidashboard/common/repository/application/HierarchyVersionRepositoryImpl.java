@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.publicissapient.kpidashboard.common.model.application.HierarchyVersion;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class HierarchyVersionRepositoryImpl implements HierarchyVersionRepositoryCustom {
+
+	private final MongoOperations operations;
+
+	@Override
+	public long incrementVersion(String name) {
+		HierarchyVersion version = operations.findAndModify(new Query(Criteria.where("name").is(name)),
+				new Update().inc("version", 1L), FindAndModifyOptions.options().upsert(true).returnNew(true),
+				HierarchyVersion.class);
+		return version == null ? 0L : version.getVersion();
+	}
+}
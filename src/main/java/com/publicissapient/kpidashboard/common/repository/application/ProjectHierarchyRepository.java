@@ -29,7 +29,10 @@ import org.springframework.stereotype.Repository;
 import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
 
 @Repository
-public interface ProjectHierarchyRepository extends MongoRepository<ProjectHierarchy, ObjectId> {
+public interface ProjectHierarchyRepository
+		extends
+			MongoRepository<ProjectHierarchy, ObjectId>,
+			ProjectHierarchyRepositoryCustom {
 
 	List<ProjectHierarchy> findByBasicProjectConfigId(ObjectId projectBasicConfig);
 
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.Collection;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchySyncResult;
+
+public interface ProjectHierarchyRepositoryCustom {
+
+	/**
+	 * Makes the stored nodes of a project match the desired nodes. Nodes are
+	 * matched by nodeId and compared through a content hash kept on the stored
+	 * document, so only new, changed and removed nodes are written, all in one
+	 * unordered bulk.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param desiredNodes
+	 *          the nodes the project should have; nodes outside
+	 *          {@code hierarchyLevelIds} are ignored
+	 * @param hierarchyLevelIds
+	 *          levels being synced, e.g. sprint; stored nodes of other levels are
+	 *          left alone. Null or empty syncs every level of the project.
+	 * @return inserted, updated, deleted and unchanged counts
+	 */
+	ProjectHierarchySyncResult syncProjectHierarchy(ObjectId basicProjectConfigId,
+			Collection<ProjectHierarchy> desiredNodes, Collection<String> hierarchyLevelIds);
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchySyncResult;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ProjectHierarchyRepositoryImpl implements ProjectHierarchyRepositoryCustom {
+
+	private static final String ID = "_id";
+	private static final String BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String NODE_ID = "nodeId";
+	private static final String HIERARCHY_LEVEL_ID = "hierarchyLevelId";
+	/* not mapped on ProjectHierarchy, only maintained by the sync */
+	private static final String CONTENT_HASH = "contentHash";
+	private static final char FIELD_SEPARATOR = '\u001f';
+	/* fields compared by the hash, unset on update when the desired node has none */
+	private static final List<String> SYNCED_FIELDS = List.of(NODE_ID, "nodeName", "nodeDisplayName", "externalId",
+			HIERARCHY_LEVEL_ID, "parentId", BASIC_PROJECT_CONFIG_ID, "sprintState", "releaseState", "beginDate",
+			"endDate");
+
+	private final MongoOperations operations;
+
+	@Override
+	public ProjectHierarchySyncResult syncProjectHierarchy(ObjectId basicProjectConfigId,
+			Collection<ProjectHierarchy> desiredNodes, Collection<String> hierarchyLevelIds) {
+		boolean allLevels = CollectionUtils.isEmpty(hierarchyLevelIds);
+		Map<String, ProjectHierarchy> desired = new LinkedHashMap<>();
+		if (desiredNodes != null) {
+			// nodes outside the synced levels would not find their stored version
+			desiredNodes.stream()
+					.filter(node -> node != null && node.getNodeId() != null
+							&& (allLevels || hierarchyLevelIds.contains(node.getHierarchyLevelId())))
+					.forEach(node -> desired.put(node.getNodeId(), node));
+		}
+
+		Criteria scope = Criteria.where(BASIC_PROJECT_CONFIG_ID).is(basicProjectConfigId);
+		if (!allLevels) {
+			scope = scope.and(HIERARCHY_LEVEL_ID).in(hierarchyLevelIds);
+		}
+		Query storedQuery = new Query(scope);
+		storedQuery.fields().include(ID).include(NODE_ID).include(CONTENT_HASH);
+		Map<String, Document> stored = new HashMap<>();
+		List<ObjectId> toDelete = new ArrayList<>();
+		for (Document document : operations.find(storedQuery, Document.class,
+				operations.getCollectionName(ProjectHierarchy.class))) {
+			String nodeId = document.getString(NODE_ID);
+			if (nodeId == null || !desired.containsKey(nodeId) || stored.putIfAbsent(nodeId, document) != null) {
+				// removed node or a duplicate of a node already kept
+				toDelete.add(document.getObjectId(ID));
+			}
+		}
+
+		BulkOperations bulkOperations = operations.bulkOps(BulkOperations.BulkMode.UNORDERED, ProjectHierarchy.class);
+		ProjectHierarchySyncResult result = new ProjectHierarchySyncResult();
+		for (ProjectHierarchy node : desired.values()) {
+			node.setBasicProjectConfigId(basicProjectConfigId);
+			String hash = contentHash(node);
+			Document existing = stored.get(node.getNodeId());
+			if (existing == null) {
+				Document document = toDocument(node);
+				document.remove(ID);
+				document.put(CONTENT_HASH, hash);
+				bulkOperations.insert(document);
+				result.setInserted(result.getInserted() + 1);
+			} else if (hash.equals(existing.getString(CONTENT_HASH))) {
+				result.setUnchanged(result.getUnchanged() + 1);
+			} else {
+				bulkOperations.updateOne(new Query(Criteria.where(ID).is(existing.getObjectId(ID))),
+						toUpdate(node, hash));
+				result.setUpdated(result.getUpdated() + 1);
+			}
+		}
+		if (!toDelete.isEmpty()) {
+			bulkOperations.remove(new Query(Criteria.where(ID).in(toDelete)));
+			result.setDeleted(toDelete.size());
+		}
+		if (result.hasChanges()) {
+			bulkOperations.execute();
+		}
+		log.debug("Synced hierarchy of project {}: {}", basicProjectConfigId, result);
+		return result;
+	}
+
+	private Document toDocument(ProjectHierarchy node) {
+		Document document = new Document();
+		operations.getConverter().write(node, document);
+		return document;
+	}
+
+	private Update toUpdate(ProjectHierarchy node, String hash) {
+		Document document = toDocument(node);
+		Update update = new Update();
+		for (String field : SYNCED_FIELDS) {
+			if (document.get(field) == null) {
+				update.unset(field);
+			} else {
+				update.set(field, document.get(field));
+			}
+		}
+		if (node.getModifiedDate() != null) {
+			update.set("modifiedDate", document.get("modifiedDate"));
+		}
+		return update.set(CONTENT_HASH, hash);
+	}
+
+	static String contentHash(ProjectHierarchy node) {
+		StringBuilder content = new StringBuilder();
+		for (Object value : new Object[] { node.getNodeId(), node.getNodeName(), node.getNodeDisplayName(),
+				node.getExternalId(), node.getHierarchyLevelId(), node.getParentId(), node.getBasicProjectConfigId(),
+				node.getSprintState(), node.getReleaseState(), node.getBeginDate(), node.getEndDate() }) {
+			content.append(value == null ? "" : value).append(FIELD_SEPARATOR);
+		}
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
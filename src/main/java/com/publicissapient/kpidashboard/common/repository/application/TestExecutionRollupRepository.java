@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
+
+/** Repository for materialised test execution roll-ups. */
+@Repository
+public interface TestExecutionRollupRepository extends MongoRepository<TestExecutionRollup, ObjectId> {
+
+	List<TestExecutionRollup> findByBasicProjectConfigIdAndGranularityAndGroupKeyIn(String basicProjectConfigId,
+			TestExecutionRollup.Granularity granularity, Collection<String> groupKeys);
+
+	/**
+	 * Finds the daily roll-ups of a project in a date range.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param from
+	 *          first day (inclusive), yyyy-MM-dd
+	 * @param to
+	 *          last day (inclusive), yyyy-MM-dd
+	 * @return roll-ups ordered by day
+	 */
+	@Query(value = "{'basicProjectConfigId': ?0, 'granularity': 'DAY', 'groupKey': {'$gte': ?1, '$lte': ?2}}", sort = "{'groupKey': 1}")
+	List<TestExecutionRollup> findDays(String basicProjectConfigId, String from, String to);
+
+	void deleteByBasicProjectConfigId(String basicProjectConfigId);
+}
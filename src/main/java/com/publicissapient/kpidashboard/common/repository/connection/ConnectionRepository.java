@@ -35,7 +35,8 @@ import com.publicissapient.kpidashboard.common.model.connection.Connection;
 public interface ConnectionRepository
 		extends
 			MongoRepository<Connection, ObjectId>,
-			QuerydslPredicateExecutor<Connection> {
+			QuerydslPredicateExecutor<Connection>,
+			ConnectionRepositoryCustom {
 
 	/**
 	 * Find by type Connection.
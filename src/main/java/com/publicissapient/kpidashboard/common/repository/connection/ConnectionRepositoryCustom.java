@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.connection;
+
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+public interface ConnectionRepositoryCustom {
+
+	/**
+	 * Sets the given secret fields of a connection, only while each of them still
+	 * holds its expected value. Other fields are left untouched.
+	 *
+	 * @param id
+	 *          the connection id
+	 * @param secrets
+	 *          the expected current value of each field, keyed by field name
+	 * @param replacements
+	 *          the new value of each field, keyed by field name
+	 * @return whether the connection was updated
+	 */
+	boolean replaceSecrets(ObjectId id, Map<String, String> secrets, Map<String, String> replacements);
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.connection;
+
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.publicissapient.kpidashboard.common.model.connection.Connection;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ConnectionRepositoryImpl implements ConnectionRepositoryCustom {
+
+	private final MongoOperations operations;
+
+	@Override
+	public boolean replaceSecrets(ObjectId id, Map<String, String> secrets, Map<String, String> replacements) {
+		Criteria criteria = Criteria.where("_id").is(id);
+		secrets.forEach((field, value) -> criteria.and(field).is(value));
+		Update update = new Update();
+		replacements.forEach(update::set);
+		return operations.updateFirst(new Query(criteria), update, Connection.class).getMatchedCount() > 0;
+	}
+}
@@ -21,6 +21,8 @@ package com.publicissapient.kpidashboard.common.repository.excel;
 import java.util.List;
 import java.util.Map;
 
+import org.bson.types.ObjectId;
+
 import com.publicissapient.kpidashboard.common.model.excel.CapacityKpiData;
 
 /**
@@ -42,4 +44,16 @@ public interface CapacityKpiDataCustomRepository {
 	 */
 	List<CapacityKpiData> findByFilters(Map<String, Object> mapofFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap);
+
+	/**
+	 * Reads one batch of capacity documents in _id order, used to walk the whole
+	 * collection.
+	 *
+	 * @param afterId
+	 *          _id of the last document of the previous batch, null for the first
+	 * @param batchSize
+	 *          maximum number of documents
+	 * @return the batch, empty once the collection is exhausted
+	 */
+	List<CapacityKpiData> findBatchAfter(ObjectId afterId, int batchSize);
 }
@@ -24,6 +24,8 @@ import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -64,6 +66,13 @@ public class CapacityKpiDataRepositoryImpl implements CapacityKpiDataCustomRepos
 		return data;
 	}
 
+	@Override
+	public List<CapacityKpiData> findBatchAfter(ObjectId afterId, int batchSize) {
+		Query query = new Query(afterId == null ? new Criteria() : Criteria.where("_id").gt(afterId))
+				.with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+		return mongoOperations.find(query, CapacityKpiData.class);
+	}
+
 	private Criteria buildCommonCriteria(Map<String, Object> filters) {
 		Criteria criteria = new Criteria();
 		for (Map.Entry<String, Object> entry : filters.entrySet()) {
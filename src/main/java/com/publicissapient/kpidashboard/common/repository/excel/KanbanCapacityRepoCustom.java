@@ -21,6 +21,8 @@ package com.publicissapient.kpidashboard.common.repository.excel;
 import java.util.List;
 import java.util.Map;
 
+import org.bson.types.ObjectId;
+
 import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
 
 /** The interface Kanban capacity repo custom. */
@@ -51,4 +53,16 @@ public interface KanbanCapacityRepoCustom {
 	 * @return list of feature
 	 */
 	public List<KanbanCapacity> findByFilterMapAndDate(Map<String, String> mapOfFilters, String dateFrom);
+
+	/**
+	 * Reads one batch of capacity documents in _id order, used to walk the whole
+	 * collection.
+	 *
+	 * @param afterId
+	 *          _id of the last document of the previous batch, null for the first
+	 * @param batchSize
+	 *          maximum number of documents
+	 * @return the batch, empty once the collection is exhausted
+	 */
+	List<KanbanCapacity> findBatchAfter(ObjectId afterId, int batchSize);
 }
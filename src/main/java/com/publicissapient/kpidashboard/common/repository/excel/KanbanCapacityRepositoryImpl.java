@@ -29,6 +29,8 @@ import java.util.Map;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -71,6 +73,13 @@ public class KanbanCapacityRepositoryImpl implements KanbanCapacityRepoCustom {
 		return mongoOperations.find(query, KanbanCapacity.class);
 	}
 
+	@Override
+	public List<KanbanCapacity> findBatchAfter(ObjectId afterId, int batchSize) {
+		Query query = new Query(afterId == null ? new Criteria() : Criteria.where("_id").gt(afterId))
+				.with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+		return mongoOperations.find(query, KanbanCapacity.class);
+	}
+
 	private Criteria applyCommonFilters(Criteria criteria, Map<String, Object> filters) {
 		for (Map.Entry<String, Object> entry : filters.entrySet()) {
 			String key = entry.getKey();
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.publicissapient.kpidashboard.common.model.testexecution.KanbanTestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
 
 /** The interface Test execution detail custom repository. */
 public interface KanbanTestExecutionRepositoryCustom {
@@ -22,4 +23,22 @@ public interface KanbanTestExecutionRepositoryCustom {
 	 */
 	List<KanbanTestExecution> findTestExecutionDetailByFilters(Map<String, List<String>> mapOfFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap, String dateFrom, String dateTo);
+
+	/**
+	 * Returns per project and per day totals of the KanbanTestExecution documents
+	 * selected by the same filters as
+	 * {@link #findTestExecutionDetailByFilters}, summed in the database.
+	 *
+	 * @param mapOfFilters
+	 *          filters applied
+	 * @param uniqueProjectMap
+	 *          project specific filters
+	 * @param dateFrom
+	 *          start date
+	 * @param dateTo
+	 *          end date
+	 * @return roll-ups ordered by project and day
+	 */
+	List<TestExecutionRollup> findDailyRollups(Map<String, List<String>> mapOfFilters,
+			Map<String, Map<String, Object>> uniqueProjectMap, String dateFrom, String dateTo);
 }
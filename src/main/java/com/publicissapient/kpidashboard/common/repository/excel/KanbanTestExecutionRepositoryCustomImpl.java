@@ -7,11 +7,16 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import com.publicissapient.kpidashboard.common.model.testexecution.KanbanTestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +26,11 @@ public class KanbanTestExecutionRepositoryCustomImpl implements KanbanTestExecut
 
 	private static final String FIELD_PROJECT_ID = "basicProjectConfigId";
 	private static final String FIELD_EXECUTION_DATE = "executionDate";
+	private static final String FIELD_DAY = "day";
+	private static final String FIELD_TOTAL = "totalTestCases";
+	private static final String FIELD_EXECUTED = "executedTestCase";
+	private static final String FIELD_PASSED = "passedTestCase";
+	private static final String ROW_COUNT = "rowCount";
 
 	private final MongoOperations mongoOperations;
 
@@ -36,6 +46,36 @@ public class KanbanTestExecutionRepositoryCustomImpl implements KanbanTestExecut
 		return mongoOperations.find(query, KanbanTestExecution.class);
 	}
 
+	@Override
+	public List<TestExecutionRollup> findDailyRollups(Map<String, List<String>> filters,
+			Map<String, Map<String, Object>> uniqueProjectMap, String dateFrom, String dateTo) {
+		Criteria criteria = applyCommonFilters(new Criteria(), filters);
+		criteria = applyDateRangeFilter(criteria, dateFrom, dateTo);
+		TypedAggregation<KanbanTestExecution> aggregation = Aggregation.newAggregation(KanbanTestExecution.class,
+				Aggregation.match(buildCriteriaWithProjectFilters(criteria, uniqueProjectMap)),
+				// executionDate may carry a time part
+				Aggregation.project(FIELD_PROJECT_ID, FIELD_TOTAL, FIELD_EXECUTED, FIELD_PASSED).and(FIELD_EXECUTION_DATE)
+						.substring(0, 10).as(FIELD_DAY),
+				Aggregation.group(FIELD_PROJECT_ID, FIELD_DAY).count().as(ROW_COUNT).sum(FIELD_TOTAL).as(FIELD_TOTAL)
+						.sum(FIELD_EXECUTED).as(FIELD_EXECUTED).sum(FIELD_PASSED).as(FIELD_PASSED),
+				Aggregation.sort(Sort.Direction.ASC, "_id." + FIELD_PROJECT_ID, "_id." + FIELD_DAY));
+		return mongoOperations.aggregate(aggregation, Document.class).getMappedResults().stream().map(this::toRollup)
+				.toList();
+	}
+
+	private TestExecutionRollup toRollup(Document document) {
+		Document id = document.get("_id", Document.class);
+		return TestExecutionRollup.builder().basicProjectConfigId(id.getString(FIELD_PROJECT_ID))
+				.granularity(TestExecutionRollup.Granularity.DAY).groupKey(id.getString(FIELD_DAY))
+				.rowCount((int) count(document, ROW_COUNT)).totalTestCases(count(document, FIELD_TOTAL))
+				.executedTestCase(count(document, FIELD_EXECUTED)).passedTestCase(count(document, FIELD_PASSED)).build();
+	}
+
+	private static long count(Document document, String field) {
+		Object value = document.get(field);
+		return value instanceof Number number ? number.longValue() : 0L;
+	}
+
 	private Criteria applyCommonFilters(Criteria criteria, Map<String, List<String>> filters) {
 		for (Map.Entry<String, List<String>> entry : filters.entrySet()) {
 			if (CollectionUtils.isNotEmpty(entry.getValue())) {
@@ -50,8 +90,14 @@ public class KanbanTestExecutionRepositoryCustomImpl implements KanbanTestExecut
 	}
 
 	private Query buildQueryWithProjectFilters(Criteria criteria, Map<String, Map<String, Object>> uniqueProjectMap) {
+		return new Query(buildCriteriaWithProjectFilters(criteria, uniqueProjectMap));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Criteria buildCriteriaWithProjectFilters(Criteria criteria,
+			Map<String, Map<String, Object>> uniqueProjectMap) {
 		if (MapUtils.isEmpty(uniqueProjectMap)) {
-			return new Query(criteria);
+			return criteria;
 		}
 
 		List<Criteria> projectCriteriaList = new ArrayList<>();
@@ -63,7 +109,6 @@ public class KanbanTestExecutionRepositoryCustomImpl implements KanbanTestExecut
 		});
 
 		Criteria projectLevelCriteria = new Criteria().orOperator(projectCriteriaList.toArray(new Criteria[0]));
-		Criteria combinedCriteria = new Criteria().andOperator(criteria, projectLevelCriteria);
-		return new Query(combinedCriteria);
+		return new Criteria().andOperator(criteria, projectLevelCriteria);
 	}
 }
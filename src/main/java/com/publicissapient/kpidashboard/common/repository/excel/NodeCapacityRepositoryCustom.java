@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.excel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.excel.CapacityKpiData;
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.model.excel.NodeCapacity;
+
+/** Writes and reads the flattened node capacity. */
+public interface NodeCapacityRepositoryCustom {
+
+	/**
+	 * Replaces the node capacity of the sprint with the breakdown of the given
+	 * capacity. Nodes are upserted before the ones the sprint no longer has are
+	 * removed, so the sprint is never read without capacity.
+	 *
+	 * <p>
+	 * This library does not save {@link CapacityKpiData} itself: the application
+	 * that saves one must call this method afterwards. Documents saved before
+	 * node capacity existed are filled by {@code NodeCapacityBackfillService}.
+	 *
+	 * @param capacityKpiData
+	 *          saved sprint capacity
+	 */
+	void replaceSprintCapacity(CapacityKpiData capacityKpiData);
+
+	/**
+	 * Replaces the node capacity of the kanban date range with the breakdown of
+	 * the given capacity, in the same way as
+	 * {@link #replaceSprintCapacity(CapacityKpiData)}. The application that saves
+	 * a {@link KanbanCapacity} must call this method afterwards.
+	 *
+	 * @param kanbanCapacity
+	 *          saved kanban capacity
+	 */
+	void replaceKanbanCapacity(KanbanCapacity kanbanCapacity);
+
+	/**
+	 * Sums the capacity of the requested nodes per sprint, the flattened
+	 * equivalent of {@code CapacityKpiDataRepositoryImpl#findByFilters} with
+	 * additional filters.
+	 *
+	 * @param basicProjectConfigId
+	 *          project
+	 * @param sprintIds
+	 *          sprints
+	 * @param filterId
+	 *          additional filter id, case-insensitive
+	 * @param additionalFilterIds
+	 *          requested nodes of that filter
+	 * @return sprintID to capacity; sprints without capacity for the nodes are
+	 *         absent
+	 */
+	Map<String, Double> findSprintCapacity(ObjectId basicProjectConfigId, Collection<String> sprintIds,
+			String filterId, Collection<String> additionalFilterIds);
+
+	/**
+	 * Finds the kanban capacity of the requested nodes overlapping a date range.
+	 *
+	 * @param basicProjectConfigId
+	 *          project
+	 * @param filterId
+	 *          additional filter id, case-insensitive
+	 * @param additionalFilterIds
+	 *          requested nodes of that filter
+	 * @param dateFrom
+	 *          the date from, yyyy-MM-dd
+	 * @param dateTo
+	 *          the date to, yyyy-MM-dd
+	 * @return node capacities
+	 */
+	List<NodeCapacity> findKanbanCapacity(ObjectId basicProjectConfigId, String filterId,
+			Collection<String> additionalFilterIds, String dateFrom, String dateTo);
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.excel;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.publicissapient.kpidashboard.common.model.excel.CapacityKpiData;
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.model.excel.NodeCapacity;
+
+import lombok.RequiredArgsConstructor;
+
+/** Repository implementation for flattened node capacity. */
+@RequiredArgsConstructor
+public class NodeCapacityRepositoryImpl implements NodeCapacityRepositoryCustom {
+
+	private static final String BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String KANBAN = "kanban";
+	private static final String SPRINT_ID = "sprintID";
+	private static final String START_DATE = "startDate";
+	private static final String END_DATE = "endDate";
+	private static final String FILTER_ID = "filterId";
+	private static final String ADDITIONAL_FILTER_ID = "additionalFilterId";
+	private static final String CAPACITY = "capacity";
+	private static final String DATE_PATTERN = "yyyy-MM-dd";
+
+	private final MongoOperations mongoOperations;
+
+	@Override
+	public void replaceSprintCapacity(CapacityKpiData capacityKpiData) {
+		replace(() -> Criteria.where(BASIC_PROJECT_CONFIG_ID).is(capacityKpiData.getBasicProjectConfigId()).and(KANBAN)
+				.is(false).and(SPRINT_ID).is(capacityKpiData.getSprintID()), NodeCapacity.of(capacityKpiData));
+	}
+
+	@Override
+	public void replaceKanbanCapacity(KanbanCapacity kanbanCapacity) {
+		replace(() -> Criteria.where(BASIC_PROJECT_CONFIG_ID).is(kanbanCapacity.getBasicProjectConfigId()).and(KANBAN)
+				.is(true).and(START_DATE).is(kanbanCapacity.getStartDate()).and(END_DATE)
+				.is(kanbanCapacity.getEndDate()), NodeCapacity.of(kanbanCapacity));
+	}
+
+	/*
+	 * Upserts every node of the sprint or range first and only then drops the
+	 * nodes it no longer has, so readers never see it without capacity and a
+	 * failure leaves the previous rows in place
+	 */
+	private void replace(Supplier<Criteria> ownerCriteria, List<NodeCapacity> nodeCapacities) {
+		Map<List<String>, Double> capacityByNode = new LinkedHashMap<>();
+		for (NodeCapacity nodeCapacity : nodeCapacities) {
+			// a node listed twice counts twice, as it did when summed across rows
+			capacityByNode.merge(List.of(nodeCapacity.getFilterId(), nodeCapacity.getAdditionalFilterId()),
+					nodeCapacity.getCapacity() == null ? 0D : nodeCapacity.getCapacity(), Double::sum);
+		}
+		if (!capacityByNode.isEmpty()) {
+			BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED,
+					NodeCapacity.class);
+			capacityByNode.forEach((node, capacity) -> bulkOperations
+					.upsert(new Query(nodeKey(ownerCriteria.get(), node)), new Update().set(CAPACITY, capacity)));
+			bulkOperations.execute();
+		}
+		Criteria stale = ownerCriteria.get();
+		if (!capacityByNode.isEmpty()) {
+			stale = new Criteria().andOperator(stale, new Criteria().norOperator(capacityByNode.keySet().stream()
+					.map(node -> nodeKey(new Criteria(), node)).toArray(Criteria[]::new)));
+		}
+		mongoOperations.remove(new Query(stale), NodeCapacity.class);
+	}
+
+	private static Criteria nodeKey(Criteria criteria, List<String> node) {
+		return criteria.and(FILTER_ID).is(node.get(0)).and(ADDITIONAL_FILTER_ID).is(node.get(1));
+	}
+
+	@Override
+	public Map<String, Double> findSprintCapacity(ObjectId basicProjectConfigId, Collection<String> sprintIds,
+			String filterId, Collection<String> additionalFilterIds) {
+		if (CollectionUtils.isEmpty(sprintIds) || CollectionUtils.isEmpty(additionalFilterIds)) {
+			return Collections.emptyMap();
+		}
+		Criteria criteria = nodeCriteria(basicProjectConfigId, filterId, additionalFilterIds).and(SPRINT_ID)
+				.in(sprintIds);
+		TypedAggregation<NodeCapacity> aggregation = Aggregation.newAggregation(NodeCapacity.class,
+				Aggregation.match(criteria), Aggregation.group(SPRINT_ID).sum(CAPACITY).as(CAPACITY));
+		Map<String, Double> capacityBySprint = new HashMap<>();
+		for (Document sprintCapacity : mongoOperations.aggregate(aggregation, Document.class).getMappedResults()) {
+			Object capacity = sprintCapacity.get(CAPACITY);
+			capacityBySprint.put(sprintCapacity.getString("_id"),
+					capacity instanceof Number number ? number.doubleValue() : 0D);
+		}
+		return capacityBySprint;
+	}
+
+	@Override
+	public List<NodeCapacity> findKanbanCapacity(ObjectId basicProjectConfigId, String filterId,
+			Collection<String> additionalFilterIds, String dateFrom, String dateTo) {
+		if (CollectionUtils.isEmpty(additionalFilterIds)) {
+			return Collections.emptyList();
+		}
+		Criteria criteria = nodeCriteria(basicProjectConfigId, filterId, additionalFilterIds).and(START_DATE)
+				.lte(toUtcMidnightDate(dateTo)).and(END_DATE).gte(toUtcMidnightDate(dateFrom));
+		return mongoOperations.find(new Query(criteria), NodeCapacity.class);
+	}
+
+	private Criteria nodeCriteria(ObjectId basicProjectConfigId, String filterId,
+			Collection<String> additionalFilterIds) {
+		return Criteria.where(BASIC_PROJECT_CONFIG_ID).is(basicProjectConfigId).and(FILTER_ID)
+				.is(NodeCapacity.normalizeFilterId(filterId)).and(ADDITIONAL_FILTER_ID).in(additionalFilterIds);
+	}
+
+	private Date toUtcMidnightDate(String dateStr) {
+		return Date.from(
+				LocalDate.parse(dateStr, DateTimeFormatter.ofPattern(DATE_PATTERN)).atStartOfDay(ZoneOffset.UTC).toInstant());
+	}
+}
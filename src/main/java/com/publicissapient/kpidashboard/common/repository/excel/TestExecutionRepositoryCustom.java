@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.publicissapient.kpidashboard.common.model.testexecution.TestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
 
 /** The interface Test execution detail custom repository. */
 public interface TestExecutionRepositoryCustom {
@@ -37,4 +38,18 @@ public interface TestExecutionRepositoryCustom {
 	 */
 	List<TestExecution> findTestExecutionDetailByFilters(Map<String, List<String>> mapOfFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap);
+
+	/**
+	 * Returns per project and per sprint totals of the TestExecution documents
+	 * selected by the same filters as
+	 * {@link #findTestExecutionDetailByFilters}, summed in the database.
+	 *
+	 * @param mapOfFilters
+	 *          filters applied
+	 * @param uniqueProjectMap
+	 *          project specific filters
+	 * @return roll-ups ordered by project and sprint
+	 */
+	List<TestExecutionRollup> findSprintRollups(Map<String, List<String>> mapOfFilters,
+			Map<String, Map<String, Object>> uniqueProjectMap);
 }
@@ -7,11 +7,16 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import com.publicissapient.kpidashboard.common.model.testexecution.TestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,6 +25,14 @@ import lombok.RequiredArgsConstructor;
 public class TestExecutionRepositoryCustomImpl implements TestExecutionRepositoryCustom {
 
 	private static final String FIELD_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String FIELD_SPRINT_ID = "sprintId";
+	private static final String FIELD_SPRINT_NAME = "sprintName";
+	private static final String FIELD_TOTAL = "totalTestCases";
+	private static final String FIELD_EXECUTED = "executedTestCase";
+	private static final String FIELD_PASSED = "passedTestCase";
+	private static final String FIELD_AUTOMATED = "automatedTestCases";
+	private static final String FIELD_AUTOMATABLE = "automatableTestCases";
+	private static final String ROW_COUNT = "rowCount";
 
 	private final MongoOperations mongoOperations;
 
@@ -34,6 +47,39 @@ public class TestExecutionRepositoryCustomImpl implements TestExecutionRepositor
 		return mongoOperations.find(query, TestExecution.class);
 	}
 
+	@Override
+	public List<TestExecutionRollup> findSprintRollups(Map<String, List<String>> filters,
+			Map<String, Map<String, Object>> uniqueProjectMap) {
+		Criteria criteria = buildCriteriaWithProjectFilters(applyCommonFilters(new Criteria(), filters),
+				uniqueProjectMap);
+		// $sum skips missing and null counts
+		TypedAggregation<TestExecution> aggregation = Aggregation.newAggregation(TestExecution.class,
+				Aggregation.match(criteria),
+				Aggregation.group(FIELD_PROJECT_CONFIG_ID, FIELD_SPRINT_ID).count().as(ROW_COUNT).first(FIELD_SPRINT_NAME)
+						.as(FIELD_SPRINT_NAME).sum(FIELD_TOTAL).as(FIELD_TOTAL).sum(FIELD_EXECUTED).as(FIELD_EXECUTED)
+						.sum(FIELD_PASSED).as(FIELD_PASSED).sum(FIELD_AUTOMATED).as(FIELD_AUTOMATED).sum(FIELD_AUTOMATABLE)
+						.as(FIELD_AUTOMATABLE),
+				Aggregation.sort(Sort.Direction.ASC, "_id." + FIELD_PROJECT_CONFIG_ID,
+						"_id." + FIELD_SPRINT_ID));
+		return mongoOperations.aggregate(aggregation, Document.class).getMappedResults().stream()
+				.map(this::toRollup).toList();
+	}
+
+	private TestExecutionRollup toRollup(Document document) {
+		Document id = document.get("_id", Document.class);
+		return TestExecutionRollup.builder().basicProjectConfigId(id.getString(FIELD_PROJECT_CONFIG_ID))
+				.granularity(TestExecutionRollup.Granularity.SPRINT).groupKey(id.getString(FIELD_SPRINT_ID))
+				.sprintName(document.getString(FIELD_SPRINT_NAME)).rowCount((int) count(document, ROW_COUNT))
+				.totalTestCases(count(document, FIELD_TOTAL)).executedTestCase(count(document, FIELD_EXECUTED))
+				.passedTestCase(count(document, FIELD_PASSED)).automatedTestCases(count(document, FIELD_AUTOMATED))
+				.automatableTestCases(count(document, FIELD_AUTOMATABLE)).build();
+	}
+
+	private static long count(Document document, String field) {
+		Object value = document.get(field);
+		return value instanceof Number number ? number.longValue() : 0L;
+	}
+
 	private Criteria applyCommonFilters(Criteria criteria, Map<String, List<String>> filters) {
 		for (Map.Entry<String, List<String>> entry : filters.entrySet()) {
 			if (CollectionUtils.isNotEmpty(entry.getValue())) {
@@ -44,8 +90,14 @@ public class TestExecutionRepositoryCustomImpl implements TestExecutionRepositor
 	}
 
 	private Query buildQueryWithProjectFilters(Criteria criteria, Map<String, Map<String, Object>> uniqueProjectMap) {
+		return new Query(buildCriteriaWithProjectFilters(criteria, uniqueProjectMap));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Criteria buildCriteriaWithProjectFilters(Criteria criteria,
+			Map<String, Map<String, Object>> uniqueProjectMap) {
 		if (MapUtils.isEmpty(uniqueProjectMap)) {
-			return new Query(criteria);
+			return criteria;
 		}
 
 		List<Criteria> projectCriteriaList = new ArrayList<>();
@@ -57,7 +109,6 @@ public class TestExecutionRepositoryCustomImpl implements TestExecutionRepositor
 		});
 
 		Criteria projectLevelCriteria = new Criteria().orOperator(projectCriteriaList.toArray(new Criteria[0]));
-		Criteria combinedCriteria = new Criteria().andOperator(criteria, projectLevelCriteria);
-		return new Query(combinedCriteria);
+		return new Criteria().andOperator(criteria, projectLevelCriteria);
 	}
 }
@@ -27,7 +27,10 @@ import org.springframework.stereotype.Repository;
 import com.publicissapient.kpidashboard.common.model.jira.HappinessKpiData;
 
 @Repository
-public interface HappinessKpiDataRepository extends MongoRepository<HappinessKpiData, ObjectId> {
+public interface HappinessKpiDataRepository
+		extends
+			MongoRepository<HappinessKpiData, ObjectId>,
+			HappinessKpiDataRepositoryCustom {
 
 	/**
 	 * Find all which matches provided ids
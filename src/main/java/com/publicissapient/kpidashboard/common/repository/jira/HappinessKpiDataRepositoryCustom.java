@@ -0,0 +1,34 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.jira;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+
+public interface HappinessKpiDataRepositoryCustom {
+
+	/**
+	 * Aggregates the ratings of all submissions of the given sprints in Mongo.
+	 *
+	 * @param sprintIDs
+	 *          sprint ids
+	 * @return one summary per sprint with ratings, without id
+	 */
+	List<HappinessSummary> findSprintSummaries(Collection<String> sprintIDs);
+}
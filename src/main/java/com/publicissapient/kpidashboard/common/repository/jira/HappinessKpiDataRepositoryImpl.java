@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.jira;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.client.MongoCursor;
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary.UserHappiness;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class HappinessKpiDataRepositoryImpl implements HappinessKpiDataRepositoryCustom {
+
+	private static final String COLLECTION_NAME = "happiness_kpi_data";
+	private static final String SPRINT_ID = "sprintID";
+	private static final String BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String USER_RATING_LIST = "userRatingList";
+	private static final String USER_ID = "userId";
+	private static final String USER_NAME = "userName";
+	private static final String RATING = "rating";
+	private static final String RATINGS = "ratings";
+	private static final String COUNT = "count";
+	private static final String RATING_COUNT = "ratingCount";
+	private static final String RATING_SUM = "ratingSum";
+	private static final String USERS = "users";
+	private static final String ID = "_id";
+
+	private final MongoOperations operations;
+
+	@Override
+	public List<HappinessSummary> findSprintSummaries(Collection<String> sprintIDs) {
+		if (CollectionUtils.isEmpty(sprintIDs)) {
+			return Collections.emptyList();
+		}
+		String rating = "$" + USER_RATING_LIST + "." + RATING;
+		List<BasicDBObject> pipeline = List.of(
+				new BasicDBObject("$match", new BasicDBObject(SPRINT_ID, new BasicDBObject("$in", sprintIDs))),
+				new BasicDBObject("$unwind", "$" + USER_RATING_LIST),
+				new BasicDBObject("$match",
+						new BasicDBObject(USER_RATING_LIST + "." + RATING, new BasicDBObject("$ne", null))),
+				// one row per sprint, user and rating value
+				new BasicDBObject("$group",
+						new BasicDBObject(ID, new BasicDBObject(SPRINT_ID, "$" + SPRINT_ID)
+								.append(BASIC_PROJECT_CONFIG_ID, "$" + BASIC_PROJECT_CONFIG_ID)
+								.append(USER_ID, "$" + USER_RATING_LIST + "." + USER_ID).append(RATING, rating))
+								.append(COUNT, new BasicDBObject("$sum", 1))
+								.append(USER_NAME,
+										new BasicDBObject("$last", "$" + USER_RATING_LIST + "." + USER_NAME))),
+				new BasicDBObject("$group", new BasicDBObject(ID,
+						new BasicDBObject(SPRINT_ID, "$" + ID + "." + SPRINT_ID)
+								.append(BASIC_PROJECT_CONFIG_ID, "$" + ID + "." + BASIC_PROJECT_CONFIG_ID)
+								.append(USER_ID, "$" + ID + "." + USER_ID))
+						.append(USER_NAME, new BasicDBObject("$last", "$" + USER_NAME))
+						.append(RATING_COUNT, new BasicDBObject("$sum", "$" + COUNT))
+						.append(RATING_SUM,
+								new BasicDBObject("$sum",
+										new BasicDBObject("$multiply", List.of("$" + ID + "." + RATING, "$" + COUNT))))
+						.append(RATINGS, new BasicDBObject("$push",
+								new BasicDBObject(RATING, "$" + ID + "." + RATING).append(COUNT, "$" + COUNT)))),
+				new BasicDBObject("$group", new BasicDBObject(ID,
+						new BasicDBObject(SPRINT_ID, "$" + ID + "." + SPRINT_ID).append(BASIC_PROJECT_CONFIG_ID,
+								"$" + ID + "." + BASIC_PROJECT_CONFIG_ID))
+						.append(RATING_COUNT, new BasicDBObject("$sum", "$" + RATING_COUNT))
+						.append(RATING_SUM, new BasicDBObject("$sum", "$" + RATING_SUM))
+						.append(USERS,
+								new BasicDBObject("$push",
+										new BasicDBObject(USER_ID, "$" + ID + "." + USER_ID)
+												.append(USER_NAME, "$" + USER_NAME)
+												.append(RATING_COUNT, "$" + RATING_COUNT)
+												.append(RATING_SUM, "$" + RATING_SUM).append(RATINGS, "$" + RATINGS)))),
+				new BasicDBObject("$sort", new BasicDBObject(ID + "." + SPRINT_ID, 1)));
+
+		List<HappinessSummary> summaries = new ArrayList<>();
+		try (MongoCursor<Document> cursor = operations.getCollection(COLLECTION_NAME).aggregate(pipeline).iterator()) {
+			while (cursor.hasNext()) {
+				summaries.add(toSummary(cursor.next()));
+			}
+		}
+		return summaries;
+	}
+
+	private static HappinessSummary toSummary(Document document) {
+		Document key = document.get(ID, Document.class);
+		HappinessSummary summary = HappinessSummary.builder().sprintID(key.getString(SPRINT_ID))
+				.basicProjectConfigId(key.getObjectId(BASIC_PROJECT_CONFIG_ID))
+				.ratingCount(number(document, RATING_COUNT)).ratingSum(number(document, RATING_SUM)).build();
+		for (Document user : document.getList(USERS, Document.class)) {
+			UserHappiness userHappiness = UserHappiness.builder().userId(user.getString(USER_ID))
+					.userName(user.getString(USER_NAME)).ratingCount(number(user, RATING_COUNT))
+					.ratingSum(number(user, RATING_SUM)).build();
+			for (Document ratingCount : user.getList(RATINGS, Document.class)) {
+				String ratingValue = String.valueOf(ratingCount.get(RATING));
+				long count = number(ratingCount, COUNT);
+				userHappiness.getDistribution().merge(ratingValue, count, Long::sum);
+				summary.getDistribution().merge(ratingValue, count, Long::sum);
+			}
+			summary.getUsers().add(userHappiness);
+		}
+		return summary;
+	}
+
+	private static long number(Document document, String field) {
+		Object value = document.get(field);
+		return value instanceof Number number ? number.longValue() : 0L;
+	}
+}
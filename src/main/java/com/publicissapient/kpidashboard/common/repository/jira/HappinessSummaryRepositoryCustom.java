@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.jira;
+
+import java.util.Collection;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+
+public interface HappinessSummaryRepositoryCustom {
+
+	/**
+	 * Replaces the summary of the same project and sprint, or inserts it when
+	 * there is none yet.
+	 *
+	 * @param summary
+	 *          summary of a sprint
+	 * @return the stored summary
+	 */
+	HappinessSummary upsertSummary(HappinessSummary summary);
+
+	/**
+	 * Replaces or inserts summaries by project and sprint through a single
+	 * unordered bulk.
+	 *
+	 * @param summaries
+	 *          summaries of sprints
+	 */
+	void upsertSummaries(Collection<HappinessSummary> summaries);
+}
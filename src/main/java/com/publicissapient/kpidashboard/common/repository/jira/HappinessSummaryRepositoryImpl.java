@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.jira;
+
+import java.util.Collection;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class HappinessSummaryRepositoryImpl implements HappinessSummaryRepositoryCustom {
+
+	private static final String BASIC_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String SPRINT_ID = "sprintID";
+
+	private final MongoOperations operations;
+
+	@Override
+	public HappinessSummary upsertSummary(HappinessSummary summary) {
+		// the stored document keeps its own id
+		summary.setId(null);
+		return operations.findAndReplace(bySprint(summary), summary,
+				FindAndReplaceOptions.options().upsert().returnNew());
+	}
+
+	@Override
+	public void upsertSummaries(Collection<HappinessSummary> summaries) {
+		if (CollectionUtils.isEmpty(summaries)) {
+			return;
+		}
+		BulkOperations bulkOperations = operations.bulkOps(BulkOperations.BulkMode.UNORDERED, HappinessSummary.class);
+		for (HappinessSummary summary : summaries) {
+			summary.setId(null);
+			bulkOperations.replaceOne(bySprint(summary), summary, FindAndReplaceOptions.options().upsert());
+		}
+		bulkOperations.execute();
+	}
+
+	private static Query bySprint(HappinessSummary summary) {
+		return new Query(Criteria.where(BASIC_PROJECT_CONFIG_ID).is(summary.getBasicProjectConfigId()).and(SPRINT_ID)
+				.is(summary.getSprintID()));
+	}
+}
@@ -249,4 +249,18 @@ public interface JiraIssueRepository
 
 	List<JiraIssue> findByNumberInAndBasicProjectConfigIdIn(Set<String> jiraIssueNumber,
 			Set<String> basicProjectConfigIds);
+
+	/**
+	 * Finds the production incidents of a project created in a date range.
+	 *
+	 * @param basicProjectConfigId
+	 *          the basic project configuration ID
+	 * @param fromCreatedDate
+	 *          inclusive start, ISO local date time
+	 * @param toCreatedDate
+	 *          exclusive end, ISO local date time
+	 * @return incidents with number and createdDate only
+	 */
+	@Query(value = "{ 'basicProjectConfigId': ?0, 'productionIncident': true, 'createdDate': { $gte: ?1, $lt: ?2 } }", fields = "{ 'number': 1, 'createdDate': 1, 'basicProjectConfigId': 1 }")
+	List<JiraIssue> findProductionIncidents(String basicProjectConfigId, String fromCreatedDate, String toCreatedDate);
 }
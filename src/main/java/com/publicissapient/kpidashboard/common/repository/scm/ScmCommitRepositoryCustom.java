@@ -18,7 +18,12 @@
 
 package com.publicissapient.kpidashboard.common.repository.scm;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
 
 import com.mongodb.BasicDBList;
 import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
@@ -45,4 +50,45 @@ public interface ScmCommitRepositoryCustom {
 	 * @return a list of `ScmCommits` matching the specified date range and filters
 	 */
 	List<ScmCommits> findCommitList(Long startDate, Long endDate, BasicDBList filterList);
+
+	/**
+	 * Same as {@link #findCommitList(Long, Long, BasicDBList)} but leaves out the
+	 * {@code commitAuthor} and {@code committer} references, so no user lookup is
+	 * made per commit. Users can be attached afterwards from the ids.
+	 *
+	 * @param startDate
+	 *          the start of the commit timestamp range(inclusive) in epoch
+	 *          milliseconds
+	 * @param endDate
+	 *          the end of the commit timestamp range(inclusive), in epoch
+	 *          milliseconds
+	 * @param filterList
+	 *          a `BasicDBList` containing filter criteria
+	 * @return a list of `ScmCommits` without user references
+	 */
+	List<ScmCommits> findCommitListWithoutUsers(Long startDate, Long endDate, BasicDBList filterList);
+
+	/**
+	 * Returns which of the given SHAs are already stored for the processor item.
+	 * SHAs are looked up in batches against the (processorItemId, sha) index and
+	 * only the sha field is read.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param shas
+	 *          candidate SHAs
+	 * @return the subset of {@code shas} that already exist
+	 */
+	Set<String> findExistingShas(ObjectId processorItemId, Collection<String> shas);
+
+	/**
+	 * Streams every stored SHA of a processor item, reading only the sha field.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param shaConsumer
+	 *          receives each SHA
+	 * @return the number of SHAs streamed
+	 */
+	long forEachSha(ObjectId processorItemId, Consumer<String> shaConsumer);
 }
@@ -19,10 +19,17 @@
 package com.publicissapient.kpidashboard.common.repository.scm;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.stereotype.Repository;
 
@@ -47,6 +54,12 @@ public class ScmCommitRepositoryCustomImpl implements ScmCommitRepositoryCustom
 	private static final String GTE = "$gte";
 	private static final String LTE = "$lte";
 	private static final String COLLECTION_NAME = "scm_commit_details";
+	private static final String PROCESSOR_ITEM_ID = "processorItemId";
+	private static final String SHA = "sha";
+	private static final int SHA_BATCH_SIZE = 1000;
+	private static final BasicDBObject SHA_ONLY = new BasicDBObject(SHA, 1).append("_id", 0);
+	private static final BasicDBObject EXCLUDE_USERS = new BasicDBObject("$project",
+			new BasicDBObject("commitAuthor", 0).append("committer", 0));
 
 	private MongoOperations operations;
 
@@ -60,6 +73,53 @@ public class ScmCommitRepositoryCustomImpl implements ScmCommitRepositoryCustom
 		return executeAggregation(pipeline);
 	}
 
+	@Override
+	public List<ScmCommits> findCommitListWithoutUsers(Long startDate, Long endDate, BasicDBList filterList) {
+		if (filterList == null || filterList.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<BasicDBObject> pipeline = List.of(buildMatchStage(startDate, endDate, filterList), EXCLUDE_USERS);
+		return executeAggregation(pipeline);
+	}
+
+	@Override
+	public Set<String> findExistingShas(ObjectId processorItemId, Collection<String> shas) {
+		if (processorItemId == null || CollectionUtils.isEmpty(shas)) {
+			return Collections.emptySet();
+		}
+		Set<String> existing = new HashSet<>();
+		List<String> distinctShas = new ArrayList<>(new HashSet<>(shas));
+		for (List<String> batch : ListUtils.partition(distinctShas, SHA_BATCH_SIZE)) {
+			BasicDBObject filter = new BasicDBObject(PROCESSOR_ITEM_ID, processorItemId).append(SHA,
+					new BasicDBObject("$in", batch));
+			readShas(filter, existing::add);
+		}
+		return existing;
+	}
+
+	@Override
+	public long forEachSha(ObjectId processorItemId, Consumer<String> shaConsumer) {
+		if (processorItemId == null) {
+			return 0L;
+		}
+		return readShas(new BasicDBObject(PROCESSOR_ITEM_ID, processorItemId), shaConsumer);
+	}
+
+	private long readShas(BasicDBObject filter, Consumer<String> shaConsumer) {
+		long count = 0L;
+		try (MongoCursor<Document> iterator = operations.getCollection(COLLECTION_NAME).find(filter).projection(SHA_ONLY)
+				.batchSize(SHA_BATCH_SIZE).iterator()) {
+			while (iterator.hasNext()) {
+				String sha = iterator.next().getString(SHA);
+				if (sha != null) {
+					shaConsumer.accept(sha);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
 	private List<BasicDBObject> buildAggregationPipeline(Long startDate, Long endDate, BasicDBList filterList) {
 		return List.of(buildMatchStage(startDate, endDate, filterList));
 	}
@@ -218,6 +218,15 @@ public interface ScmCommitsRepository extends MongoRepository<ScmCommits, String
 	 */
 	long countByProcessorItemId(String processorItemId);
 
+	/**
+	 * Counts commits by tool configuration ID as stored (ObjectId).
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @return count of commits for the tool configuration
+	 */
+	long countByProcessorItemId(ObjectId processorItemId);
+
 	/**
 	 * Counts commits by author ID.
 	 *
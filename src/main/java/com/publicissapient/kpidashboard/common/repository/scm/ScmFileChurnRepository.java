@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.scm;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmFileChurn;
+
+/** Repository for {@link ScmFileChurn} documents in {@code scm_file_churn}. */
+@Repository
+public interface ScmFileChurnRepository extends MongoRepository<ScmFileChurn, String>, ScmFileChurnRepositoryCustom {
+
+	/**
+	 * Finds the churn record of a file.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param filePath
+	 *          the file path
+	 * @return Optional containing the record if the file was ever changed
+	 */
+	Optional<ScmFileChurn> findByProcessorItemIdAndFilePath(ObjectId processorItemId, String filePath);
+
+	void deleteByProcessorItemIdIn(List<ObjectId> processorItemIds);
+}
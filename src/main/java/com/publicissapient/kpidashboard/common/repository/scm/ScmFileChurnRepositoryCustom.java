@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.scm;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
+import com.publicissapient.kpidashboard.common.model.scm.ScmFileChurn;
+
+/** Incremental maintenance and hotspot queries for {@code scm_file_churn}. */
+public interface ScmFileChurnRepositoryCustom {
+
+	/**
+	 * Adds the file changes of newly ingested commits to the churn records with
+	 * one unordered bulk upsert. Commits must be recorded once, so callers pass
+	 * only commits that were not stored before.
+	 *
+	 * @param commits
+	 *          new commits with their file changes
+	 * @return number of file records touched
+	 */
+	int recordCommits(Collection<ScmCommits> commits);
+
+	/**
+	 * Finds the most changed files of a repository over its whole history. Served
+	 * by the (processorItemId, changeCount) index, weekly buckets are not read.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param limit
+	 *          number of files to return
+	 * @return hotspots ordered by change count, without weekly buckets
+	 */
+	List<ScmFileChurn> findTopHotspots(ObjectId processorItemId, int limit);
+
+	/**
+	 * Finds the most changed files of a repository within a range of weeks,
+	 * summing the weekly buckets on the server.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param fromWeek
+	 *          any day of the first week (inclusive)
+	 * @param toWeek
+	 *          any day of the last week (inclusive)
+	 * @param limit
+	 *          number of files to return
+	 * @return hotspots ordered by change count in the window, totals and author
+	 *         ids restricted to the window, without weekly buckets
+	 */
+	List<ScmFileChurn> findTopHotspots(ObjectId processorItemId, LocalDate fromWeek, LocalDate toWeek, int limit);
+}
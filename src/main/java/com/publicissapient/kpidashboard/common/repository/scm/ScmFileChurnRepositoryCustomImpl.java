@@ -0,0 +1,223 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.scm;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.client.MongoCursor;
+import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
+import com.publicissapient.kpidashboard.common.model.scm.ScmFileChurn;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Repository
+@AllArgsConstructor
+public class ScmFileChurnRepositoryCustomImpl implements ScmFileChurnRepositoryCustom {
+
+	private static final String COLLECTION_NAME = "scm_file_churn";
+	private static final String PROCESSOR_ITEM_ID = "processorItemId";
+	private static final String FILE_PATH = "filePath";
+	private static final String CHANGE_COUNT = "changeCount";
+	private static final String ADDED_LINES = "addedLines";
+	private static final String REMOVED_LINES = "removedLines";
+	private static final String AUTHOR_IDS = "authorIds";
+	private static final String LAST_CHANGED_AT = "lastChangedAt";
+	private static final String WEEKS = "weeks";
+
+	private final MongoOperations operations;
+
+	/**
+	 * Gets the key of the week containing the given day.
+	 *
+	 * @param day
+	 *          any day of the week
+	 * @return ISO date of the week's Monday
+	 */
+	public static String weekKey(LocalDate day) {
+		return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString();
+	}
+
+	@Override
+	public int recordCommits(Collection<ScmCommits> commits) {
+		if (CollectionUtils.isEmpty(commits)) {
+			return 0;
+		}
+		Map<FileKey, FileDelta> deltas = new HashMap<>();
+		for (ScmCommits commit : commits) {
+			if (commit.getProcessorItemId() == null || commit.getCommitTimestamp() == null
+					|| CollectionUtils.isEmpty(commit.getFileChanges())) {
+				continue;
+			}
+			String week = weekKey(
+					Instant.ofEpochMilli(commit.getCommitTimestamp()).atZone(ZoneOffset.UTC).toLocalDate());
+			String authorId = authorOf(commit);
+			for (ScmCommits.FileChange fileChange : commit.getFileChanges()) {
+				if (StringUtils.isBlank(fileChange.getFilePath())) {
+					continue;
+				}
+				deltas.computeIfAbsent(new FileKey(commit.getProcessorItemId(), fileChange.getFilePath()),
+						key -> new FileDelta()).add(week, fileChange, authorId, commit.getCommitTimestamp());
+			}
+		}
+		if (deltas.isEmpty()) {
+			return 0;
+		}
+		BulkOperations bulkOperations = operations.bulkOps(BulkOperations.BulkMode.UNORDERED, ScmFileChurn.class);
+		deltas.forEach((key, delta) -> bulkOperations.upsert(
+				new Query(Criteria.where(PROCESSOR_ITEM_ID).is(key.processorItemId()).and(FILE_PATH).is(key.filePath())),
+				delta.toUpdate()));
+		bulkOperations.execute();
+		log.debug("Recorded churn of {} commits into {} file records", commits.size(), deltas.size());
+		return deltas.size();
+	}
+
+	@Override
+	public List<ScmFileChurn> findTopHotspots(ObjectId processorItemId, int limit) {
+		if (processorItemId == null || limit <= 0) {
+			return Collections.emptyList();
+		}
+		Query query = new Query(Criteria.where(PROCESSOR_ITEM_ID).is(processorItemId))
+				.with(Sort.by(Sort.Direction.DESC, CHANGE_COUNT)).limit(limit);
+		query.fields().exclude(WEEKS);
+		return operations.find(query, ScmFileChurn.class);
+	}
+
+	@Override
+	public List<ScmFileChurn> findTopHotspots(ObjectId processorItemId, LocalDate fromWeek, LocalDate toWeek,
+			int limit) {
+		if (processorItemId == null || limit <= 0) {
+			return Collections.emptyList();
+		}
+		BasicDBList inWindow = new BasicDBList();
+		inWindow.add(new BasicDBObject("$gte", List.of("$$this.k", weekKey(fromWeek))));
+		inWindow.add(new BasicDBObject("$lte", List.of("$$this.k", weekKey(toWeek))));
+		BasicDBObject windowWeeks = new BasicDBObject("$filter", new BasicDBObject("input",
+				new BasicDBObject("$objectToArray", "$" + WEEKS)).append("cond", new BasicDBObject("$and", inWindow)));
+		BasicDBObject authorUnion = new BasicDBObject("$reduce",
+				new BasicDBObject("input", "$w.v." + AUTHOR_IDS).append("initialValue", List.of()).append("in",
+						new BasicDBObject("$setUnion", List.of("$$value", "$$this"))));
+
+		List<BasicDBObject> pipeline = List.of(
+				new BasicDBObject("$match", new BasicDBObject(PROCESSOR_ITEM_ID, processorItemId)),
+				new BasicDBObject("$project",
+						new BasicDBObject(PROCESSOR_ITEM_ID, 1).append(FILE_PATH, 1).append(LAST_CHANGED_AT, 1).append("w",
+								windowWeeks)),
+				new BasicDBObject("$match", new BasicDBObject("w", new BasicDBObject("$ne", List.of()))),
+				new BasicDBObject("$project",
+						new BasicDBObject(PROCESSOR_ITEM_ID, 1).append(FILE_PATH, 1).append(LAST_CHANGED_AT, 1)
+								.append(CHANGE_COUNT, new BasicDBObject("$sum", "$w.v." + CHANGE_COUNT))
+								.append(ADDED_LINES, new BasicDBObject("$sum", "$w.v." + ADDED_LINES))
+								.append(REMOVED_LINES, new BasicDBObject("$sum", "$w.v." + REMOVED_LINES))
+								.append(AUTHOR_IDS, authorUnion)),
+				new BasicDBObject("$sort", new BasicDBObject(CHANGE_COUNT, -1)), new BasicDBObject("$limit", limit));
+
+		List<ScmFileChurn> hotspots = new ArrayList<>();
+		try (MongoCursor<Document> cursor = operations.getCollection(COLLECTION_NAME).aggregate(pipeline).iterator()) {
+			while (cursor.hasNext()) {
+				hotspots.add(operations.getConverter().read(ScmFileChurn.class, cursor.next()));
+			}
+		}
+		return hotspots;
+	}
+
+	private static String authorOf(ScmCommits commit) {
+		if (StringUtils.isNotBlank(commit.getCommitAuthorId())) {
+			return commit.getCommitAuthorId();
+		}
+		return StringUtils.isNotBlank(commit.getAuthorEmail()) ? commit.getAuthorEmail() : commit.getAuthorName();
+	}
+
+	private static long valueOf(Integer lines) {
+		return lines == null ? 0L : lines;
+	}
+
+	private record FileKey(ObjectId processorItemId, String filePath) {
+	}
+
+	/** Accumulates the changes of one file before they are written. */
+	private static final class FileDelta {
+		private final WeekDelta total = new WeekDelta();
+		private final Map<String, WeekDelta> weeks = new HashMap<>();
+		private long lastChangedAt;
+
+		void add(String week, ScmCommits.FileChange fileChange, String authorId, long timestamp) {
+			total.add(fileChange, authorId);
+			weeks.computeIfAbsent(week, w -> new WeekDelta()).add(fileChange, authorId);
+			lastChangedAt = Math.max(lastChangedAt, timestamp);
+		}
+
+		Update toUpdate() {
+			Update update = new Update();
+			total.apply(update, "");
+			weeks.forEach((week, delta) -> delta.apply(update, WEEKS + "." + week + "."));
+			update.max(LAST_CHANGED_AT, lastChangedAt);
+			return update;
+		}
+	}
+
+	private static final class WeekDelta {
+		private long changeCount;
+		private long addedLines;
+		private long removedLines;
+		private final Set<String> authorIds = new HashSet<>();
+
+		void add(ScmCommits.FileChange fileChange, String authorId) {
+			changeCount++;
+			addedLines += valueOf(fileChange.getAddedLines());
+			removedLines += valueOf(fileChange.getRemovedLines());
+			if (authorId != null) {
+				authorIds.add(authorId);
+			}
+		}
+
+		void apply(Update update, String prefix) {
+			update.inc(prefix + CHANGE_COUNT, changeCount).inc(prefix + ADDED_LINES, addedLines).inc(prefix + REMOVED_LINES,
+					removedLines);
+			if (!authorIds.isEmpty()) {
+				update.addToSet(prefix + AUTHOR_IDS).each(authorIds.toArray());
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.scm;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestCube;
+
+/** Repository for the weekly merge-request cube. */
+@Repository
+public interface ScmMergeRequestCubeRepository extends MongoRepository<ScmMergeRequestCube, String> {
+
+	List<ScmMergeRequestCube> findByProcessorItemIdAndWeek(ObjectId processorItemId, String week);
+
+	/**
+	 * Finds the cube cells of an author, or of the whole repository, in a week
+	 * range.
+	 *
+	 * @param processorItemIds
+	 *          the tool configuration IDs
+	 * @param authorUserId
+	 *          author id or ScmMergeRequestCube.ALL_AUTHORS
+	 * @param fromWeek
+	 *          first week (inclusive), yyyy-MM-dd
+	 * @param toWeek
+	 *          last week (inclusive), yyyy-MM-dd
+	 * @return cells ordered by week
+	 */
+	@Query(value = "{'processorItemId': {'$in': ?0}, 'authorUserId': ?1, 'week': {'$gte': ?2, '$lte': ?3}}", sort = "{'week': 1}")
+	List<ScmMergeRequestCube> findCells(List<ObjectId> processorItemIds, String authorUserId, String fromWeek,
+			String toWeek);
+
+	void deleteByProcessorItemIdIn(List<ObjectId> processorItemIds);
+}
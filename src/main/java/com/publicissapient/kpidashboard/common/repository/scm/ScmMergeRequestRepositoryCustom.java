@@ -18,6 +18,7 @@
 package com.publicissapient.kpidashboard.common.repository.scm;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -65,4 +66,35 @@ public interface ScmMergeRequestRepositoryCustom {
 	 * @return matching merged requests
 	 */
 	List<ScmMergeRequests> findMergedList(LocalDateTime startDate, LocalDateTime endDate, BasicDBList filterList);
+
+	/**
+	 * Same as {@link #findMergedList} but leaves out the {@code authorId} and
+	 * {@code reviewerUsers} references, so no user lookup is made per merge
+	 * request. Users can be attached afterwards from {@code authorUserId} and
+	 * {@code reviewerUserIds}.
+	 *
+	 * @param startDate
+	 *          inclusive start of the merged-at range (treated as UTC)
+	 * @param endDate
+	 *          inclusive end of the merged-at range (treated as UTC)
+	 * @param filterList
+	 *          processor-item filters
+	 * @return matching merged requests without user references
+	 */
+	List<ScmMergeRequests> findMergedListWithoutUsers(LocalDateTime startDate, LocalDateTime endDate,
+			BasicDBList filterList);
+
+	/**
+	 * Retrieves the merge requests whose merge commit or one of whose commits is
+	 * among the given SHAs, without the {@code authorId} and
+	 * {@code reviewerUsers} references. Used to tie deployed change sets back to
+	 * merge requests.
+	 *
+	 * @param filterList
+	 *          processor-item filters
+	 * @param commitShas
+	 *          commit SHAs
+	 * @return matching merge requests without user references
+	 */
+	List<ScmMergeRequests> findByCommitShasWithoutUsers(BasicDBList filterList, Collection<String> commitShas);
 }
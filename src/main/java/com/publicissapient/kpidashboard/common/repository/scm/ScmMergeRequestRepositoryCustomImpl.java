@@ -20,6 +20,7 @@ package com.publicissapient.kpidashboard.common.repository.scm;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -43,6 +44,10 @@ public class ScmMergeRequestRepositoryCustomImpl implements ScmMergeRequestRepos
 	private static final String SCM_MERGE_REQUESTS_COLLECTION = "scm_merge_requests";
 	private static final String UPDATED_DATE = "updatedDate";
 	private static final String MERGED_AT = "mergedAt";
+	private static final String MERGE_COMMIT_SHA = "mergeCommitSha";
+	private static final String COMMIT_SHAS = "commitShas";
+	private static final BasicDBObject EXCLUDE_USERS = new BasicDBObject("$project",
+			new BasicDBObject("authorId", 0).append("reviewerUsers", 0));
 
 	private final MongoOperations operations;
 
@@ -84,16 +89,52 @@ public class ScmMergeRequestRepositoryCustomImpl implements ScmMergeRequestRepos
 		if (filterList == null || filterList.isEmpty()) {
 			return Collections.emptyList();
 		}
-		Date start = Date.from(startDate.toInstant(ZoneOffset.UTC));
-		Date end = Date.from(endDate.toInstant(ZoneOffset.UTC));
-		List<BasicDBObject> pipeline = List.of(new BasicDBObject("$match",
-				new BasicDBObject("$or", filterList).append(MERGED_AT, new BasicDBObject("$gte", start).append("$lte", end))));
+		List<BasicDBObject> pipeline = List.of(buildMergedAtMatch(startDate, endDate, filterList));
 		try (MongoCursor<Document> cursor = operations.getCollection(SCM_MERGE_REQUESTS_COLLECTION).aggregate(pipeline)
 				.iterator()) {
 			return mapMergeRequests(cursor);
 		}
 	}
 
+	@Override
+	public List<ScmMergeRequests> findMergedListWithoutUsers(LocalDateTime startDate, LocalDateTime endDate,
+			BasicDBList filterList) {
+		if (filterList == null || filterList.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<BasicDBObject> pipeline = List.of(buildMergedAtMatch(startDate, endDate, filterList), EXCLUDE_USERS);
+		try (MongoCursor<Document> cursor = operations.getCollection(SCM_MERGE_REQUESTS_COLLECTION).aggregate(pipeline)
+				.iterator()) {
+			return mapMergeRequests(cursor);
+		}
+	}
+
+	@Override
+	public List<ScmMergeRequests> findByCommitShasWithoutUsers(BasicDBList filterList, Collection<String> commitShas) {
+		if (filterList == null || filterList.isEmpty() || commitShas == null || commitShas.isEmpty()) {
+			return Collections.emptyList();
+		}
+		BasicDBList shaMatch = new BasicDBList();
+		shaMatch.add(new BasicDBObject(MERGE_COMMIT_SHA, new BasicDBObject("$in", commitShas)));
+		shaMatch.add(new BasicDBObject(COMMIT_SHAS, new BasicDBObject("$in", commitShas)));
+		BasicDBList and = new BasicDBList();
+		and.add(new BasicDBObject("$or", filterList));
+		and.add(new BasicDBObject("$or", shaMatch));
+		List<BasicDBObject> pipeline = List.of(new BasicDBObject("$match", new BasicDBObject("$and", and)),
+				EXCLUDE_USERS);
+		try (MongoCursor<Document> cursor = operations.getCollection(SCM_MERGE_REQUESTS_COLLECTION).aggregate(pipeline)
+				.iterator()) {
+			return mapMergeRequests(cursor);
+		}
+	}
+
+	private BasicDBObject buildMergedAtMatch(LocalDateTime startDate, LocalDateTime endDate, BasicDBList filterList) {
+		Date start = Date.from(startDate.toInstant(ZoneOffset.UTC));
+		Date end = Date.from(endDate.toInstant(ZoneOffset.UTC));
+		return new BasicDBObject("$match",
+				new BasicDBObject("$or", filterList).append(MERGED_AT, new BasicDBObject("$gte", start).append("$lte", end)));
+	}
+
 	private List<ScmMergeRequests> mapMergeRequests(MongoCursor<Document> cursor) {
 		List<ScmMergeRequests> mergeRequests = new ArrayList<>();
 		while (cursor.hasNext()) {
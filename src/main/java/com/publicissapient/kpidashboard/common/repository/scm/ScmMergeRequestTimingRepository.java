@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.scm;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestTiming;
+
+/** Repository for per merge request lifecycle timings. */
+@Repository
+public interface ScmMergeRequestTimingRepository extends MongoRepository<ScmMergeRequestTiming, String> {
+
+	List<ScmMergeRequestTiming> findByProcessorItemIdAndExternalIdIn(ObjectId processorItemId,
+			Collection<String> externalIds);
+
+	List<ScmMergeRequestTiming> findByProcessorItemIdAndWeek(ObjectId processorItemId, String week);
+
+	void deleteByProcessorItemIdIn(List<ObjectId> processorItemIds);
+}
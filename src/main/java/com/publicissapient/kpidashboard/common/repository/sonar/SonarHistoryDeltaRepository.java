@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.sonar;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistoryDelta;
+
+/** Repository for the delta-encoded sonar history. */
+@Repository
+public interface SonarHistoryDeltaRepository extends MongoRepository<SonarHistoryDelta, ObjectId> {
+
+	SonarHistoryDelta findFirstByProcessorItemIdOrderBySequenceDesc(ObjectId processorItemId);
+
+	SonarHistoryDelta findFirstByProcessorItemIdAndTimestampLessThanEqualOrderBySequenceDesc(ObjectId processorItemId,
+			Long timestamp);
+
+	SonarHistoryDelta findFirstByProcessorItemIdAndKeyframeTrueAndSequenceLessThanEqualOrderBySequenceDesc(
+			ObjectId processorItemId, long sequence);
+
+	/**
+	 * Finds the analyses of a component in a sequence range.
+	 *
+	 * @param processorItemId
+	 *          processor item id
+	 * @param fromSequence
+	 *          first sequence (inclusive)
+	 * @param toSequence
+	 *          last sequence (inclusive)
+	 * @return analyses ordered by sequence
+	 */
+	@Query(value = "{'processorItemId': ?0, 'sequence': {'$gte': ?1, '$lte': ?2}}", sort = "{'sequence': 1}")
+	List<SonarHistoryDelta> findSequenceRange(ObjectId processorItemId, long fromSequence, long toSequence);
+
+	void deleteByProcessorItemId(ObjectId processorItemId);
+}
@@ -35,7 +35,8 @@ import com.publicissapient.kpidashboard.common.model.sonar.SonarHistory;
 public interface SonarHistoryRepository
 		extends
 			CrudRepository<SonarHistory, ObjectId>,
-			QuerydslPredicateExecutor<SonarHistory> {
+			QuerydslPredicateExecutor<SonarHistory>,
+			SonarHistoryRepositoryCustom {
 
 	/**
 	 * Finds the {@link SonarHistory} data point for a list of
@@ -76,4 +77,14 @@ public interface SonarHistoryRepository
 	 * @return a {@link SonarHistory}
 	 */
 	List<SonarHistory> findByProcessorItemIdInAndTimestampGreaterThan(List<ObjectId> processorItemIdList, Long timestamp);
+
+	/**
+	 * Finds all {@link SonarHistory} data points of a {@link ProcessorItem} in
+	 * analysis order.
+	 *
+	 * @param processorItemId
+	 *          processor item id
+	 * @return the history ordered by timestamp
+	 */
+	List<SonarHistory> findByProcessorItemIdOrderByTimestampAsc(ObjectId processorItemId);
 }
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.sonar;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.constant.TimeBucket;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarMetricPoint;
+
+/** Custom repository interface for aggregations over sonar history. */
+public interface SonarHistoryRepositoryCustom {
+
+	/**
+	 * Downsamples metric values to one point per component, metric and bucket,
+	 * keeping the value of the last analysis in each bucket. The bucketing runs on
+	 * the server, so the result size is bounded by buckets times metrics.
+	 *
+	 * @param processorItemIds
+	 *          processor item ids
+	 * @param metricNames
+	 *          metric keys to read
+	 * @param from
+	 *          window start, epoch millis (inclusive)
+	 * @param to
+	 *          window end, epoch millis (inclusive)
+	 * @param bucket
+	 *          bucket size, buckets are cut in UTC
+	 * @return points ordered by processor item, metric and bucket
+	 */
+	List<SonarMetricPoint> findMetricSeries(List<ObjectId> processorItemIds, Collection<String> metricNames, long from,
+			long to, TimeBucket bucket);
+}
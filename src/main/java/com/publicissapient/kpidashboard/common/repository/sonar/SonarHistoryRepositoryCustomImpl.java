@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.sonar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.client.MongoCursor;
+import com.publicissapient.kpidashboard.common.constant.TimeBucket;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarMetricPoint;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class SonarHistoryRepositoryCustomImpl implements SonarHistoryRepositoryCustom {
+
+	private static final String COLLECTION_NAME = "sonar_history";
+	private static final String PROCESSOR_ITEM_ID = "processorItemId";
+	private static final String TIMESTAMP = "timestamp";
+	private static final String METRICS = "metrics";
+	private static final String METRIC_NAME = "metricName";
+	private static final String METRIC_VALUE = "metricValue";
+	private static final String FORMATTED_VALUE = "formattedValue";
+	private static final String BUCKET = "bucket";
+	private static final String ID = "_id";
+
+	private final MongoOperations operations;
+
+	@Override
+	public List<SonarMetricPoint> findMetricSeries(List<ObjectId> processorItemIds, Collection<String> metricNames,
+			long from, long to, TimeBucket bucket) {
+		if (CollectionUtils.isEmpty(processorItemIds) || CollectionUtils.isEmpty(metricNames) || bucket == null) {
+			return Collections.emptyList();
+		}
+		List<String> names = new ArrayList<>(metricNames);
+		List<BasicDBObject> pipeline = List.of(
+				new BasicDBObject("$match",
+						new BasicDBObject(PROCESSOR_ITEM_ID, new BasicDBObject("$in", processorItemIds))
+								.append(TIMESTAMP, new BasicDBObject("$gte", from).append("$lte", to))
+								.append(METRICS + "." + METRIC_NAME, new BasicDBObject("$in", names))),
+				// $last below relies on this order
+				new BasicDBObject("$sort", new BasicDBObject(TIMESTAMP, 1)),
+				new BasicDBObject("$project",
+						new BasicDBObject(ID, 0).append(PROCESSOR_ITEM_ID, 1).append(TIMESTAMP, 1).append(METRICS,
+								new BasicDBObject("$filter", new BasicDBObject("input", "$" + METRICS).append("as", "m")
+										.append("cond", new BasicDBObject("$in", List.of("$$m." + METRIC_NAME, names)))))),
+				new BasicDBObject("$unwind", "$" + METRICS),
+				new BasicDBObject("$group", new BasicDBObject(ID,
+						new BasicDBObject(PROCESSOR_ITEM_ID, "$" + PROCESSOR_ITEM_ID)
+								.append(METRIC_NAME, "$" + METRICS + "." + METRIC_NAME).append(BUCKET,
+										new BasicDBObject("$dateToString",
+												new BasicDBObject("format", bucket.getDateFormat()).append("date",
+														new BasicDBObject("$add", List.of(new Date(0), "$" + TIMESTAMP))))))
+						.append(TIMESTAMP, new BasicDBObject("$last", "$" + TIMESTAMP))
+						.append(METRIC_VALUE, new BasicDBObject("$last", "$" + METRICS + "." + METRIC_VALUE))
+						.append(FORMATTED_VALUE, new BasicDBObject("$last", "$" + METRICS + "." + FORMATTED_VALUE))),
+				new BasicDBObject("$sort", new BasicDBObject(ID + "." + PROCESSOR_ITEM_ID, 1)
+						.append(ID + "." + METRIC_NAME, 1).append(ID + "." + BUCKET, 1)));
+
+		List<SonarMetricPoint> points = new ArrayList<>();
+		try (MongoCursor<Document> cursor = operations.getCollection(COLLECTION_NAME).aggregate(pipeline).iterator()) {
+			while (cursor.hasNext()) {
+				Document document = cursor.next();
+				Document key = document.get(ID, Document.class);
+				points.add(SonarMetricPoint.builder().processorItemId(key.getObjectId(PROCESSOR_ITEM_ID))
+						.metricName(key.getString(METRIC_NAME)).bucketStart(bucket.startOf(key.getString(BUCKET)))
+						.timestamp(document.getLong(TIMESTAMP)).metricValue(document.get(METRIC_VALUE))
+						.formattedValue(document.getString(FORMATTED_VALUE)).build());
+			}
+		}
+		return points;
+	}
+}
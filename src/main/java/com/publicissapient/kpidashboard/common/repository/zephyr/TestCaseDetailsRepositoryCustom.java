@@ -18,6 +18,7 @@
 
 package com.publicissapient.kpidashboard.common.repository.zephyr; // NOPMD
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -42,6 +43,25 @@ public interface TestCaseDetailsRepositoryCustom {
 	List<TestCaseDetails> findNonRegressionTestDetails(Map<String, List<String>> mapOfFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria);
 
+	/**
+	 * Same as {@link #findNonRegressionTestDetails(Map, Map, String)}, optionally
+	 * excluding plain string labels through the indexed, case-insensitive
+	 * {@code normalizedLabels}. Only opt in once
+	 * {@link #backfillNormalizedLabels(int)} has completed and test cases are
+	 * written through {@link #syncTestCases(String, Collection)}.
+	 *
+	 * @param mapOfFilters
+	 *          the map of filters
+	 * @param uniqueProjectMap
+	 *          the unique project map
+	 * @param matchNormalizedLabels
+	 *          match string labels on {@code normalizedLabels} instead of
+	 *          {@code labels}
+	 * @return list of feature
+	 */
+	List<TestCaseDetails> findNonRegressionTestDetails(Map<String, List<String>> mapOfFilters,
+			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria, boolean matchNormalizedLabels);
+
 	/**
 	 * Find TestCase by unique parameters and Folder list.
 	 *
@@ -53,4 +73,46 @@ public interface TestCaseDetailsRepositoryCustom {
 	 */
 	List<TestCaseDetails> findTestDetails(Map<String, List<String>> mapOfFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria);
+
+	/**
+	 * Same as {@link #findTestDetails(Map, Map, String)}, optionally matching
+	 * plain string labels through the indexed, case-insensitive
+	 * {@code normalizedLabels}. Only opt in once
+	 * {@link #backfillNormalizedLabels(int)} has completed and test cases are
+	 * written through {@link #syncTestCases(String, Collection)}.
+	 *
+	 * @param mapOfFilters
+	 *          the map of filters
+	 * @param uniqueProjectMap
+	 *          the unique project map
+	 * @param matchNormalizedLabels
+	 *          match string labels on {@code normalizedLabels} instead of
+	 *          {@code labels}
+	 * @return list of feature
+	 */
+	List<TestCaseDetails> findTestDetails(Map<String, List<String>> mapOfFilters,
+			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria, boolean matchNormalizedLabels);
+
+	/**
+	 * Writes the given test cases of a project, skipping those whose content hash
+	 * matches the stored one. Changed cases replace the stored document of the
+	 * same number, or are inserted, through a single unordered bulk;
+	 * {@code contentHash} and {@code normalizedLabels} are set on the way.
+	 *
+	 * @param basicProjectConfigId
+	 *          project the test cases belong to
+	 * @param testCases
+	 *          test cases fetched from Zephyr
+	 * @return number of inserted or updated test cases
+	 */
+	int syncTestCases(String basicProjectConfigId, Collection<TestCaseDetails> testCases);
+
+	/**
+	 * Fills {@code normalizedLabels} for test cases stored before it existed.
+	 *
+	 * @param batchSize
+	 *          maximum documents to update in one call
+	 * @return number of updated documents, 0 once everything is backfilled
+	 */
+	int backfillNormalizedLabels(int batchSize);
 }
@@ -19,14 +19,22 @@
 package com.publicissapient.kpidashboard.common.repository.zephyr;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import com.publicissapient.kpidashboard.common.model.zephyr.TestCaseDetails;
@@ -43,17 +51,30 @@ public class TestCaseDetailsRepositoryImpl implements TestCaseDetailsRepositoryC
 	private static final String BASIC_PROJ_CONF_ID = "basicProjectConfigId";
 	private static final String NIN = "nin";
 	private static final String TEST_CASE_STATUS = "testCaseStatus";
+	private static final String LABELS = "labels";
+	private static final String NORMALIZED_LABELS = "normalizedLabels";
+	private static final String NUMBER = "number";
+	private static final String CONTENT_HASH = "contentHash";
+	private static final String ID = "_id";
 
 	private final MongoTemplate operations;
 
 	@Override
 	public List<TestCaseDetails> findTestDetails(Map<String, List<String>> mapOfFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria) {
+		return findTestDetails(mapOfFilters, uniqueProjectMap, mapStatusCriteria, false);
+	}
+
+	@Override
+	public List<TestCaseDetails> findTestDetails(Map<String, List<String>> mapOfFilters,
+			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria,
+			boolean matchNormalizedLabels) {
 		Criteria criteria = new Criteria();
 		// map of common filters Project and Sprint
 		criteria = buildCommonFiltersCriteria(mapOfFilters, criteria);
 		// Project level storyType filters
-		List<Criteria> projectCriteriaList = buildProjectLevelStoryTypeFilterCriteria(uniqueProjectMap, mapStatusCriteria);
+		List<Criteria> projectCriteriaList = buildProjectLevelStoryTypeFilterCriteria(uniqueProjectMap,
+				mapStatusCriteria, matchNormalizedLabels);
 		Query query = new Query(criteria);
 		if (!CollectionUtils.isEmpty(projectCriteriaList)) {
 			Criteria criteriaAggregatedAtProjectLevel = new Criteria()
@@ -67,9 +88,17 @@ public class TestCaseDetailsRepositoryImpl implements TestCaseDetailsRepositoryC
 
 	public List<TestCaseDetails> findNonRegressionTestDetails(Map<String, List<String>> mapOfFilters,
 			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria) {
+		return findNonRegressionTestDetails(mapOfFilters, uniqueProjectMap, mapStatusCriteria, false);
+	}
+
+	@Override
+	public List<TestCaseDetails> findNonRegressionTestDetails(Map<String, List<String>> mapOfFilters,
+			Map<String, Map<String, Object>> uniqueProjectMap, String mapStatusCriteria,
+			boolean matchNormalizedLabels) {
 		Criteria criteria = new Criteria();
 		criteria = buildCommonFiltersCriteria(mapOfFilters, criteria);
-		List<Criteria> projectCriteriaList = buildProjectLevelCriteria(uniqueProjectMap, mapStatusCriteria);
+		List<Criteria> projectCriteriaList = buildProjectLevelCriteria(uniqueProjectMap, mapStatusCriteria,
+				matchNormalizedLabels);
 
 		Criteria criteriaAggregatedAtProjectLevel = new Criteria()
 				.andOperator(projectCriteriaList.toArray(new Criteria[0]));
@@ -89,13 +118,15 @@ public class TestCaseDetailsRepositoryImpl implements TestCaseDetailsRepositoryC
 	}
 
 	private List<Criteria> buildProjectLevelCriteria(Map<String, Map<String, Object>> uniqueProjectMap,
-			String mapStatusCriteria) {
+			String mapStatusCriteria, boolean matchNormalizedLabels) {
 		List<Criteria> projectCriteriaList = new ArrayList<>();
 		uniqueProjectMap.forEach((project, filterMap) -> {
 			Criteria projectCriteria = new Criteria();
 			projectCriteria.and(BASIC_PROJ_CONF_ID).is(project);
 			filterMap.forEach((subk, subv) -> {
-				if (subk.equalsIgnoreCase("labels")) {
+				if (subk.equalsIgnoreCase(LABELS) && matchNormalizedLabels) {
+					applyLabelFilter(projectCriteria, subk, (List<?>) subv, true);
+				} else if (subk.equalsIgnoreCase(LABELS)) {
 					projectCriteria.and(subk).nin((List<Pattern>) subv);
 				} else if (subk.equals(TEST_CASE_STATUS) && mapStatusCriteria.equalsIgnoreCase(NIN)) {
 					projectCriteria.and(subk).nin((List<Pattern>) subv);
@@ -109,14 +140,16 @@ public class TestCaseDetailsRepositoryImpl implements TestCaseDetailsRepositoryC
 	}
 
 	private List<Criteria> buildProjectLevelStoryTypeFilterCriteria(Map<String, Map<String, Object>> uniqueProjectMap,
-			String mapStatusCriteria) {
+			String mapStatusCriteria, boolean matchNormalizedLabels) {
 		// Project level storyType filters
 		List<Criteria> projectCriteriaList = new ArrayList<>();
 		uniqueProjectMap.forEach((project, filterMap) -> {
 			Criteria projectCriteria = new Criteria();
 			projectCriteria.and(BASIC_PROJ_CONF_ID).is(project);
 			filterMap.forEach((subk, subv) -> {
-				if (subk.equals(TEST_CASE_STATUS) && mapStatusCriteria.equalsIgnoreCase(NIN)) {
+				if (subk.equalsIgnoreCase(LABELS) && matchNormalizedLabels) {
+					applyLabelFilter(projectCriteria, subk, (List<?>) subv, false);
+				} else if (subk.equals(TEST_CASE_STATUS) && mapStatusCriteria.equalsIgnoreCase(NIN)) {
 					projectCriteria.and(subk).nin((List<Pattern>) subv);
 				} else {
 					projectCriteria.and(subk).in((List<Pattern>) subv);
@@ -126,4 +159,95 @@ public class TestCaseDetailsRepositoryImpl implements TestCaseDetailsRepositoryC
 		});
 		return projectCriteriaList;
 	}
+
+	/**
+	 * Plain string labels are matched case-insensitively against the indexed
+	 * normalised label array; regex patterns keep matching the raw labels.
+	 */
+	private void applyLabelFilter(Criteria projectCriteria, String labelField, List<?> values, boolean exclude) {
+		if (!values.isEmpty() && values.stream().allMatch(String.class::isInstance)) {
+			List<String> labels = TestCaseDetails.normalizeLabels(values.stream().map(String.class::cast).toList());
+			if (exclude) {
+				projectCriteria.and(NORMALIZED_LABELS).nin(labels);
+			} else {
+				projectCriteria.and(NORMALIZED_LABELS).in(labels);
+			}
+		} else if (exclude) {
+			projectCriteria.and(labelField).nin(values);
+		} else {
+			projectCriteria.and(labelField).in(values);
+		}
+	}
+
+	@Override
+	public int syncTestCases(String basicProjectConfigId, Collection<TestCaseDetails> testCases) {
+		if (StringUtils.isEmpty(basicProjectConfigId) || CollectionUtils.isEmpty(testCases)) {
+			return 0;
+		}
+		// last occurrence wins when Zephyr returns a case twice
+		Map<String, TestCaseDetails> byNumber = new LinkedHashMap<>();
+		testCases.stream().filter(testCase -> StringUtils.isNotEmpty(testCase.getNumber()))
+				.forEach(testCase -> byNumber.put(testCase.getNumber(), testCase));
+		if (byNumber.isEmpty()) {
+			return 0;
+		}
+		Map<String, String> storedHashes = findStoredHashes(basicProjectConfigId, byNumber.keySet());
+
+		BulkOperations bulkOperations = operations.bulkOps(BulkOperations.BulkMode.UNORDERED, TestCaseDetails.class);
+		int changed = 0;
+		for (TestCaseDetails testCase : byNumber.values()) {
+			testCase.setBasicProjectConfigId(basicProjectConfigId);
+			String hash = testCase.computeContentHash();
+			if (hash.equals(storedHashes.get(testCase.getNumber()))) {
+				continue;
+			}
+			testCase.setContentHash(hash);
+			testCase.setNormalizedLabels(TestCaseDetails.normalizeLabels(testCase.getLabels()));
+			Document document = new Document();
+			operations.getConverter().write(testCase, document);
+			document.remove(ID);
+			// replaced as a whole, fields that became null must not survive from the stored case
+			bulkOperations.replaceOne(
+					new Query(Criteria.where(BASIC_PROJ_CONF_ID).is(basicProjectConfigId).and(NUMBER)
+							.is(testCase.getNumber())),
+					document, FindAndReplaceOptions.options().upsert());
+			changed++;
+		}
+		if (changed > 0) {
+			bulkOperations.execute();
+		}
+		return changed;
+	}
+
+	private Map<String, String> findStoredHashes(String basicProjectConfigId, Collection<String> numbers) {
+		Query query = new Query(Criteria.where(BASIC_PROJ_CONF_ID).is(basicProjectConfigId).and(NUMBER).in(numbers));
+		query.fields().include(NUMBER).include(CONTENT_HASH).exclude(ID);
+		Map<String, String> storedHashes = new HashMap<>();
+		for (Document stored : operations.find(query, Document.class,
+				operations.getCollectionName(TestCaseDetails.class))) {
+			String hash = stored.getString(CONTENT_HASH);
+			if (hash != null) {
+				storedHashes.put(stored.getString(NUMBER), hash);
+			}
+		}
+		return storedHashes;
+	}
+
+	@Override
+	public int backfillNormalizedLabels(int batchSize) {
+		Query query = new Query(Criteria.where(NORMALIZED_LABELS).exists(false)).limit(batchSize);
+		query.fields().include(LABELS);
+		List<Document> pending = operations.find(query, Document.class,
+				operations.getCollectionName(TestCaseDetails.class));
+		if (pending.isEmpty()) {
+			return 0;
+		}
+		BulkOperations bulkOperations = operations.bulkOps(BulkOperations.BulkMode.UNORDERED, TestCaseDetails.class);
+		for (Document testCase : pending) {
+			bulkOperations.updateOne(new Query(Criteria.where(ID).is(testCase.get(ID))), new Update()
+					.set(NORMALIZED_LABELS, TestCaseDetails.normalizeLabels(testCase.getList(LABELS, String.class))));
+		}
+		bulkOperations.execute();
+		return pending.size();
+	}
 }
@@ -21,27 +21,40 @@ package com.publicissapient.kpidashboard.common.service;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -56,6 +69,34 @@ public class AesEncryptionService implements EncryptionService {
 	private static final int ITERATION_COUNT = 65536;
 	private static final int KEY_LENGTH = 256;
 	private static final String KEY_INSTANCE = "PBKDF2WithHmacSHA1";
+	private static final long MAX_DERIVED_KEYS = 1000L;
+	private static final long DERIVED_KEY_EXPIRY_MINUTES = 30L;
+	private static final String ENVELOPE_PREFIX = "enc:v";
+	private static final String ENVELOPE_MODE = "AES/GCM/NoPadding";
+	private static final int NONCE_LENGTH = 12;
+	private static final int TAG_LENGTH = 128;
+	private static final int LEGACY_HEADER_LENGTH = 32;
+	private static final int AES_BLOCK_LENGTH = 16;
+
+	private final EnvelopeKeyRing keyRing;
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	/*
+	 * PBKDF2 output per key and salt; every stored value has its own salt, so
+	 * this pays off when the same credentials are decrypted again and again
+	 */
+	private final Cache<String, DerivedKey> derivedKeys = CacheBuilder.newBuilder().maximumSize(MAX_DERIVED_KEYS)
+			.expireAfterWrite(DERIVED_KEY_EXPIRY_MINUTES, TimeUnit.MINUTES)
+			.removalListener((RemovalListener<String, DerivedKey>) removal -> removal.getValue().wipe()).build();
+
+	public AesEncryptionService() {
+		this(EnvelopeKeyRing.disabled());
+	}
+
+	@Autowired
+	public AesEncryptionService(EnvelopeKeyRing keyRing) {
+		this.keyRing = keyRing == null ? EnvelopeKeyRing.disabled() : keyRing;
+	}
 
 	@Override
 	public String encrypt(String text, String key) {
@@ -63,6 +104,10 @@ public class AesEncryptionService implements EncryptionService {
 			log.error("Provide some text to encrypt");
 			return null;
 		}
+		if (keyRing.isEnabled()) {
+			// the data key of the active version replaces the given key
+			return encryptEnvelope(text, keyRing.getActiveVersion());
+		}
 		if (StringUtils.isEmpty(key)) {
 			log.error("Provide a key for encryption");
 			return null;
@@ -70,10 +115,8 @@ public class AesEncryptionService implements EncryptionService {
 
 		try {
 			byte[] salt = generateSalt();
-			SecretKeyFactory factory = SecretKeyFactory.getInstance(KEY_INSTANCE);
-			KeySpec spec = new PBEKeySpec(key.toCharArray(), salt, ITERATION_COUNT, KEY_LENGTH);
-			SecretKey tempKey = factory.generateSecret(spec);
-			SecretKey secret = new SecretKeySpec(tempKey.getEncoded(), ALGO);
+			// a fresh salt is never derived again, so the key is not cached
+			SecretKey secret = toSecretKey(deriveKey(key, salt));
 			Cipher cipher = Cipher.getInstance(DEFAULT_MODE_AND_PADDING_SCHEME); // NOSONAR
 			IvParameterSpec iv = generateIv();
 			cipher.init(Cipher.ENCRYPT_MODE, secret, iv);
@@ -109,6 +152,9 @@ public class AesEncryptionService implements EncryptionService {
 			log.error("Provide some text to decrypt");
 			return null;
 		}
+		if (encryptedText.startsWith(ENVELOPE_PREFIX)) {
+			return decryptEnvelope(encryptedText);
+		}
 		if (StringUtils.isEmpty(key)) {
 			log.error("Provide a key for decryption");
 			return null;
@@ -122,10 +168,7 @@ public class AesEncryptionService implements EncryptionService {
 		byte[] iv = Arrays.copyOfRange(cipherText, 16, 32);
 		byte[] ct = Arrays.copyOfRange(cipherText, 32, cipherText.length);
 		try {
-			SecretKeyFactory factory = SecretKeyFactory.getInstance(KEY_INSTANCE);
-			KeySpec spec = new PBEKeySpec(key.toCharArray(), salt, ITERATION_COUNT, KEY_LENGTH);
-			SecretKey tempKey = factory.generateSecret(spec);
-			SecretKey secret = new SecretKeySpec(tempKey.getEncoded(), ALGO);
+			SecretKey secret = secretKey(key, salt);
 			Cipher cipher = Cipher.getInstance(DEFAULT_MODE_AND_PADDING_SCHEME); // NOSONAR
 			IvParameterSpec ivSpec = new IvParameterSpec(iv);
 			cipher.init(Cipher.DECRYPT_MODE, secret, ivSpec);
@@ -150,6 +193,161 @@ public class AesEncryptionService implements EncryptionService {
 		return null;
 	}
 
+	/**
+	 * Tells whether a stored value should be rewritten: envelope encryption is
+	 * enabled and the value is either encrypted the legacy way or with a key
+	 * version other than the active one. Values that were never encrypted are
+	 * left as they are.
+	 *
+	 * @param encryptedText
+	 *          an encrypted value
+	 * @return whether the value needs re-encryption
+	 */
+	public boolean needsReEncryption(String encryptedText) {
+		if (!keyRing.isEnabled() || StringUtils.isEmpty(encryptedText)) {
+			return false;
+		}
+		if (encryptedText.startsWith(ENVELOPE_PREFIX)) {
+			return !encryptedText.startsWith(envelopeHeader(keyRing.getActiveVersion()));
+		}
+		return isLegacyCipherText(encryptedText);
+	}
+
+	/* base64(salt | iv | ciphertext), the ciphertext padded to whole AES blocks */
+	private static boolean isLegacyCipherText(String encryptedText) {
+		try {
+			int length = Base64.getDecoder().decode(encryptedText).length;
+			return length >= LEGACY_HEADER_LENGTH + AES_BLOCK_LENGTH
+					&& (length - LEGACY_HEADER_LENGTH) % AES_BLOCK_LENGTH == 0;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * enc:v<version>:base64(nonce | ciphertext | tag), with the header as
+	 * additional authenticated data so the version cannot be swapped
+	 */
+	private String encryptEnvelope(String text, int version) {
+		String header = envelopeHeader(version);
+		try {
+			byte[] nonce = new byte[NONCE_LENGTH];
+			secureRandom.nextBytes(nonce);
+			Cipher cipher = Cipher.getInstance(ENVELOPE_MODE);
+			cipher.init(Cipher.ENCRYPT_MODE, keyRing.getDataKey(version), new GCMParameterSpec(TAG_LENGTH, nonce));
+			cipher.updateAAD(header.getBytes(StandardCharsets.UTF_8));
+			byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
+			byte[] payload = ByteBuffer.allocate(nonce.length + encrypted.length).put(nonce).put(encrypted).array();
+			return header + Base64.getEncoder().encodeToString(payload);
+		} catch (GeneralSecurityException e) {
+			log.error("Encryption - Unable to encrypt with key version {}", version, e);
+		}
+		return null;
+	}
+
+	private String decryptEnvelope(String encryptedText) {
+		int headerEnd = encryptedText.indexOf(':', ENVELOPE_PREFIX.length());
+		int version;
+		try {
+			version = Integer.parseInt(encryptedText.substring(ENVELOPE_PREFIX.length(), headerEnd));
+		} catch (NumberFormatException | IndexOutOfBoundsException e) {
+			log.error("Decryption - Invalid key version header");
+			return null;
+		}
+		SecretKey dataKey = keyRing.getDataKey(version);
+		if (dataKey == null) {
+			log.error("Decryption - Key version {} is not configured", version);
+			return null;
+		}
+		try {
+			byte[] payload = Base64.getDecoder().decode(encryptedText.substring(headerEnd + 1));
+			if (payload.length <= NONCE_LENGTH) {
+				log.error("Decryption - Invalid cipher text");
+				return null;
+			}
+			Cipher cipher = Cipher.getInstance(ENVELOPE_MODE);
+			cipher.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(TAG_LENGTH, payload, 0, NONCE_LENGTH));
+			cipher.updateAAD(encryptedText.substring(0, headerEnd + 1).getBytes(StandardCharsets.UTF_8));
+			return new String(cipher.doFinal(payload, NONCE_LENGTH, payload.length - NONCE_LENGTH),
+					StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			log.error("Decryption - Invalid cipher text encoding");
+		} catch (GeneralSecurityException e) {
+			log.error("Decryption - Unable to decrypt with key version {}", version, e);
+		}
+		return null;
+	}
+
+	private static String envelopeHeader(int version) {
+		return ENVELOPE_PREFIX + version + ':';
+	}
+
+	private SecretKey secretKey(String key, byte[] salt) throws InvalidKeySpecException, NoSuchAlgorithmException {
+		String cacheKey = fingerprint(key) + ':' + HexFormat.of().formatHex(salt);
+		byte[] material;
+		try {
+			material = derivedKeys.get(cacheKey, () -> new DerivedKey(deriveKey(key, salt))).copy();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof InvalidKeySpecException invalidKeySpec) {
+				throw invalidKeySpec;
+			}
+			if (e.getCause() instanceof NoSuchAlgorithmException noSuchAlgorithm) {
+				throw noSuchAlgorithm;
+			}
+			throw new UncheckedExecutionException(e.getCause());
+		}
+		if (material == null) {
+			// wiped by an eviction between lookup and copy
+			material = deriveKey(key, salt);
+		}
+		return toSecretKey(material);
+	}
+
+	private static SecretKey toSecretKey(byte[] material) {
+		try {
+			return new SecretKeySpec(material, ALGO);
+		} finally {
+			Arrays.fill(material, (byte) 0);
+		}
+	}
+
+	private static byte[] deriveKey(String key, byte[] salt) throws InvalidKeySpecException, NoSuchAlgorithmException {
+		SecretKeyFactory factory = SecretKeyFactory.getInstance(KEY_INSTANCE);
+		PBEKeySpec spec = new PBEKeySpec(key.toCharArray(), salt, ITERATION_COUNT, KEY_LENGTH);
+		try {
+			return factory.generateSecret(spec).getEncoded();
+		} finally {
+			spec.clearPassword();
+		}
+	}
+
+	/*
+	 * the cache is keyed by a digest so that it never holds the key itself
+	 */
+	private static String fingerprint(String key) throws NoSuchAlgorithmException {
+		return HexFormat.of()
+				.formatHex(MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/** Derived key material, zeroed when it leaves the cache. */
+	private static final class DerivedKey {
+		private final byte[] material;
+		private boolean wiped;
+
+		private DerivedKey(byte[] material) {
+			this.material = material;
+		}
+
+		private synchronized byte[] copy() {
+			return wiped ? null : material.clone();
+		}
+
+		private synchronized void wipe() {
+			Arrays.fill(material, (byte) 0);
+			wiped = true;
+		}
+	}
+
 	private IvParameterSpec generateIv() {
 		byte[] iv = new byte[16];
 		new SecureRandom().nextBytes(iv);
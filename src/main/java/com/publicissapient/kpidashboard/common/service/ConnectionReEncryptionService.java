@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import com.publicissapient.kpidashboard.common.model.connection.CredentialReEncryptionResult;
+
+/**
+ * Rewrites connection secrets encrypted the legacy way, or with a key version
+ * other than the active one, under the active envelope encryption key.
+ */
+public interface ConnectionReEncryptionService {
+
+	/**
+	 * Re-encrypts the secrets of every connection, one page of connections at a
+	 * time. Values that cannot be decrypted are left as they are.
+	 *
+	 * @param legacyKey
+	 *          AES key the legacy values were encrypted with
+	 * @return counts of migrated, unchanged and failed values
+	 */
+	CredentialReEncryptionResult reEncryptConnections(String legacyKey);
+
+	/**
+	 * Runs {@link #reEncryptConnections(String)} in the background.
+	 *
+	 * @param legacyKey
+	 *          AES key the legacy values were encrypted with
+	 * @return false if a re-encryption is already running
+	 */
+	boolean scheduleReEncryption(String legacyKey);
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.config.EnvelopeEncryptionConfig;
+import com.publicissapient.kpidashboard.common.model.connection.Connection;
+import com.publicissapient.kpidashboard.common.model.connection.CredentialReEncryptionResult;
+import com.publicissapient.kpidashboard.common.repository.connection.ConnectionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConnectionReEncryptionServiceImpl implements ConnectionReEncryptionService {
+
+	private static final int PAGE_SIZE = 100;
+
+	private static final List<SecretField> SECRET_FIELDS = List.of(
+			new SecretField("password", Connection::getPassword),
+			new SecretField("patOAuthToken", Connection::getPatOAuthToken),
+			new SecretField("apiKey", Connection::getApiKey),
+			new SecretField("privateKey", Connection::getPrivateKey),
+			new SecretField("clientSecretKey", Connection::getClientSecretKey),
+			new SecretField("accessToken", Connection::getAccessToken));
+
+	private final ConnectionRepository connectionRepository;
+	private final AesEncryptionService aesEncryptionService;
+	private final EnvelopeEncryptionConfig envelopeEncryptionConfig;
+	private final TaskScheduler taskScheduler;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	@Override
+	public CredentialReEncryptionResult reEncryptConnections(String legacyKey) {
+		CredentialReEncryptionResult result = new CredentialReEncryptionResult();
+		if (!envelopeEncryptionConfig.isEnabled()) {
+			log.info("Envelope encryption is disabled, connection secrets are left as they are");
+			return result;
+		}
+		Page<Connection> page;
+		int pageNumber = 0;
+		do {
+			page = connectionRepository.findAll(PageRequest.of(pageNumber++, PAGE_SIZE, Sort.by("_id")));
+			for (Connection connection : page) {
+				reEncrypt(connection, legacyKey, result);
+			}
+		} while (page.hasNext());
+		log.info("Re-encrypted connection secrets: {} migrated, {} unchanged, {} failed", result.getMigrated(),
+				result.getUnchanged(), result.getFailed());
+		return result;
+	}
+
+	@Override
+	public boolean scheduleReEncryption(String legacyKey) {
+		if (!running.compareAndSet(false, true)) {
+			log.info("Connection re-encryption is already running");
+			return false;
+		}
+		try {
+			taskScheduler.schedule(() -> {
+				try {
+					reEncryptConnections(legacyKey);
+				} finally {
+					running.set(false);
+				}
+			}, Instant.now());
+		} catch (RuntimeException e) {
+			running.set(false);
+			throw e;
+		}
+		return true;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		if (envelopeEncryptionConfig.isEnabled() && envelopeEncryptionConfig.isReEncryptOnStartup()) {
+			scheduleReEncryption(envelopeEncryptionConfig.getLegacyKey());
+		}
+	}
+
+	/*
+	 * only the migrated fields are written, and only while they still hold the
+	 * values read, so edits saved in the meantime are kept
+	 */
+	private void reEncrypt(Connection connection, String legacyKey, CredentialReEncryptionResult result) {
+		Map<String, String> secrets = new HashMap<>();
+		Map<String, String> replacements = new HashMap<>();
+		for (SecretField field : SECRET_FIELDS) {
+			String value = field.getter().apply(connection);
+			if (StringUtils.isEmpty(value)) {
+				continue;
+			}
+			if (!aesEncryptionService.needsReEncryption(value)) {
+				result.setUnchanged(result.getUnchanged() + 1);
+				continue;
+			}
+			String reEncrypted = reEncrypt(value, legacyKey);
+			if (reEncrypted == null) {
+				log.warn("Unable to re-encrypt {} of connection {}", field.name(), connection.getId());
+				result.setFailed(result.getFailed() + 1);
+				continue;
+			}
+			secrets.put(field.name(), value);
+			replacements.put(field.name(), reEncrypted);
+		}
+		if (replacements.isEmpty()) {
+			return;
+		}
+		if (connectionRepository.replaceSecrets(connection.getId(), secrets, replacements)) {
+			result.setMigrated(result.getMigrated() + replacements.size());
+		} else {
+			log.info("Connection {} changed while re-encrypting, it is left for the next run", connection.getId());
+		}
+	}
+
+	private String reEncrypt(String value, String legacyKey) {
+		try {
+			String plainText = aesEncryptionService.decrypt(value, legacyKey);
+			return plainText == null ? null : aesEncryptionService.encrypt(plainText, legacyKey);
+		} catch (IllegalArgumentException e) {
+			// not Base64, so never encrypted by this service
+			return null;
+		}
+	}
+
+	private record SecretField(String name, Function<Connection, String> getter) {
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2014 CapitalOne, LLC.
+ * Further development Copyright 2022 Sapient Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ ******************************************************************************/
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.repository.application.DeploymentRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeploymentDateBackfillServiceImpl implements DeploymentDateBackfillService {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final DeploymentRepository deploymentRepository;
+	private final TaskScheduler taskScheduler;
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	@Override
+	public boolean startBackfill() {
+		if (!running.compareAndSet(false, true)) {
+			log.info("Deployment date backfill already running");
+			return false;
+		}
+		try {
+			taskScheduler.schedule(() -> {
+				try {
+					backfill();
+				} finally {
+					running.set(false);
+				}
+			}, Instant.now());
+		} catch (RuntimeException e) {
+			running.set(false);
+			throw e;
+		}
+		return true;
+	}
+
+	@Override
+	public long backfill() {
+		long total = 0;
+		int updated;
+		do {
+			updated = deploymentRepository.backfillEpochFields(BATCH_SIZE);
+			total += updated;
+		} while (updated > 0);
+		log.info("Deployment date backfill complete, {} deployments updated", total);
+		return total;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.application.Build;
+import com.publicissapient.kpidashboard.common.model.application.Deployment;
+import com.publicissapient.kpidashboard.common.model.application.DoraWeeklyMetric;
+import com.publicissapient.kpidashboard.common.model.jira.JiraIssue;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+
+/**
+ * Computes change failure rate, deployment frequency, lead time for changes and
+ * time to restore per project per week, and keeps them in
+ * {@code dora_weekly_metrics}. Processors report what they saved and only the
+ * weeks touched by that data are recomputed.
+ */
+public interface DoraMetricsService {
+
+	/**
+	 * Recomputes the weeks in which the given builds started.
+	 *
+	 * @param builds
+	 *          builds just saved
+	 * @return the recomputed metrics
+	 */
+	List<DoraWeeklyMetric> onBuilds(Collection<Build> builds);
+
+	/**
+	 * Recomputes the weeks in which the given deployments started.
+	 *
+	 * @param deployments
+	 *          deployments just saved
+	 * @return the recomputed metrics
+	 */
+	List<DoraWeeklyMetric> onDeployments(Collection<Deployment> deployments);
+
+	/**
+	 * Recomputes the weeks in which the given merge requests were merged or
+	 * deployed.
+	 *
+	 * @param basicProjectConfigId
+	 *          project the merge requests belong to
+	 * @param mergeRequests
+	 *          merge requests just saved
+	 * @return the recomputed metrics
+	 */
+	List<DoraWeeklyMetric> onMergeRequests(ObjectId basicProjectConfigId, Collection<ScmMergeRequests> mergeRequests);
+
+	/**
+	 * Recomputes the weeks in which the given production incidents were created.
+	 * Issues that are not production incidents are ignored.
+	 *
+	 * @param issues
+	 *          issues just saved
+	 * @return the recomputed metrics
+	 */
+	List<DoraWeeklyMetric> onIncidents(Collection<JiraIssue> issues);
+
+	/**
+	 * Recomputes the weeks containing the given days.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param days
+	 *          any day of each week to recompute
+	 * @return the recomputed metrics
+	 */
+	List<DoraWeeklyMetric> recompute(ObjectId basicProjectConfigId, Collection<LocalDate> days);
+
+	/**
+	 * Gets the stored metrics of a project.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param from
+	 *          any day of the first week
+	 * @param to
+	 *          any day of the last week
+	 * @return metrics ordered by week
+	 */
+	List<DoraWeeklyMetric> getWeeklyMetrics(ObjectId basicProjectConfigId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,337 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.publicissapient.kpidashboard.common.constant.BuildStatus;
+import com.publicissapient.kpidashboard.common.constant.DeploymentStatus;
+import com.publicissapient.kpidashboard.common.model.application.Build;
+import com.publicissapient.kpidashboard.common.model.application.Deployment;
+import com.publicissapient.kpidashboard.common.model.application.DoraWeeklyMetric;
+import com.publicissapient.kpidashboard.common.model.jira.JiraHistoryChangeLog;
+import com.publicissapient.kpidashboard.common.model.jira.JiraIssue;
+import com.publicissapient.kpidashboard.common.model.jira.JiraIssueCustomHistory;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestCube.PercentileSummary;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.repository.application.BuildRepository;
+import com.publicissapient.kpidashboard.common.repository.application.DeploymentRepository;
+import com.publicissapient.kpidashboard.common.repository.application.DoraWeeklyMetricRepository;
+import com.publicissapient.kpidashboard.common.repository.jira.JiraIssueCustomHistoryRepository;
+import com.publicissapient.kpidashboard.common.repository.jira.JiraIssueRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestsRepository;
+import com.publicissapient.kpidashboard.common.util.DateUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoraMetricsServiceImpl implements DoraMetricsService {
+
+	private static final String PROCESSOR_ITEM_ID = "processorItemId";
+	private static final long WEEK_MILLIS = 7L * 24 * 60 * 60 * 1000;
+
+	private final DoraWeeklyMetricRepository metricRepository;
+	private final BuildRepository buildRepository;
+	private final DeploymentRepository deploymentRepository;
+	private final ScmMergeRequestsRepository mergeRequestsRepository;
+	private final JiraIssueRepository jiraIssueRepository;
+	private final JiraIssueCustomHistoryRepository jiraIssueCustomHistoryRepository;
+	private final FieldMappingService fieldMappingService;
+
+	@Override
+	public List<DoraWeeklyMetric> onBuilds(Collection<Build> builds) {
+		Map<ObjectId, Set<LocalDate>> days = new HashMap<>();
+		CollectionUtils.emptyIfNull(builds).stream()
+				.filter(build -> build.getBasicProjectConfigId() != null && build.getStartTime() > 0)
+				.forEach(build -> days.computeIfAbsent(build.getBasicProjectConfigId(), id -> new HashSet<>())
+						.add(toDay(build.getStartTime())));
+		return recomputeAll(days);
+	}
+
+	@Override
+	public List<DoraWeeklyMetric> onDeployments(Collection<Deployment> deployments) {
+		Map<ObjectId, Set<LocalDate>> days = new HashMap<>();
+		CollectionUtils.emptyIfNull(deployments).stream()
+				.filter(deployment -> deployment.getBasicProjectConfigId() != null && deployment.getStartTimeEpoch() != null)
+				.forEach(deployment -> days.computeIfAbsent(deployment.getBasicProjectConfigId(), id -> new HashSet<>())
+						.add(toDay(deployment.getStartTimeEpoch())));
+		return recomputeAll(days);
+	}
+
+	@Override
+	public List<DoraWeeklyMetric> onMergeRequests(ObjectId basicProjectConfigId,
+			Collection<ScmMergeRequests> mergeRequests) {
+		if (basicProjectConfigId == null || CollectionUtils.isEmpty(mergeRequests)) {
+			return Collections.emptyList();
+		}
+		Set<LocalDate> days = new HashSet<>();
+		Set<String> shas = new HashSet<>();
+		for (ScmMergeRequests mergeRequest : mergeRequests) {
+			if (mergeRequest.getMergedAt() != null) {
+				days.add(mergeRequest.getMergedAt().toLocalDate());
+			}
+			shas.add(mergeRequest.getMergeCommitSha());
+			shas.addAll(CollectionUtils.emptyIfNull(mergeRequest.getCommitShas()));
+		}
+		shas.remove(null);
+		// a merge request can arrive after the deployment that shipped it
+		if (!shas.isEmpty()) {
+			deploymentRepository.findByBasicProjectConfigIdAndChangeSetsIn(basicProjectConfigId, shas).stream()
+					.map(Deployment::getStartTimeEpoch).filter(Objects::nonNull).forEach(start -> days.add(toDay(start)));
+		}
+		return recompute(basicProjectConfigId, days);
+	}
+
+	@Override
+	public List<DoraWeeklyMetric> onIncidents(Collection<JiraIssue> issues) {
+		Map<ObjectId, Set<LocalDate>> days = new HashMap<>();
+		for (JiraIssue issue : CollectionUtils.emptyIfNull(issues)) {
+			Long createdAt = DateUtil.parseToEpochMillis(issue.getCreatedDate());
+			if (issue.isProductionIncident() && createdAt != null && ObjectId.isValid(issue.getBasicProjectConfigId())) {
+				days.computeIfAbsent(new ObjectId(issue.getBasicProjectConfigId()), id -> new HashSet<>())
+						.add(toDay(createdAt));
+			}
+		}
+		return recomputeAll(days);
+	}
+
+	@Override
+	public List<DoraWeeklyMetric> recompute(ObjectId basicProjectConfigId, Collection<LocalDate> days) {
+		if (basicProjectConfigId == null || CollectionUtils.isEmpty(days)) {
+			return Collections.emptyList();
+		}
+		SortedSet<LocalDate> mondays = days.stream().filter(Objects::nonNull)
+				.map(day -> DateUtil.getWeek(day).getStartDate()).collect(Collectors.toCollection(TreeSet::new));
+		Set<String> weeks = mondays.stream().map(LocalDate::toString).collect(Collectors.toSet());
+		Map<String, DoraWeeklyMetric> existing = metricRepository
+				.findByBasicProjectConfigIdAndWeekIn(basicProjectConfigId, weeks).stream()
+				.collect(Collectors.toMap(DoraWeeklyMetric::getWeek, Function.identity(), (a, b) -> a));
+
+		ProjectScope scope = new ProjectScope(basicProjectConfigId);
+		List<DoraWeeklyMetric> metrics = new ArrayList<>();
+		for (LocalDate monday : mondays) {
+			DoraWeeklyMetric metric = computeWeek(scope, monday);
+			DoraWeeklyMetric old = existing.get(metric.getWeek());
+			if (old != null) {
+				metric.setId(old.getId());
+			}
+			metrics.add(metric);
+		}
+		metricRepository.saveAll(metrics);
+		log.debug("Recomputed {} DORA weeks for project {}", metrics.size(), basicProjectConfigId);
+		return metrics;
+	}
+
+	@Override
+	public List<DoraWeeklyMetric> getWeeklyMetrics(ObjectId basicProjectConfigId, LocalDate from, LocalDate to) {
+		if (basicProjectConfigId == null || from == null || to == null) {
+			return Collections.emptyList();
+		}
+		return metricRepository.findWeeks(basicProjectConfigId, DateUtil.getWeek(from).getStartDate().toString(),
+				DateUtil.getWeek(to).getStartDate().toString());
+	}
+
+	private List<DoraWeeklyMetric> recomputeAll(Map<ObjectId, Set<LocalDate>> daysByProject) {
+		List<DoraWeeklyMetric> metrics = new ArrayList<>();
+		daysByProject.forEach((projectId, days) -> metrics.addAll(recompute(projectId, days)));
+		return metrics;
+	}
+
+	private DoraWeeklyMetric computeWeek(ProjectScope scope, LocalDate monday) {
+		long start = monday.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+		long end = start + WEEK_MILLIS;
+		DoraWeeklyMetric metric = DoraWeeklyMetric.builder().basicProjectConfigId(scope.projectId).week(monday.toString())
+				.computedAt(System.currentTimeMillis()).build();
+
+		List<Build> builds = buildRepository.findBuildTimingList(Collections.emptyMap(), Set.of(scope.projectId),
+				Instant.ofEpochMilli(start).toString(), Instant.ofEpochMilli(end - 1).toString());
+		metric.setBuildCount(builds.size());
+		metric.setFailedBuildCount((int) builds.stream().filter(build -> build.getBuildStatus() == BuildStatus.FAILURE)
+				.count());
+
+		List<Deployment> deployments = deploymentRepository.findDeploymentListByEpoch(Collections.emptyMap(),
+				Set.of(scope.projectId), start, end - 1);
+		metric.setDeploymentCount(deployments.size());
+		metric.setFailedDeploymentCount((int) deployments.stream()
+				.filter(deployment -> deployment.getDeploymentStatus() == DeploymentStatus.FAILURE).count());
+
+		metric.setLeadTime(PercentileSummary.of(leadTimes(scope, deployments, start, end)));
+		applyIncidents(metric, scope, monday);
+		return metric;
+	}
+
+	/**
+	 * Lead times of the merge requests shipped by the week's successful
+	 * deployments. Projects whose deployments carry no change sets are measured up
+	 * to the merge instead.
+	 */
+	private List<Long> leadTimes(ProjectScope scope, List<Deployment> deployments, long start, long end) {
+		if (scope.getProcessorItemFilter().isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<String, Long> deliveredAtBySha = new HashMap<>();
+		for (Deployment deployment : deployments) {
+			if (deployment.getDeploymentStatus() == DeploymentStatus.SUCCESS) {
+				long deliveredAt = Objects.requireNonNullElse(deployment.getEndTimeEpoch(), deployment.getStartTimeEpoch());
+				CollectionUtils.emptyIfNull(deployment.getChangeSets())
+						.forEach(sha -> deliveredAtBySha.merge(sha, deliveredAt, Math::min));
+			}
+		}
+
+		List<Long> leadTimes = new ArrayList<>();
+		if (!deliveredAtBySha.isEmpty()) {
+			for (ScmMergeRequests mergeRequest : mergeRequestsRepository
+					.findByCommitShasWithoutUsers(scope.getProcessorItemFilter(), deliveredAtBySha.keySet())) {
+				addIfPositive(leadTimes, changeStart(mergeRequest), deliveredAt(mergeRequest, deliveredAtBySha));
+			}
+		}
+		if (leadTimes.isEmpty()) {
+			for (ScmMergeRequests mergeRequest : mergeRequestsRepository.findMergedListWithoutUsers(toUtc(start),
+					toUtc(end - 1), scope.getProcessorItemFilter())) {
+				addIfPositive(leadTimes, changeStart(mergeRequest), toEpochMillis(mergeRequest.getMergedAt()));
+			}
+		}
+		Collections.sort(leadTimes);
+		return leadTimes;
+	}
+
+	private void applyIncidents(DoraWeeklyMetric metric, ProjectScope scope, LocalDate monday) {
+		String projectId = scope.projectId.toString();
+		List<JiraIssue> incidents = jiraIssueRepository.findProductionIncidents(projectId, monday + "T00:00:00",
+				monday.plusWeeks(1) + "T00:00:00");
+		metric.setIncidentCount(incidents.size());
+		Set<String> closedStatuses = scope.getClosedStatuses();
+		if (incidents.isEmpty() || closedStatuses.isEmpty()) {
+			return;
+		}
+		Set<String> numbers = incidents.stream().map(JiraIssue::getNumber).filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		Map<String, JiraIssueCustomHistory> histories = jiraIssueCustomHistoryRepository
+				.findByStoryIDInAndBasicProjectConfigId(numbers, projectId).stream()
+				.collect(Collectors.toMap(JiraIssueCustomHistory::getStoryID, Function.identity(), (a, b) -> a));
+
+		List<Long> restoreTimes = new ArrayList<>();
+		for (JiraIssue incident : incidents) {
+			Long createdAt = DateUtil.parseToEpochMillis(incident.getCreatedDate());
+			JiraIssueCustomHistory history = histories.get(incident.getNumber());
+			if (createdAt != null && history != null) {
+				addIfPositive(restoreTimes, createdAt, firstClosedAt(history, closedStatuses, createdAt));
+			}
+		}
+		Collections.sort(restoreTimes);
+		metric.setRestoredIncidentCount(restoreTimes.size());
+		metric.setTimeToRestore(PercentileSummary.of(restoreTimes));
+	}
+
+	private static Long firstClosedAt(JiraIssueCustomHistory history, Set<String> closedStatuses, long createdAt) {
+		for (JiraHistoryChangeLog change : CollectionUtils.emptyIfNull(history.getStatusUpdationLog())) {
+			Long changedAt = toEpochMillis(change.getUpdatedOn());
+			if (changedAt != null && changedAt >= createdAt && change.getChangedTo() != null
+					&& closedStatuses.contains(change.getChangedTo().toLowerCase(Locale.ROOT))) {
+				return changedAt;
+			}
+		}
+		return null;
+	}
+
+	private static Long deliveredAt(ScmMergeRequests mergeRequest, Map<String, Long> deliveredAtBySha) {
+		Long deliveredAt = deliveredAtBySha.get(mergeRequest.getMergeCommitSha());
+		for (String sha : CollectionUtils.emptyIfNull(mergeRequest.getCommitShas())) {
+			Long shipped = deliveredAtBySha.get(sha);
+			if (shipped != null && (deliveredAt == null || shipped < deliveredAt)) {
+				deliveredAt = shipped;
+			}
+		}
+		return deliveredAt;
+	}
+
+	private static Long changeStart(ScmMergeRequests mergeRequest) {
+		Long firstCommit = toEpochMillis(mergeRequest.getFirstCommitDate());
+		return firstCommit != null ? firstCommit : mergeRequest.getCreatedDate();
+	}
+
+	private static void addIfPositive(List<Long> durations, Long from, Long to) {
+		if (from != null && to != null && to >= from) {
+			durations.add(to - from);
+		}
+	}
+
+	private static Long toEpochMillis(LocalDateTime dateTime) {
+		return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+	private static LocalDateTime toUtc(long epochMillis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+	}
+
+	private static LocalDate toDay(long epochMillis) {
+		return Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC).toLocalDate();
+	}
+
+	/** Per-project lookups, loaded at most once per recomputation. */
+	private final class ProjectScope {
+		private final ObjectId projectId;
+		private BasicDBList processorItemFilter;
+		private Set<String> closedStatuses;
+
+		private ProjectScope(ObjectId projectId) {
+			this.projectId = projectId;
+		}
+
+		private BasicDBList getProcessorItemFilter() {
+			if (processorItemFilter == null) {
+				processorItemFilter = new BasicDBList();
+				metricRepository.findProjectProcessorItemIds(projectId)
+						.forEach(id -> processorItemFilter.add(new BasicDBObject(PROCESSOR_ITEM_ID, id)));
+			}
+			return processorItemFilter;
+		}
+
+		private Set<String> getClosedStatuses() {
+			if (closedStatuses == null) {
+				closedStatuses = fieldMappingService.getFilters(projectId).getLowerCaseValues("jiraDodKPI166");
+			}
+			return closedStatuses;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.publicissapient.kpidashboard.common.config.EnvelopeEncryptionConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Data keys of every configured key version, derived once when the ring is
+ * created so that encrypting and decrypting a value never derives a key.
+ */
+@Slf4j
+@Component
+public class EnvelopeKeyRing {
+
+	private static final String KEY_INSTANCE = "PBKDF2WithHmacSHA256";
+	private static final int ITERATION_COUNT = 210_000;
+	private static final int KEY_LENGTH = 256;
+	private static final String SALT_PREFIX = "knowhow-data-key-v";
+
+	private final boolean enabled;
+	private final int activeVersion;
+	private final Map<Integer, SecretKey> dataKeys;
+
+	@Autowired
+	public EnvelopeKeyRing(EnvelopeEncryptionConfig config) {
+		this(config.isEnabled(), config.getActiveKeyVersion(), deriveKeys(config.getKeys()));
+		if (enabled && !dataKeys.containsKey(activeVersion)) {
+			throw new IllegalStateException("Envelope encryption is enabled but key version " + activeVersion
+					+ " is not configured");
+		}
+		log.info("Envelope encryption {}, key versions {}", enabled ? "enabled" : "disabled", dataKeys.keySet());
+	}
+
+	private EnvelopeKeyRing(boolean enabled, int activeVersion, Map<Integer, SecretKey> dataKeys) {
+		this.enabled = enabled;
+		this.activeVersion = activeVersion;
+		this.dataKeys = dataKeys;
+	}
+
+	/**
+	 * @return a ring that leaves envelope encryption off
+	 */
+	public static EnvelopeKeyRing disabled() {
+		return new EnvelopeKeyRing(false, 0, Collections.emptyMap());
+	}
+
+	/**
+	 * @return whether new values are envelope encrypted
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the key version new values are encrypted with
+	 */
+	public int getActiveVersion() {
+		return activeVersion;
+	}
+
+	/**
+	 * @param version
+	 *          a key version
+	 * @return the data key of the version, null if it is not configured
+	 */
+	public SecretKey getDataKey(int version) {
+		return dataKeys.get(version);
+	}
+
+	private static Map<Integer, SecretKey> deriveKeys(Map<Integer, String> secrets) {
+		if (secrets == null) {
+			return Collections.emptyMap();
+		}
+		Map<Integer, SecretKey> keys = new HashMap<>();
+		secrets.forEach((version, secret) -> {
+			if (StringUtils.isNotEmpty(secret)) {
+				keys.put(version, deriveKey(version, secret));
+			}
+		});
+		return Collections.unmodifiableMap(keys);
+	}
+
+	/*
+	 * the salt only has to differ per version, the derivation runs once per
+	 * version and process
+	 */
+	private static SecretKey deriveKey(int version, String secret) {
+		PBEKeySpec spec = new PBEKeySpec(secret.toCharArray(), (SALT_PREFIX + version).getBytes(StandardCharsets.UTF_8),
+				ITERATION_COUNT, KEY_LENGTH);
+		try {
+			SecretKeyFactory factory = SecretKeyFactory.getInstance(KEY_INSTANCE);
+			return new SecretKeySpec(factory.generateSecret(spec).getEncoded(), "AES");
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to derive data key version " + version, e);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.application.ConfigurationHistoryChangeLog;
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+
+/**
+ * Field mapping history kept as an append-only change log, one document per
+ * change, indexed by project, field, release node and time of change.
+ */
+public interface FieldMappingHistoryService {
+
+	/**
+	 * Appends a change of a field mapping field.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param fieldName
+	 *          the changed field
+	 * @param change
+	 *          the change, as created for {@link FieldMapping} history
+	 * @return the stored change, null if the change has no valid time
+	 */
+	FieldMappingChangeLog recordChange(ObjectId basicProjectConfigId, String fieldName,
+			ConfigurationHistoryChangeLog change);
+
+	/**
+	 * Copies the {@code history<Field>} lists of a field mapping into the change
+	 * log, unless the project already has change log entries.
+	 *
+	 * @param fieldMapping
+	 *          the field mapping with its history
+	 * @return number of changes copied
+	 */
+	int importHistory(FieldMapping fieldMapping);
+
+	/**
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param fieldName
+	 *          the field
+	 * @param releaseNodeId
+	 *          release node of a node specific field, blank for every change
+	 * @return the changes of the field, oldest first
+	 */
+	List<ConfigurationHistoryChangeLog> getFieldHistory(ObjectId basicProjectConfigId, String fieldName,
+			String releaseNodeId);
+
+	/**
+	 * Reconstructs the field mapping of a project as it was at an instant: every
+	 * field changed after the instant gets back the value it had then, other
+	 * fields keep their current value.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param at
+	 *          the instant
+	 * @return a copy of the field mapping as of the instant, null if the project
+	 *         has no field mapping
+	 */
+	FieldMapping getFieldMappingAt(ObjectId basicProjectConfigId, LocalDateTime at);
+}
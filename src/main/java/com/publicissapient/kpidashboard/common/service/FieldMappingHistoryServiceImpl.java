@@ -0,0 +1,185 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.application.ConfigurationHistoryChangeLog;
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingHistory;
+import com.publicissapient.kpidashboard.common.repository.application.FieldMappingChangeLogRepository;
+import com.publicissapient.kpidashboard.common.util.FieldMappingHelper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FieldMappingHistoryServiceImpl implements FieldMappingHistoryService {
+
+	private final FieldMappingChangeLogRepository changeLogRepository;
+	private final FieldMappingService fieldMappingService;
+
+	@Override
+	public FieldMappingChangeLog recordChange(ObjectId basicProjectConfigId, String fieldName,
+			ConfigurationHistoryChangeLog change) {
+		FieldMappingChangeLog changeLog = toChangeLog(basicProjectConfigId, fieldName, change);
+		return changeLog == null ? null : changeLogRepository.insert(changeLog);
+	}
+
+	@Override
+	public int importHistory(FieldMapping fieldMapping) {
+		ObjectId basicProjectConfigId = fieldMapping.getBasicProjectConfigId();
+		if (basicProjectConfigId == null || changeLogRepository.existsByBasicProjectConfigId(basicProjectConfigId)) {
+			return 0;
+		}
+		List<FieldMappingChangeLog> changeLogs = new ArrayList<>();
+		for (Field field : FieldMappingHistory.class.getDeclaredFields()) {
+			String historyField = field.getName();
+			if (!historyField.startsWith(FieldMappingHelper.HISTORY) || field.isSynthetic()) {
+				continue;
+			}
+			String fieldName = historyField.substring(FieldMappingHelper.HISTORY.length());
+			try {
+				CollectionUtils.emptyIfNull(FieldMappingHelper.getAccessibleFieldHistory(fieldMapping, fieldName))
+						.forEach(change -> {
+							FieldMappingChangeLog changeLog = toChangeLog(basicProjectConfigId, fieldName, change);
+							if (changeLog != null) {
+								changeLogs.add(changeLog);
+							}
+						});
+			} catch (NoSuchFieldException | IllegalAccessException e) {
+				log.warn("Unable to read field mapping history {}", historyField);
+			}
+		}
+		if (!changeLogs.isEmpty()) {
+			changeLogRepository.insert(changeLogs);
+		}
+		log.info("Imported {} field mapping changes of project {}", changeLogs.size(), basicProjectConfigId);
+		return changeLogs.size();
+	}
+
+	@Override
+	public List<ConfigurationHistoryChangeLog> getFieldHistory(ObjectId basicProjectConfigId, String fieldName,
+			String releaseNodeId) {
+		List<FieldMappingChangeLog> changeLogs = StringUtils.isBlank(releaseNodeId)
+				? changeLogRepository.findByBasicProjectConfigIdAndFieldNameOrderByChangedAtAsc(basicProjectConfigId,
+						fieldName)
+				: changeLogRepository.findByBasicProjectConfigIdAndFieldNameAndReleaseNodeIdOrderByChangedAtAsc(
+						basicProjectConfigId, fieldName, releaseNodeId);
+		return changeLogs.stream().map(FieldMappingChangeLog::toHistoryChangeLog).toList();
+	}
+
+	@Override
+	public FieldMapping getFieldMappingAt(ObjectId basicProjectConfigId, LocalDateTime at) {
+		FieldMapping current = fieldMappingService.getFieldMapping(basicProjectConfigId);
+		if (current == null) {
+			return null;
+		}
+		FieldMapping effective = copy(current);
+		List<FieldMappingChangeLog> laterChanges = changeLogRepository.findFirstChangesAfter(basicProjectConfigId, at);
+		if (laterChanges.isEmpty()) {
+			return effective;
+		}
+		// changedFrom is a display string for some fields, the last earlier change keeps the original value
+		Map<List<String>, FieldMappingChangeLog> earlierChanges = new HashMap<>();
+		changeLogRepository.findLastChangesAtOrBefore(basicProjectConfigId, at)
+				.forEach(change -> earlierChanges.put(key(change), change));
+		Map<String, Map<String, Object>> nodeValues = new HashMap<>();
+		for (FieldMappingChangeLog laterChange : laterChanges) {
+			FieldMappingChangeLog earlierChange = earlierChanges.get(key(laterChange));
+			Object value = earlierChange == null ? laterChange.getChangedFrom() : earlierChange.getChangedTo();
+			if (laterChange.getReleaseNodeId() == null) {
+				setValue(effective, laterChange.getFieldName(), value);
+			} else {
+				Map<String, Object> values = nodeValues.computeIfAbsent(laterChange.getFieldName(),
+						fieldName -> currentNodeValues(effective, fieldName));
+				if (value == null) {
+					values.remove(laterChange.getReleaseNodeId());
+				} else {
+					values.put(laterChange.getReleaseNodeId(), value);
+				}
+			}
+		}
+		nodeValues.forEach((fieldName, values) -> setValue(effective, fieldName, values));
+		return effective;
+	}
+
+	private static FieldMappingChangeLog toChangeLog(ObjectId basicProjectConfigId, String fieldName,
+			ConfigurationHistoryChangeLog change) {
+		LocalDateTime changedAt = null;
+		try {
+			changedAt = change.getUpdatedOn() == null ? null : LocalDateTime.parse(change.getUpdatedOn());
+		} catch (DateTimeParseException e) {
+			log.debug("Unparseable change time {}", change.getUpdatedOn());
+		}
+		if (changedAt == null) {
+			log.warn("Skipping change of field {} of project {} made at {}", fieldName, basicProjectConfigId,
+					change.getUpdatedOn());
+			return null;
+		}
+		return FieldMappingChangeLog.builder().basicProjectConfigId(basicProjectConfigId).fieldName(fieldName)
+				.releaseNodeId(StringUtils.defaultIfBlank(change.getReleaseNodeId(), null)).changedAt(changedAt)
+				.changedFrom(change.getChangedFrom()).changedTo(change.getChangedTo()).changedBy(change.getChangedBy())
+				.build();
+	}
+
+	private static List<String> key(FieldMappingChangeLog change) {
+		return Arrays.asList(change.getFieldName(), change.getReleaseNodeId());
+	}
+
+	private static FieldMapping copy(FieldMapping fieldMapping) {
+		try {
+			return fieldMapping.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException("Unable to copy field mapping " + fieldMapping.getId(), e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> currentNodeValues(FieldMapping fieldMapping, String fieldName) {
+		try {
+			Object values = FieldMappingHelper.getFieldMappingField(fieldMapping, FieldMapping.class, fieldName);
+			return values instanceof Map<?, ?> map ? new HashMap<>((Map<String, Object>) map) : new HashMap<>();
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			return new HashMap<>();
+		}
+	}
+
+	private static void setValue(FieldMapping fieldMapping, String fieldName, Object value) {
+		try {
+			FieldMappingHelper.setFieldValue(fieldMapping, fieldName, value);
+		} catch (IllegalAccessException | IllegalArgumentException | ClassCastException e) {
+			log.warn("Unable to restore field mapping field {} to {}", fieldName, value);
+		}
+	}
+}
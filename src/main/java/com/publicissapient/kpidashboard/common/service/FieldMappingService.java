@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.util.CompiledFieldMappingFilters;
+
+/**
+ * Cached access to project field mappings.
+ *
+ * <p>
+ * A project's field mapping is decoded once and shared until it expires, is
+ * saved through this service, or the version stamp saved with it in Mongo
+ * moves on because another node saved it. The returned field mappings are
+ * shared snapshots and must not be modified; save a changed field mapping
+ * through {@link #saveFieldMapping(FieldMapping)}.
+ */
+public interface FieldMappingService {
+
+	/**
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @return the cached field mapping of the project, null if it has none
+	 */
+	FieldMapping getFieldMapping(ObjectId basicProjectConfigId);
+
+	/**
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @return filters compiled from the cached field mapping, shared until the
+	 *         field mapping changes
+	 */
+	CompiledFieldMappingFilters getFilters(ObjectId basicProjectConfigId);
+
+	/**
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @return the version of the cached field mapping, 0 for a project whose
+	 *         field mapping was never saved through this service
+	 */
+	long getFieldMappingVersion(ObjectId basicProjectConfigId);
+
+	/**
+	 * Saves a field mapping, moves its version stamp on and drops the cached
+	 * snapshot.
+	 *
+	 * @param fieldMapping
+	 *          the field mapping
+	 * @return the saved field mapping
+	 */
+	FieldMapping saveFieldMapping(FieldMapping fieldMapping);
+
+	/**
+	 * Drops the cached field mapping of a project, e.g. after it is saved or
+	 * deleted through the repository.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 */
+	void invalidate(ObjectId basicProjectConfigId);
+
+	/**
+	 * Drops every cached field mapping.
+	 */
+	void invalidateAll();
+}
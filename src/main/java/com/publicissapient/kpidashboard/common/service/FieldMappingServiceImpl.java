@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingVersion;
+import com.publicissapient.kpidashboard.common.repository.application.FieldMappingRepository;
+import com.publicissapient.kpidashboard.common.repository.application.FieldMappingVersionRepository;
+import com.publicissapient.kpidashboard.common.util.CompiledFieldMappingFilters;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FieldMappingServiceImpl implements FieldMappingService {
+
+	private static final long MAX_CACHED_PROJECTS = 500L;
+	private static final long SNAPSHOT_EXPIRY_MINUTES = 30L;
+
+	private final FieldMappingRepository fieldMappingRepository;
+	private final FieldMappingVersionRepository fieldMappingVersionRepository;
+
+	/* how often a cached snapshot is checked against the stored version, 0 to never check */
+	@Value("${fieldmapping.cache.versionCheckSeconds:30}")
+	private long versionCheckSeconds = 30;
+
+	private Clock clock = Clock.systemUTC();
+
+	private final Cache<ObjectId, Snapshot> snapshots = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PROJECTS)
+			.expireAfterWrite(SNAPSHOT_EXPIRY_MINUTES, TimeUnit.MINUTES).build();
+
+	@Override
+	public FieldMapping getFieldMapping(ObjectId basicProjectConfigId) {
+		if (basicProjectConfigId == null) {
+			return null;
+		}
+		return getSnapshot(basicProjectConfigId).fieldMapping();
+	}
+
+	@Override
+	public CompiledFieldMappingFilters getFilters(ObjectId basicProjectConfigId) {
+		if (basicProjectConfigId == null) {
+			return CompiledFieldMappingFilters.of(null, 0L);
+		}
+		return getSnapshot(basicProjectConfigId).filters();
+	}
+
+	@Override
+	public long getFieldMappingVersion(ObjectId basicProjectConfigId) {
+		if (basicProjectConfigId == null) {
+			return 0L;
+		}
+		return getSnapshot(basicProjectConfigId).version();
+	}
+
+	@Override
+	public FieldMapping saveFieldMapping(FieldMapping fieldMapping) {
+		FieldMapping saved = fieldMappingRepository.save(fieldMapping);
+		ObjectId basicProjectConfigId = saved.getBasicProjectConfigId();
+		if (basicProjectConfigId != null) {
+			fieldMappingVersionRepository.incrementVersion(basicProjectConfigId);
+			snapshots.invalidate(basicProjectConfigId);
+		}
+		return saved;
+	}
+
+	@Override
+	public void invalidate(ObjectId basicProjectConfigId) {
+		if (basicProjectConfigId != null) {
+			snapshots.invalidate(basicProjectConfigId);
+		}
+	}
+
+	@Override
+	public void invalidateAll() {
+		snapshots.invalidateAll();
+	}
+
+	private Snapshot getSnapshot(ObjectId basicProjectConfigId) {
+		Snapshot snapshot = snapshots.getIfPresent(basicProjectConfigId);
+		if (snapshot != null && isCurrent(basicProjectConfigId, snapshot)) {
+			return snapshot;
+		}
+		if (snapshot != null) {
+			snapshots.asMap().remove(basicProjectConfigId, snapshot);
+		}
+		try {
+			return snapshots.get(basicProjectConfigId, () -> load(basicProjectConfigId));
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Unable to load field mapping of project " + basicProjectConfigId, e);
+		}
+	}
+
+	private boolean isCurrent(ObjectId basicProjectConfigId, Snapshot snapshot) {
+		long now = clock.millis();
+		long checkedAt = snapshot.checkedAt().get();
+		if (versionCheckSeconds <= 0 || now - checkedAt < TimeUnit.SECONDS.toMillis(versionCheckSeconds)
+				|| !snapshot.checkedAt().compareAndSet(checkedAt, now)) {
+			// concurrent readers keep using the snapshot while one of them checks it
+			return true;
+		}
+		long storedVersion = readVersion(basicProjectConfigId);
+		if (storedVersion != snapshot.version()) {
+			log.debug("Field mapping of project {} moved from version {} to {}", basicProjectConfigId,
+					snapshot.version(), storedVersion);
+			return false;
+		}
+		return true;
+	}
+
+	private Snapshot load(ObjectId basicProjectConfigId) {
+		// the version is read first, a save racing with the load is picked up by the next check
+		long version = readVersion(basicProjectConfigId);
+		FieldMapping fieldMapping = fieldMappingRepository.findByBasicProjectConfigId(basicProjectConfigId);
+		return new Snapshot(fieldMapping, version, CompiledFieldMappingFilters.of(fieldMapping, version),
+				new AtomicLong(clock.millis()));
+	}
+
+	private long readVersion(ObjectId basicProjectConfigId) {
+		FieldMappingVersion version = fieldMappingVersionRepository.findByBasicProjectConfigId(basicProjectConfigId);
+		return version == null ? 0L : version.getVersion();
+	}
+
+	/* checkedAt is moved on in place, replacing the entry would restart its expiry */
+	private record Snapshot(FieldMapping fieldMapping, long version, CompiledFieldMappingFilters filters,
+			AtomicLong checkedAt) {
+	}
+}
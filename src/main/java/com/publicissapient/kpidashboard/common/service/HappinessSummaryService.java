@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.List;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessKpiData;
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+
+/**
+ * Keeps one {@link HappinessSummary} per sprint so the happiness KPI reads a
+ * small pre-aggregated document instead of every submission.
+ */
+public interface HappinessSummaryService {
+
+	/**
+	 * Re-aggregates the sprint of a saved or deleted submission.
+	 *
+	 * @param happinessKpiData
+	 *          the submission
+	 * @return the refreshed summary, null when the sprint has no ratings left
+	 */
+	HappinessSummary onHappinessSaved(HappinessKpiData happinessKpiData);
+
+	/**
+	 * Reads the summaries of the given sprints. Sprints never summarised before
+	 * are aggregated and stored on the way.
+	 *
+	 * @param sprintIDs
+	 *          sprint ids
+	 * @return summaries of the sprints that have ratings
+	 */
+	List<HappinessSummary> getSummaries(List<String> sprintIDs);
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessKpiData;
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+import com.publicissapient.kpidashboard.common.repository.jira.HappinessKpiDataRepository;
+import com.publicissapient.kpidashboard.common.repository.jira.HappinessSummaryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HappinessSummaryServiceImpl implements HappinessSummaryService {
+
+	private final HappinessKpiDataRepository happinessKpiDataRepository;
+	private final HappinessSummaryRepository happinessSummaryRepository;
+
+	@Override
+	public HappinessSummary onHappinessSaved(HappinessKpiData happinessKpiData) {
+		if (happinessKpiData == null || happinessKpiData.getSprintID() == null) {
+			return null;
+		}
+		HappinessSummary summary = happinessKpiDataRepository
+				.findSprintSummaries(List.of(happinessKpiData.getSprintID())).stream()
+				.filter(candidate -> Objects.equals(candidate.getBasicProjectConfigId(),
+						happinessKpiData.getBasicProjectConfigId()))
+				.findFirst().orElse(null);
+		if (summary == null) {
+			happinessSummaryRepository.deleteByBasicProjectConfigIdAndSprintID(
+					happinessKpiData.getBasicProjectConfigId(), happinessKpiData.getSprintID());
+			return null;
+		}
+		return happinessSummaryRepository.upsertSummary(summary);
+	}
+
+	@Override
+	public List<HappinessSummary> getSummaries(List<String> sprintIDs) {
+		if (CollectionUtils.isEmpty(sprintIDs)) {
+			return Collections.emptyList();
+		}
+		List<HappinessSummary> summaries = new ArrayList<>(happinessSummaryRepository.findBySprintIDIn(sprintIDs));
+		Set<String> summarised = summaries.stream().map(HappinessSummary::getSprintID).collect(Collectors.toSet());
+		List<String> missing = sprintIDs.stream().filter(sprintID -> !summarised.contains(sprintID)).distinct()
+				.toList();
+		if (!missing.isEmpty()) {
+			List<HappinessSummary> aggregated = happinessKpiDataRepository.findSprintSummaries(missing);
+			if (!aggregated.isEmpty()) {
+				log.debug("Summarised happiness of {} sprints", aggregated.size());
+				// upserted, a concurrent request may have stored the same sprints meanwhile
+				happinessSummaryRepository.upsertSummaries(aggregated);
+				summaries.addAll(aggregated);
+			}
+		}
+		return summaries;
+	}
+}
@@ -15,4 +15,19 @@ public interface HierarchyLevelService {
 	HierarchyLevel getSprintHierarchyLevel();
 
 	HierarchyLevel getReleaseHierarchyLevel();
+
+	/**
+	 * Version of the cached hierarchy levels, changes every time they are
+	 * reloaded.
+	 *
+	 * @return the snapshot version
+	 */
+	long getHierarchyLevelVersion();
+
+	/**
+	 * Drops the cached hierarchy levels and moves the shared version on, so other
+	 * processes reload theirs too; to be called after hierarchy levels or
+	 * additional filter categories are saved or deleted.
+	 */
+	void invalidateHierarchyLevels();
 }
@@ -1,47 +1,183 @@
 package com.publicissapient.kpidashboard.common.service;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.publicissapient.kpidashboard.common.constant.CommonConstant;
 import com.publicissapient.kpidashboard.common.model.application.AdditionalFilterCategory;
 import com.publicissapient.kpidashboard.common.model.application.HierarchyLevel;
+import com.publicissapient.kpidashboard.common.model.application.HierarchyVersion;
 import com.publicissapient.kpidashboard.common.repository.application.HierarchyLevelRepository;
+import com.publicissapient.kpidashboard.common.repository.application.HierarchyVersionRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Hierarchy levels are read into an immutable snapshot and served from memory.
+ * The snapshot is reloaded after {@link #invalidateHierarchyLevels()}, once the
+ * shared {@link HierarchyVersion} stamp has moved, or after an expiry. Callers
+ * get copies, so changing a returned level does not leak into the snapshot.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class HierarchyLevelServiceImpl implements HierarchyLevelService {
 
+	private static final long LEVELS_EXPIRY_MINUTES = 30L;
+
 	private final HierarchyLevelRepository hierarchyLevelRepository;
 
 	private final AdditionalFilterCategoryService filterCategoryLevelService;
 
+	private final HierarchyVersionRepository hierarchyVersionRepository;
+
+	/* how often the levels are checked against the stored version, 0 to never check */
+	@Value("${hierarchy.levels.versionCheckSeconds:30}")
+	private long versionCheckSeconds = 30;
+
+	private Clock clock = Clock.systemUTC();
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+	/* bumped on every local invalidation so that a load started before it is reloaded */
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicLong versions = new AtomicLong();
+	private final ReentrantLock loadLock = new ReentrantLock();
+
 	@Override
 	public List<HierarchyLevel> getTopHierarchyLevels() {
-		return hierarchyLevelRepository.findAllByOrderByLevel();
+		return copy(getSnapshot().topHierarchyLevels());
 	}
 
 	@Override
 	public List<HierarchyLevel> getFullHierarchyLevels(boolean isKanban) {
-		List<HierarchyLevel> topHierarchyLevels = getTopHierarchyLevels();
-		HierarchyLevel projectHierarchyLevel = getProjectHierarchyLevel();
-		HierarchyLevel sprintHierarchyLevel = getSprintHierarchyLevel();
-		HierarchyLevel releaseHierarchyLevel = getReleaseHierarchyLevel();
+		Snapshot current = getSnapshot();
+		return copy(isKanban ? current.kanbanHierarchyLevels() : current.scrumHierarchyLevels());
+	}
+
+	@Override
+	public HierarchyLevel getProjectHierarchyLevel() {
+		return copy(getSnapshot().projectHierarchyLevel());
+	}
+
+	@Override
+	public HierarchyLevel getSprintHierarchyLevel() {
+		return copy(getSnapshot().sprintHierarchyLevel());
+	}
+
+	@Override
+	public HierarchyLevel getReleaseHierarchyLevel() {
+		return copy(getSnapshot().releaseHierarchyLevel());
+	}
+
+	@Override
+	public long getHierarchyLevelVersion() {
+		return getSnapshot().version();
+	}
+
+	@Override
+	public void invalidateHierarchyLevels() {
+		generation.incrementAndGet();
+		hierarchyVersionRepository.incrementVersion(HierarchyVersion.HIERARCHY_LEVELS);
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot current = snapshot.get();
+		if (current == null) {
+			loadLock.lock();
+			try {
+				current = snapshot.get();
+				if (current == null) {
+					current = load();
+					snapshot.set(current);
+				}
+				return current;
+			} finally {
+				loadLock.unlock();
+			}
+		}
+		if (isCurrent(current) || !loadLock.tryLock()) {
+			// readers keep the current levels while a single thread loads the next
+			return current;
+		}
+		try {
+			Snapshot latest = snapshot.get();
+			if (latest != current) {
+				return latest;
+			}
+			Snapshot loaded = load();
+			snapshot.set(loaded);
+			return loaded;
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	private boolean isCurrent(Snapshot current) {
+		long now = clock.millis();
+		if (current.generation() != generation.get()
+				|| now - current.loadedAt() >= TimeUnit.MINUTES.toMillis(LEVELS_EXPIRY_MINUTES)) {
+			return false;
+		}
+		long checkedAt = current.checkedAt().get();
+		if (versionCheckSeconds <= 0 || now - checkedAt < TimeUnit.SECONDS.toMillis(versionCheckSeconds)
+				|| !current.checkedAt().compareAndSet(checkedAt, now)) {
+			return true;
+		}
+		long storedVersion = readStoredVersion();
+		if (storedVersion != current.storedVersion()) {
+			log.debug("Hierarchy levels moved from stored version {} to {}", current.storedVersion(), storedVersion);
+			return false;
+		}
+		return true;
+	}
+
+	private long readStoredVersion() {
+		HierarchyVersion version = hierarchyVersionRepository.findByName(HierarchyVersion.HIERARCHY_LEVELS);
+		return version == null ? 0L : version.getVersion();
+	}
+
+	private Snapshot load() {
+		// generation and version are read first, a change racing with the load is picked up by the next check
+		long loadGeneration = generation.get();
+		long storedVersion = readStoredVersion();
+		List<HierarchyLevel> topHierarchyLevels = List.copyOf(hierarchyLevelRepository.findAllByOrderByLevel());
+		HierarchyLevel projectHierarchyLevel = createProjectHierarchyLevel(topHierarchyLevels);
+		HierarchyLevel sprintHierarchyLevel = createSprintHierarchyLevel(topHierarchyLevels, projectHierarchyLevel);
+		HierarchyLevel releaseHierarchyLevel = createReleaseHierarchyLevel(topHierarchyLevels, projectHierarchyLevel);
+		List<AdditionalFilterCategory> additionalFilterCategories = filterCategoryLevelService
+				.getAdditionalFilterCategories();
+		long now = clock.millis();
+		Snapshot loaded = new Snapshot(versions.incrementAndGet(), topHierarchyLevels, projectHierarchyLevel,
+				sprintHierarchyLevel, releaseHierarchyLevel,
+				createFullHierarchyLevels(false, topHierarchyLevels, projectHierarchyLevel, sprintHierarchyLevel,
+						releaseHierarchyLevel, additionalFilterCategories),
+				createFullHierarchyLevels(true, topHierarchyLevels, projectHierarchyLevel, sprintHierarchyLevel,
+						releaseHierarchyLevel, additionalFilterCategories),
+				storedVersion, loadGeneration, now, new AtomicLong(now));
+		log.debug("Loaded hierarchy levels version {}", loaded.version());
+		return loaded;
+	}
+
+	private static List<HierarchyLevel> createFullHierarchyLevels(boolean isKanban,
+			List<HierarchyLevel> topHierarchyLevels, HierarchyLevel projectHierarchyLevel,
+			HierarchyLevel sprintHierarchyLevel, HierarchyLevel releaseHierarchyLevel,
+			List<AdditionalFilterCategory> additionalFilterCategories) {
 		List<HierarchyLevel> hierarchyLevels = new ArrayList<>(topHierarchyLevels);
 		hierarchyLevels.add(projectHierarchyLevel);
 		if (!isKanban) {
 			hierarchyLevels.add(sprintHierarchyLevel);
 		}
 		hierarchyLevels.add(releaseHierarchyLevel);
-		List<AdditionalFilterCategory> additionalFilterCategories = filterCategoryLevelService
-				.getAdditionalFilterCategories();
 		if (CollectionUtils.isNotEmpty(additionalFilterCategories)) {
 
 			for (AdditionalFilterCategory additionalFilterCategory : additionalFilterCategories) {
@@ -57,22 +193,7 @@ public class HierarchyLevelServiceImpl implements HierarchyLevelService {
 			}
 		}
 
-		return hierarchyLevels;
-	}
-
-	@Override
-	public HierarchyLevel getProjectHierarchyLevel() {
-		return createProjectHierarchyLevel(getTopHierarchyLevels());
-	}
-
-	@Override
-	public HierarchyLevel getSprintHierarchyLevel() {
-		return createSprintHierarchyLevel(getTopHierarchyLevels());
-	}
-
-	@Override
-	public HierarchyLevel getReleaseHierarchyLevel() {
-		return createReleaseHierarchyLevel(getTopHierarchyLevels());
+		return List.copyOf(hierarchyLevels);
 	}
 
 	private static HierarchyLevel createProjectHierarchyLevel(List<HierarchyLevel> topHierarchies) {
@@ -89,29 +210,50 @@ public class HierarchyLevelServiceImpl implements HierarchyLevelService {
 		return hierarchyLevel;
 	}
 
-	private HierarchyLevel createSprintHierarchyLevel(List<HierarchyLevel> topHierarchies) {
+	private static HierarchyLevel createSprintHierarchyLevel(List<HierarchyLevel> topHierarchies,
+			HierarchyLevel projectHierarchyLevel) {
 		HierarchyLevel hierarchyLevel = new HierarchyLevel();
 		hierarchyLevel.setHierarchyLevelId(CommonConstant.HIERARCHY_LEVEL_ID_SPRINT);
 		hierarchyLevel.setHierarchyLevelName(CommonConstant.HIERARCHY_LEVEL_NAME_SPRINT);
 		if (CollectionUtils.isNotEmpty(topHierarchies)) {
-			HierarchyLevel parent = getProjectHierarchyLevel();
-			hierarchyLevel.setLevel(parent.getLevel() + 1);
+			hierarchyLevel.setLevel(projectHierarchyLevel.getLevel() + 1);
 		} else {
 			hierarchyLevel.setLevel(2);
 		}
 		return hierarchyLevel;
 	}
 
-	private HierarchyLevel createReleaseHierarchyLevel(List<HierarchyLevel> topHierarchies) {
+	private static HierarchyLevel createReleaseHierarchyLevel(List<HierarchyLevel> topHierarchies,
+			HierarchyLevel projectHierarchyLevel) {
 		HierarchyLevel hierarchyLevel = new HierarchyLevel();
 		hierarchyLevel.setHierarchyLevelId(CommonConstant.HIERARCHY_LEVEL_ID_RELEASE);
 		hierarchyLevel.setHierarchyLevelName(CommonConstant.HIERARCHY_LEVEL_NAME_RELEASE);
 		if (CollectionUtils.isNotEmpty(topHierarchies)) {
-			HierarchyLevel parent = getProjectHierarchyLevel();
-			hierarchyLevel.setLevel(parent.getLevel() + 1);
+			hierarchyLevel.setLevel(projectHierarchyLevel.getLevel() + 1);
 		} else {
 			hierarchyLevel.setLevel(2);
 		}
 		return hierarchyLevel;
 	}
+
+	private static List<HierarchyLevel> copy(List<HierarchyLevel> hierarchyLevels) {
+		List<HierarchyLevel> copies = new ArrayList<>(hierarchyLevels.size());
+		hierarchyLevels.forEach(hierarchyLevel -> copies.add(copy(hierarchyLevel)));
+		return copies;
+	}
+
+	private static HierarchyLevel copy(HierarchyLevel hierarchyLevel) {
+		HierarchyLevel copy = new HierarchyLevel(hierarchyLevel.getLevel(), hierarchyLevel.getHierarchyLevelId(),
+				hierarchyLevel.getHierarchyLevelName(), hierarchyLevel.getHierarchyInfo());
+		copy.setId(hierarchyLevel.getId());
+		return copy;
+	}
+
+	/* checkedAt is moved on in place so concurrent readers check the version once */
+	private record Snapshot(long version, List<HierarchyLevel> topHierarchyLevels,
+			HierarchyLevel projectHierarchyLevel, HierarchyLevel sprintHierarchyLevel,
+			HierarchyLevel releaseHierarchyLevel, List<HierarchyLevel> scrumHierarchyLevels,
+			List<HierarchyLevel> kanbanHierarchyLevels, long storedVersion, long generation, long loadedAt,
+			AtomicLong checkedAt) {
+	}
 }
@@ -9,4 +9,17 @@ public interface HierarchyLevelSuggestionsService {
 	List<HierarchyLevelSuggestion> getSuggestions();
 
 	HierarchyLevelSuggestion addIfNotPresent(String hierarchyLevelId, String value);
+
+	/**
+	 * Type-ahead lookup of a hierarchy level's suggestions, served from memory.
+	 *
+	 * @param hierarchyLevelId
+	 *          the hierarchy level
+	 * @param prefix
+	 *          case-insensitive prefix, blank matches every value
+	 * @param limit
+	 *          maximum number of values
+	 * @return matching values in case-insensitive order
+	 */
+	List<String> findSuggestions(String hierarchyLevelId, String prefix, int limit);
 }
@@ -1,24 +1,60 @@
 package com.publicissapient.kpidashboard.common.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.publicissapient.kpidashboard.common.model.application.HierarchyLevelSuggestion;
 import com.publicissapient.kpidashboard.common.repository.application.HierarchyLevelSuggestionRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Suggestions of every hierarchy level are cached as a sorted map from the
+ * case-folded value to the value as first entered. Duplicate checks and prefix
+ * searches run against that map; adds only send the new value to Mongo.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class HierarchyLevelSuggestionsServiceImpl implements HierarchyLevelSuggestionsService {
 
+	/* bounds how long values added by other instances stay invisible */
+	private static final long SUGGESTION_EXPIRY_MINUTES = 10L;
+
 	private final HierarchyLevelSuggestionRepository hierarchyLevelSuggestionRepository;
 
+	private final Cache<String, NavigableMap<String, String>> suggestionsByLevel = CacheBuilder.newBuilder()
+			.expireAfterWrite(SUGGESTION_EXPIRY_MINUTES, TimeUnit.MINUTES).build();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		try {
+			int removed = hierarchyLevelSuggestionRepository.ensureUniqueLevels();
+			if (removed > 0) {
+				log.info("Merged {} duplicate hierarchy level suggestion documents", removed);
+			}
+		} catch (DataAccessException e) {
+			log.error("Unable to create the unique index of hierarchy level suggestions", e);
+		}
+	}
+
 	@Override
 	public List<HierarchyLevelSuggestion> getSuggestions() {
 		return hierarchyLevelSuggestionRepository.findAll();
@@ -26,31 +62,68 @@ public class HierarchyLevelSuggestionsServiceImpl implements HierarchyLevelSugge
 
 	@Override
 	public HierarchyLevelSuggestion addIfNotPresent(String hierarchyLevelId, String hierarchyValue) {
+		NavigableMap<String, String> suggestions = getLevelSuggestions(hierarchyLevelId);
+		String normalizeHierarchyValue = HierarchyLevelSuggestion.normalizeValue(hierarchyValue);
+		if (StringUtils.isNotEmpty(normalizeHierarchyValue)) {
+			String foldedValue = HierarchyLevelSuggestion.foldValue(normalizeHierarchyValue);
+			if (!suggestions.containsKey(foldedValue)) {
+				boolean added = hierarchyLevelSuggestionRepository.addValue(hierarchyLevelId, normalizeHierarchyValue,
+						foldedValue);
+				if (added) {
+					suggestions.putIfAbsent(foldedValue, normalizeHierarchyValue);
+				} else {
+					// another instance stored a casing of the value first, cache the stored one
+					suggestionsByLevel.invalidate(hierarchyLevelId);
+					suggestions = getLevelSuggestions(hierarchyLevelId);
+				}
+			}
+		}
+		HierarchyLevelSuggestion hierarchyLevelSuggestion = new HierarchyLevelSuggestion();
+		hierarchyLevelSuggestion.setHierarchyLevelId(hierarchyLevelId);
+		hierarchyLevelSuggestion.setValues(new TreeSet<>(suggestions.values()));
+		hierarchyLevelSuggestion.setNormalizedValues(new TreeSet<>(suggestions.keySet()));
+		return hierarchyLevelSuggestion;
+	}
+
+	@Override
+	public List<String> findSuggestions(String hierarchyLevelId, String prefix, int limit) {
+		if (limit <= 0) {
+			return Collections.emptyList();
+		}
+		NavigableMap<String, String> suggestions = getLevelSuggestions(hierarchyLevelId);
+		String foldedPrefix = prefix == null ? "" : HierarchyLevelSuggestion.foldValue(prefix);
+		List<String> matches = new ArrayList<>(Math.min(limit, suggestions.size()));
+		for (Map.Entry<String, String> entry : suggestions.tailMap(foldedPrefix, true).entrySet()) {
+			if (!entry.getKey().startsWith(foldedPrefix) || matches.size() == limit) {
+				break;
+			}
+			matches.add(entry.getValue());
+		}
+		return matches;
+	}
 
-		HierarchyLevelSuggestion addedHierarchyLevel = null;
-		TreeSet<String> suggestions = new TreeSet<>();
+	private NavigableMap<String, String> getLevelSuggestions(String hierarchyLevelId) {
+		try {
+			return suggestionsByLevel.get(hierarchyLevelId, () -> loadLevelSuggestions(hierarchyLevelId));
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Unable to load suggestions of hierarchy level " + hierarchyLevelId, e);
+		}
+	}
 
+	private NavigableMap<String, String> loadLevelSuggestions(String hierarchyLevelId) {
+		NavigableMap<String, String> suggestions = new ConcurrentSkipListMap<>();
 		HierarchyLevelSuggestion existingHierarchyLevel = hierarchyLevelSuggestionRepository
 				.findByHierarchyLevelId(hierarchyLevelId);
-		String normalizeHierarchyValue = StringUtils.normalizeSpace(hierarchyValue);
-		if (existingHierarchyLevel == null) {
-			HierarchyLevelSuggestion hierarchyLevelSuggestion = new HierarchyLevelSuggestion();
-			hierarchyLevelSuggestion.setHierarchyLevelId(hierarchyLevelId);
-			suggestions.add(normalizeHierarchyValue);
-			hierarchyLevelSuggestion.setValues(suggestions);
-			addedHierarchyLevel = hierarchyLevelSuggestionRepository.save(hierarchyLevelSuggestion);
+		if (existingHierarchyLevel == null || CollectionUtils.isEmpty(existingHierarchyLevel.getValues())) {
+			return suggestions;
 		}
-
-		if (Objects.nonNull(existingHierarchyLevel) && CollectionUtils.isNotEmpty(existingHierarchyLevel.getValues())) {
-			TreeSet<String> existingSuggestions = existingHierarchyLevel.getValues();
-			if (existingSuggestions.stream().noneMatch(normalizeHierarchyValue::equalsIgnoreCase)) {
-				suggestions.add(normalizeHierarchyValue);
-			}
-			suggestions.addAll(existingSuggestions);
-			existingHierarchyLevel.setValues(suggestions);
-			addedHierarchyLevel = hierarchyLevelSuggestionRepository.save(existingHierarchyLevel);
+		existingHierarchyLevel.getValues().stream().filter(StringUtils::isNotBlank)
+				.forEach(value -> suggestions.putIfAbsent(HierarchyLevelSuggestion.foldValue(value), value));
+		if (existingHierarchyLevel.getNormalizedValues() == null
+				|| !existingHierarchyLevel.getNormalizedValues().containsAll(suggestions.keySet())) {
+			// written before case-folded values were kept
+			hierarchyLevelSuggestionRepository.addFoldedValues(hierarchyLevelId, suggestions.keySet());
 		}
-
-		return addedHierarchyLevel;
+		return suggestions;
 	}
 }
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import com.publicissapient.kpidashboard.common.util.HierarchyTree;
+
+/**
+ * Serves the organization and project hierarchy as one in-memory
+ * {@link HierarchyTree}.
+ *
+ * <p>
+ * The tree is loaded from {@code organization_hierarchy} and
+ * {@code project_hierarchy} on first use and replaced as a whole, so readers
+ * always see a complete, consistent snapshot. A new tree is built while the
+ * previous one keeps being served. The tree is reloaded when the shared
+ * {@code hierarchy_version} stamp moves, which is checked at most every
+ * {@code hierarchy.tree.versionCheckSeconds}, and at the latest 30 minutes
+ * after it was loaded.
+ */
+public interface HierarchyTreeService {
+
+	/**
+	 * @return the current tree, loading it when needed
+	 */
+	HierarchyTree getTree();
+
+	/**
+	 * Reloads the tree and swaps it in.
+	 *
+	 * @return the new tree
+	 */
+	HierarchyTree refresh();
+
+	/**
+	 * Marks the hierarchy as changed; to be called whenever hierarchy documents
+	 * are saved or deleted. Bumps the shared version stamp so that every node
+	 * reloads its tree, and the next {@link #getTree()} on this node loads a fresh
+	 * one.
+	 */
+	void invalidate();
+}
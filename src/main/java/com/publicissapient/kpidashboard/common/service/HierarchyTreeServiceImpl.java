@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.application.HierarchyVersion;
+import com.publicissapient.kpidashboard.common.model.application.OrganizationHierarchy;
+import com.publicissapient.kpidashboard.common.repository.application.HierarchyVersionRepository;
+import com.publicissapient.kpidashboard.common.repository.application.OrganizationHierarchyRepository;
+import com.publicissapient.kpidashboard.common.repository.application.ProjectHierarchyRepository;
+import com.publicissapient.kpidashboard.common.util.HierarchyTree;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HierarchyTreeServiceImpl implements HierarchyTreeService {
+
+	private static final long TREE_EXPIRY_MINUTES = 30L;
+
+	private final OrganizationHierarchyRepository organizationHierarchyRepository;
+	private final ProjectHierarchyRepository projectHierarchyRepository;
+	private final HierarchyVersionRepository hierarchyVersionRepository;
+
+	/* how often the tree is checked against the stored version, 0 to never check */
+	@Value("${hierarchy.tree.versionCheckSeconds:30}")
+	private long versionCheckSeconds = 30;
+
+	private Clock clock = Clock.systemUTC();
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+	/* bumped on every local invalidation so that a load started before it is reloaded */
+	private final AtomicLong generation = new AtomicLong();
+	private final ReentrantLock loadLock = new ReentrantLock();
+
+	@Override
+	public HierarchyTree getTree() {
+		Snapshot current = snapshot.get();
+		if (current == null) {
+			loadLock.lock();
+			try {
+				current = snapshot.get();
+				if (current == null) {
+					current = load();
+					snapshot.set(current);
+				}
+				return current.tree();
+			} finally {
+				loadLock.unlock();
+			}
+		}
+		if (isCurrent(current) || !loadLock.tryLock()) {
+			// readers keep the complete current tree while a single thread loads the next
+			return current.tree();
+		}
+		try {
+			Snapshot latest = snapshot.get();
+			if (latest != current) {
+				return latest.tree();
+			}
+			Snapshot loaded = load();
+			snapshot.set(loaded);
+			return loaded.tree();
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	@Override
+	public HierarchyTree refresh() {
+		loadLock.lock();
+		try {
+			Snapshot loaded = load();
+			snapshot.set(loaded);
+			return loaded.tree();
+		} finally {
+			loadLock.unlock();
+		}
+	}
+
+	@Override
+	public void invalidate() {
+		generation.incrementAndGet();
+		hierarchyVersionRepository.incrementVersion(HierarchyVersion.HIERARCHY_TREE);
+	}
+
+	private boolean isCurrent(Snapshot current) {
+		long now = clock.millis();
+		if (current.generation() != generation.get()
+				|| now - current.loadedAt() >= TimeUnit.MINUTES.toMillis(TREE_EXPIRY_MINUTES)) {
+			return false;
+		}
+		long checkedAt = current.checkedAt().get();
+		if (versionCheckSeconds <= 0 || now - checkedAt < TimeUnit.SECONDS.toMillis(versionCheckSeconds)
+				|| !current.checkedAt().compareAndSet(checkedAt, now)) {
+			return true;
+		}
+		long storedVersion = readVersion();
+		if (storedVersion != current.version()) {
+			log.debug("Hierarchy moved from version {} to {}", current.version(), storedVersion);
+			return false;
+		}
+		return true;
+	}
+
+	private Snapshot load() {
+		// generation and version are read first, a change racing with the load is picked up by the next check
+		long loadGeneration = generation.get();
+		long version = readVersion();
+		List<OrganizationHierarchy> hierarchies = new ArrayList<>(organizationHierarchyRepository.findAll());
+		hierarchies.addAll(projectHierarchyRepository.findAll());
+		HierarchyTree loaded = HierarchyTree.of(hierarchies);
+		log.info("Loaded hierarchy tree with {} of {} nodes", loaded.size(), hierarchies.size());
+		long now = clock.millis();
+		return new Snapshot(loaded, version, loadGeneration, now, new AtomicLong(now));
+	}
+
+	private long readVersion() {
+		HierarchyVersion version = hierarchyVersionRepository.findByName(HierarchyVersion.HIERARCHY_TREE);
+		return version == null ? 0L : version.getVersion();
+	}
+
+	/* checkedAt is moved on in place so concurrent readers check the version once */
+	private record Snapshot(HierarchyTree tree, long version, long generation, long loadedAt, AtomicLong checkedAt) {
+	}
+}
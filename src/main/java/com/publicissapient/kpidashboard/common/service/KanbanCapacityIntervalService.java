@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+
+/**
+ * Per project lookup of Kanban capacity by date.
+ *
+ * <p>
+ * The capacity intervals of a project are loaded once into an interval tree, so
+ * overlap and per-day lookups are answered in memory instead of by an
+ * {@code startDate <= to AND endDate >= from} query each.
+ */
+public interface KanbanCapacityIntervalService {
+
+	/**
+	 * Finds the capacities whose date range overlaps {@code [from, to]}.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param from
+	 *          inclusive range start
+	 * @param to
+	 *          inclusive range end
+	 * @return capacities ordered by start date
+	 */
+	List<KanbanCapacity> findOverlapping(ObjectId basicProjectConfigId, LocalDate from, LocalDate to);
+
+	/**
+	 * Finds the capacities covering a day.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param day
+	 *          the day
+	 * @return capacities ordered by start date
+	 */
+	List<KanbanCapacity> findOn(ObjectId basicProjectConfigId, LocalDate day);
+
+	/**
+	 * Puts a saved capacity into its project's tree, replacing the previous
+	 * version of the same document.
+	 *
+	 * @param kanbanCapacity
+	 *          capacity just saved
+	 */
+	void onCapacitySaved(KanbanCapacity kanbanCapacity);
+
+	/**
+	 * Drops the tree of a project, e.g. after its capacities are deleted.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 */
+	void invalidate(ObjectId basicProjectConfigId);
+}
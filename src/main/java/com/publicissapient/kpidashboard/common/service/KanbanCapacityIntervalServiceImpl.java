@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.repository.excel.KanbanCapacityRepository;
+import com.publicissapient.kpidashboard.common.util.IntervalTree;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KanbanCapacityIntervalServiceImpl implements KanbanCapacityIntervalService {
+
+	private static final long MAX_CACHED_PROJECTS = 500L;
+	private static final long TREE_EXPIRY_MINUTES = 30L;
+
+	private final KanbanCapacityRepository kanbanCapacityRepository;
+
+	/*
+	 * capacity saved by other processes only reaches a tree on reload, so trees
+	 * expire after write to bound how stale a busy project can get
+	 */
+	private final Cache<ObjectId, IntervalTree<LocalDate, KanbanCapacity>> trees = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_PROJECTS).expireAfterWrite(TREE_EXPIRY_MINUTES, TimeUnit.MINUTES).build();
+
+	@Override
+	public List<KanbanCapacity> findOverlapping(ObjectId basicProjectConfigId, LocalDate from, LocalDate to) {
+		if (basicProjectConfigId == null || from == null || to == null || from.isAfter(to)) {
+			return Collections.emptyList();
+		}
+		return getTree(basicProjectConfigId).findOverlapping(from, to);
+	}
+
+	@Override
+	public List<KanbanCapacity> findOn(ObjectId basicProjectConfigId, LocalDate day) {
+		return findOverlapping(basicProjectConfigId, day, day);
+	}
+
+	@Override
+	public void onCapacitySaved(KanbanCapacity kanbanCapacity) {
+		if (kanbanCapacity == null || kanbanCapacity.getBasicProjectConfigId() == null) {
+			return;
+		}
+		// a project that is not cached is loaded with this capacity on the next lookup
+		trees.asMap().computeIfPresent(kanbanCapacity.getBasicProjectConfigId(), (project, tree) -> {
+			List<KanbanCapacity> capacities = new ArrayList<>(tree.size() + 1);
+			tree.values().stream().filter(existing -> !sameDocument(existing, kanbanCapacity))
+					.forEach(capacities::add);
+			capacities.add(kanbanCapacity);
+			return build(capacities);
+		});
+	}
+
+	@Override
+	public void invalidate(ObjectId basicProjectConfigId) {
+		if (basicProjectConfigId != null) {
+			trees.invalidate(basicProjectConfigId);
+		}
+	}
+
+	private static boolean sameDocument(KanbanCapacity existing, KanbanCapacity saved) {
+		if (saved.getId() != null) {
+			return saved.getId().equals(existing.getId());
+		}
+		return Objects.equals(existing.getStartDate(), saved.getStartDate())
+				&& Objects.equals(existing.getEndDate(), saved.getEndDate());
+	}
+
+	private IntervalTree<LocalDate, KanbanCapacity> getTree(ObjectId basicProjectConfigId) {
+		try {
+			return trees.get(basicProjectConfigId, () -> {
+				List<KanbanCapacity> capacities = kanbanCapacityRepository
+						.findByBasicProjectConfigId(basicProjectConfigId);
+				log.info("Loaded {} kanban capacity intervals for project {}", capacities.size(), basicProjectConfigId);
+				return build(capacities);
+			});
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Unable to load kanban capacity of project " + basicProjectConfigId, e);
+		}
+	}
+
+	private static IntervalTree<LocalDate, KanbanCapacity> build(List<KanbanCapacity> capacities) {
+		return IntervalTree.of(capacities, KanbanCapacity::getStartDate, KanbanCapacity::getEndDate);
+	}
+}
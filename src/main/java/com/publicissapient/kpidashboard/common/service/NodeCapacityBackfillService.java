@@ -0,0 +1,40 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+/**
+ * Fills node_capacity from the capacity documents saved before it existed.
+ * Rewriting a sprint or range is idempotent, so the backfill can be run again
+ * at any time.
+ */
+public interface NodeCapacityBackfillService {
+
+	/**
+	 * Starts the backfill on the task scheduler unless one is already running.
+	 *
+	 * @return true if a run was started
+	 */
+	boolean startBackfill();
+
+	/**
+	 * Runs the backfill to completion in the calling thread.
+	 *
+	 * @return number of sprint and kanban capacity documents flattened
+	 */
+	long backfill();
+}
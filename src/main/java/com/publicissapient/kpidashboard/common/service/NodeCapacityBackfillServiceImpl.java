@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.types.ObjectId;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.excel.CapacityKpiData;
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.repository.excel.CapacityKpiDataRepository;
+import com.publicissapient.kpidashboard.common.repository.excel.KanbanCapacityRepository;
+import com.publicissapient.kpidashboard.common.repository.excel.NodeCapacityRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NodeCapacityBackfillServiceImpl implements NodeCapacityBackfillService {
+
+	private static final int BATCH_SIZE = 200;
+
+	private final CapacityKpiDataRepository capacityKpiDataRepository;
+	private final KanbanCapacityRepository kanbanCapacityRepository;
+	private final NodeCapacityRepository nodeCapacityRepository;
+	private final TaskScheduler taskScheduler;
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	@Override
+	public boolean startBackfill() {
+		if (!running.compareAndSet(false, true)) {
+			log.info("Node capacity backfill already running");
+			return false;
+		}
+		try {
+			taskScheduler.schedule(() -> {
+				try {
+					backfill();
+				} finally {
+					running.set(false);
+				}
+			}, Instant.now());
+		} catch (RuntimeException e) {
+			running.set(false);
+			throw e;
+		}
+		return true;
+	}
+
+	@Override
+	public long backfill() {
+		long total = 0;
+		List<CapacityKpiData> sprintBatch;
+		ObjectId lastId = null;
+		do {
+			sprintBatch = capacityKpiDataRepository.findBatchAfter(lastId, BATCH_SIZE);
+			sprintBatch.forEach(nodeCapacityRepository::replaceSprintCapacity);
+			lastId = sprintBatch.isEmpty() ? lastId : sprintBatch.get(sprintBatch.size() - 1).getId();
+			total += sprintBatch.size();
+		} while (!sprintBatch.isEmpty());
+
+		List<KanbanCapacity> kanbanBatch;
+		lastId = null;
+		do {
+			kanbanBatch = kanbanCapacityRepository.findBatchAfter(lastId, BATCH_SIZE);
+			kanbanBatch.forEach(nodeCapacityRepository::replaceKanbanCapacity);
+			lastId = kanbanBatch.isEmpty() ? lastId : kanbanBatch.get(kanbanBatch.size() - 1).getId();
+			total += kanbanBatch.size();
+		} while (!kanbanBatch.isEmpty());
+		log.info("Node capacity backfill complete, {} capacity documents flattened", total);
+		return total;
+	}
+}
@@ -19,6 +19,7 @@
 
 package com.publicissapient.kpidashboard.common.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,6 +28,7 @@ import org.bson.types.ObjectId;
 
 import com.publicissapient.kpidashboard.common.model.application.ProjectBasicConfig;
 import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchySyncResult;
 
 public interface ProjectHierarchyService {
 
@@ -46,4 +48,32 @@ public interface ProjectHierarchyService {
 	void deleteByBasicProjectConfigId(ObjectId projectBasicConfigId);
 
 	void appendProjectName(List<ProjectBasicConfig> projectBasicConfigList, List<ProjectHierarchy> projectHierarchyList);
+
+	/**
+	 * Syncs every level of a project's hierarchy with the desired nodes, writing
+	 * only the inserts, updates and deletes needed.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param desiredNodes
+	 *          the nodes the project should have
+	 * @return inserted, updated, deleted and unchanged counts
+	 */
+	ProjectHierarchySyncResult syncProjectHierarchy(ObjectId basicProjectConfigId,
+			Collection<ProjectHierarchy> desiredNodes);
+
+	/**
+	 * Syncs the given levels of a project's hierarchy, e.g. only sprints, leaving
+	 * stored nodes of other levels alone.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param desiredNodes
+	 *          the nodes the project should have on those levels
+	 * @param hierarchyLevelIds
+	 *          levels being synced
+	 * @return inserted, updated, deleted and unchanged counts
+	 */
+	ProjectHierarchySyncResult syncProjectHierarchy(ObjectId basicProjectConfigId,
+			Collection<ProjectHierarchy> desiredNodes, Collection<String> hierarchyLevelIds);
 }
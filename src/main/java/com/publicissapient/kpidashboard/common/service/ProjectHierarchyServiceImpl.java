@@ -19,6 +19,8 @@
 
 package com.publicissapient.kpidashboard.common.service;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +34,7 @@ import com.publicissapient.kpidashboard.common.constant.CommonConstant;
 import com.publicissapient.kpidashboard.common.model.application.OrganizationHierarchy;
 import com.publicissapient.kpidashboard.common.model.application.ProjectBasicConfig;
 import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchySyncResult;
 import com.publicissapient.kpidashboard.common.repository.application.ProjectHierarchyRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -41,6 +44,7 @@ import lombok.RequiredArgsConstructor;
 public class ProjectHierarchyServiceImpl implements ProjectHierarchyService {
 
 	private final ProjectHierarchyRepository projectHierarchyRepository;
+	private final HierarchyTreeService hierarchyTreeService;
 
 	@Override
 	public List<ProjectHierarchy> findAll() {
@@ -50,6 +54,7 @@ public class ProjectHierarchyServiceImpl implements ProjectHierarchyService {
 	@Override
 	public void deleteByBasicProjectConfigId(ObjectId projectBasicConfigId) {
 		projectHierarchyRepository.deleteByBasicProjectConfigId(projectBasicConfigId);
+		hierarchyTreeService.invalidate();
 	}
 
 	@Override
@@ -75,6 +80,24 @@ public class ProjectHierarchyServiceImpl implements ProjectHierarchyService {
 	@Override
 	public void saveAll(Set<ProjectHierarchy> projectHierarchies) {
 		projectHierarchyRepository.saveAll(projectHierarchies);
+		hierarchyTreeService.invalidate();
+	}
+
+	@Override
+	public ProjectHierarchySyncResult syncProjectHierarchy(ObjectId basicProjectConfigId,
+			Collection<ProjectHierarchy> desiredNodes) {
+		return syncProjectHierarchy(basicProjectConfigId, desiredNodes, Collections.emptyList());
+	}
+
+	@Override
+	public ProjectHierarchySyncResult syncProjectHierarchy(ObjectId basicProjectConfigId,
+			Collection<ProjectHierarchy> desiredNodes, Collection<String> hierarchyLevelIds) {
+		ProjectHierarchySyncResult result = projectHierarchyRepository.syncProjectHierarchy(basicProjectConfigId,
+				desiredNodes, hierarchyLevelIds);
+		if (result.hasChanges()) {
+			hierarchyTreeService.invalidate();
+		}
+		return result;
 	}
 
 	private List<ProjectHierarchy> getProjectRelatedHierachy(String projectConfigId) {
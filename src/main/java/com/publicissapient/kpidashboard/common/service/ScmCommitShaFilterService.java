@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Per processor item SHA membership check used during commit ingestion.
+ *
+ * <p>
+ * Each processor item gets a Bloom filter built from the stored SHAs. SHAs the
+ * filter rejects are new without a database call; only the possible hits are
+ * confirmed with one batched query.
+ */
+public interface ScmCommitShaFilterService {
+
+	/**
+	 * Returns the SHAs that are not stored yet for the processor item. The
+	 * returned SHAs are added to the filter, so later calls confirm them against
+	 * the database instead of reporting them as new again.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param shas
+	 *          SHAs fetched from the SCM tool
+	 * @return the new SHAs, in input order without duplicates
+	 */
+	Set<String> findNewShas(ObjectId processorItemId, Collection<String> shas);
+
+	/**
+	 * Adds saved SHAs to the processor item's filter so the next run sees them.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 * @param shas
+	 *          SHAs just saved
+	 */
+	void registerShas(ObjectId processorItemId, Collection<String> shas);
+
+	/**
+	 * Drops the filter of a processor item, e.g. after its commits are deleted.
+	 *
+	 * @param processorItemId
+	 *          the tool configuration ID
+	 */
+	void invalidate(ObjectId processorItemId);
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmCommitsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScmCommitShaFilterServiceImpl implements ScmCommitShaFilterService {
+
+	private static final int MIN_EXPECTED_SHAS = 10_000;
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+	private static final long MAX_CACHED_FILTERS = 500L;
+	private static final long FILTER_EXPIRY_HOURS = 6L;
+
+	private final ScmCommitsRepository scmCommitsRepository;
+
+	/*
+	 * rebuilt on a fixed schedule so shas saved by other instances show up within
+	 * FILTER_EXPIRY_HOURS even for filters in constant use
+	 */
+	private final Cache<ObjectId, BloomFilter<CharSequence>> filters = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_FILTERS).expireAfterWrite(FILTER_EXPIRY_HOURS, TimeUnit.HOURS).build();
+
+	@Override
+	public Set<String> findNewShas(ObjectId processorItemId, Collection<String> shas) {
+		if (processorItemId == null || CollectionUtils.isEmpty(shas)) {
+			return Collections.emptySet();
+		}
+		BloomFilter<CharSequence> filter = getFilter(processorItemId);
+		Set<String> newShas = new LinkedHashSet<>();
+		List<String> possiblyExisting = new ArrayList<>();
+		synchronized (filter) {
+			for (String sha : shas) {
+				if (sha == null) {
+					continue;
+				}
+				if (filter.mightContain(sha)) {
+					possiblyExisting.add(sha);
+				} else {
+					newShas.add(sha);
+				}
+			}
+		}
+		if (!possiblyExisting.isEmpty()) {
+			Set<String> existing = scmCommitsRepository.findExistingShas(processorItemId, possiblyExisting);
+			possiblyExisting.stream().filter(sha -> !existing.contains(sha)).forEach(newShas::add);
+		}
+		// the caller is about to save these; possible hits are always confirmed, so an
+		// unsaved sha only costs a lookup next time
+		synchronized (filter) {
+			newShas.forEach(filter::put);
+		}
+		log.debug("Processor item {}: {} shas checked, {} confirmed against db, {} new", processorItemId, shas.size(),
+				possiblyExisting.size(), newShas.size());
+		return newShas;
+	}
+
+	@Override
+	public void registerShas(ObjectId processorItemId, Collection<String> shas) {
+		if (processorItemId == null || CollectionUtils.isEmpty(shas)) {
+			return;
+		}
+		BloomFilter<CharSequence> filter = filters.getIfPresent(processorItemId);
+		if (filter == null) {
+			// built lazily from the index on the next lookup, which includes these shas
+			return;
+		}
+		synchronized (filter) {
+			shas.stream().filter(Objects::nonNull).forEach(filter::put);
+		}
+	}
+
+	@Override
+	public void invalidate(ObjectId processorItemId) {
+		if (processorItemId != null) {
+			filters.invalidate(processorItemId);
+		}
+	}
+
+	private BloomFilter<CharSequence> getFilter(ObjectId processorItemId) {
+		try {
+			return filters.get(processorItemId, () -> buildFilter(processorItemId));
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Unable to build sha filter for processor item " + processorItemId, e);
+		}
+	}
+
+	private BloomFilter<CharSequence> buildFilter(ObjectId processorItemId) {
+		long storedCount = scmCommitsRepository.countByProcessorItemId(processorItemId);
+		// leave room for the commits ingested while the filter is cached
+		long expected = Math.max(MIN_EXPECTED_SHAS, storedCount * 2);
+		BloomFilter<CharSequence> filter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expected,
+				FALSE_POSITIVE_RATE);
+		long loaded = scmCommitsRepository.forEachSha(processorItemId, filter::put);
+		log.info("Built sha filter for processor item {} with {} shas", processorItemId, loaded);
+		return filter;
+	}
+}
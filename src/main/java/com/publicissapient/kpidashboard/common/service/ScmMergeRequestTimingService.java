@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestCube;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+
+/**
+ * Maintains per merge request timing records and the weekly merge-request cube
+ * per repository and author.
+ */
+public interface ScmMergeRequestTimingService {
+
+	/**
+	 * Records the timings of upserted merge requests and rebuilds the cube weeks
+	 * they enter or leave. Processors call this right after saving the merge
+	 * requests.
+	 *
+	 * @param mergeRequests
+	 *          merge requests just saved
+	 */
+	void recordMergeRequests(Collection<ScmMergeRequests> mergeRequests);
+
+	/**
+	 * Gets cube cells with percentile summaries.
+	 *
+	 * @param processorItemIds
+	 *          the tool configuration IDs
+	 * @param authorUserId
+	 *          author id, or null for the whole repository
+	 * @param from
+	 *          any day of the first week
+	 * @param to
+	 *          any day of the last week
+	 * @return cells ordered by week
+	 */
+	List<ScmMergeRequestCube> getWeeklyCube(List<ObjectId> processorItemIds, String authorUserId, LocalDate from,
+			LocalDate to);
+}
@@ -0,0 +1,205 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestCube;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestTiming;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestCubeRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestTimingRepository;
+import com.publicissapient.kpidashboard.common.util.DateUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScmMergeRequestTimingServiceImpl implements ScmMergeRequestTimingService {
+
+	private final ScmMergeRequestTimingRepository timingRepository;
+	private final ScmMergeRequestCubeRepository cubeRepository;
+
+	@Override
+	public void recordMergeRequests(Collection<ScmMergeRequests> mergeRequests) {
+		if (CollectionUtils.isEmpty(mergeRequests)) {
+			return;
+		}
+		Map<ObjectId, List<ScmMergeRequests>> byProcessorItem = mergeRequests.stream()
+				.filter(mr -> mr.getProcessorItemId() != null && StringUtils.isNotBlank(mr.getExternalId()))
+				.collect(Collectors.groupingBy(ScmMergeRequests::getProcessorItemId));
+		byProcessorItem.forEach(this::recordForProcessorItem);
+	}
+
+	@Override
+	public List<ScmMergeRequestCube> getWeeklyCube(List<ObjectId> processorItemIds, String authorUserId,
+			LocalDate from, LocalDate to) {
+		if (CollectionUtils.isEmpty(processorItemIds) || from == null || to == null) {
+			return Collections.emptyList();
+		}
+		String author = StringUtils.isBlank(authorUserId) ? ScmMergeRequestCube.ALL_AUTHORS : authorUserId;
+		return cubeRepository.findCells(processorItemIds, author, weekOf(from), weekOf(to));
+	}
+
+	private void recordForProcessorItem(ObjectId processorItemId, List<ScmMergeRequests> mergeRequests) {
+		Set<String> externalIds = mergeRequests.stream().map(ScmMergeRequests::getExternalId)
+				.collect(Collectors.toSet());
+		Map<String, ScmMergeRequestTiming> previous = timingRepository
+				.findByProcessorItemIdAndExternalIdIn(processorItemId, externalIds).stream()
+				.collect(Collectors.toMap(ScmMergeRequestTiming::getExternalId, Function.identity(), (a, b) -> a));
+
+		Set<String> affectedWeeks = new HashSet<>();
+		Map<String, ScmMergeRequestTiming> timings = new HashMap<>();
+		for (ScmMergeRequests mergeRequest : mergeRequests) {
+			ScmMergeRequestTiming timing = toTiming(mergeRequest);
+			ScmMergeRequestTiming old = previous.get(mergeRequest.getExternalId());
+			if (old != null) {
+				timing.setId(old.getId());
+				affectedWeeks.add(old.getWeek());
+			}
+			affectedWeeks.add(timing.getWeek());
+			timings.put(timing.getExternalId(), timing);
+		}
+		timingRepository.saveAll(timings.values());
+		affectedWeeks.remove(null);
+		affectedWeeks.forEach(week -> rebuildWeek(processorItemId, week));
+		log.debug("Recorded {} merge request timings for {}, rebuilt {} cube weeks", timings.size(), processorItemId,
+				affectedWeeks.size());
+	}
+
+	private void rebuildWeek(ObjectId processorItemId, String week) {
+		List<ScmMergeRequestTiming> weekTimings = timingRepository.findByProcessorItemIdAndWeek(processorItemId, week);
+		Map<String, List<ScmMergeRequestTiming>> byAuthor = new HashMap<>();
+		byAuthor.put(ScmMergeRequestCube.ALL_AUTHORS, weekTimings);
+		weekTimings.stream().filter(timing -> timing.getAuthorUserId() != null)
+				.forEach(timing -> byAuthor.computeIfAbsent(timing.getAuthorUserId(), a -> new ArrayList<>()).add(timing));
+
+		Map<String, ScmMergeRequestCube> existing = cubeRepository.findByProcessorItemIdAndWeek(processorItemId, week)
+				.stream().collect(Collectors.toMap(ScmMergeRequestCube::getAuthorUserId, Function.identity(), (a, b) -> a));
+		List<ScmMergeRequestCube> cells = new ArrayList<>();
+		byAuthor.forEach((author, authorTimings) -> {
+			ScmMergeRequestCube cell = buildCell(processorItemId, author, week, authorTimings);
+			ScmMergeRequestCube old = existing.remove(author);
+			if (old != null) {
+				cell.setId(old.getId());
+			}
+			cells.add(cell);
+		});
+		cubeRepository.saveAll(cells);
+		// authors whose merge requests all moved to another week
+		if (!existing.isEmpty()) {
+			cubeRepository.deleteAll(existing.values());
+		}
+	}
+
+	private static ScmMergeRequestCube buildCell(ObjectId processorItemId, String author, String week,
+			List<ScmMergeRequestTiming> timings) {
+		ScmMergeRequestCube cell = ScmMergeRequestCube.builder().processorItemId(processorItemId).authorUserId(author)
+				.week(week).mergeRequestCount(timings.size()).build();
+		List<Long> timeToMerge = new ArrayList<>();
+		List<Long> reviewLatency = new ArrayList<>();
+		for (ScmMergeRequestTiming timing : timings) {
+			if (timing.getMergedAt() != null) {
+				cell.setMergedCount(cell.getMergedCount() + 1);
+			} else if (timing.getClosedAt() != null) {
+				cell.setClosedCount(cell.getClosedCount() + 1);
+			}
+			cell.setLinesChanged(cell.getLinesChanged() + Objects.requireNonNullElse(timing.getLinesChanged(), 0));
+			cell.setReviewerCount(cell.getReviewerCount() + Objects.requireNonNullElse(timing.getReviewerCount(), 0));
+			if (timing.getSizeBucket() != null) {
+				cell.getSizeBuckets().merge(timing.getSizeBucket(), 1, Integer::sum);
+			}
+			addIfPresent(timeToMerge, timing.getTimeToMerge());
+			addIfPresent(reviewLatency, timing.getReviewLatency());
+		}
+		Collections.sort(timeToMerge);
+		Collections.sort(reviewLatency);
+		cell.setTimeToMerge(ScmMergeRequestCube.PercentileSummary.of(timeToMerge));
+		cell.setReviewLatency(ScmMergeRequestCube.PercentileSummary.of(reviewLatency));
+		return cell;
+	}
+
+	static ScmMergeRequestTiming toTiming(ScmMergeRequests mergeRequest) {
+		Long createdAt = mergeRequest.getCreatedDate();
+		Long mergedAt = mergeRequest.getMergedAt() == null
+				? null
+				: mergeRequest.getMergedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+		Long closedAt = mergeRequest.getClosedDate();
+		Long firstReviewAt = mergeRequest.getPickedForReviewOn();
+		int linesChanged = Objects.requireNonNullElse(mergeRequest.getLinesChanged(), 0);
+
+		Long weekAnchor = firstNonNull(mergedAt, closedAt, createdAt);
+		return ScmMergeRequestTiming.builder().processorItemId(mergeRequest.getProcessorItemId())
+				.externalId(mergeRequest.getExternalId()).authorUserId(mergeRequest.getAuthorUserId())
+				.state(mergeRequest.getState()).createdAt(createdAt).firstReviewAt(firstReviewAt).mergedAt(mergedAt)
+				.closedAt(closedAt).linesChanged(linesChanged).reviewerCount(reviewerCount(mergeRequest))
+				.timeToMerge(duration(createdAt, mergedAt)).reviewLatency(duration(createdAt, firstReviewAt))
+				.sizeBucket(ScmMergeRequestTiming.SizeBucket.of(linesChanged))
+				.week(weekAnchor == null ? null : weekOf(Instant.ofEpochMilli(weekAnchor).atZone(ZoneOffset.UTC).toLocalDate()))
+				.build();
+	}
+
+	private static int reviewerCount(ScmMergeRequests mergeRequest) {
+		if (CollectionUtils.isNotEmpty(mergeRequest.getReviewerUserIds())) {
+			return mergeRequest.getReviewerUserIds().size();
+		}
+		return CollectionUtils.size(mergeRequest.getReviewers());
+	}
+
+	private static Long duration(Long from, Long to) {
+		return from == null || to == null || to < from ? null : to - from;
+	}
+
+	private static Long firstNonNull(Long... values) {
+		for (Long value : values) {
+			if (value != null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	private static void addIfPresent(List<Long> values, Long value) {
+		if (value != null) {
+			values.add(value);
+		}
+	}
+
+	private static String weekOf(LocalDate day) {
+		return DateUtil.getWeek(day).getStartDate().toString();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.BasicDBList;
+import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.model.scm.User;
+
+/**
+ * Identity map for SCM users.
+ *
+ * <p>
+ * Resolves {@link User} documents from {@code scm_users} once per id and hands
+ * out the same instance to every commit and merge request that references it,
+ * so queries can skip the embedded user references.
+ */
+public interface ScmUserIdentityService {
+
+	/**
+	 * Resolves users by id, loading only the ids that are not already cached.
+	 *
+	 * @param userIds
+	 *          user ids as stored in {@code commitAuthorId} / {@code authorUserId}
+	 * @return map of user id to shared user instance, unknown ids are omitted
+	 */
+	Map<String, User> resolveUsers(Collection<String> userIds);
+
+	/**
+	 * Populates {@code commitAuthor} and {@code committer} from the identity map.
+	 *
+	 * @param commits
+	 *          commits loaded without their user references
+	 * @return the same list
+	 */
+	List<ScmCommits> attachCommitUsers(List<ScmCommits> commits);
+
+	/**
+	 * Populates {@code authorId} and {@code reviewerUsers} from the identity map.
+	 *
+	 * @param mergeRequests
+	 *          merge requests loaded without their user references
+	 * @return the same list
+	 */
+	List<ScmMergeRequests> attachMergeRequestUsers(List<ScmMergeRequests> mergeRequests);
+
+	/**
+	 * Loads commits without user references and attaches shared users.
+	 *
+	 * @param startDate
+	 *          inclusive start of the commit timestamp range in epoch millis
+	 * @param endDate
+	 *          inclusive end of the commit timestamp range in epoch millis
+	 * @param filterList
+	 *          processor-item filters
+	 * @return commits with shared user instances
+	 */
+	List<ScmCommits> findCommitList(Long startDate, Long endDate, BasicDBList filterList);
+
+	/**
+	 * Loads merged requests without user references and attaches shared users.
+	 *
+	 * @param startDate
+	 *          inclusive start of the merged-at range (treated as UTC)
+	 * @param endDate
+	 *          inclusive end of the merged-at range (treated as UTC)
+	 * @param filterList
+	 *          processor-item filters
+	 * @return merge requests with shared user instances
+	 */
+	List<ScmMergeRequests> findMergedList(LocalDateTime startDate, LocalDateTime endDate, BasicDBList filterList);
+
+	/**
+	 * Drops the given users from the identity map, to be called after they are
+	 * saved.
+	 *
+	 * @param userIds
+	 *          user ids to evict
+	 */
+	void evictUsers(Collection<String> userIds);
+
+	/** Drops every cached user. */
+	void evictAll();
+}
@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mongodb.BasicDBList;
+import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.model.scm.User;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmCommitsRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestsRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmUserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScmUserIdentityServiceImpl implements ScmUserIdentityService {
+
+	private static final long MAX_CACHED_USERS = 50_000L;
+	private static final long CACHE_EXPIRY_MINUTES = 30L;
+
+	private final ScmUserRepository scmUserRepository;
+	private final ScmCommitsRepository scmCommitsRepository;
+	private final ScmMergeRequestsRepository scmMergeRequestsRepository;
+
+	private final Cache<String, User> identityMap = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_USERS)
+			.expireAfterWrite(CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES).build();
+
+	@Override
+	public Map<String, User> resolveUsers(Collection<String> userIds) {
+		if (CollectionUtils.isEmpty(userIds)) {
+			return new HashMap<>();
+		}
+		Set<String> validIds = new HashSet<>();
+		for (String userId : userIds) {
+			if (StringUtils.isNotBlank(userId) && ObjectId.isValid(userId)) {
+				validIds.add(userId);
+			}
+		}
+		Map<String, User> resolved = new HashMap<>(identityMap.getAllPresent(validIds));
+		List<String> missingIds = validIds.stream().filter(id -> !resolved.containsKey(id)).toList();
+		if (!missingIds.isEmpty()) {
+			for (User user : scmUserRepository.findAllById(missingIds)) {
+				String userId = user.getId().toHexString();
+				// another thread may have loaded the same user meanwhile, keep the first
+				User shared = identityMap.asMap().putIfAbsent(userId, user);
+				resolved.put(userId, shared == null ? user : shared);
+			}
+			log.debug("Resolved {} scm users, {} loaded from db", resolved.size(), missingIds.size());
+		}
+		return resolved;
+	}
+
+	@Override
+	public List<ScmCommits> attachCommitUsers(List<ScmCommits> commits) {
+		if (CollectionUtils.isEmpty(commits)) {
+			return commits;
+		}
+		Set<String> userIds = new HashSet<>();
+		for (ScmCommits commit : commits) {
+			userIds.add(commit.getCommitAuthorId());
+			userIds.add(commit.getCommitterId());
+		}
+		userIds.remove(null);
+		Map<String, User> users = resolveUsers(userIds);
+		for (ScmCommits commit : commits) {
+			commit.setCommitAuthor(lookup(users, commit.getCommitAuthorId()));
+			commit.setCommitter(lookup(users, commit.getCommitterId()));
+		}
+		return commits;
+	}
+
+	@Override
+	public List<ScmMergeRequests> attachMergeRequestUsers(List<ScmMergeRequests> mergeRequests) {
+		if (CollectionUtils.isEmpty(mergeRequests)) {
+			return mergeRequests;
+		}
+		Set<String> userIds = new HashSet<>();
+		for (ScmMergeRequests mergeRequest : mergeRequests) {
+			userIds.add(mergeRequest.getAuthorUserId());
+			if (mergeRequest.getReviewerUserIds() != null) {
+				userIds.addAll(mergeRequest.getReviewerUserIds());
+			}
+		}
+		userIds.remove(null);
+		Map<String, User> users = resolveUsers(userIds);
+		for (ScmMergeRequests mergeRequest : mergeRequests) {
+			mergeRequest.setAuthorId(lookup(users, mergeRequest.getAuthorUserId()));
+			if (mergeRequest.getReviewerUserIds() != null) {
+				List<User> reviewers = new ArrayList<>();
+				mergeRequest.getReviewerUserIds().stream().map(users::get).filter(Objects::nonNull).forEach(reviewers::add);
+				mergeRequest.setReviewerUsers(reviewers);
+			}
+		}
+		return mergeRequests;
+	}
+
+	@Override
+	public List<ScmCommits> findCommitList(Long startDate, Long endDate, BasicDBList filterList) {
+		return attachCommitUsers(scmCommitsRepository.findCommitListWithoutUsers(startDate, endDate, filterList));
+	}
+
+	@Override
+	public List<ScmMergeRequests> findMergedList(LocalDateTime startDate, LocalDateTime endDate,
+			BasicDBList filterList) {
+		return attachMergeRequestUsers(
+				scmMergeRequestsRepository.findMergedListWithoutUsers(startDate, endDate, filterList));
+	}
+
+	@Override
+	public void evictUsers(Collection<String> userIds) {
+		if (CollectionUtils.isNotEmpty(userIds)) {
+			identityMap.invalidateAll(userIds);
+		}
+	}
+
+	@Override
+	public void evictAll() {
+		identityMap.invalidateAll();
+	}
+
+	private static User lookup(Map<String, User> users, String userId) {
+		return userId == null ? null : users.get(userId);
+	}
+}
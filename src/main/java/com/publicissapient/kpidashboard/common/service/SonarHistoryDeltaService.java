@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistory;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistoryDelta;
+
+/**
+ * Keeps the sonar history of a component as keyframes plus per-analysis deltas
+ * in {@code sonar_history_delta} and reconstructs full {@link SonarHistory}
+ * snapshots from it.
+ */
+public interface SonarHistoryDeltaService {
+
+	/**
+	 * Appends an analysis to the history of its component. Analyses not newer
+	 * than the last stored one are ignored, so re-fetched analyses are harmless.
+	 *
+	 * @param analysis
+	 *          the analysis with all its metrics
+	 * @return the stored entry, or null when the analysis was ignored
+	 */
+	SonarHistoryDelta append(SonarHistory analysis);
+
+	/**
+	 * Reconstructs the latest analysis at or before a point in time.
+	 *
+	 * @param processorItemId
+	 *          processor item id
+	 * @param timestamp
+	 *          epoch millis
+	 * @return the analysis, or null when the component had none by then
+	 */
+	SonarHistory getAt(ObjectId processorItemId, long timestamp);
+
+	/**
+	 * Reconstructs every analysis of a component in a time window.
+	 *
+	 * @param processorItemId
+	 *          processor item id
+	 * @param from
+	 *          epoch millis (inclusive)
+	 * @param to
+	 *          epoch millis (inclusive)
+	 * @return analyses ordered by timestamp
+	 */
+	List<SonarHistory> getSeries(ObjectId processorItemId, long from, long to);
+
+	/**
+	 * Re-encodes the {@code sonar_history} documents of a component, replacing
+	 * any delta history it already has.
+	 *
+	 * @param processorItemId
+	 *          processor item id
+	 * @return number of analyses encoded
+	 */
+	int rebuild(ObjectId processorItemId);
+}
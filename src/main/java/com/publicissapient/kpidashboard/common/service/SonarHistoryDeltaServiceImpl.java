@@ -0,0 +1,222 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistory;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistoryDelta;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarMetric;
+import com.publicissapient.kpidashboard.common.repository.sonar.SonarHistoryDeltaRepository;
+import com.publicissapient.kpidashboard.common.repository.sonar.SonarHistoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SonarHistoryDeltaServiceImpl implements SonarHistoryDeltaService {
+
+	private final SonarHistoryDeltaRepository deltaRepository;
+	private final SonarHistoryRepository sonarHistoryRepository;
+
+	@Value("${sonar.history.keyframeInterval:30}")
+	private int keyframeInterval = 30;
+
+	@Override
+	public SonarHistoryDelta append(SonarHistory analysis) {
+		if (analysis == null || analysis.getProcessorItemId() == null || analysis.getTimestamp() == null) {
+			return null;
+		}
+		SonarHistoryDelta last = deltaRepository.findFirstByProcessorItemIdOrderBySequenceDesc(analysis.getProcessorItemId());
+		if (last != null && last.getTimestamp() != null && analysis.getTimestamp() <= last.getTimestamp()) {
+			log.debug("Ignoring sonar analysis {} of {}, history is already at {}", analysis.getTimestamp(),
+					analysis.getProcessorItemId(), last.getTimestamp());
+			return null;
+		}
+		Map<String, SonarMetric> previous = last == null
+				? Collections.emptyMap()
+				: replay(analysis.getProcessorItemId(), last.getSequence());
+		SonarHistoryDelta delta = encode(analysis, last == null ? 0 : last.getSequence() + 1, previous);
+		return deltaRepository.save(delta);
+	}
+
+	@Override
+	public SonarHistory getAt(ObjectId processorItemId, long timestamp) {
+		SonarHistoryDelta entry = deltaRepository
+				.findFirstByProcessorItemIdAndTimestampLessThanEqualOrderBySequenceDesc(processorItemId, timestamp);
+		if (entry == null) {
+			return null;
+		}
+		return toSnapshot(entry, replay(processorItemId, entry.getSequence()));
+	}
+
+	@Override
+	public List<SonarHistory> getSeries(ObjectId processorItemId, long from, long to) {
+		SonarHistoryDelta last = deltaRepository
+				.findFirstByProcessorItemIdAndTimestampLessThanEqualOrderBySequenceDesc(processorItemId, to);
+		if (last == null) {
+			return Collections.emptyList();
+		}
+		SonarHistoryDelta beforeWindow = deltaRepository
+				.findFirstByProcessorItemIdAndTimestampLessThanEqualOrderBySequenceDesc(processorItemId, from);
+		long firstSequence = keyframeSequence(processorItemId, beforeWindow == null ? 0 : beforeWindow.getSequence());
+
+		List<SonarHistory> series = new ArrayList<>();
+		Map<String, SonarMetric> state = new LinkedHashMap<>();
+		for (SonarHistoryDelta entry : deltaRepository.findSequenceRange(processorItemId, firstSequence,
+				last.getSequence())) {
+			apply(state, entry);
+			if (entry.getTimestamp() != null && entry.getTimestamp() >= from) {
+				series.add(toSnapshot(entry, state));
+			}
+		}
+		return series;
+	}
+
+	@Override
+	public int rebuild(ObjectId processorItemId) {
+		List<SonarHistory> history = sonarHistoryRepository.findByProcessorItemIdOrderByTimestampAsc(processorItemId);
+		deltaRepository.deleteByProcessorItemId(processorItemId);
+		List<SonarHistoryDelta> encoded = new ArrayList<>();
+		Map<String, SonarMetric> state = new LinkedHashMap<>();
+		Long lastTimestamp = null;
+		for (SonarHistory analysis : history) {
+			if (analysis.getTimestamp() == null || (lastTimestamp != null && analysis.getTimestamp() <= lastTimestamp)) {
+				continue;
+			}
+			SonarHistoryDelta delta = encode(analysis, encoded.size(), state);
+			apply(state, delta);
+			encoded.add(delta);
+			lastTimestamp = analysis.getTimestamp();
+		}
+		deltaRepository.saveAll(encoded);
+		log.info("Encoded {} sonar analyses of {} into {} keyframes", encoded.size(), processorItemId,
+				encoded.stream().filter(SonarHistoryDelta::isKeyframe).count());
+		return encoded.size();
+	}
+
+	/**
+	 * Metric state after an analysis, replayed from the closest keyframe.
+	 */
+	private Map<String, SonarMetric> replay(ObjectId processorItemId, long sequence) {
+		Map<String, SonarMetric> state = new LinkedHashMap<>();
+		deltaRepository.findSequenceRange(processorItemId, keyframeSequence(processorItemId, sequence), sequence)
+				.forEach(entry -> apply(state, entry));
+		return state;
+	}
+
+	private long keyframeSequence(ObjectId processorItemId, long sequence) {
+		SonarHistoryDelta keyframe = deltaRepository
+				.findFirstByProcessorItemIdAndKeyframeTrueAndSequenceLessThanEqualOrderBySequenceDesc(processorItemId,
+						sequence);
+		return keyframe == null ? 0 : keyframe.getSequence();
+	}
+
+	private SonarHistoryDelta encode(SonarHistory analysis, long sequence, Map<String, SonarMetric> previous) {
+		SonarHistoryDelta delta = SonarHistoryDelta.builder().processorItemId(analysis.getProcessorItemId())
+				.sequence(sequence).timestamp(analysis.getTimestamp()).name(analysis.getName()).url(analysis.getUrl())
+				.type(analysis.getType()).version(analysis.getVersion()).buildId(analysis.getBuildId())
+				.qualityType(analysis.getQualityType()).key(analysis.getKey()).date(analysis.getDate())
+				.platform(analysis.getPlatform()).branch(analysis.getBranch()).build();
+		List<SonarMetric> metrics = CollectionUtils.emptyIfNull(analysis.getMetrics()).stream()
+				.filter(metric -> metric.getMetricName() != null).toList();
+		// history metrics are dated with the analysis, which would make every metric a change
+		String metricDate = sharedDate(metrics);
+		if (metricDate != null) {
+			delta.setMetricDate(metricDate);
+			metrics = metrics.stream().map(metric -> withDate(metric, null)).toList();
+		}
+		if (previous.isEmpty() || sequence % Math.max(keyframeInterval, 1) == 0) {
+			delta.setKeyframe(true);
+			delta.setMetrics(new ArrayList<>(metrics));
+			return delta;
+		}
+		delta.setMetrics(changedMetrics(previous, metrics));
+		delta.setRemovedMetrics(removedMetrics(previous, metrics));
+		return delta;
+	}
+
+	static List<SonarMetric> changedMetrics(Map<String, SonarMetric> previous, Collection<SonarMetric> current) {
+		List<SonarMetric> changed = new ArrayList<>();
+		for (SonarMetric metric : current) {
+			if (!sameMeasure(previous.get(metric.getMetricName()), metric)) {
+				changed.add(metric);
+			}
+		}
+		return changed;
+	}
+
+	static List<String> removedMetrics(Map<String, SonarMetric> previous, Collection<SonarMetric> current) {
+		List<String> removed = new ArrayList<>(previous.keySet());
+		current.forEach(metric -> removed.remove(metric.getMetricName()));
+		return removed;
+	}
+
+	static void apply(Map<String, SonarMetric> state, SonarHistoryDelta entry) {
+		if (entry.isKeyframe()) {
+			state.clear();
+		}
+		CollectionUtils.emptyIfNull(entry.getRemovedMetrics()).forEach(state::remove);
+		CollectionUtils.emptyIfNull(entry.getMetrics()).forEach(metric -> state.put(metric.getMetricName(), metric));
+	}
+
+	/** {@link SonarMetric#equals} only compares names, the delta needs values. */
+	private static boolean sameMeasure(SonarMetric previous, SonarMetric current) {
+		return previous != null && Objects.equals(previous.getMetricValue(), current.getMetricValue())
+				&& Objects.equals(previous.getFormattedValue(), current.getFormattedValue())
+				&& previous.getMetricStatus() == current.getMetricStatus()
+				&& Objects.equals(previous.getMessage(), current.getMessage())
+				&& Objects.equals(previous.getDate(), current.getDate())
+				&& Objects.equals(previous.getValue(), current.getValue());
+	}
+
+	private static String sharedDate(List<SonarMetric> metrics) {
+		Set<String> dates = metrics.stream().map(SonarMetric::getDate).collect(Collectors.toSet());
+		return dates.size() == 1 ? dates.iterator().next() : null;
+	}
+
+	private static SonarMetric withDate(SonarMetric metric, String date) {
+		return new SonarMetric(metric.getMetricName(), metric.getMetricValue(), metric.getFormattedValue(),
+				metric.getMetricStatus(), metric.getMessage(), date, metric.getValue());
+	}
+
+	private static SonarHistory toSnapshot(SonarHistoryDelta entry, Map<String, SonarMetric> state) {
+		List<SonarMetric> metrics = entry.getMetricDate() == null
+				? new ArrayList<>(state.values())
+				: state.values().stream().map(metric -> withDate(metric, entry.getMetricDate()))
+						.collect(Collectors.toCollection(ArrayList::new));
+		return SonarHistory.builder().processorItemId(entry.getProcessorItemId()).timestamp(entry.getTimestamp())
+				.name(entry.getName()).url(entry.getUrl()).type(entry.getType()).version(entry.getVersion())
+				.buildId(entry.getBuildId()).qualityType(entry.getQualityType()).key(entry.getKey()).date(entry.getDate())
+				.platform(entry.getPlatform()).branch(entry.getBranch()).metrics(metrics).build();
+	}
+}
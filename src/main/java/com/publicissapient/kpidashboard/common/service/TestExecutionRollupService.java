@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.publicissapient.kpidashboard.common.model.testexecution.KanbanTestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
+
+/**
+ * Keeps {@code test_execution_rollup} in step with the test execution rows:
+ * sprint totals for scrum projects and daily totals for kanban projects.
+ */
+public interface TestExecutionRollupService {
+
+	/**
+	 * Refreshes the roll-ups of the sprints the given rows belong to.
+	 *
+	 * @param executions
+	 *          rows just saved
+	 * @return the refreshed roll-ups
+	 */
+	List<TestExecutionRollup> onTestExecutions(Collection<TestExecution> executions);
+
+	/**
+	 * Refreshes the roll-ups of the days the given rows belong to.
+	 *
+	 * @param executions
+	 *          rows just saved
+	 * @return the refreshed roll-ups
+	 */
+	List<TestExecutionRollup> onKanbanTestExecutions(Collection<KanbanTestExecution> executions);
+
+	/**
+	 * Gets materialised sprint roll-ups.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param sprintIds
+	 *          sprint ids
+	 * @return roll-ups of the sprints that have executions
+	 */
+	List<TestExecutionRollup> getSprintRollups(String basicProjectConfigId, Collection<String> sprintIds);
+
+	/**
+	 * Gets materialised daily roll-ups.
+	 *
+	 * @param basicProjectConfigId
+	 *          the project
+	 * @param from
+	 *          first day (inclusive), yyyy-MM-dd
+	 * @param to
+	 *          last day (inclusive), yyyy-MM-dd
+	 * @return roll-ups ordered by day
+	 */
+	List<TestExecutionRollup> getDailyRollups(String basicProjectConfigId, String from, String to);
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import com.publicissapient.kpidashboard.common.model.testexecution.KanbanTestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup.Granularity;
+import com.publicissapient.kpidashboard.common.repository.application.KanbanTestExecutionRepository;
+import com.publicissapient.kpidashboard.common.repository.application.TestExecutionRepository;
+import com.publicissapient.kpidashboard.common.repository.application.TestExecutionRollupRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestExecutionRollupServiceImpl implements TestExecutionRollupService {
+
+	private static final String FIELD_PROJECT_CONFIG_ID = "basicProjectConfigId";
+	private static final String FIELD_SPRINT_ID = "sprintId";
+	private static final int DAY_LENGTH = 10;
+
+	private final TestExecutionRepository testExecutionRepository;
+	private final KanbanTestExecutionRepository kanbanTestExecutionRepository;
+	private final TestExecutionRollupRepository rollupRepository;
+
+	@Override
+	public List<TestExecutionRollup> onTestExecutions(Collection<TestExecution> executions) {
+		Map<String, Set<String>> sprintsByProject = new HashMap<>();
+		CollectionUtils.emptyIfNull(executions).stream()
+				.filter(execution -> StringUtils.isNoneBlank(execution.getBasicProjectConfigId(), execution.getSprintId()))
+				.forEach(execution -> sprintsByProject
+						.computeIfAbsent(execution.getBasicProjectConfigId(), project -> new HashSet<>())
+						.add(execution.getSprintId()));
+
+		List<TestExecutionRollup> refreshed = new ArrayList<>();
+		sprintsByProject.forEach((project, sprintIds) -> {
+			Map<String, List<String>> filters = new HashMap<>();
+			filters.put(FIELD_PROJECT_CONFIG_ID, List.of(project));
+			filters.put(FIELD_SPRINT_ID, new ArrayList<>(sprintIds));
+			List<TestExecutionRollup> rollups = testExecutionRepository.findSprintRollups(filters, Collections.emptyMap());
+			refreshed.addAll(materialise(project, Granularity.SPRINT, sprintIds, rollups));
+		});
+		return refreshed;
+	}
+
+	@Override
+	public List<TestExecutionRollup> onKanbanTestExecutions(Collection<KanbanTestExecution> executions) {
+		Map<String, TreeSet<String>> daysByProject = new HashMap<>();
+		CollectionUtils.emptyIfNull(executions).stream()
+				.filter(execution -> StringUtils.isNotBlank(execution.getBasicProjectConfigId())
+						&& StringUtils.length(execution.getExecutionDate()) >= DAY_LENGTH)
+				.forEach(execution -> daysByProject
+						.computeIfAbsent(execution.getBasicProjectConfigId(), project -> new TreeSet<>())
+						.add(execution.getExecutionDate().substring(0, DAY_LENGTH)));
+
+		List<TestExecutionRollup> refreshed = new ArrayList<>();
+		daysByProject.forEach((project, days) -> {
+			Map<String, List<String>> filters = new HashMap<>();
+			filters.put(FIELD_PROJECT_CONFIG_ID, List.of(project));
+			// executionDate may carry a time part, so the last day is closed at its end
+			List<TestExecutionRollup> rollups = kanbanTestExecutionRepository
+					.findDailyRollups(filters, Collections.emptyMap(), days.first(), days.last() + "T23:59:59.999").stream()
+					.filter(rollup -> days.contains(rollup.getGroupKey())).toList();
+			refreshed.addAll(materialise(project, Granularity.DAY, days, rollups));
+		});
+		return refreshed;
+	}
+
+	@Override
+	public List<TestExecutionRollup> getSprintRollups(String basicProjectConfigId, Collection<String> sprintIds) {
+		if (StringUtils.isBlank(basicProjectConfigId) || CollectionUtils.isEmpty(sprintIds)) {
+			return Collections.emptyList();
+		}
+		return rollupRepository.findByBasicProjectConfigIdAndGranularityAndGroupKeyIn(basicProjectConfigId,
+				Granularity.SPRINT, sprintIds);
+	}
+
+	@Override
+	public List<TestExecutionRollup> getDailyRollups(String basicProjectConfigId, String from, String to) {
+		if (StringUtils.isAnyBlank(basicProjectConfigId, from, to)) {
+			return Collections.emptyList();
+		}
+		return rollupRepository.findDays(basicProjectConfigId, from, to);
+	}
+
+	/**
+	 * Upserts the fresh roll-ups of the touched groups and drops the touched
+	 * groups that no longer have any execution row.
+	 */
+	private List<TestExecutionRollup> materialise(String project, Granularity granularity, Set<String> touchedKeys,
+			List<TestExecutionRollup> rollups) {
+		Map<String, TestExecutionRollup> existing = rollupRepository
+				.findByBasicProjectConfigIdAndGranularityAndGroupKeyIn(project, granularity, touchedKeys).stream()
+				.collect(Collectors.toMap(TestExecutionRollup::getGroupKey, Function.identity(), (a, b) -> a));
+		for (TestExecutionRollup rollup : rollups) {
+			TestExecutionRollup old = existing.remove(rollup.getGroupKey());
+			if (old != null) {
+				rollup.setId(old.getId());
+			}
+		}
+		rollupRepository.saveAll(rollups);
+		if (!existing.isEmpty()) {
+			rollupRepository.deleteAll(existing.values());
+		}
+		log.debug("Refreshed {} {} test execution roll-ups of project {}", rollups.size(), granularity, project);
+		return rollups;
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright 2014 CapitalOne, LLC.
+ * Further development Copyright 2022 Sapient Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ ******************************************************************************/
+
+package com.publicissapient.kpidashboard.common.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable set of {@link GitBranchSpec}s that answers which specs match a ref
+ * without trying every pattern.
+ *
+ * <p>
+ * The literal prefix of every glob spec is stored in a character trie. A ref is
+ * stripped of each prefix the spec grammar allows ({@code refs/heads/},
+ * {@code refs/remotes/<remote>/}, {@code <remote>/}, ...) and each candidate
+ * walks the trie once, collecting the specs whose literal prefix it starts
+ * with. Only those specs, plus the raw regex specs, are then checked against
+ * their cached pattern, so the result is identical to calling
+ * {@link GitBranchSpec#matches(String)} on every spec.
+ */
+public final class BranchSpecSet {
+
+	private static final String REFS_HEADS = "refs/heads/";
+	private static final String REFS_REMOTES = "refs/remotes/";
+	private static final String REMOTES = "remotes/";
+
+	private final List<GitBranchSpec> specs;
+	private final TrieNode root = new TrieNode();
+	private final int[] regexSpecIndexes;
+
+	/**
+	 * Builds the set from branch spec names.
+	 *
+	 * @param names
+	 *          the branch spec names
+	 * @return the spec set
+	 */
+	public static BranchSpecSet of(Collection<String> names) {
+		List<GitBranchSpec> branchSpecs = new ArrayList<>(names.size());
+		for (String name : names) {
+			branchSpecs.add(new GitBranchSpec(name));
+		}
+		return new BranchSpecSet(branchSpecs);
+	}
+
+	/**
+	 * Instantiates a new branch spec set.
+	 *
+	 * @param specs
+	 *          the specs, iteration order is kept in match results
+	 */
+	public BranchSpecSet(Collection<GitBranchSpec> specs) {
+		this.specs = List.copyOf(specs);
+		List<Integer> regexIndexes = new ArrayList<>();
+		for (int i = 0; i < this.specs.size(); i++) {
+			GitBranchSpec spec = this.specs.get(i);
+			// compile up front so matching never pays for it
+			spec.getPattern();
+			if (spec.isRegex()) {
+				regexIndexes.add(i);
+			} else {
+				root.insert(spec.getLiteralPrefix(), i);
+			}
+		}
+		this.regexSpecIndexes = regexIndexes.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Gets the specs in this set.
+	 *
+	 * @return unmodifiable list of specs
+	 */
+	public List<GitBranchSpec> getSpecs() {
+		return specs;
+	}
+
+	/**
+	 * Gets the compiled patterns, e.g. for a Mongo {@code $in} on branch names.
+	 *
+	 * @return the patterns in spec order
+	 */
+	public List<Pattern> getPatterns() {
+		List<Pattern> patterns = new ArrayList<>(specs.size());
+		specs.forEach(spec -> patterns.add(spec.getPattern()));
+		return patterns;
+	}
+
+	/**
+	 * Finds every spec matching the ref.
+	 *
+	 * @param ref
+	 *          branch name or ref
+	 * @return matching specs in spec order, empty if none
+	 */
+	public List<GitBranchSpec> matchingSpecs(String ref) {
+		BitSet matched = match(ref, false);
+		if (matched.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<GitBranchSpec> result = new ArrayList<>(matched.cardinality());
+		for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+			result.add(specs.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Whether any spec matches the ref.
+	 *
+	 * @param ref
+	 *          branch name or ref
+	 * @return true on the first match
+	 */
+	public boolean matchesAny(String ref) {
+		return !match(ref, true).isEmpty();
+	}
+
+	private BitSet match(String ref, boolean stopAtFirst) {
+		BitSet candidates = new BitSet(specs.size());
+		for (String stripped : strippedCandidates(ref)) {
+			root.collect(stripped, candidates);
+		}
+		for (int index : regexSpecIndexes) {
+			candidates.set(index);
+		}
+		BitSet matched = new BitSet(specs.size());
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (specs.get(i).getPattern().matcher(ref).matches()) {
+				matched.set(i);
+				if (stopAtFirst) {
+					break;
+				}
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Every suffix of the ref the optional spec prefix could leave behind. Mirrors
+	 * the prefix group built in {@link GitBranchSpec#getPattern()}.
+	 */
+	private static List<String> strippedCandidates(String ref) {
+		List<String> candidates = new ArrayList<>(6);
+		candidates.add(ref);
+		addIfPrefixed(candidates, ref, REFS_HEADS);
+		if (addIfPrefixed(candidates, ref, REFS_REMOTES)) {
+			addAfterSegment(candidates, ref, REFS_REMOTES.length());
+		}
+		if (addIfPrefixed(candidates, ref, REMOTES)) {
+			addAfterSegment(candidates, ref, REMOTES.length());
+		}
+		addAfterSegment(candidates, ref, 0);
+		return candidates;
+	}
+
+	private static boolean addIfPrefixed(List<String> candidates, String ref, String prefix) {
+		if (ref.startsWith(prefix)) {
+			candidates.add(ref.substring(prefix.length()));
+			return true;
+		}
+		return false;
+	}
+
+	private static void addAfterSegment(List<String> candidates, String ref, int from) {
+		int slash = ref.indexOf('/', from);
+		if (slash > from) {
+			candidates.add(ref.substring(slash + 1));
+		}
+	}
+
+	private static final class TrieNode {
+		private final Map<Character, TrieNode> children = new HashMap<>();
+		private final List<Integer> specIndexes = new ArrayList<>(1);
+
+		void insert(String prefix, int specIndex) {
+			TrieNode node = this;
+			for (int i = 0; i < prefix.length(); i++) {
+				node = node.children.computeIfAbsent(prefix.charAt(i), c -> new TrieNode());
+			}
+			node.specIndexes.add(specIndex);
+		}
+
+		void collect(String text, BitSet out) {
+			TrieNode node = this;
+			int i = 0;
+			while (node != null) {
+				node.specIndexes.forEach(out::set);
+				node = i < text.length() ? node.children.get(text.charAt(i++)) : null;
+			}
+		}
+	}
+}
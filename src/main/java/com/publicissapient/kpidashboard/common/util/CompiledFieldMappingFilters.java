@@ -0,0 +1,193 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+
+/**
+ * Filters derived from the value lists of one version of a project's
+ * {@link FieldMapping}, such as {@code jiraDefectInjectionIssueType} or
+ * {@code jiraStatusForDevelopment}.
+ *
+ * <p>
+ * Each field is compiled on first use into case-insensitive exact match
+ * patterns for Mongo queries and a lower-cased set for in-memory matching, and
+ * kept for the lifetime of this object. Obtain instances through
+ * {@code FieldMappingService#getFilters} so that they are rebuilt only when the
+ * field mapping changes.
+ */
+public final class CompiledFieldMappingFilters {
+
+	private static final FieldFilter EMPTY_FILTER = new FieldFilter(Collections.emptyList(), Collections.emptyList(),
+			Collections.emptySet());
+
+	private final FieldMapping fieldMapping;
+	private final long version;
+	private final Map<String, FieldFilter> filters = new ConcurrentHashMap<>();
+
+	private CompiledFieldMappingFilters(FieldMapping fieldMapping, long version) {
+		this.fieldMapping = fieldMapping;
+		this.version = version;
+	}
+
+	/**
+	 * @param fieldMapping
+	 *          the field mapping, null for a project without one
+	 * @param version
+	 *          the version of the field mapping
+	 * @return the filters of the field mapping
+	 */
+	public static CompiledFieldMappingFilters of(FieldMapping fieldMapping, long version) {
+		return new CompiledFieldMappingFilters(fieldMapping, version);
+	}
+
+	/**
+	 * @return the version of the field mapping the filters were derived from
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @param fieldName
+	 *          a value list field of {@link FieldMapping}
+	 * @return the non-blank values of the field, in field order without
+	 *         duplicates
+	 */
+	public List<String> getValues(String fieldName) {
+		return filter(fieldName).values();
+	}
+
+	/**
+	 * @param fieldName
+	 *          a value list field of {@link FieldMapping}
+	 * @return case-insensitive exact match patterns of the field's values, as
+	 *         used in {@code uniqueProjectMap}
+	 */
+	public List<Pattern> getPatterns(String fieldName) {
+		return filter(fieldName).patterns();
+	}
+
+	/**
+	 * @param fieldName
+	 *          a value list field of {@link FieldMapping}
+	 * @return the field's values lower-cased
+	 */
+	public Set<String> getLowerCaseValues(String fieldName) {
+		return filter(fieldName).lowerCaseValues();
+	}
+
+	/**
+	 * @param fieldName
+	 *          a value list field of {@link FieldMapping}
+	 * @param value
+	 *          the value to look up
+	 * @return whether the field contains the value, ignoring case
+	 */
+	public boolean matches(String fieldName, String value) {
+		return value != null && filter(fieldName).lowerCaseValues().contains(value.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * @param documentField
+	 *          the document field to filter
+	 * @param fieldName
+	 *          a value list field of {@link FieldMapping}
+	 * @return a criteria matching documents whose field equals one of the values,
+	 *         ignoring case
+	 */
+	public Criteria in(String documentField, String fieldName) {
+		return Criteria.where(documentField).in(getPatterns(fieldName));
+	}
+
+	/**
+	 * @param documentField
+	 *          the document field to filter
+	 * @param fieldName
+	 *          a value list field of {@link FieldMapping}
+	 * @return a criteria matching documents whose field equals none of the
+	 *         values, ignoring case
+	 */
+	public Criteria notIn(String documentField, String fieldName) {
+		return Criteria.where(documentField).nin(getPatterns(fieldName));
+	}
+
+	private FieldFilter filter(String fieldName) {
+		if (fieldMapping == null) {
+			return EMPTY_FILTER;
+		}
+		return filters.computeIfAbsent(fieldName, this::compile);
+	}
+
+	private FieldFilter compile(String fieldName) {
+		Object value;
+		try {
+			value = FieldMappingHelper.getFieldMappingField(fieldMapping, FieldMapping.class, fieldName);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Unknown field mapping field " + fieldName, e);
+		}
+		Set<String> values = new LinkedHashSet<>();
+		if (value instanceof List<?> list) {
+			list.forEach(element -> addValue(values, fieldName, element));
+		} else if (value instanceof String[] array) {
+			Arrays.stream(array).forEach(element -> addValue(values, fieldName, element));
+		} else if (value != null) {
+			addValue(values, fieldName, value);
+		}
+		if (values.isEmpty()) {
+			return EMPTY_FILTER;
+		}
+		List<Pattern> patterns = new ArrayList<>(values.size());
+		Set<String> lowerCaseValues = new LinkedHashSet<>();
+		for (String element : values) {
+			patterns.add(Pattern.compile("^" + Pattern.quote(element) + "$", Pattern.CASE_INSENSITIVE));
+			lowerCaseValues.add(element.toLowerCase(Locale.ROOT));
+		}
+		return new FieldFilter(List.copyOf(values), Collections.unmodifiableList(patterns),
+				Collections.unmodifiableSet(lowerCaseValues));
+	}
+
+	private static void addValue(Set<String> values, String fieldName, Object value) {
+		if (value == null) {
+			return;
+		}
+		if (!(value instanceof String string)) {
+			throw new IllegalArgumentException("Field mapping field " + fieldName + " is not a list of values");
+		}
+		if (StringUtils.isNotBlank(string)) {
+			values.add(string);
+		}
+	}
+
+	private record FieldFilter(List<String> values, List<Pattern> patterns, Set<String> lowerCaseValues) {
+	}
+}
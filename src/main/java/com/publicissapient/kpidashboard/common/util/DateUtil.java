@@ -483,6 +483,42 @@ public class DateUtil {
 		return tranformUTCLocalTimeToZFormat(ldt);
 	}
 
+	/**
+	 * Parses a stored date string to epoch milliseconds. Accepts ISO instants and
+	 * offset date-times, ISO local date-times (with or without fraction, read as
+	 * UTC), "yyyy-MM-dd HH:mm" and plain "yyyy-MM-dd" dates.
+	 *
+	 * @param dateTime
+	 *          the date string
+	 * @return epoch milliseconds, or null when blank or not parsable
+	 */
+	public static Long parseToEpochMillis(String dateTime) {
+		if (StringUtils.isBlank(dateTime)) {
+			return null;
+		}
+		String value = dateTime.trim();
+		try {
+			return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+		} catch (DateTimeParseException e) {
+			// not an offset or instant, try local formats
+		}
+		try {
+			return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+		} catch (DateTimeParseException e) {
+			// try the remaining formats
+		}
+		try {
+			if (value.length() == DATE_FORMAT.length()) {
+				return LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+			}
+			return LocalDateTime.parse(value, DateTimeFormatter.ofPattern(DATE_TIME_FORMAT)).toInstant(ZoneOffset.UTC)
+					.toEpochMilli();
+		} catch (DateTimeParseException e) {
+			log.debug("Unable to parse date {}", dateTime);
+			return null;
+		}
+	}
+
 	public static LocalDate getTodayDate() {
 		return DateUtil.localDateTimeToUTC(LocalDateTime.now()).toLocalDate();
 	}
@@ -0,0 +1,179 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Method handle getters and setters for the fields a class declares, keyed by
+ * field name. The handles are resolved once when the table is built, so
+ * lookups by name do not go through {@link Class#getDeclaredField(String)} and
+ * {@link Field#setAccessible(boolean)} every time.
+ *
+ * <p>
+ * Like {@link Class#getDeclaredField(String)}, a table only covers the fields
+ * of the class itself, not the ones it inherits. Synthetic fields are skipped
+ * and final fields have no setter.
+ *
+ * @param <T>
+ *          the class whose fields are accessed
+ */
+public final class FieldAccessorTable<T> {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Class<T> type;
+	private final Map<String, FieldAccessor> accessors;
+
+	private FieldAccessorTable(Class<T> type, Map<String, FieldAccessor> accessors) {
+		this.type = type;
+		this.accessors = accessors;
+	}
+
+	/**
+	 * @param type
+	 *          the class whose declared fields are accessed
+	 * @param <T>
+	 *          the class
+	 * @return accessors for every declared field of the class
+	 */
+	public static <T> FieldAccessorTable<T> of(Class<T> type) {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+			Map<String, FieldAccessor> accessors = new LinkedHashMap<>();
+			for (Field field : type.getDeclaredFields()) {
+				if (!field.isSynthetic()) {
+					accessors.put(field.getName(), FieldAccessor.of(lookup, field));
+				}
+			}
+			return new FieldAccessorTable<>(type, Collections.unmodifiableMap(accessors));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Unable to access the fields of " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * @param fieldName
+	 *          a field name
+	 * @return whether the class declares the field
+	 */
+	public boolean contains(String fieldName) {
+		return accessors.containsKey(fieldName);
+	}
+
+	/**
+	 * @return the declared field names, in declaration order
+	 */
+	public Set<String> getFieldNames() {
+		return accessors.keySet();
+	}
+
+	/**
+	 * @param fieldName
+	 *          a field name
+	 * @return the declared type of the field
+	 * @throws NoSuchFieldException
+	 *           if the class does not declare the field
+	 */
+	public Class<?> getFieldType(String fieldName) throws NoSuchFieldException {
+		return accessor(fieldName).type();
+	}
+
+	/**
+	 * @param target
+	 *          the object to read from
+	 * @param fieldName
+	 *          a field name
+	 * @return the field value
+	 * @throws NoSuchFieldException
+	 *           if the class does not declare the field
+	 */
+	public Object get(T target, String fieldName) throws NoSuchFieldException {
+		MethodHandle getter = accessor(fieldName).getter();
+		try {
+			return (Object) getter.invokeExact((Object) target);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Unable to read field " + fieldName, e);
+		}
+	}
+
+	/**
+	 * @param target
+	 *          the object to write to
+	 * @param fieldName
+	 *          a field name
+	 * @param value
+	 *          the value, already of the field's type
+	 * @throws NoSuchFieldException
+	 *           if the class does not declare the field
+	 * @throws IllegalAccessException
+	 *           if the field is final
+	 */
+	public void set(T target, String fieldName, Object value) throws NoSuchFieldException, IllegalAccessException {
+		MethodHandle setter = accessor(fieldName).setter();
+		if (setter == null) {
+			throw new IllegalAccessException("Field " + fieldName + " of " + type.getName() + " is final");
+		}
+		try {
+			setter.invokeExact((Object) target, value);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Unable to write field " + fieldName, e);
+		}
+	}
+
+	private FieldAccessor accessor(String fieldName) throws NoSuchFieldException {
+		FieldAccessor accessor = accessors.get(fieldName);
+		if (accessor == null) {
+			throw new NoSuchFieldException(fieldName);
+		}
+		return accessor;
+	}
+
+	private record FieldAccessor(Class<?> type, MethodHandle getter, MethodHandle setter) {
+
+		static FieldAccessor of(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+			boolean isStatic = Modifier.isStatic(field.getModifiers());
+			MethodHandle getter = lookup.unreflectGetter(field);
+			if (isStatic) {
+				getter = MethodHandles.dropArguments(getter, 0, Object.class);
+			}
+			MethodHandle setter = null;
+			if (!Modifier.isFinal(field.getModifiers())) {
+				setter = lookup.unreflectSetter(field);
+				if (isStatic) {
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+				setter = setter.asType(SETTER_TYPE);
+			}
+			return new FieldAccessor(field.getType(), getter.asType(GETTER_TYPE), setter);
+		}
+	}
+}
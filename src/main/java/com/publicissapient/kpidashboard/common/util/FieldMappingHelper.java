@@ -34,6 +34,7 @@ import org.springframework.data.mongodb.core.query.Update;
 import com.publicissapient.kpidashboard.common.model.application.BaseFieldMappingStructure;
 import com.publicissapient.kpidashboard.common.model.application.ConfigurationHistoryChangeLog;
 import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingHistory;
 import com.publicissapient.kpidashboard.common.model.application.FieldMappingMeta;
 import com.publicissapient.kpidashboard.common.model.application.FieldMappingResponse;
 import com.publicissapient.kpidashboard.common.model.application.FieldMappingStructure;
@@ -46,11 +47,23 @@ public final class FieldMappingHelper {
 	public static final String OBJECT_ID = "org.bson.types.ObjectId";
 	public static final String DOUBLE = "java.lang.Double";
 
+	// resolved once, field mappings are read and written by name on every save
+	private static final FieldAccessorTable<FieldMapping> FIELD_MAPPING_ACCESSORS = FieldAccessorTable
+			.of(FieldMapping.class);
+	private static final FieldAccessorTable<FieldMappingHistory> FIELD_MAPPING_HISTORY_ACCESSORS = FieldAccessorTable
+			.of(FieldMappingHistory.class);
+
 	private FieldMappingHelper() {
 	}
 
 	public static Object getFieldMappingField(FieldMapping fieldMapping, Class<?> fieldMapping1, String field)
 			throws NoSuchFieldException, IllegalAccessException {
+		if (fieldMapping1 == FieldMapping.class) {
+			return FIELD_MAPPING_ACCESSORS.get(fieldMapping, field);
+		}
+		if (fieldMapping1 == FieldMappingHistory.class) {
+			return FIELD_MAPPING_HISTORY_ACCESSORS.get(fieldMapping, field);
+		}
 		Field declaredField = fieldMapping1.getDeclaredField(field);
 		setAccessible(declaredField);
 		return declaredField.get(fieldMapping);
@@ -73,7 +86,7 @@ public final class FieldMappingHelper {
 	 */
 	public static List<ConfigurationHistoryChangeLog> getAccessibleFieldHistory(FieldMapping fieldMapping,
 			String fieldName) throws NoSuchFieldException, IllegalAccessException {
-		return (List<ConfigurationHistoryChangeLog>) getFieldMappingField(fieldMapping, FieldMapping.class.getSuperclass(),
+		return (List<ConfigurationHistoryChangeLog>) FIELD_MAPPING_HISTORY_ACCESSORS.get(fieldMapping,
 				HISTORY + fieldName);
 	}
 
@@ -184,20 +197,17 @@ public final class FieldMappingHelper {
 
 	public static void setFieldValue(FieldMapping object, String fieldName, Object value) throws IllegalAccessException {
 		try {
-			Field field = FieldMapping.class.getDeclaredField(fieldName);
-			setAccessible(field);
-			Object v = convertToSameType(field, value);
-			field.set(object, v);
+			Object v = convertToSameType(fieldName, FIELD_MAPPING_ACCESSORS.getFieldType(fieldName), value);
+			FIELD_MAPPING_ACCESSORS.set(object, fieldName, v);
 		} catch (NoSuchFieldException e) {
 			log.warn("Field not found");
 		}
 	}
 
-	private static Object convertToSameType(Field field, Object value) {
+	private static Object convertToSameType(String fieldName, Class<?> fieldType, Object value) {
 
 		if (value == null)
 			return null;
-		Class<?> fieldType = field.getType();
 
 		// Convert List to String[]
 		if (fieldType == String[].class && value instanceof List) {
@@ -234,10 +244,13 @@ public final class FieldMappingHelper {
 		if (fieldType.isAssignableFrom(value.getClass())) {
 			return value;
 		}
-		throw new IllegalArgumentException("Unsupported type conversion for field: " + field.getName());
+		throw new IllegalArgumentException("Unsupported type conversion for field: " + fieldName);
 	}
 
 	public static boolean isFieldPresent(Class<?> clazz, String fieldName) {
+		if (clazz == FieldMapping.class) {
+			return FIELD_MAPPING_ACCESSORS.contains(fieldName);
+		}
 		try {
 			clazz.getDeclaredField(fieldName);
 			return true;
@@ -377,20 +390,18 @@ public final class FieldMappingHelper {
 	public static void mergeIntoTarget(FieldMapping dbFieldMapping, FieldMapping source) {
 		if (dbFieldMapping == null || source == null)
 			return;
-		Field[] fields = FieldMapping.class.getDeclaredFields();
 		Object sourceValue = null;
-		for (Field field : fields) {
-			setAccessible(field);
+		for (String fieldName : FIELD_MAPPING_ACCESSORS.getFieldNames()) {
 			try {
-				sourceValue = field.get(source);
-				Object dbValue = field.get(dbFieldMapping);
+				sourceValue = FIELD_MAPPING_ACCESSORS.get(source, fieldName);
+				Object dbValue = FIELD_MAPPING_ACCESSORS.get(dbFieldMapping, fieldName);
 				if (shouldMerge(sourceValue, dbValue)) {
-					setFieldValue(dbFieldMapping, field.getName(), sourceValue);
+					setFieldValue(dbFieldMapping, fieldName, sourceValue);
 				} else {
-					log.debug("Skipping field '{}': source={}, db={}", field.getName(), sourceValue, dbValue);
+					log.debug("Skipping field '{}': source={}, db={}", fieldName, sourceValue, dbValue);
 				}
-			} catch (IllegalAccessException | ClassCastException e) {
-				log.error("Error while merging field mapping {} and {}", field.getName(), sourceValue);
+			} catch (NoSuchFieldException | IllegalAccessException | ClassCastException e) {
+				log.error("Error while merging field mapping {} and {}", fieldName, sourceValue);
 			}
 		}
 	}
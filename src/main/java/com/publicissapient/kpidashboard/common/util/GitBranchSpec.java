@@ -29,6 +29,9 @@ public class GitBranchSpec {
 	@Getter
 	private String name;
 
+	/** Compiled lazily on first match and reused, the name never changes. */
+	private volatile Pattern pattern;
+
 	/**
 	 * Instantiates a new Git branch spec.
 	 *
@@ -65,7 +68,42 @@ public class GitBranchSpec {
 		return getPattern().matcher(item).matches();
 	}
 
-	private Pattern getPattern() {
+	/**
+	 * Gets the compiled pattern for this spec, compiling it on first use.
+	 *
+	 * @return the pattern
+	 */
+	public Pattern getPattern() {
+		Pattern compiled = pattern;
+		if (compiled == null) {
+			compiled = compilePattern();
+			pattern = compiled;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Whether this spec is a raw regex (name starts with a colon).
+	 *
+	 * @return true for regex specs
+	 */
+	public boolean isRegex() {
+		return startWithColon(name);
+	}
+
+	/**
+	 * Gets the literal text before the first wildcard. Any ref matched by a
+	 * non-regex spec continues with this text right after the optional remote or
+	 * heads prefix.
+	 *
+	 * @return the literal prefix, empty when the spec starts with a wildcard
+	 */
+	public String getLiteralPrefix() {
+		int wildcard = name.indexOf('*');
+		return wildcard < 0 ? name : name.substring(0, wildcard);
+	}
+
+	private Pattern compilePattern() {
 		String expandedName = name;
 		// use regex syntax directly if name starts with colon
 		if (startWithColon(expandedName)) {
@@ -0,0 +1,265 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.publicissapient.kpidashboard.common.model.application.OrganizationHierarchy;
+
+/**
+ * Immutable organization and project hierarchy with nested-set numbering.
+ *
+ * <p>
+ * Nodes are stored in pre-order, so the subtree of a node is the contiguous
+ * slice from its own position to the position of its last descendant. Ancestor
+ * checks therefore compare two numbers and subtree enumeration returns a view
+ * of that slice. Nodes whose parent is not part of the hierarchy become roots;
+ * duplicate node ids keep their first occurrence and nodes only reachable
+ * through a parent cycle are left out.
+ */
+public final class HierarchyTree {
+
+	private static final HierarchyTree EMPTY = new HierarchyTree(Collections.emptyList());
+
+	/* nodes in pre-order */
+	private final List<OrganizationHierarchy> nodes;
+	private final Map<String, Integer> positions;
+	/* position of the last descendant, the node itself for leaves */
+	private final int[] subtreeEnds;
+	private final int[] parents;
+	private final int[] depths;
+	private final List<OrganizationHierarchy> roots;
+
+	/**
+	 * Builds the tree from organization and project hierarchy nodes.
+	 *
+	 * @param hierarchies
+	 *          the hierarchy nodes
+	 * @return the tree
+	 */
+	public static HierarchyTree of(Collection<? extends OrganizationHierarchy> hierarchies) {
+		return hierarchies.isEmpty() ? EMPTY : new HierarchyTree(hierarchies);
+	}
+
+	private HierarchyTree(Collection<? extends OrganizationHierarchy> hierarchies) {
+		Map<String, OrganizationHierarchy> byNodeId = new LinkedHashMap<>();
+		for (OrganizationHierarchy hierarchy : hierarchies) {
+			if (hierarchy != null && hierarchy.getNodeId() != null) {
+				byNodeId.putIfAbsent(hierarchy.getNodeId(), hierarchy);
+			}
+		}
+		Map<String, List<OrganizationHierarchy>> children = new HashMap<>();
+		List<OrganizationHierarchy> rootNodes = new ArrayList<>();
+		for (OrganizationHierarchy hierarchy : byNodeId.values()) {
+			String parentId = hierarchy.getParentId();
+			if (parentId == null || parentId.equals(hierarchy.getNodeId()) || !byNodeId.containsKey(parentId)) {
+				rootNodes.add(hierarchy);
+			} else {
+				children.computeIfAbsent(parentId, key -> new ArrayList<>()).add(hierarchy);
+			}
+		}
+
+		int size = byNodeId.size();
+		List<OrganizationHierarchy> preOrder = new ArrayList<>(size);
+		Map<String, Integer> nodePositions = new HashMap<>(size * 2);
+		int[] parentPositions = new int[size];
+		int[] nodeDepths = new int[size];
+		Deque<Frame> stack = new ArrayDeque<>();
+		for (int i = rootNodes.size() - 1; i >= 0; i--) {
+			stack.push(new Frame(rootNodes.get(i), -1));
+		}
+		while (!stack.isEmpty()) {
+			Frame frame = stack.pop();
+			int position = preOrder.size();
+			preOrder.add(frame.node());
+			nodePositions.put(frame.node().getNodeId(), position);
+			parentPositions[position] = frame.parent();
+			nodeDepths[position] = frame.parent() < 0 ? 0 : nodeDepths[frame.parent()] + 1;
+			List<OrganizationHierarchy> nodeChildren = children.getOrDefault(frame.node().getNodeId(),
+					Collections.emptyList());
+			for (int i = nodeChildren.size() - 1; i >= 0; i--) {
+				stack.push(new Frame(nodeChildren.get(i), position));
+			}
+		}
+		// in pre-order every descendant follows its ancestor, so one backward pass
+		// propagates the last descendant position up to every ancestor
+		int[] ends = new int[preOrder.size()];
+		for (int position = ends.length - 1; position >= 0; position--) {
+			ends[position] = Math.max(ends[position], position);
+			if (parentPositions[position] >= 0) {
+				ends[parentPositions[position]] = Math.max(ends[parentPositions[position]], ends[position]);
+			}
+		}
+
+		int reachable = preOrder.size();
+		this.nodes = Collections.unmodifiableList(preOrder);
+		this.positions = nodePositions;
+		this.subtreeEnds = ends;
+		this.parents = Arrays.copyOf(parentPositions, reachable);
+		this.depths = Arrays.copyOf(nodeDepths, reachable);
+		this.roots = List.copyOf(rootNodes);
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return the node, null when it is not part of the tree
+	 */
+	public OrganizationHierarchy get(String nodeId) {
+		Integer position = positions.get(nodeId);
+		return position == null ? null : nodes.get(position);
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return whether the node is part of the tree
+	 */
+	public boolean contains(String nodeId) {
+		return positions.containsKey(nodeId);
+	}
+
+	/**
+	 * Checks in O(1) whether a node lies strictly below another.
+	 *
+	 * @param ancestorId
+	 *          the possible ancestor
+	 * @param nodeId
+	 *          the possible descendant
+	 * @return true when {@code ancestorId} is a proper ancestor of {@code nodeId}
+	 */
+	public boolean isAncestor(String ancestorId, String nodeId) {
+		Integer ancestor = positions.get(ancestorId);
+		Integer node = positions.get(nodeId);
+		return ancestor != null && node != null && ancestor < node && node <= subtreeEnds[ancestor];
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return the node followed by all its descendants in pre-order, empty when
+	 *         the node is unknown
+	 */
+	public List<OrganizationHierarchy> getSubtree(String nodeId) {
+		Integer position = positions.get(nodeId);
+		return position == null ? Collections.emptyList() : nodes.subList(position, subtreeEnds[position] + 1);
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return all descendants of the node in pre-order
+	 */
+	public List<OrganizationHierarchy> getDescendants(String nodeId) {
+		Integer position = positions.get(nodeId);
+		return position == null ? Collections.emptyList() : nodes.subList(position + 1, subtreeEnds[position] + 1);
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @param hierarchyLevelId
+	 *          level to keep, e.g. sprint
+	 * @return descendants of the node on the given level
+	 */
+	public List<OrganizationHierarchy> getDescendants(String nodeId, String hierarchyLevelId) {
+		return getDescendants(nodeId).stream()
+				.filter(node -> hierarchyLevelId.equalsIgnoreCase(node.getHierarchyLevelId())).toList();
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return direct children of the node
+	 */
+	public List<OrganizationHierarchy> getChildren(String nodeId) {
+		Integer position = positions.get(nodeId);
+		if (position == null) {
+			return Collections.emptyList();
+		}
+		List<OrganizationHierarchy> children = new ArrayList<>();
+		int child = position + 1;
+		while (child <= subtreeEnds[position]) {
+			children.add(nodes.get(child));
+			child = subtreeEnds[child] + 1;
+		}
+		return children;
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return the parent, null for roots and unknown nodes
+	 */
+	public OrganizationHierarchy getParent(String nodeId) {
+		Integer position = positions.get(nodeId);
+		return position == null || parents[position] < 0 ? null : nodes.get(parents[position]);
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return ancestors of the node from its root down to its parent
+	 */
+	public List<OrganizationHierarchy> getAncestors(String nodeId) {
+		Integer position = positions.get(nodeId);
+		if (position == null) {
+			return Collections.emptyList();
+		}
+		OrganizationHierarchy[] ancestors = new OrganizationHierarchy[depths[position]];
+		for (int parent = parents[position]; parent >= 0; parent = parents[parent]) {
+			ancestors[depths[parent]] = nodes.get(parent);
+		}
+		return List.of(ancestors);
+	}
+
+	/**
+	 * @param nodeId
+	 *          node id
+	 * @return distance to the root, -1 for unknown nodes
+	 */
+	public int getDepth(String nodeId) {
+		Integer position = positions.get(nodeId);
+		return position == null ? -1 : depths[position];
+	}
+
+	/**
+	 * @return nodes without a parent in the tree
+	 */
+	public List<OrganizationHierarchy> getRoots() {
+		return roots;
+	}
+
+	/**
+	 * @return number of nodes
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	private record Frame(OrganizationHierarchy node, int parent) {
+	}
+}
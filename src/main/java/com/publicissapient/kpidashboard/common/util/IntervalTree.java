@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable set of closed intervals that answers which intervals overlap a
+ * query range in O(log n + k).
+ *
+ * <p>
+ * Intervals are sorted by start and laid out as an implicit balanced binary
+ * search tree over that array (the middle element of every slice is its root).
+ * Each subtree also stores the greatest end it contains, so a query skips every
+ * subtree ending before the range and every right subtree starting after it.
+ * Intervals with a missing start or end are ignored.
+ *
+ * @param <K>
+ *          interval bound type
+ * @param <V>
+ *          value type
+ */
+public final class IntervalTree<K extends Comparable<? super K>, V> {
+
+	private final List<V> values;
+	private final List<K> starts;
+	private final List<K> ends;
+	private final List<K> maxEnds;
+
+	/**
+	 * Builds the tree.
+	 *
+	 * @param values
+	 *          the values to index
+	 * @param startOf
+	 *          inclusive start of a value's interval
+	 * @param endOf
+	 *          inclusive end of a value's interval
+	 * @param <K>
+	 *          interval bound type
+	 * @param <V>
+	 *          value type
+	 * @return the interval tree
+	 */
+	public static <K extends Comparable<? super K>, V> IntervalTree<K, V> of(Collection<V> values,
+			Function<V, K> startOf, Function<V, K> endOf) {
+		return new IntervalTree<>(values, startOf, endOf);
+	}
+
+	private IntervalTree(Collection<V> values, Function<V, K> startOf, Function<V, K> endOf) {
+		List<V> sorted = values.stream().filter(Objects::nonNull)
+				.filter(value -> startOf.apply(value) != null && endOf.apply(value) != null)
+				.sorted(Comparator.comparing(startOf)).toList();
+		this.values = sorted;
+		this.starts = sorted.stream().map(startOf).toList();
+		this.ends = sorted.stream().map(endOf).toList();
+		List<K> subtreeMaxEnds = new ArrayList<>(ends);
+		computeMaxEnds(subtreeMaxEnds, 0, sorted.size());
+		this.maxEnds = List.copyOf(subtreeMaxEnds);
+	}
+
+	private K computeMaxEnds(List<K> subtreeMaxEnds, int from, int to) {
+		if (from >= to) {
+			return null;
+		}
+		int mid = (from + to) >>> 1;
+		K max = ends.get(mid);
+		K left = computeMaxEnds(subtreeMaxEnds, from, mid);
+		K right = computeMaxEnds(subtreeMaxEnds, mid + 1, to);
+		if (left != null && left.compareTo(max) > 0) {
+			max = left;
+		}
+		if (right != null && right.compareTo(max) > 0) {
+			max = right;
+		}
+		subtreeMaxEnds.set(mid, max);
+		return max;
+	}
+
+	/**
+	 * Finds the values whose interval overlaps {@code [from, to]}.
+	 *
+	 * @param from
+	 *          inclusive range start
+	 * @param to
+	 *          inclusive range end
+	 * @return matching values ordered by interval start
+	 */
+	public List<V> findOverlapping(K from, K to) {
+		List<V> result = new ArrayList<>();
+		collect(0, values.size(), from, to, result);
+		return result;
+	}
+
+	/**
+	 * Finds the values whose interval contains {@code point}.
+	 *
+	 * @param point
+	 *          the point
+	 * @return matching values ordered by interval start
+	 */
+	public List<V> findContaining(K point) {
+		return findOverlapping(point, point);
+	}
+
+	private void collect(int from, int to, K rangeStart, K rangeEnd, List<V> result) {
+		if (from >= to) {
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		if (maxEnds.get(mid).compareTo(rangeStart) < 0) {
+			return;
+		}
+		collect(from, mid, rangeStart, rangeEnd, result);
+		if (starts.get(mid).compareTo(rangeEnd) > 0) {
+			return;
+		}
+		if (ends.get(mid).compareTo(rangeStart) >= 0) {
+			result.add(values.get(mid));
+		}
+		collect(mid + 1, to, rangeStart, rangeEnd, result);
+	}
+
+	/**
+	 * @return all indexed values ordered by interval start
+	 */
+	public List<V> values() {
+		return values;
+	}
+
+	/**
+	 * @return number of indexed intervals
+	 */
+	public int size() {
+		return values.size();
+	}
+}
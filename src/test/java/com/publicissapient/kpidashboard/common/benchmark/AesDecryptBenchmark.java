@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2014 CapitalOne, LLC.
+ * Further development Copyright 2022 Sapient Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ ******************************************************************************/
+
+package com.publicissapient.kpidashboard.common.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.publicissapient.kpidashboard.common.service.AesEncryptionService;
+
+/**
+ * Compares decrypting a set of stored credentials with a PBKDF2 derivation per
+ * call (the previous {@link AesEncryptionService} behaviour) and with the
+ * derived key cache. Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesDecryptBenchmark {
+
+	private static final String KEY = "benchmark-encryption-key";
+
+	@Param({"10", "100"})
+	private int credentialCount;
+
+	private AesEncryptionService encryptionService;
+	private List<String> encryptedCredentials;
+
+	@Setup
+	public void setUp() {
+		encryptionService = new AesEncryptionService();
+		encryptedCredentials = new ArrayList<>();
+		for (int i = 0; i < credentialCount; i++) {
+			encryptedCredentials.add(encryptionService.encrypt("token-" + i, KEY));
+		}
+	}
+
+	@Benchmark
+	public void derivePerCall(Blackhole blackhole) throws GeneralSecurityException {
+		for (String encrypted : encryptedCredentials) {
+			blackhole.consume(decryptDerivingKey(encrypted, KEY));
+		}
+	}
+
+	@Benchmark
+	public void derivedKeyCache(Blackhole blackhole) {
+		for (String encrypted : encryptedCredentials) {
+			blackhole.consume(encryptionService.decrypt(encrypted, KEY));
+		}
+	}
+
+	private static String decryptDerivingKey(String encryptedText, String key) throws GeneralSecurityException {
+		byte[] cipherText = Base64.getDecoder().decode(encryptedText);
+		byte[] salt = Arrays.copyOfRange(cipherText, 0, 16);
+		byte[] iv = Arrays.copyOfRange(cipherText, 16, 32);
+		SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
+		SecretKey tempKey = factory.generateSecret(new PBEKeySpec(key.toCharArray(), salt, 65536, 256));
+		Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding"); // NOSONAR
+		cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(tempKey.getEncoded(), "AES"), new IvParameterSpec(iv));
+		return new String(cipher.doFinal(Arrays.copyOfRange(cipherText, 32, cipherText.length)), StandardCharsets.UTF_8);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AesDecryptBenchmark.class.getSimpleName()).build()).run();
+	}
+}
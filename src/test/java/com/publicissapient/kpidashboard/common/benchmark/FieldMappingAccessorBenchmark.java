@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2014 CapitalOne, LLC.
+ * Further development Copyright 2022 Sapient Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ ******************************************************************************/
+
+package com.publicissapient.kpidashboard.common.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.util.FieldAccessorTable;
+import com.publicissapient.kpidashboard.common.util.FieldMappingHelper;
+
+/**
+ * Compares reading every {@link FieldMapping} field and its history by name
+ * through {@code getDeclaredField} + {@code setAccessible} (the previous
+ * {@link FieldMappingHelper} behaviour) and through a
+ * {@link FieldAccessorTable}. Run with {@link #main(String[])} from the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldMappingAccessorBenchmark {
+
+	private FieldMapping fieldMapping;
+	private List<String> fieldNames;
+	private List<String> historyFieldNames;
+
+	@Setup
+	public void setUp() {
+		fieldMapping = new FieldMapping();
+		fieldMapping.setJiradefecttype(List.of("Bug"));
+		fieldNames = Arrays.stream(FieldMapping.class.getDeclaredFields()).filter(f -> !f.isSynthetic())
+				.map(Field::getName).toList();
+		historyFieldNames = Arrays.stream(FieldMapping.class.getSuperclass().getDeclaredFields())
+				.map(Field::getName).filter(name -> name.startsWith(FieldMappingHelper.HISTORY))
+				.map(name -> name.substring(FieldMappingHelper.HISTORY.length())).toList();
+	}
+
+	@Benchmark
+	public void reflectionPerLookup(Blackhole blackhole) throws ReflectiveOperationException {
+		for (String name : fieldNames) {
+			Field field = FieldMapping.class.getDeclaredField(name);
+			field.setAccessible(true);
+			blackhole.consume(field.get(fieldMapping));
+		}
+		for (String name : historyFieldNames) {
+			Field field = FieldMapping.class.getSuperclass().getDeclaredField(FieldMappingHelper.HISTORY + name);
+			field.setAccessible(true);
+			blackhole.consume(field.get(fieldMapping));
+		}
+	}
+
+	@Benchmark
+	public void accessorTable(Blackhole blackhole) throws ReflectiveOperationException {
+		for (String name : fieldNames) {
+			blackhole.consume(FieldMappingHelper.getFieldMappingField(fieldMapping, FieldMapping.class, name));
+		}
+		for (String name : historyFieldNames) {
+			blackhole.consume(FieldMappingHelper.getAccessibleFieldHistory(fieldMapping, name));
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(FieldMappingAccessorBenchmark.class.getSimpleName()).build()).run();
+	}
+}
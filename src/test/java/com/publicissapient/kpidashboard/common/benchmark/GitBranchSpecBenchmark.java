@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright 2014 CapitalOne, LLC.
+ * Further development Copyright 2022 Sapient Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ ******************************************************************************/
+
+package com.publicissapient.kpidashboard.common.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.publicissapient.kpidashboard.common.util.BranchSpecSet;
+import com.publicissapient.kpidashboard.common.util.GitBranchSpec;
+
+/**
+ * Compares branch filtering with a pattern compiled per match (the previous
+ * {@link GitBranchSpec} behaviour), cached per spec, and through
+ * {@link BranchSpecSet}. Run with {@link #main(String[])} from the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GitBranchSpecBenchmark {
+
+	@Param({"5", "50"})
+	private int specCount;
+
+	private List<String> specNames;
+	private List<GitBranchSpec> cachedSpecs;
+	private BranchSpecSet specSet;
+	private List<String> refs;
+
+	@Setup
+	public void setUp() {
+		specNames = new ArrayList<>();
+		for (int i = 0; i < specCount; i++) {
+			specNames.add(i % 2 == 0 ? "feature/team" + i + "/*" : "release-" + i + ".*");
+		}
+		cachedSpecs = specNames.stream().map(GitBranchSpec::new).toList();
+		specSet = BranchSpecSet.of(specNames);
+		refs = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			refs.add(switch (i % 4) {
+				case 0 -> "refs/heads/feature/team" + (i % specCount) + "/story-" + i;
+				case 1 -> "origin/release-" + (i % specCount) + ".0";
+				case 2 -> "refs/remotes/origin/bugfix/defect-" + i;
+				default -> "develop";
+			});
+		}
+	}
+
+	@Benchmark
+	public void compilePerMatch(Blackhole blackhole) {
+		for (String ref : refs) {
+			for (String name : specNames) {
+				blackhole.consume(new GitBranchSpec(name).matches(ref));
+			}
+		}
+	}
+
+	@Benchmark
+	public void cachedPerSpec(Blackhole blackhole) {
+		for (String ref : refs) {
+			for (GitBranchSpec spec : cachedSpecs) {
+				blackhole.consume(spec.matches(ref));
+			}
+		}
+	}
+
+	@Benchmark
+	public void branchSpecSet(Blackhole blackhole) {
+		for (String ref : refs) {
+			blackhole.consume(specSet.matchingSpecs(ref));
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GitBranchSpecBenchmark.class.getSimpleName()).build()).run();
+	}
+}
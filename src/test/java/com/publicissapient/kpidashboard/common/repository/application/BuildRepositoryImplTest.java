@@ -18,6 +18,9 @@
 
 package com.publicissapient.kpidashboard.common.repository.application;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
@@ -32,9 +35,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.mongodb.core.MongoOperations;
@@ -94,4 +99,52 @@ public class BuildRepositoryImplTest {
 		// Assertions or verifications
 		verify(mongoOperations, times(1)).find(any(Query.class), eq(Build.class));
 	}
+
+	@Test
+	public void testFindBuildListExcludesLogByDefault() {
+		Set<ObjectId> projectBasicConfigIds = Collections.singleton(new ObjectId("61d6d4235c76563333369f02"));
+		when(mongoOperations.find(any(Query.class), eq(Build.class))).thenReturn(Collections.emptyList());
+
+		buildRepository.findBuildList(new HashMap<>(), projectBasicConfigIds, "2022-01-01T00:00:00Z",
+				"2022-01-10T00:00:00Z");
+
+		ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations).find(captor.capture(), eq(Build.class));
+		assertEquals(0, captor.getValue().getFieldsObject().get("log"));
+	}
+
+	@Test
+	public void testFindBuildListWithLog() {
+		Set<ObjectId> projectBasicConfigIds = Collections.singleton(new ObjectId("61d6d4235c76563333369f02"));
+		when(mongoOperations.find(any(Query.class), eq(Build.class))).thenReturn(Collections.emptyList());
+
+		buildRepository.findBuildList(new HashMap<>(), projectBasicConfigIds, null, null, true);
+
+		ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations).find(captor.capture(), eq(Build.class));
+		assertTrue(captor.getValue().getFieldsObject().isEmpty());
+		assertFalse(captor.getValue().getQueryObject().containsKey("startTime"));
+	}
+
+	@Test
+	public void testFindBuildTimingListProjectsIndexedFieldsOnly() {
+		Map<String, List<String>> mapOfFilters = new HashMap<>();
+		mapOfFilters.put("buildJob", Collections.singletonList("job"));
+		Set<ObjectId> projectBasicConfigIds = Collections.singleton(new ObjectId("61d6d4235c76563333369f02"));
+		when(mongoOperations.find(any(Query.class), eq(Build.class))).thenReturn(Collections.emptyList());
+
+		buildRepository.findBuildTimingList(mapOfFilters, projectBasicConfigIds, "2022-01-01T00:00:00Z",
+				"2022-01-10T00:00:00Z");
+
+		ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations).find(captor.capture(), eq(Build.class));
+		Query query = captor.getValue();
+		Document fields = query.getFieldsObject();
+		assertEquals(7, fields.size());
+		assertEquals(0, fields.get("_id"));
+		assertFalse(fields.containsKey("log"));
+		assertEquals(Build.PROJECT_TIMING_INDEX, query.getHint());
+		assertTrue(query.getQueryObject().containsKey("basicProjectConfigId"));
+		assertTrue(query.getQueryObject().containsKey("startTime"));
+	}
 }
@@ -17,8 +17,13 @@
  ******************************************************************************/
 package com.publicissapient.kpidashboard.common.repository.application;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,13 +36,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.publicissapient.kpidashboard.common.model.application.Deployment;
@@ -86,4 +95,87 @@ public class DeploymentRepositoryImplTest {
 
 		verify(mongoOperations, times(1)).find(any(Query.class), eq(Deployment.class));
 	}
+
+	@Test
+	public void testFindDeploymentListByEpoch() {
+		Set<ObjectId> projectBasicConfigIds = Set.of(new ObjectId("61d6d4235c76563333369f02"));
+		when(mongoOperations.find(any(Query.class), eq(Deployment.class))).thenReturn(Collections.emptyList());
+
+		deploymentRepository.findDeploymentListByEpoch(new HashMap<>(), projectBasicConfigIds, 1L, 2L);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations).find(query.capture(), eq(Deployment.class));
+		List<?> or = query.getValue().getQueryObject().get("$or", List.class);
+		assertEquals(1L, ((Document) or.get(0)).get("startTimeEpoch", Document.class).get("$gte"));
+	}
+
+	@Test
+	public void testFindDeploymentListByEpoch_NotBackfilled() {
+		Deployment inRange = new Deployment();
+		inRange.setStartTime("2022-01-02T00:00:00Z");
+		inRange.setEndTime("2022-01-03T00:00:00Z");
+		Deployment outOfRange = new Deployment();
+		outOfRange.setStartTime("2021-12-31T00:00:00Z");
+		outOfRange.setEndTime("2022-01-03T00:00:00Z");
+		Deployment indexed = new Deployment();
+		indexed.setStartTime("2022-01-02T00:00:00Z");
+		// as read from documents the backfill has not reached
+		inRange.setStartTimeEpoch(null);
+		outOfRange.setStartTimeEpoch(null);
+		when(mongoOperations.find(any(Query.class), eq(Deployment.class)))
+				.thenReturn(List.of(inRange, outOfRange, indexed));
+
+		List<Deployment> deployments = deploymentRepository.findDeploymentListByEpoch(new HashMap<>(),
+				Set.of(new ObjectId()), 1640995200000L, 1641340800000L);
+
+		assertEquals(2, deployments.size());
+		assertSame(inRange, deployments.get(0));
+		assertSame(indexed, deployments.get(1));
+	}
+
+	@Test
+	public void testBackfillEpochFields() {
+		BulkOperations bulkOperations = mock(BulkOperations.class);
+		Document pending = new Document("_id", new ObjectId()).append("startTime", "2022-01-01T00:00:00Z")
+				.append("endTime", "bad");
+		when(mongoOperations.getCollectionName(Deployment.class)).thenReturn("deployments");
+		when(mongoOperations.find(any(Query.class), eq(Document.class), eq("deployments"))).thenReturn(List.of(pending));
+		when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Deployment.class)).thenReturn(bulkOperations);
+
+		assertEquals(1, deploymentRepository.backfillEpochFields(100));
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations).updateOne(any(Query.class), update.capture());
+		verify(bulkOperations).execute();
+		Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+		assertEquals(1640995200000L, set.get("startTimeEpoch"));
+		assertNull(set.get("endTimeEpoch"));
+	}
+
+	@Test
+	public void testBackfillEpochFields_Complete() {
+		when(mongoOperations.getCollectionName(Deployment.class)).thenReturn("deployments");
+		when(mongoOperations.find(any(Query.class), eq(Document.class), eq("deployments"))).thenReturn(List.of());
+
+		assertEquals(0, deploymentRepository.backfillEpochFields(100));
+		verify(mongoOperations, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Deployment.class));
+	}
+
+	@Test
+	public void testSetStartTimeFillsEpoch() {
+		Deployment deployment = new Deployment();
+		deployment.setStartTime("2022-01-01T00:00:00Z");
+		deployment.setEndTime(null);
+		assertEquals(1640995200000L, deployment.getStartTimeEpoch());
+		assertNull(deployment.getEndTimeEpoch());
+	}
+
+	@Test
+	public void testAllArgsConstructorFillsEpoch() {
+		Deployment deployment = new Deployment(null, null, null, null, null, null, "2022-01-01T00:00:00Z",
+				"2022-01-01T00:00:01Z", 1000L, null, null, null, null, null, null, "1", null, null, null, null, null);
+		assertEquals(1640995200000L, deployment.getStartTimeEpoch());
+		assertEquals(1640995201000L, deployment.getEndTimeEpoch());
+	}
 }
+
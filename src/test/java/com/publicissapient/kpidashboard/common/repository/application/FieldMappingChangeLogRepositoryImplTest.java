@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+
+@ExtendWith(SpringExtension.class)
+public class FieldMappingChangeLogRepositoryImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+	private static final LocalDateTime AT = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+	@Mock
+	private MongoOperations operations;
+
+	@InjectMocks
+	private FieldMappingChangeLogRepositoryImpl changeLogRepository;
+
+	@SuppressWarnings("unchecked")
+	private List<Document> pipeline(boolean before) {
+		FieldMappingChangeLog change = new FieldMappingChangeLog();
+		when(operations.aggregate(any(TypedAggregation.class), eq(FieldMappingChangeLog.class)))
+				.thenReturn(new AggregationResults<>(List.of(change), new Document()));
+
+		List<FieldMappingChangeLog> changes = before
+				? changeLogRepository.findLastChangesAtOrBefore(PROJECT, AT)
+				: changeLogRepository.findFirstChangesAfter(PROJECT, AT);
+
+		assertEquals(List.of(change), changes);
+		ArgumentCaptor<TypedAggregation<FieldMappingChangeLog>> aggregation = ArgumentCaptor
+				.forClass(TypedAggregation.class);
+		verify(operations).aggregate(aggregation.capture(), eq(FieldMappingChangeLog.class));
+		return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+	}
+
+	@Test
+	public void testLastChangesAtOrBefore() {
+		List<Document> pipeline = pipeline(true);
+
+		assertEquals(new Document("basicProjectConfigId", PROJECT).append("changedAt", new Document("$lte", AT)),
+				pipeline.get(0).get("$match"));
+		assertEquals(new Document("fieldName", -1).append("releaseNodeId", -1).append("changedAt", -1),
+				pipeline.get(1).get("$sort"));
+		assertEquals(4, pipeline.size());
+	}
+
+	@Test
+	public void testFirstChangesAfter() {
+		List<Document> pipeline = pipeline(false);
+
+		assertEquals(new Document("basicProjectConfigId", PROJECT).append("changedAt", new Document("$gt", AT)),
+				pipeline.get(0).get("$match"));
+		assertEquals(new Document("fieldName", 1).append("releaseNodeId", 1).append("changedAt", 1),
+				pipeline.get(1).get("$sort"));
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.mongodb.client.result.UpdateResult;
+import com.publicissapient.kpidashboard.common.model.application.HierarchyLevelSuggestion;
+
+@ExtendWith(SpringExtension.class)
+public class HierarchyLevelSuggestionRepositoryImplTest {
+
+	@Mock
+	private MongoOperations operations;
+
+	@InjectMocks
+	private HierarchyLevelSuggestionRepositoryImpl hierarchyLevelSuggestionRepository;
+
+	@Test
+	public void addValueToExistingLevel() {
+		when(operations.updateFirst(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenReturn(UpdateResult.acknowledged(1L, 1L, null));
+
+		assertTrue(hierarchyLevelSuggestionRepository.addValue("level1", "Value", "value"));
+		verify(operations, never()).upsert(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class));
+	}
+
+	@Test
+	public void addValueCreatesLevel() {
+		when(operations.updateFirst(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenReturn(UpdateResult.acknowledged(0L, 0L, null));
+		when(operations.upsert(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenReturn(UpdateResult.acknowledged(0L, 0L, new BsonString("id")));
+
+		assertTrue(hierarchyLevelSuggestionRepository.addValue("level1", "Value", "value"));
+	}
+
+	@Test
+	public void addValueAlreadyPresent() {
+		when(operations.updateFirst(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenReturn(UpdateResult.acknowledged(0L, 0L, null));
+		when(operations.upsert(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenReturn(UpdateResult.acknowledged(1L, 0L, null));
+
+		assertFalse(hierarchyLevelSuggestionRepository.addValue("level1", "VALUE", "value"));
+	}
+
+	@Test
+	public void addValueRetriesWhenLevelCreatedConcurrently() {
+		when(operations.updateFirst(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenReturn(UpdateResult.acknowledged(0L, 0L, null), UpdateResult.acknowledged(1L, 1L, null));
+		when(operations.upsert(any(Query.class), any(Update.class), eq(HierarchyLevelSuggestion.class)))
+				.thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+		assertTrue(hierarchyLevelSuggestionRepository.addValue("level1", "Value", "value"));
+		verify(operations, times(2)).updateFirst(any(Query.class), any(Update.class),
+				eq(HierarchyLevelSuggestion.class));
+	}
+
+	@Test
+	public void ensureUniqueLevelsMergesDuplicatesBeforeIndexing() {
+		HierarchyLevelSuggestion first = level("Alpha");
+		HierarchyLevelSuggestion second = level("Beta");
+		IndexOperations indexOperations = mock(IndexOperations.class);
+		when(operations.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(
+				new AggregationResults<>(List.of(new Document("_id", "level1").append("count", 2)), new Document()));
+		when(operations.find(any(Query.class), eq(HierarchyLevelSuggestion.class))).thenReturn(List.of(first, second));
+		when(operations.indexOps(HierarchyLevelSuggestion.class)).thenReturn(indexOperations);
+
+		assertEquals(1, hierarchyLevelSuggestionRepository.ensureUniqueLevels());
+		verify(operations).updateFirst(eq(new Query(Criteria.where("_id").is(first.getId()))),
+				any(Update.class), eq(HierarchyLevelSuggestion.class));
+		verify(operations).remove(any(Query.class), eq(HierarchyLevelSuggestion.class));
+		verify(indexOperations).ensureIndex(any(Index.class));
+	}
+
+	private static HierarchyLevelSuggestion level(String value) {
+		HierarchyLevelSuggestion level = new HierarchyLevelSuggestion();
+		level.setId(new ObjectId());
+		level.setHierarchyLevelId("level1");
+		level.setValues(new TreeSet<>(List.of(value)));
+		level.setNormalizedValues(new TreeSet<>(List.of(value.toLowerCase())));
+		return level;
+	}
+}
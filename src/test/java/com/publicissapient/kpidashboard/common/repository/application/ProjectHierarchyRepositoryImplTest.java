@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchySyncResult;
+
+@ExtendWith(SpringExtension.class)
+public class ProjectHierarchyRepositoryImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+
+	@Mock
+	private MongoOperations operations;
+
+	@Mock
+	private BulkOperations bulkOperations;
+
+	@InjectMocks
+	private ProjectHierarchyRepositoryImpl projectHierarchyRepository;
+
+	private static ProjectHierarchy sprint(String nodeId, String state) {
+		ProjectHierarchy hierarchy = new ProjectHierarchy();
+		hierarchy.setNodeId(nodeId);
+		hierarchy.setNodeName(nodeId);
+		hierarchy.setHierarchyLevelId("sprint");
+		hierarchy.setParentId("project1");
+		hierarchy.setBasicProjectConfigId(PROJECT);
+		hierarchy.setSprintState(state);
+		return hierarchy;
+	}
+
+	private void stored(Document... documents) {
+		when(operations.getCollectionName(ProjectHierarchy.class)).thenReturn("project_hierarchy");
+		when(operations.find(any(Query.class), eq(Document.class), eq("project_hierarchy")))
+				.thenReturn(List.of(documents));
+		when(operations.getConverter()).thenReturn(mock(MongoConverter.class));
+		when(operations.bulkOps(BulkOperations.BulkMode.UNORDERED, ProjectHierarchy.class)).thenReturn(bulkOperations);
+	}
+
+	@Test
+	public void testSyncWritesOnlyDifferences() {
+		ProjectHierarchy unchanged = sprint("s1", "CLOSED");
+		ProjectHierarchy changed = sprint("s2", "CLOSED");
+		ProjectHierarchy added = sprint("s3", "ACTIVE");
+		ObjectId changedId = new ObjectId();
+		ObjectId removedId = new ObjectId();
+		ObjectId duplicateId = new ObjectId();
+		stored(new Document("_id", new ObjectId()).append("nodeId", "s1").append("contentHash",
+				ProjectHierarchyRepositoryImpl.contentHash(unchanged)),
+				new Document("_id", changedId).append("nodeId", "s2").append("contentHash",
+						ProjectHierarchyRepositoryImpl.contentHash(sprint("s2", "ACTIVE"))),
+				new Document("_id", removedId).append("nodeId", "s0"),
+				new Document("_id", duplicateId).append("nodeId", "s1"));
+
+		ProjectHierarchy release = sprint("r1", null);
+		release.setHierarchyLevelId("release");
+
+		ProjectHierarchySyncResult result = projectHierarchyRepository.syncProjectHierarchy(PROJECT,
+				List.of(unchanged, changed, added, release), List.of("sprint"));
+
+		assertEquals(new ProjectHierarchySyncResult(1, 1, 2, 1), result);
+		verify(bulkOperations, times(1)).insert(any(Document.class));
+		ArgumentCaptor<Query> updated = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations).updateOne(updated.capture(), update.capture());
+		assertEquals(changedId, updated.getValue().getQueryObject().get("_id"));
+		assertEquals(ProjectHierarchyRepositoryImpl.contentHash(changed),
+				update.getValue().getUpdateObject().get("$set", Document.class).get("contentHash"));
+		ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+		verify(bulkOperations).remove(removed.capture());
+		assertEquals(List.of(removedId, duplicateId),
+				removed.getValue().getQueryObject().get("_id", Document.class).get("$in"));
+		verify(bulkOperations).execute();
+	}
+
+	@Test
+	public void testSyncWithoutDifferencesSkipsBulk() {
+		ProjectHierarchy unchanged = sprint("s1", "CLOSED");
+		stored(new Document("_id", new ObjectId()).append("nodeId", "s1").append("contentHash",
+				ProjectHierarchyRepositoryImpl.contentHash(unchanged)));
+
+		ProjectHierarchySyncResult result = projectHierarchyRepository.syncProjectHierarchy(PROJECT,
+				List.of(unchanged), null);
+
+		assertFalse(result.hasChanges());
+		assertEquals(1, result.getUnchanged());
+		verify(bulkOperations, never()).execute();
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.mongodb.client.result.UpdateResult;
+import com.publicissapient.kpidashboard.common.model.connection.Connection;
+
+@ExtendWith(SpringExtension.class)
+public class ConnectionRepositoryImplTest {
+
+	@Mock
+	private MongoOperations operations;
+
+	@InjectMocks
+	private ConnectionRepositoryImpl connectionRepository;
+
+	@Test
+	public void replaceSecretsOnlyWhileUnchanged() {
+		ObjectId id = new ObjectId();
+		when(operations.updateFirst(any(Query.class), any(Update.class), eq(Connection.class)))
+				.thenReturn(UpdateResult.acknowledged(1L, 1L, null));
+
+		assertTrue(connectionRepository.replaceSecrets(id, Map.of("password", "old"), Map.of("password", "new")));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(operations).updateFirst(query.capture(), update.capture(), eq(Connection.class));
+		assertEquals(new Document("_id", id).append("password", "old"), query.getValue().getQueryObject());
+		assertEquals(new Document("$set", new Document("password", "new")), update.getValue().getUpdateObject());
+	}
+
+	@Test
+	public void replaceSecretsConnectionChanged() {
+		when(operations.updateFirst(any(Query.class), any(Update.class), eq(Connection.class)))
+				.thenReturn(UpdateResult.acknowledged(0L, 0L, null));
+
+		assertFalse(connectionRepository.replaceSecrets(new ObjectId(), Map.of("password", "old"),
+				Map.of("password", "new")));
+	}
+}
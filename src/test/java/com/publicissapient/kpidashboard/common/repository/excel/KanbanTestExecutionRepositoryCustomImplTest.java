@@ -18,6 +18,8 @@
 
 package com.publicissapient.kpidashboard.common.repository.excel;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
@@ -31,15 +33,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.publicissapient.kpidashboard.common.model.testexecution.KanbanTestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
 
 /**
  * @author shi6
@@ -80,4 +86,22 @@ public class KanbanTestExecutionRepositoryCustomImplTest {
 		// Verify that the find method is called with the correct parameters
 		verify(mongoOperations, times(1)).find(any(Query.class), eq(KanbanTestExecution.class));
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFindDailyRollups() {
+		Document row = new Document("_id", new Document("basicProjectConfigId", "config1").append("day", "2024-02-05"))
+				.append("rowCount", 3).append("totalTestCases", 12L).append("executedTestCase", 10L);
+		when(mongoOperations.aggregate(any(TypedAggregation.class), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(List.of(row), new Document()));
+
+		List<TestExecutionRollup> rollups = kanbanTestExecutionRepository.findDailyRollups(new HashMap<>(),
+				Collections.emptyMap(), "2024-02-01", "2024-02-10");
+
+		assertEquals(1, rollups.size());
+		assertEquals("2024-02-05", rollups.get(0).getGroupKey());
+		assertEquals(3, rollups.get(0).getRowCount());
+		assertEquals(0, rollups.get(0).getPassedTestCase());
+		assertNull(rollups.get(0).getAutomationPercentage());
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.application.AdditionalFilterCapacity;
+import com.publicissapient.kpidashboard.common.model.application.LeafNodeCapacity;
+import com.publicissapient.kpidashboard.common.model.excel.CapacityKpiData;
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.model.excel.NodeCapacity;
+
+@ExtendWith(SpringExtension.class)
+public class NodeCapacityRepositoryImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+
+	@Mock
+	private MongoOperations mongoOperations;
+
+	@InjectMocks
+	private NodeCapacityRepositoryImpl nodeCapacityRepository;
+
+	private static List<AdditionalFilterCapacity> squads() {
+		AdditionalFilterCapacity squad = new AdditionalFilterCapacity();
+		squad.setFilterId("sqd");
+		squad.setNodeCapacityList(List.of(new LeafNodeCapacity("squad_a", 40D), new LeafNodeCapacity("squad_b", 25D)));
+		return List.of(squad);
+	}
+
+	@Test
+	public void testReplaceSprintCapacity() {
+		CapacityKpiData capacityKpiData = CapacityKpiData.builder().basicProjectConfigId(PROJECT).sprintID("sprint1")
+				.additionalFilterCapacityList(squads()).build();
+
+		BulkOperations bulkOperations = mock(BulkOperations.class);
+		when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, NodeCapacity.class)).thenReturn(bulkOperations);
+
+		nodeCapacityRepository.replaceSprintCapacity(capacityKpiData);
+
+		ArgumentCaptor<Query> upserted = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations, times(2)).upsert(upserted.capture(), updates.capture());
+		Document node = upserted.getAllValues().get(1).getQueryObject();
+		assertEquals("sprint1", node.get("sprintID"));
+		assertEquals("SQD", node.get("filterId"));
+		assertEquals("squad_b", node.get("additionalFilterId"));
+		assertEquals(25D, updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class).get("capacity"));
+		// stale nodes are removed only after the upserts
+		InOrder order = inOrder(bulkOperations, mongoOperations);
+		order.verify(bulkOperations).execute();
+		ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+		order.verify(mongoOperations).remove(removed.capture(), eq(NodeCapacity.class));
+		String stale = removed.getValue().getQueryObject().toJson();
+		assertTrue(stale.contains("\"$nor\""));
+		assertTrue(stale.contains("\"sprintID\": \"sprint1\""));
+		verify(mongoOperations, never()).insert(anyList(), eq(NodeCapacity.class));
+	}
+
+	@Test
+	public void testReplaceKanbanCapacityWithoutBreakdown() {
+		KanbanCapacity kanbanCapacity = KanbanCapacity.builder().basicProjectConfigId(PROJECT)
+				.startDate(LocalDate.of(2024, 1, 1)).endDate(LocalDate.of(2024, 1, 7)).build();
+
+		nodeCapacityRepository.replaceKanbanCapacity(kanbanCapacity);
+
+		ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations).remove(removed.capture(), eq(NodeCapacity.class));
+		assertTrue(removed.getValue().getQueryObject().containsKey("startDate"));
+		verify(mongoOperations, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(NodeCapacity.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFindSprintCapacity() {
+		AggregationResults<Document> results = mock(AggregationResults.class);
+		when(results.getMappedResults()).thenReturn(List.of(new Document("_id", "sprint1").append("capacity", 65D),
+				new Document("_id", "sprint2").append("capacity", 30)));
+		when(mongoOperations.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(results);
+
+		Map<String, Double> capacity = nodeCapacityRepository.findSprintCapacity(PROJECT, List.of("sprint1", "sprint2"),
+				"Sqd", List.of("squad_a", "squad_b"));
+
+		assertEquals(Map.of("sprint1", 65D, "sprint2", 30D), capacity);
+		ArgumentCaptor<TypedAggregation<NodeCapacity>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+		verify(mongoOperations).aggregate(aggregation.capture(), eq(Document.class));
+		Document match = aggregation.getValue().toDocument("node_capacity", Aggregation.DEFAULT_CONTEXT)
+				.getList("pipeline", Document.class).get(0).get("$match", Document.class);
+		assertEquals("SQD", match.get("filterId"));
+		assertTrue(nodeCapacityRepository.findSprintCapacity(PROJECT, List.of(), "sqd", List.of("squad_a")).isEmpty());
+	}
+
+	@Test
+	public void testFindKanbanCapacity() {
+		NodeCapacity node = NodeCapacity.builder().basicProjectConfigId(PROJECT).kanban(true).filterId("SQD")
+				.additionalFilterId("squad_a").capacity(8D).build();
+		when(mongoOperations.find(any(Query.class), eq(NodeCapacity.class))).thenReturn(List.of(node));
+
+		List<NodeCapacity> result = nodeCapacityRepository.findKanbanCapacity(PROJECT, "sqd", List.of("squad_a"),
+				"2024-01-01", "2024-01-31");
+
+		assertEquals(List.of(node), result);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoOperations).find(query.capture(), eq(NodeCapacity.class));
+		assertTrue(query.getValue().getQueryObject().containsKey("startDate"));
+	}
+}
@@ -18,6 +18,8 @@
 
 package com.publicissapient.kpidashboard.common.repository.excel;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
@@ -31,15 +33,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.publicissapient.kpidashboard.common.model.testexecution.TestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
 
 /**
  * @author shi6
@@ -76,4 +83,33 @@ public class TestExecutionRepositoryCustomImplTest {
 		// Verify that the find method is called with the correct parameters
 		verify(mongoOperations, times(1)).find(any(Query.class), eq(TestExecution.class));
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFindSprintRollups() {
+		Document row = new Document("_id", new Document("basicProjectConfigId", "config1").append("sprintId", "sprint1"))
+				.append("rowCount", 2).append("sprintName", "Sprint 1").append("totalTestCases", 40)
+				.append("executedTestCase", 30).append("passedTestCase", 27).append("automatedTestCases", 15)
+				.append("automatableTestCases", 20);
+		when(mongoOperations.aggregate(any(TypedAggregation.class), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(List.of(row), new Document()));
+
+		Map<String, List<String>> mapOfFilters = new HashMap<>();
+		mapOfFilters.put("sprintId", Arrays.asList("sprint1"));
+		List<TestExecutionRollup> rollups = testExecutionRepository.findSprintRollups(mapOfFilters,
+				Collections.emptyMap());
+
+		assertEquals(1, rollups.size());
+		TestExecutionRollup rollup = rollups.get(0);
+		assertEquals("sprint1", rollup.getGroupKey());
+		assertEquals(TestExecutionRollup.Granularity.SPRINT, rollup.getGranularity());
+		assertEquals(30, rollup.getExecutedTestCase());
+		assertEquals(75.0, rollup.getAutomationPercentage());
+		assertEquals(90.0, rollup.getPassPercentage());
+
+		ArgumentCaptor<TypedAggregation<?>> captor = ArgumentCaptor.forClass(TypedAggregation.class);
+		verify(mongoOperations).aggregate(captor.capture(), eq(Document.class));
+		String pipeline = captor.getValue().toString();
+		assertTrue(pipeline.contains("$group") && pipeline.contains("\"$sum\""));
+	}
 }
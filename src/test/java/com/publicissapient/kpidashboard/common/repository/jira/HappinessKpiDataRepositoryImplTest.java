@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.jira;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+
+@ExtendWith(SpringExtension.class)
+public class HappinessKpiDataRepositoryImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+
+	@Mock
+	private MongoOperations operations;
+
+	@Mock
+	private MongoCollection<Document> mongoCollection;
+
+	@Mock
+	private AggregateIterable<Document> aggregateIterable;
+
+	@Mock
+	private MongoCursor<Document> mongoCursor;
+
+	@InjectMocks
+	private HappinessKpiDataRepositoryImpl happinessKpiDataRepository;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testFindSprintSummaries() {
+		when(operations.getCollection("happiness_kpi_data")).thenReturn(mongoCollection);
+		when(mongoCollection.aggregate(anyList())).thenReturn(aggregateIterable);
+		when(aggregateIterable.iterator()).thenReturn(mongoCursor);
+		when(mongoCursor.hasNext()).thenReturn(true, false);
+		when(mongoCursor.next()).thenReturn(new Document("_id",
+				new Document("sprintID", "sprint1").append("basicProjectConfigId", PROJECT)).append("ratingCount", 3)
+				.append("ratingSum", 11L)
+				.append("users", List.of(
+						new Document("userId", "u1").append("userName", "User One").append("ratingCount", 2)
+								.append("ratingSum", 7).append("ratings",
+										List.of(new Document("rating", 4).append("count", 1),
+												new Document("rating", 3).append("count", 1))),
+						new Document("userId", "u2").append("userName", "User Two").append("ratingCount", 1)
+								.append("ratingSum", 4)
+								.append("ratings", List.of(new Document("rating", 4).append("count", 1))))));
+
+		List<HappinessSummary> summaries = happinessKpiDataRepository.findSprintSummaries(List.of("sprint1"));
+
+		assertEquals(1, summaries.size());
+		HappinessSummary summary = summaries.get(0);
+		assertEquals(PROJECT, summary.getBasicProjectConfigId());
+		assertEquals(11D / 3, summary.getAverageRating());
+		assertEquals(Map.of("3", 1L, "4", 2L), summary.getDistribution());
+		assertEquals(3.5D, summary.getUsers().get(0).getAverageRating());
+		assertEquals(Map.of("4", 1L), summary.getUsers().get(1).getDistribution());
+
+		ArgumentCaptor<List<BasicDBObject>> pipeline = ArgumentCaptor.forClass(List.class);
+		verify(mongoCollection).aggregate(pipeline.capture());
+		assertEquals(7, pipeline.getValue().size());
+		assertTrue(pipeline.getValue().get(0).toJson().contains("sprint1"));
+	}
+
+	@Test
+	void testFindSprintSummariesWithoutSprints() {
+		assertTrue(happinessKpiDataRepository.findSprintSummaries(List.of()).isEmpty());
+		verify(operations, never()).getCollection(any());
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.repository.jira;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+
+@ExtendWith(SpringExtension.class)
+public class HappinessSummaryRepositoryImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+
+	@Mock
+	private MongoOperations operations;
+
+	@InjectMocks
+	private HappinessSummaryRepositoryImpl happinessSummaryRepository;
+
+	private static HappinessSummary summary(String sprintID) {
+		return HappinessSummary.builder().basicProjectConfigId(PROJECT).sprintID(sprintID).ratingCount(2).ratingSum(7)
+				.build();
+	}
+
+	@Test
+	public void testUpsertSummaryReplacesOneStoredBySomeoneElse() {
+		HappinessSummary stored = summary("sprint1");
+		stored.setId(new ObjectId());
+		HappinessSummary summary = summary("sprint1");
+		when(operations.findAndReplace(any(Query.class), eq(summary), any(FindAndReplaceOptions.class)))
+				.thenReturn(stored);
+
+		assertEquals(stored.getId(), happinessSummaryRepository.upsertSummary(summary).getId());
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<FindAndReplaceOptions> options = ArgumentCaptor.forClass(FindAndReplaceOptions.class);
+		verify(operations).findAndReplace(query.capture(), eq(summary), options.capture());
+		assertEquals(new Document("basicProjectConfigId", PROJECT).append("sprintID", "sprint1"),
+				query.getValue().getQueryObject());
+		assertTrue(options.getValue().isUpsert());
+		assertTrue(options.getValue().isReturnNew());
+	}
+
+	@Test
+	public void testUpsertSummariesReplacesBySprint() {
+		BulkOperations bulkOperations = mock(BulkOperations.class);
+		when(operations.bulkOps(BulkOperations.BulkMode.UNORDERED, HappinessSummary.class)).thenReturn(bulkOperations);
+		HappinessSummary first = summary("sprint1");
+		first.setId(new ObjectId());
+
+		happinessSummaryRepository.upsertSummaries(List.of(first, summary("sprint2")));
+
+		verify(bulkOperations, times(2)).replaceOne(any(Query.class), any(HappinessSummary.class),
+				any(FindAndReplaceOptions.class));
+		verify(bulkOperations).execute();
+		assertNull(first.getId());
+	}
+}
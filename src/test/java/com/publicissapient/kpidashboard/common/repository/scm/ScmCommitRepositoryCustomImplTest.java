@@ -3,13 +3,17 @@ package com.publicissapient.kpidashboard.common.repository.scm;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Set;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +26,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
 import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
@@ -44,6 +49,9 @@ public class ScmCommitRepositoryCustomImplTest {
 	@Mock
 	private MongoConverter mongoConverter;
 
+	@Mock
+	private FindIterable<Document> findIterable;
+
 	@InjectMocks
 	private ScmCommitRepositoryCustomImpl repository;
 
@@ -100,4 +108,27 @@ public class ScmCommitRepositoryCustomImplTest {
 
 		assertTrue(result.isEmpty());
 	}
+
+	@Test
+	void testFindExistingShas() {
+		ObjectId processorItemId = new ObjectId();
+		when(operations.getCollection("scm_commit_details")).thenReturn(mongoCollection);
+		when(mongoCollection.find(any(Bson.class))).thenReturn(findIterable);
+		when(findIterable.projection(any(Bson.class))).thenReturn(findIterable);
+		when(findIterable.batchSize(anyInt())).thenReturn(findIterable);
+		when(findIterable.iterator()).thenReturn(mongoCursor);
+		when(mongoCursor.hasNext()).thenReturn(true, false);
+		when(mongoCursor.next()).thenReturn(new Document("sha", "abc123"));
+
+		Set<String> result = repository.findExistingShas(processorItemId, List.of("abc123", "def456"));
+
+		assertEquals(Set.of("abc123"), result);
+	}
+
+	@Test
+	void testFindExistingShas_EmptyInput() {
+		assertTrue(repository.findExistingShas(new ObjectId(), List.of()).isEmpty());
+		assertTrue(repository.findExistingShas(null, List.of("abc123")).isEmpty());
+	}
 }
+
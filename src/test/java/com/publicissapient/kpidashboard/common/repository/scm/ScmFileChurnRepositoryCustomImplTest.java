@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
+import com.publicissapient.kpidashboard.common.model.scm.ScmFileChurn;
+
+@ExtendWith(SpringExtension.class)
+public class ScmFileChurnRepositoryCustomImplTest {
+
+	private static final ObjectId PROCESSOR_ITEM_ID = new ObjectId();
+
+	@Mock
+	private MongoOperations operations;
+
+	@Mock
+	private BulkOperations bulkOperations;
+
+	@InjectMocks
+	private ScmFileChurnRepositoryCustomImpl repository;
+
+	private static ScmCommits commit(String author, LocalDate day, String... paths) {
+		List<ScmCommits.FileChange> fileChanges = Arrays.stream(paths)
+				.map(path -> ScmCommits.FileChange.builder().filePath(path).addedLines(3).removedLines(1).build()).toList();
+		return ScmCommits.builder().processorItemId(PROCESSOR_ITEM_ID).commitAuthorId(author)
+				.commitTimestamp(day.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()).fileChanges(fileChanges)
+				.build();
+	}
+
+	@Test
+	void testWeekKey() {
+		assertEquals("2024-01-29", ScmFileChurnRepositoryCustomImpl.weekKey(LocalDate.of(2024, 2, 4)));
+		assertEquals("2024-01-29", ScmFileChurnRepositoryCustomImpl.weekKey(LocalDate.of(2024, 1, 29)));
+	}
+
+	@Test
+	void testRecordCommits_OneUpsertPerFile() {
+		when(operations.bulkOps(BulkOperations.BulkMode.UNORDERED, ScmFileChurn.class)).thenReturn(bulkOperations);
+		List<ScmCommits> commits = List.of(commit("u1", LocalDate.of(2024, 1, 30), "a.java", "b.java"),
+				commit("u2", LocalDate.of(2024, 2, 6), "a.java"));
+
+		int touched = repository.recordCommits(commits);
+
+		assertEquals(2, touched);
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+		verify(bulkOperations).execute();
+		Document fileA = updates.getAllValues().stream()
+				.map(update -> update.getUpdateObject().get("$inc", Document.class))
+				.filter(inc -> Long.valueOf(2L).equals(inc.get("changeCount"))).findFirst().orElseThrow();
+		assertEquals(6L, fileA.get("addedLines"));
+		assertEquals(1L, fileA.get("weeks.2024-01-29.changeCount"));
+		assertEquals(1L, fileA.get("weeks.2024-02-05.changeCount"));
+	}
+
+	@Test
+	void testRecordCommits_NothingToRecord() {
+		assertEquals(0, repository.recordCommits(List.of()));
+		assertEquals(0, repository.recordCommits(List.of(ScmCommits.builder().processorItemId(PROCESSOR_ITEM_ID).build())));
+		verify(operations, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(ScmFileChurn.class));
+	}
+
+	@Test
+	void testFindTopHotspots_ExcludesWeeks() {
+		when(operations.find(any(Query.class), eq(ScmFileChurn.class))).thenReturn(List.of(new ScmFileChurn()));
+
+		List<ScmFileChurn> result = repository.findTopHotspots(PROCESSOR_ITEM_ID, 10);
+
+		assertEquals(1, result.size());
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(operations).find(query.capture(), eq(ScmFileChurn.class));
+		assertEquals(10, query.getValue().getLimit());
+		assertEquals(0, query.getValue().getFieldsObject().get("weeks"));
+	}
+
+	@Test
+	void testFindTopHotspots_InvalidInput() {
+		assertTrue(repository.findTopHotspots(null, 10).isEmpty());
+		assertTrue(repository.findTopHotspots(PROCESSOR_ITEM_ID, LocalDate.now(), LocalDate.now(), 0).isEmpty());
+		verify(operations, never()).getCollection(any());
+		verify(operations, never()).find(any(Query.class), eq(ScmFileChurn.class));
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.repository.sonar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.publicissapient.kpidashboard.common.constant.TimeBucket;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarMetricPoint;
+
+@ExtendWith(SpringExtension.class)
+public class SonarHistoryRepositoryCustomImplTest {
+
+	private static final ObjectId PROCESSOR_ITEM_ID = new ObjectId();
+
+	@Mock
+	private MongoOperations operations;
+
+	@Mock
+	private MongoCollection<Document> mongoCollection;
+
+	@Mock
+	private AggregateIterable<Document> aggregateIterable;
+
+	@Mock
+	private MongoCursor<Document> mongoCursor;
+
+	@InjectMocks
+	private SonarHistoryRepositoryCustomImpl sonarHistoryRepository;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testFindMetricSeries() {
+		when(operations.getCollection("sonar_history")).thenReturn(mongoCollection);
+		when(mongoCollection.aggregate(anyList())).thenReturn(aggregateIterable);
+		when(aggregateIterable.iterator()).thenReturn(mongoCursor);
+		when(mongoCursor.hasNext()).thenReturn(true, false);
+		when(mongoCursor.next()).thenReturn(new Document("_id",
+				new Document("processorItemId", PROCESSOR_ITEM_ID).append("metricName", "coverage").append("bucket",
+						"2024-W06")).append("timestamp", 1707400000000L).append("metricValue", 81.5)
+				.append("formattedValue", "81.5%"));
+
+		List<SonarMetricPoint> points = sonarHistoryRepository.findMetricSeries(List.of(PROCESSOR_ITEM_ID),
+				List.of("coverage", "bugs"), 0L, 1710000000000L, TimeBucket.WEEK);
+
+		assertEquals(1, points.size());
+		SonarMetricPoint point = points.get(0);
+		assertEquals(PROCESSOR_ITEM_ID, point.getProcessorItemId());
+		assertEquals("coverage", point.getMetricName());
+		assertEquals(LocalDate.of(2024, 2, 5), point.getBucketStart());
+		assertEquals(81.5, point.getMetricValue());
+		assertEquals(1707400000000L, point.getTimestamp());
+
+		ArgumentCaptor<List<BasicDBObject>> captor = ArgumentCaptor.forClass(List.class);
+		verify(mongoCollection).aggregate(captor.capture());
+		List<String> stages = captor.getValue().stream().map(stage -> stage.keySet().iterator().next()).toList();
+		assertEquals(List.of("$match", "$sort", "$project", "$unwind", "$group", "$sort"), stages);
+		assertTrue(captor.getValue().get(4).toJson().contains("%G-W%V"));
+	}
+
+	@Test
+	void testFindMetricSeriesWithoutMetrics() {
+		assertTrue(sonarHistoryRepository
+				.findMetricSeries(List.of(PROCESSOR_ITEM_ID), List.of(), 0L, 1L, TimeBucket.DAY).isEmpty());
+		verify(operations, never()).getCollection(any());
+	}
+
+	@Test
+	void testBucketStart() {
+		assertEquals(LocalDate.of(2024, 2, 8), TimeBucket.DAY.startOf("2024-02-08"));
+		assertEquals(LocalDate.of(2024, 12, 30), TimeBucket.WEEK.startOf("2025-W01"));
+		assertEquals(LocalDate.of(2024, 2, 1), TimeBucket.MONTH.startOf("2024-02"));
+	}
+}
@@ -18,8 +18,15 @@
 package com.publicissapient.kpidashboard.common.repository.zephyr;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -29,12 +36,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.publicissapient.kpidashboard.common.model.zephyr.TestCaseDetails;
@@ -68,4 +84,110 @@ public class TestCaseDetailsRepositoryImplTest {
 		testCaseDetailsRepository.findTestDetails(mapOfFilters, uniqueProjectMap, "nin");
 		assertEquals(Collections.emptyList(), result);
 	}
+
+	@Test
+	public void testStringLabelFiltersUseNormalizedLabels() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("labels", Arrays.asList(" Regression", "regression", "AUTOMATION "));
+		Map<String, Map<String, Object>> uniqueProjectMap = Collections.singletonMap("PROJ1", map);
+		when(operations.find(any(Query.class), eq(TestCaseDetails.class))).thenReturn(Collections.emptyList());
+
+		testCaseDetailsRepository.findNonRegressionTestDetails(Collections.emptyMap(), uniqueProjectMap, "criteria",
+				true);
+
+		ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+		verify(operations).find(captor.capture(), eq(TestCaseDetails.class));
+		String query = captor.getValue().getQueryObject().toJson();
+		assertTrue(query.contains("\"normalizedLabels\": {\"$nin\": [\"automation\", \"regression\"]}"));
+	}
+
+	@Test
+	public void testStringLabelFiltersUseRawLabelsByDefault() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("labels", Arrays.asList("Regression"));
+		Map<String, Map<String, Object>> uniqueProjectMap = Collections.singletonMap("PROJ1", map);
+		when(operations.find(any(Query.class), eq(TestCaseDetails.class))).thenReturn(Collections.emptyList());
+
+		testCaseDetailsRepository.findNonRegressionTestDetails(Collections.emptyMap(), uniqueProjectMap, "criteria");
+		testCaseDetailsRepository.findTestDetails(Collections.emptyMap(), uniqueProjectMap, "criteria");
+
+		ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+		verify(operations, times(2)).find(captor.capture(), eq(TestCaseDetails.class));
+		assertTrue(captor.getAllValues().get(0).getQueryObject().toJson()
+				.contains("\"labels\": {\"$nin\": [\"Regression\"]}"));
+		assertTrue(captor.getAllValues().get(1).getQueryObject().toJson()
+				.contains("\"labels\": {\"$in\": [\"Regression\"]}"));
+	}
+
+	@Test
+	public void testContentHashIgnoresOrdering() {
+		TestCaseDetails first = testCase("TC-1", Arrays.asList("b", "A"));
+		TestCaseDetails second = testCase("TC-1", Arrays.asList("A", "b"));
+		assertEquals(first.computeContentHash(), second.computeContentHash());
+		// a case-only label change must still be written
+		second.setLabels(Arrays.asList("a", "b"));
+		assertNotEquals(first.computeContentHash(), second.computeContentHash());
+		second.setLabels(Arrays.asList("A", "b"));
+		second.setTestCaseStatus("Closed");
+		assertNotEquals(first.computeContentHash(), second.computeContentHash());
+	}
+
+	@Test
+	public void testSyncTestCasesWritesOnlyChangedCases() {
+		TestCaseDetails unchanged = testCase("TC-1", Collections.singletonList("Regression"));
+		TestCaseDetails changed = testCase("TC-2", Collections.singletonList("Smoke"));
+		TestCaseDetails added = testCase("TC-3", null);
+		List<Document> stored = Arrays.asList(
+				new Document("number", "TC-1").append("contentHash", unchanged.computeContentHash()),
+				new Document("number", "TC-2").append("contentHash", "stale"));
+		BulkOperations bulkOperations = mock(BulkOperations.class);
+		when(operations.getCollectionName(TestCaseDetails.class)).thenReturn("test_case_details");
+		when(operations.find(any(Query.class), eq(Document.class), eq("test_case_details"))).thenReturn(stored);
+		when(operations.getConverter()).thenReturn(mock(MongoConverter.class));
+		when(operations.bulkOps(BulkOperations.BulkMode.UNORDERED, TestCaseDetails.class)).thenReturn(bulkOperations);
+
+		int written = testCaseDetailsRepository.syncTestCases("PROJ1", Arrays.asList(unchanged, changed, added));
+
+		assertEquals(2, written);
+		verify(bulkOperations, times(2)).replaceOne(any(Query.class), any(Document.class),
+				any(FindAndReplaceOptions.class));
+		verify(bulkOperations).execute();
+		assertEquals(Collections.singletonList("smoke"), changed.getNormalizedLabels());
+		assertEquals(Collections.emptyList(), added.getNormalizedLabels());
+	}
+
+	@Test
+	public void testSyncTestCasesReplacesFieldThatBecameNull() {
+		TestCaseDetails stored = testCase("TC-1", null);
+		stored.setDefectStoryID(Collections.singleton("STORY-1"));
+		TestCaseDetails synced = testCase("TC-1", null);
+		BulkOperations bulkOperations = mock(BulkOperations.class);
+		when(operations.getCollectionName(TestCaseDetails.class)).thenReturn("test_case_details");
+		when(operations.find(any(Query.class), eq(Document.class), eq("test_case_details")))
+				.thenReturn(Collections.singletonList(
+						new Document("number", "TC-1").append("contentHash", stored.computeContentHash())));
+		when(operations.getConverter())
+				.thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+		when(operations.bulkOps(BulkOperations.BulkMode.UNORDERED, TestCaseDetails.class)).thenReturn(bulkOperations);
+
+		assertEquals(1, testCaseDetailsRepository.syncTestCases("PROJ1", Collections.singletonList(synced)));
+
+		ArgumentCaptor<Document> replacement = ArgumentCaptor.forClass(Document.class);
+		ArgumentCaptor<FindAndReplaceOptions> options = ArgumentCaptor.forClass(FindAndReplaceOptions.class);
+		verify(bulkOperations).replaceOne(any(Query.class), replacement.capture(), options.capture());
+		assertFalse(replacement.getValue().containsKey("defectStoryID"));
+		assertFalse(replacement.getValue().containsKey("_id"));
+		assertEquals(synced.computeContentHash(), replacement.getValue().getString("contentHash"));
+		assertTrue(options.getValue().isUpsert());
+		verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+	}
+
+	private static TestCaseDetails testCase(String number, List<String> labels) {
+		TestCaseDetails testCase = new TestCaseDetails();
+		testCase.setNumber(number);
+		testCase.setBasicProjectConfigId("PROJ1");
+		testCase.setLabels(labels);
+		testCase.setTestCaseStatus("Open");
+		return testCase;
+	}
 }
@@ -18,13 +18,22 @@
 
 package com.publicissapient.kpidashboard.common.service;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.cache.Cache;
+import com.publicissapient.kpidashboard.common.config.EnvelopeEncryptionConfig;
 
 /**
  * @author anisingh4
@@ -67,4 +76,89 @@ public class AesEncryptionServiceTest {
 		String actualValue = aesEncryptionService.decrypt(ENCRYPTED_TEXT, null);
 		assertNull(actualValue);
 	}
+
+	@Test
+	public void decrypt_RoundTripReusesDerivedKey() {
+		Cache<?, ?> derivedKeys = (Cache<?, ?>) ReflectionTestUtils.getField(aesEncryptionService, "derivedKeys");
+		String encryptedText = aesEncryptionService.encrypt(PLAIN_TEXT, "abc");
+		String otherEncryptedText = aesEncryptionService.encrypt(PLAIN_TEXT, "abc");
+		// keys derived for a fresh salt are not cached
+		assertEquals(0, derivedKeys.size());
+
+		assertEquals(PLAIN_TEXT, aesEncryptionService.decrypt(encryptedText, "abc"));
+		assertEquals(PLAIN_TEXT, aesEncryptionService.decrypt(encryptedText, "abc"));
+		assertEquals(PLAIN_TEXT, aesEncryptionService.decrypt(otherEncryptedText, "abc"));
+		// one key per salt
+		assertEquals(2, derivedKeys.size());
+	}
+
+	@Test
+	public void decrypt_AfterEviction() {
+		Cache<?, ?> derivedKeys = (Cache<?, ?>) ReflectionTestUtils.getField(aesEncryptionService, "derivedKeys");
+		String encryptedText = aesEncryptionService.encrypt(PLAIN_TEXT, "abc");
+
+		derivedKeys.invalidateAll();
+
+		assertEquals(PLAIN_TEXT, aesEncryptionService.decrypt(encryptedText, "abc"));
+		assertEquals(1, derivedKeys.size());
+	}
+
+	@Test
+	public void encrypt_EnvelopeRoundTrip() {
+		AesEncryptionService envelopeService = new AesEncryptionService(keyRing(2));
+		String encryptedText = envelopeService.encrypt(PLAIN_TEXT, "abc");
+
+		assertTrue(encryptedText.startsWith("enc:v2:"));
+		assertEquals(PLAIN_TEXT, envelopeService.decrypt(encryptedText, "ignored"));
+		assertFalse(envelopeService.needsReEncryption(encryptedText));
+	}
+
+	@Test
+	public void decrypt_LegacyValueInEnvelopeMode() {
+		String legacyText = aesEncryptionService.encrypt(PLAIN_TEXT, "abc");
+		AesEncryptionService envelopeService = new AesEncryptionService(keyRing(2));
+
+		assertTrue(envelopeService.needsReEncryption(legacyText));
+		assertEquals(PLAIN_TEXT, envelopeService.decrypt(legacyText, "abc"));
+	}
+
+	@Test
+	public void decrypt_PreviousKeyVersion() {
+		String oldText = new AesEncryptionService(keyRing(1)).encrypt(PLAIN_TEXT, "abc");
+		AesEncryptionService envelopeService = new AesEncryptionService(keyRing(2));
+
+		assertTrue(envelopeService.needsReEncryption(oldText));
+		assertEquals(PLAIN_TEXT, envelopeService.decrypt(oldText, null));
+	}
+
+	@Test
+	public void needsReEncryption_NeverEncrypted() {
+		AesEncryptionService envelopeService = new AesEncryptionService(keyRing(2));
+
+		assertFalse(envelopeService.needsReEncryption("not-encrypted"));
+		assertFalse(envelopeService.needsReEncryption("c2hvcnQ="));
+	}
+
+	@Test
+	public void decrypt_UnknownOrTamperedEnvelope() {
+		AesEncryptionService envelopeService = new AesEncryptionService(keyRing(2));
+		String encryptedText = envelopeService.encrypt(PLAIN_TEXT, "abc");
+
+		assertNull(envelopeService.decrypt(encryptedText.replace("enc:v2:", "enc:v7:"), "abc"));
+		assertNull(envelopeService.decrypt(encryptedText.replace("enc:v2:", "enc:v1:"), "abc"));
+		assertNull(envelopeService.decrypt("enc:vx:abc", "abc"));
+	}
+
+	@Test
+	public void needsReEncryption_Disabled() {
+		assertFalse(aesEncryptionService.needsReEncryption(aesEncryptionService.encrypt(PLAIN_TEXT, "abc")));
+	}
+
+	private static EnvelopeKeyRing keyRing(int activeVersion) {
+		EnvelopeEncryptionConfig config = new EnvelopeEncryptionConfig();
+		config.setEnabled(true);
+		config.setActiveKeyVersion(activeVersion);
+		config.setKeys(Map.of(1, "first-secret", 2, "second-secret"));
+		return new EnvelopeKeyRing(config);
+	}
 }
@@ -0,0 +1,189 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.config.EnvelopeEncryptionConfig;
+import com.publicissapient.kpidashboard.common.model.connection.Connection;
+import com.publicissapient.kpidashboard.common.model.connection.CredentialReEncryptionResult;
+import com.publicissapient.kpidashboard.common.repository.connection.ConnectionRepository;
+
+@ExtendWith(SpringExtension.class)
+class ConnectionReEncryptionServiceImplTest {
+
+	private static final String LEGACY_KEY = "legacy-key";
+
+	@Mock
+	private ConnectionRepository connectionRepository;
+
+	@Mock
+	private TaskScheduler taskScheduler;
+
+	private EnvelopeEncryptionConfig config;
+	private AesEncryptionService legacyEncryption;
+	private AesEncryptionService envelopeEncryption;
+	private ConnectionReEncryptionServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		config = new EnvelopeEncryptionConfig();
+		config.setEnabled(true);
+		config.setKeys(Map.of(1, "first-secret"));
+		legacyEncryption = new AesEncryptionService();
+		envelopeEncryption = new AesEncryptionService(new EnvelopeKeyRing(config));
+		service = new ConnectionReEncryptionServiceImpl(connectionRepository, envelopeEncryption, config,
+				taskScheduler);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void reEncryptConnections_MigratesLegacySecrets() {
+		Connection legacy = new Connection();
+		legacy.setId(new ObjectId());
+		legacy.setPassword(legacyEncryption.encrypt("secret", LEGACY_KEY));
+		legacy.setAccessToken("not-encrypted");
+		Connection migrated = new Connection();
+		migrated.setId(new ObjectId());
+		migrated.setApiKey(envelopeEncryption.encrypt("api", LEGACY_KEY));
+		when(connectionRepository.findAll(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(legacy, migrated), PageRequest.of(0, 100), 2));
+		when(connectionRepository.replaceSecrets(any(), anyMap(), anyMap())).thenReturn(true);
+
+		CredentialReEncryptionResult result = service.reEncryptConnections(LEGACY_KEY);
+
+		assertEquals(new CredentialReEncryptionResult(1, 2, 0), result);
+		ArgumentCaptor<Map<String, String>> secrets = ArgumentCaptor.forClass(Map.class);
+		ArgumentCaptor<Map<String, String>> replacements = ArgumentCaptor.forClass(Map.class);
+		verify(connectionRepository).replaceSecrets(eq(legacy.getId()), secrets.capture(), replacements.capture());
+		assertEquals(Map.of("password", legacy.getPassword()), secrets.getValue());
+		assertEquals(Set.of("password"), replacements.getValue().keySet());
+		assertTrue(replacements.getValue().get("password").startsWith("enc:v1:"));
+		assertEquals("secret", envelopeEncryption.decrypt(replacements.getValue().get("password"), null));
+		verify(connectionRepository, never()).save(any(Connection.class));
+	}
+
+	@Test
+	void reEncryptConnections_ConnectionChangedMeanwhile() {
+		Connection legacy = new Connection();
+		legacy.setId(new ObjectId());
+		legacy.setPassword(legacyEncryption.encrypt("secret", LEGACY_KEY));
+		when(connectionRepository.findAll(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(legacy), PageRequest.of(0, 100), 1));
+		when(connectionRepository.replaceSecrets(any(), anyMap(), anyMap())).thenReturn(false);
+
+		CredentialReEncryptionResult result = service.reEncryptConnections(LEGACY_KEY);
+
+		assertEquals(new CredentialReEncryptionResult(), result);
+	}
+
+	@Test
+	void reEncryptConnections_WrongLegacyKeyFails() {
+		Connection legacy = new Connection();
+		legacy.setId(new ObjectId());
+		legacy.setPassword(legacyEncryption.encrypt("secret", "other-key"));
+		when(connectionRepository.findAll(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(legacy), PageRequest.of(0, 100), 1));
+
+		CredentialReEncryptionResult result = service.reEncryptConnections(LEGACY_KEY);
+
+		assertEquals(new CredentialReEncryptionResult(0, 0, 1), result);
+		verify(connectionRepository, never()).replaceSecrets(any(), anyMap(), anyMap());
+	}
+
+	@Test
+	void reEncryptConnections_ReadsEveryPage() {
+		Connection first = new Connection();
+		first.setPassword(legacyEncryption.encrypt("one", LEGACY_KEY));
+		Connection second = new Connection();
+		second.setPassword(legacyEncryption.encrypt("two", LEGACY_KEY));
+		when(connectionRepository.findAll(any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(first), PageRequest.of(0, 100), 101))
+				.thenReturn(new PageImpl<>(List.of(second), PageRequest.of(1, 100), 101));
+		when(connectionRepository.replaceSecrets(any(), anyMap(), anyMap())).thenReturn(true);
+
+		CredentialReEncryptionResult result = service.reEncryptConnections(LEGACY_KEY);
+
+		assertEquals(2, result.getMigrated());
+		verify(connectionRepository, times(2)).findAll(any(Pageable.class));
+		verify(connectionRepository, times(2)).replaceSecrets(any(), anyMap(), anyMap());
+	}
+
+	@Test
+	void reEncryptConnections_Disabled() {
+		config.setEnabled(false);
+
+		CredentialReEncryptionResult result = service.reEncryptConnections(LEGACY_KEY);
+
+		assertEquals(new CredentialReEncryptionResult(), result);
+		verify(connectionRepository, never()).findAll(any(Pageable.class));
+	}
+
+	@Test
+	void scheduleReEncryption_OnlyOneRunAtATime() {
+		assertTrue(service.scheduleReEncryption(LEGACY_KEY));
+		assertFalse(service.scheduleReEncryption(LEGACY_KEY));
+
+		ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+		when(connectionRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+		task.getValue().run();
+
+		assertTrue(service.scheduleReEncryption(LEGACY_KEY));
+	}
+
+	@Test
+	void scheduleReEncryption_SchedulingFails() {
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class)))
+				.thenThrow(new TaskRejectedException("shutting down"));
+
+		assertThrows(TaskRejectedException.class, () -> service.scheduleReEncryption(LEGACY_KEY));
+
+		reset(taskScheduler);
+		assertTrue(service.scheduleReEncryption(LEGACY_KEY));
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.repository.application.DeploymentRepository;
+
+@ExtendWith(SpringExtension.class)
+public class DeploymentDateBackfillServiceImplTest {
+
+	@Mock
+	private DeploymentRepository deploymentRepository;
+
+	@Mock
+	private TaskScheduler taskScheduler;
+
+	@InjectMocks
+	private DeploymentDateBackfillServiceImpl backfillService;
+
+	@Test
+	public void testBackfillRunsUntilNothingIsLeft() {
+		when(deploymentRepository.backfillEpochFields(anyInt())).thenReturn(500, 20, 0);
+
+		assertEquals(520, backfillService.backfill());
+	}
+
+	@Test
+	public void testStartBackfillRunsOnce() {
+		assertTrue(backfillService.startBackfill());
+		assertFalse(backfillService.startBackfill());
+	}
+
+	@Test
+	public void testStartBackfillResetsWhenSchedulingFails() {
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class)))
+				.thenThrow(new TaskRejectedException("shutting down"));
+
+		assertThrows(TaskRejectedException.class, () -> backfillService.startBackfill());
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenReturn(null);
+		assertTrue(backfillService.startBackfill());
+	}
+}
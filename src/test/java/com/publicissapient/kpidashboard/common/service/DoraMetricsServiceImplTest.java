@@ -0,0 +1,226 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.constant.BuildStatus;
+import com.publicissapient.kpidashboard.common.constant.DeploymentStatus;
+import com.publicissapient.kpidashboard.common.model.application.Build;
+import com.publicissapient.kpidashboard.common.model.application.Deployment;
+import com.publicissapient.kpidashboard.common.model.application.DoraWeeklyMetric;
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.jira.JiraHistoryChangeLog;
+import com.publicissapient.kpidashboard.common.model.jira.JiraIssue;
+import com.publicissapient.kpidashboard.common.model.jira.JiraIssueCustomHistory;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.repository.application.BuildRepository;
+import com.publicissapient.kpidashboard.common.repository.application.DeploymentRepository;
+import com.publicissapient.kpidashboard.common.repository.application.DoraWeeklyMetricRepository;
+import com.publicissapient.kpidashboard.common.repository.jira.JiraIssueCustomHistoryRepository;
+import com.publicissapient.kpidashboard.common.repository.jira.JiraIssueRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestsRepository;
+import com.publicissapient.kpidashboard.common.util.CompiledFieldMappingFilters;
+
+@ExtendWith(SpringExtension.class)
+public class DoraMetricsServiceImplTest {
+
+	private static final ObjectId PROJECT_ID = new ObjectId();
+	private static final ObjectId PROCESSOR_ITEM_ID = new ObjectId();
+	private static final LocalDate MONDAY = LocalDate.of(2024, 2, 5);
+	private static final long HOUR = 3_600_000L;
+
+	@Mock
+	private DoraWeeklyMetricRepository metricRepository;
+	@Mock
+	private BuildRepository buildRepository;
+	@Mock
+	private DeploymentRepository deploymentRepository;
+	@Mock
+	private ScmMergeRequestsRepository mergeRequestsRepository;
+	@Mock
+	private JiraIssueRepository jiraIssueRepository;
+	@Mock
+	private JiraIssueCustomHistoryRepository jiraIssueCustomHistoryRepository;
+	@Mock
+	private FieldMappingService fieldMappingService;
+
+	@InjectMocks
+	private DoraMetricsServiceImpl doraMetricsService;
+
+	@BeforeEach
+	void setUp() {
+		when(metricRepository.findProjectProcessorItemIds(PROJECT_ID)).thenReturn(List.of(PROCESSOR_ITEM_ID));
+		when(fieldMappingService.getFilters(PROJECT_ID)).thenReturn(CompiledFieldMappingFilters.of(null, 0L));
+	}
+
+	private static Build build(BuildStatus status) {
+		Build build = new Build();
+		build.setBasicProjectConfigId(PROJECT_ID);
+		build.setBuildStatus(status);
+		return build;
+	}
+
+	private static Deployment deployment(DeploymentStatus status, String startTime, String endTime,
+			List<String> changeSets) {
+		Deployment deployment = new Deployment();
+		deployment.setBasicProjectConfigId(PROJECT_ID);
+		deployment.setDeploymentStatus(status);
+		deployment.setStartTime(startTime);
+		deployment.setEndTime(endTime);
+		deployment.setChangeSets(changeSets);
+		return deployment;
+	}
+
+	@Test
+	void testRecomputeWeek() {
+		when(buildRepository.findBuildTimingList(anyMap(), eq(Set.of(PROJECT_ID)), anyString(), anyString()))
+				.thenReturn(List.of(build(BuildStatus.SUCCESS), build(BuildStatus.SUCCESS), build(BuildStatus.SUCCESS),
+						build(BuildStatus.FAILURE)));
+		when(deploymentRepository.findDeploymentListByEpoch(anyMap(), eq(Set.of(PROJECT_ID)), anyLong(), anyLong()))
+				.thenReturn(List.of(deployment(DeploymentStatus.SUCCESS, "2024-02-07T10:00:00Z", "2024-02-07T12:00:00Z",
+						List.of("sha1")), deployment(DeploymentStatus.FAILURE, "2024-02-08T10:00:00Z", "2024-02-08T11:00:00Z",
+								List.of())));
+		ScmMergeRequests mergeRequest = ScmMergeRequests.builder().processorItemId(PROCESSOR_ITEM_ID)
+				.mergeCommitSha("sha1").firstCommitDate(LocalDateTime.of(2024, 2, 5, 12, 0)).build();
+		when(mergeRequestsRepository.findByCommitShasWithoutUsers(any(), eq(Set.of("sha1"))))
+				.thenReturn(List.of(mergeRequest));
+
+		JiraIssue incident = new JiraIssue();
+		incident.setNumber("INC-1");
+		incident.setCreatedDate("2024-02-06T10:00:00.0000000");
+		when(jiraIssueRepository.findProductionIncidents(PROJECT_ID.toString(), "2024-02-05T00:00:00",
+				"2024-02-12T00:00:00")).thenReturn(List.of(incident));
+		FieldMapping fieldMapping = new FieldMapping();
+		fieldMapping.setJiraDodKPI166(List.of("Closed"));
+		when(fieldMappingService.getFilters(PROJECT_ID)).thenReturn(CompiledFieldMappingFilters.of(fieldMapping, 1L));
+		JiraIssueCustomHistory history = new JiraIssueCustomHistory();
+		history.setStoryID("INC-1");
+		JiraHistoryChangeLog inProgress = new JiraHistoryChangeLog();
+		inProgress.setChangedTo("In Progress");
+		inProgress.setUpdatedOn(LocalDateTime.of(2024, 2, 6, 11, 0));
+		JiraHistoryChangeLog closed = new JiraHistoryChangeLog();
+		closed.setChangedTo("CLOSED");
+		closed.setUpdatedOn(LocalDateTime.of(2024, 2, 6, 14, 0));
+		history.setStatusUpdationLog(List.of(inProgress, closed));
+		when(jiraIssueCustomHistoryRepository.findByStoryIDInAndBasicProjectConfigId(Set.of("INC-1"),
+				PROJECT_ID.toString())).thenReturn(List.of(history));
+
+		DoraWeeklyMetric old = DoraWeeklyMetric.builder().basicProjectConfigId(PROJECT_ID).week("2024-02-05").build();
+		old.setId(new ObjectId());
+		when(metricRepository.findByBasicProjectConfigIdAndWeekIn(PROJECT_ID, Set.of("2024-02-05")))
+				.thenReturn(List.of(old));
+
+		List<DoraWeeklyMetric> metrics = doraMetricsService.recompute(PROJECT_ID, List.of(MONDAY.plusDays(3)));
+
+		assertEquals(1, metrics.size());
+		DoraWeeklyMetric metric = metrics.get(0);
+		assertEquals(old.getId(), metric.getId());
+		assertEquals("2024-02-05", metric.getWeek());
+		assertEquals(4, metric.getBuildCount());
+		assertEquals(1, metric.getFailedBuildCount());
+		assertEquals(2, metric.getDeploymentCount());
+		assertEquals(0.5, metric.getChangeFailureRate());
+		assertEquals(48 * HOUR, metric.getLeadTime().getP50());
+		assertEquals(1, metric.getIncidentCount());
+		assertEquals(1, metric.getRestoredIncidentCount());
+		assertEquals(4 * HOUR, metric.getTimeToRestore().getP50());
+		verify(mergeRequestsRepository, never()).findMergedListWithoutUsers(any(), any(), any());
+		verify(metricRepository).saveAll(metrics);
+	}
+
+	@Test
+	void testLeadTimeFallsBackToMergeTime() {
+		ScmMergeRequests merged = ScmMergeRequests.builder().processorItemId(PROCESSOR_ITEM_ID)
+				.createdDate(LocalDateTime.of(2024, 2, 5, 8, 0).toInstant(ZoneOffset.UTC).toEpochMilli())
+				.mergedAt(LocalDateTime.of(2024, 2, 5, 11, 0)).build();
+		when(mergeRequestsRepository.findMergedListWithoutUsers(eq(LocalDateTime.of(2024, 2, 5, 0, 0)), any(), any()))
+				.thenReturn(List.of(merged));
+
+		DoraWeeklyMetric metric = doraMetricsService.recompute(PROJECT_ID, List.of(MONDAY)).get(0);
+
+		assertEquals(3 * HOUR, metric.getLeadTime().getP50());
+		assertNull(metric.getChangeFailureRate());
+		assertNull(metric.getTimeToRestore());
+	}
+
+	@Test
+	void testOnBuildsRecomputesTouchedWeeksOnly() {
+		Build first = build(BuildStatus.SUCCESS);
+		first.setStartTime(LocalDateTime.of(2024, 2, 6, 10, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+		Build sameWeek = build(BuildStatus.FAILURE);
+		sameWeek.setStartTime(LocalDateTime.of(2024, 2, 9, 10, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+		Build earlier = build(BuildStatus.SUCCESS);
+		earlier.setStartTime(LocalDateTime.of(2024, 1, 30, 10, 0).toInstant(ZoneOffset.UTC).toEpochMilli());
+
+		List<DoraWeeklyMetric> metrics = doraMetricsService.onBuilds(List.of(first, sameWeek, earlier));
+
+		assertEquals(List.of("2024-01-29", "2024-02-05"), metrics.stream().map(DoraWeeklyMetric::getWeek).toList());
+	}
+
+	@Test
+	void testOnIncidentsIgnoresOtherIssues() {
+		JiraIssue defect = new JiraIssue();
+		defect.setBasicProjectConfigId(PROJECT_ID.toString());
+		defect.setCreatedDate("2024-02-06T10:00:00.0000000");
+
+		assertTrue(doraMetricsService.onIncidents(List.of(defect)).isEmpty());
+		verifyNoInteractions(jiraIssueRepository);
+		verify(metricRepository, never()).saveAll(anyCollection());
+	}
+
+	@Test
+	void testOnMergeRequestsIncludesDeploymentWeeks() {
+		Deployment later = deployment(DeploymentStatus.SUCCESS, "2024-02-14T10:00:00Z", "2024-02-14T11:00:00Z",
+				List.of("sha9"));
+		when(deploymentRepository.findByBasicProjectConfigIdAndChangeSetsIn(eq(PROJECT_ID), anySet()))
+				.thenReturn(List.of(later));
+		ScmMergeRequests mergeRequest = ScmMergeRequests.builder().processorItemId(PROCESSOR_ITEM_ID)
+				.mergeCommitSha("sha9").mergedAt(LocalDateTime.of(2024, 2, 6, 10, 0)).build();
+
+		List<DoraWeeklyMetric> metrics = doraMetricsService.onMergeRequests(PROJECT_ID, List.of(mergeRequest));
+
+		assertEquals(List.of("2024-02-05", "2024-02-12"), metrics.stream().map(DoraWeeklyMetric::getWeek).toList());
+	}
+}
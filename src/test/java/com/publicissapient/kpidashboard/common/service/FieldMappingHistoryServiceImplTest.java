@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.application.ConfigurationHistoryChangeLog;
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingChangeLog;
+import com.publicissapient.kpidashboard.common.repository.application.FieldMappingChangeLogRepository;
+
+@ExtendWith(SpringExtension.class)
+public class FieldMappingHistoryServiceImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+	private static final LocalDateTime AT = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+	@Mock
+	private FieldMappingChangeLogRepository changeLogRepository;
+
+	@Mock
+	private FieldMappingService fieldMappingService;
+
+	@InjectMocks
+	private FieldMappingHistoryServiceImpl historyService;
+
+	private static ConfigurationHistoryChangeLog change(Object from, Object to, String updatedOn, String node) {
+		ConfigurationHistoryChangeLog change = new ConfigurationHistoryChangeLog(from, to, "admin", updatedOn);
+		change.setReleaseNodeId(node);
+		return change;
+	}
+
+	private static FieldMappingChangeLog changeLog(String field, String node, Object from, Object to,
+			LocalDateTime changedAt) {
+		return FieldMappingChangeLog.builder().basicProjectConfigId(PROJECT).fieldName(field).releaseNodeId(node)
+				.changedFrom(from).changedTo(to).changedAt(changedAt).build();
+	}
+
+	@Test
+	public void testRecordChange() {
+		when(changeLogRepository.insert(any(FieldMappingChangeLog.class))).thenAnswer(i -> i.getArgument(0));
+
+		FieldMappingChangeLog recorded = historyService.recordChange(PROJECT, "sprintName",
+				change("cf_1", "cf_2", "2024-02-01T10:15:30.123", ""));
+
+		assertEquals("sprintName", recorded.getFieldName());
+		assertNull(recorded.getReleaseNodeId());
+		assertEquals(LocalDateTime.of(2024, 2, 1, 10, 15, 30, 123_000_000), recorded.getChangedAt());
+		assertEquals("2024-02-01T10:15:30.123", recorded.toHistoryChangeLog().getUpdatedOn());
+		assertNull(historyService.recordChange(PROJECT, "sprintName", change("cf_1", "cf_2", "yesterday", null)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testImportHistory() {
+		FieldMapping fieldMapping = new FieldMapping();
+		fieldMapping.setBasicProjectConfigId(PROJECT);
+		fieldMapping.setHistorysprintName(List.of(change("", "cf_1", "2024-01-01T00:00", null),
+				change("cf_1", "cf_2", "2024-02-01T00:00", null)));
+		fieldMapping.setHistorystartDateCountKPI150(List.of(change(0, 5, "2024-01-15T00:00", "r1")));
+
+		assertEquals(3, historyService.importHistory(fieldMapping));
+		ArgumentCaptor<List<FieldMappingChangeLog>> inserted = ArgumentCaptor.forClass(List.class);
+		verify(changeLogRepository).insert(inserted.capture());
+		assertEquals(List.of("sprintName", "sprintName", "startDateCountKPI150"),
+				inserted.getValue().stream().map(FieldMappingChangeLog::getFieldName).sorted().toList());
+
+		when(changeLogRepository.existsByBasicProjectConfigId(PROJECT)).thenReturn(true);
+		assertEquals(0, historyService.importHistory(fieldMapping));
+	}
+
+	@Test
+	public void testGetFieldHistory() {
+		when(changeLogRepository.findByBasicProjectConfigIdAndFieldNameAndReleaseNodeIdOrderByChangedAtAsc(PROJECT,
+				"startDateCountKPI150", "r1"))
+				.thenReturn(List.of(changeLog("startDateCountKPI150", "r1", 0, 5, AT)));
+
+		List<ConfigurationHistoryChangeLog> history = historyService.getFieldHistory(PROJECT, "startDateCountKPI150",
+				"r1");
+
+		assertEquals(1, history.size());
+		assertEquals(5, history.get(0).getChangedTo());
+		assertEquals("r1", history.get(0).getReleaseNodeId());
+		verify(changeLogRepository, never()).findByBasicProjectConfigIdAndFieldNameOrderByChangedAtAsc(any(), any());
+	}
+
+	@Test
+	public void testGetFieldMappingAt() {
+		FieldMapping current = new FieldMapping();
+		current.setBasicProjectConfigId(PROJECT);
+		current.setSprintName("cf_2");
+		current.setJiradefecttype(List.of("Bug", "Defect"));
+		current.setJiraIssueTypeNames(new String[]{"Story"});
+		current.setStartDateCountKPI150(new HashMap<>(Map.of("r1", 5, "r2", 3, "r3", 1)));
+		when(fieldMappingService.getFieldMapping(PROJECT)).thenReturn(current);
+		when(changeLogRepository.findFirstChangesAfter(PROJECT, AT)).thenReturn(List.of(
+				changeLog("sprintName", null, "cf_1", "cf_2", AT.plusDays(1)),
+				changeLog("jiradefecttype", null, "[Bug]", List.of("Bug", "Defect"), AT.plusDays(2)),
+				changeLog("startDateCountKPI150", "r1", 2, 5, AT.plusDays(3)),
+				changeLog("startDateCountKPI150", "r3", null, 1, AT.plusDays(3))));
+		when(changeLogRepository.findLastChangesAtOrBefore(PROJECT, AT)).thenReturn(List.of(
+				changeLog("jiradefecttype", null, null, List.of("Bug"), AT.minusDays(5)),
+				changeLog("jiraIssueTypeNames", null, null, List.of("Story"), AT.minusDays(5))));
+
+		FieldMapping effective = historyService.getFieldMappingAt(PROJECT, AT);
+
+		assertEquals("cf_1", effective.getSprintName());
+		assertEquals(List.of("Bug"), effective.getJiradefecttype());
+		assertArrayEquals(new String[]{"Story"}, effective.getJiraIssueTypeNames());
+		assertEquals(Map.of("r1", 2, "r2", 3), effective.getStartDateCountKPI150());
+		assertEquals("cf_2", current.getSprintName());
+		assertEquals(Map.of("r1", 5, "r2", 3, "r3", 1), current.getStartDateCountKPI150());
+	}
+
+	@Test
+	public void testGetFieldMappingAtWithoutLaterChanges() {
+		FieldMapping current = new FieldMapping();
+		current.setSprintName("cf_2");
+		when(fieldMappingService.getFieldMapping(PROJECT)).thenReturn(current);
+		when(changeLogRepository.findFirstChangesAfter(PROJECT, AT)).thenReturn(List.of());
+
+		assertEquals("cf_2", historyService.getFieldMappingAt(PROJECT, AT).getSprintName());
+		verify(changeLogRepository, never()).findLastChangesAtOrBefore(any(), any());
+		assertNull(historyService.getFieldMappingAt(new ObjectId(), AT));
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingVersion;
+import com.publicissapient.kpidashboard.common.repository.application.FieldMappingRepository;
+import com.publicissapient.kpidashboard.common.repository.application.FieldMappingVersionRepository;
+import com.publicissapient.kpidashboard.common.util.CompiledFieldMappingFilters;
+
+@ExtendWith(SpringExtension.class)
+public class FieldMappingServiceImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+	private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+	@Mock
+	private FieldMappingRepository fieldMappingRepository;
+
+	@Mock
+	private FieldMappingVersionRepository fieldMappingVersionRepository;
+
+	@InjectMocks
+	private FieldMappingServiceImpl fieldMappingService;
+
+	@BeforeEach
+	public void setUp() {
+		at(NOW);
+	}
+
+	private void at(Instant instant) {
+		ReflectionTestUtils.setField(fieldMappingService, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+	}
+
+	private static FieldMapping fieldMapping() {
+		FieldMapping fieldMapping = new FieldMapping();
+		fieldMapping.setBasicProjectConfigId(PROJECT);
+		return fieldMapping;
+	}
+
+	private static FieldMappingVersion version(long value) {
+		FieldMappingVersion version = new FieldMappingVersion();
+		version.setBasicProjectConfigId(PROJECT);
+		version.setVersion(value);
+		return version;
+	}
+
+	@Test
+	public void testFieldMappingLoadedOnce() {
+		FieldMapping fieldMapping = fieldMapping();
+		when(fieldMappingRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(fieldMapping);
+		when(fieldMappingVersionRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(version(3));
+
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		assertEquals(3, fieldMappingService.getFieldMappingVersion(PROJECT));
+		verify(fieldMappingRepository, times(1)).findByBasicProjectConfigId(PROJECT);
+	}
+
+	@Test
+	public void testFiltersFollowFieldMappingVersion() {
+		FieldMapping fieldMapping = fieldMapping();
+		fieldMapping.setJiraDodKPI166(List.of("Closed"));
+		FieldMapping updated = fieldMapping();
+		updated.setJiraDodKPI166(List.of("Done"));
+		when(fieldMappingRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(fieldMapping, updated);
+		when(fieldMappingVersionRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(version(1), version(2));
+
+		CompiledFieldMappingFilters filters = fieldMappingService.getFilters(PROJECT);
+		assertSame(filters, fieldMappingService.getFilters(PROJECT));
+		assertEquals(Set.of("closed"), filters.getLowerCaseValues("jiraDodKPI166"));
+
+		fieldMappingService.invalidate(PROJECT);
+		CompiledFieldMappingFilters reloaded = fieldMappingService.getFilters(PROJECT);
+		assertEquals(2, reloaded.getVersion());
+		assertEquals(Set.of("done"), reloaded.getLowerCaseValues("jiraDodKPI166"));
+	}
+
+	@Test
+	public void testMissingFieldMappingCached() {
+		assertNull(fieldMappingService.getFieldMapping(PROJECT));
+		assertNull(fieldMappingService.getFieldMapping(PROJECT));
+		assertEquals(0, fieldMappingService.getFieldMappingVersion(PROJECT));
+		assertNull(fieldMappingService.getFieldMapping(null));
+		verify(fieldMappingRepository, times(1)).findByBasicProjectConfigId(PROJECT);
+	}
+
+	@Test
+	public void testSaveInvalidates() {
+		FieldMapping fieldMapping = fieldMapping();
+		FieldMapping updated = fieldMapping();
+		when(fieldMappingRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(fieldMapping, updated);
+		when(fieldMappingRepository.save(updated)).thenReturn(updated);
+
+		fieldMappingService.getFieldMapping(PROJECT);
+		fieldMappingService.saveFieldMapping(updated);
+
+		assertSame(updated, fieldMappingService.getFieldMapping(PROJECT));
+		verify(fieldMappingVersionRepository).incrementVersion(PROJECT);
+		verify(fieldMappingRepository, times(2)).findByBasicProjectConfigId(PROJECT);
+	}
+
+	@Test
+	public void testVersionStampPolled() {
+		FieldMapping fieldMapping = fieldMapping();
+		FieldMapping updated = fieldMapping();
+		when(fieldMappingRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(fieldMapping, updated);
+		when(fieldMappingVersionRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(version(1), version(1),
+				version(2));
+
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		at(NOW.plusSeconds(10));
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		at(NOW.plusSeconds(31));
+		// stored version unchanged
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		at(NOW.plusSeconds(45));
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		at(NOW.plusSeconds(62));
+		// another node saved the field mapping
+		assertSame(updated, fieldMappingService.getFieldMapping(PROJECT));
+		assertEquals(2, fieldMappingService.getFieldMappingVersion(PROJECT));
+		verify(fieldMappingRepository, times(2)).findByBasicProjectConfigId(PROJECT);
+	}
+
+	@Test
+	public void testVersionCheckDisabled() {
+		ReflectionTestUtils.setField(fieldMappingService, "versionCheckSeconds", 0L);
+		FieldMapping fieldMapping = fieldMapping();
+		when(fieldMappingRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(fieldMapping);
+
+		fieldMappingService.getFieldMapping(PROJECT);
+		at(NOW.plusSeconds(600));
+		assertSame(fieldMapping, fieldMappingService.getFieldMapping(PROJECT));
+		verify(fieldMappingVersionRepository, times(1)).findByBasicProjectConfigId(PROJECT);
+
+		fieldMappingService.invalidate(PROJECT);
+		fieldMappingService.getFieldMapping(PROJECT);
+		fieldMappingService.invalidateAll();
+		fieldMappingService.getFieldMapping(PROJECT);
+		verify(fieldMappingRepository, times(3)).findByBasicProjectConfigId(PROJECT);
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.jira.HappinessKpiData;
+import com.publicissapient.kpidashboard.common.model.jira.HappinessSummary;
+import com.publicissapient.kpidashboard.common.repository.jira.HappinessKpiDataRepository;
+import com.publicissapient.kpidashboard.common.repository.jira.HappinessSummaryRepository;
+
+@ExtendWith(SpringExtension.class)
+public class HappinessSummaryServiceImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+
+	@Mock
+	private HappinessKpiDataRepository happinessKpiDataRepository;
+
+	@Mock
+	private HappinessSummaryRepository happinessSummaryRepository;
+
+	@InjectMocks
+	private HappinessSummaryServiceImpl happinessSummaryService;
+
+	private static HappinessSummary summary(String sprintID, long count, long sum) {
+		return HappinessSummary.builder().basicProjectConfigId(PROJECT).sprintID(sprintID).ratingCount(count)
+				.ratingSum(sum).build();
+	}
+
+	@Test
+	void testOnHappinessSavedUpsertsBySprint() {
+		HappinessSummary stored = summary("sprint1", 2, 7);
+		stored.setId(new ObjectId());
+		when(happinessKpiDataRepository.findSprintSummaries(List.of("sprint1")))
+				.thenReturn(List.of(summary("sprint1", 2, 7)));
+		when(happinessSummaryRepository.upsertSummary(any(HappinessSummary.class))).thenReturn(stored);
+
+		HappinessSummary refreshed = happinessSummaryService
+				.onHappinessSaved(HappinessKpiData.builder().basicProjectConfigId(PROJECT).sprintID("sprint1").build());
+
+		assertEquals(stored.getId(), refreshed.getId());
+		assertEquals(3.5D, refreshed.getAverageRating());
+		verify(happinessSummaryRepository, never()).save(any(HappinessSummary.class));
+	}
+
+	@Test
+	void testOnHappinessSavedRemovesEmptySummary() {
+		when(happinessKpiDataRepository.findSprintSummaries(List.of("sprint1"))).thenReturn(List.of());
+
+		assertNull(happinessSummaryService
+				.onHappinessSaved(HappinessKpiData.builder().basicProjectConfigId(PROJECT).sprintID("sprint1").build()));
+		verify(happinessSummaryRepository).deleteByBasicProjectConfigIdAndSprintID(PROJECT, "sprint1");
+	}
+
+	@Test
+	void testGetSummariesAggregatesMissingSprints() {
+		HappinessSummary stored = summary("sprint1", 1, 5);
+		HappinessSummary aggregated = summary("sprint2", 2, 6);
+		when(happinessSummaryRepository.findBySprintIDIn(List.of("sprint1", "sprint2", "sprint3")))
+				.thenReturn(List.of(stored));
+		when(happinessKpiDataRepository.findSprintSummaries(List.of("sprint2", "sprint3")))
+				.thenReturn(List.of(aggregated));
+
+		assertEquals(List.of(stored, aggregated),
+				happinessSummaryService.getSummaries(List.of("sprint1", "sprint2", "sprint3")));
+		verify(happinessSummaryRepository).upsertSummaries(List.of(aggregated));
+		verify(happinessSummaryRepository, never()).saveAll(anyList());
+	}
+}
@@ -19,8 +19,15 @@
 package com.publicissapient.kpidashboard.common.service;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -32,21 +39,29 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.publicissapient.kpidashboard.common.data.HierachyLevelFactory;
 import com.publicissapient.kpidashboard.common.model.application.AdditionalFilterCategory;
 import com.publicissapient.kpidashboard.common.model.application.HierarchyLevel;
+import com.publicissapient.kpidashboard.common.model.application.HierarchyVersion;
 import com.publicissapient.kpidashboard.common.repository.application.HierarchyLevelRepository;
+import com.publicissapient.kpidashboard.common.repository.application.HierarchyVersionRepository;
 
 @ExtendWith(SpringExtension.class)
 public class HierarchyLevelServiceImplTest {
 
+	private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
 	@Mock
 	private HierarchyLevelRepository hierarchyLevelRepository;
 
 	@Mock
 	private AdditionalFilterCategoryService filterCategoryLevelService;
 
+	@Mock
+	private HierarchyVersionRepository hierarchyVersionRepository;
+
 	@InjectMocks
 	private HierarchyLevelServiceImpl hierarchyLevelService;
 
@@ -184,4 +199,85 @@ public class HierarchyLevelServiceImplTest {
 
 		assertNotNull(result);
 	}
+
+	@Test
+	public void testHierarchyLevelsAreReadOnceUntilInvalidated() {
+		when(hierarchyLevelRepository.findAllByOrderByLevel()).thenReturn(mockHierarchyLevels);
+		when(filterCategoryLevelService.getAdditionalFilterCategories()).thenReturn(mockCategories);
+		// built by hand: the injected instance keeps the mocks created before setUp re-opens them
+		HierarchyLevelServiceImpl hierarchyLevelService = newService(0);
+
+		List<HierarchyLevel> scrum = hierarchyLevelService.getFullHierarchyLevels(false);
+		List<HierarchyLevel> kanban = hierarchyLevelService.getFullHierarchyLevels(true);
+		HierarchyLevel project = hierarchyLevelService.getProjectHierarchyLevel();
+		HierarchyLevel sprint = hierarchyLevelService.getSprintHierarchyLevel();
+		long version = hierarchyLevelService.getHierarchyLevelVersion();
+
+		assertEquals(mockHierarchyLevels.size() + 5, scrum.size());
+		assertEquals(mockHierarchyLevels.size() + 4, kanban.size());
+		assertEquals(project.getLevel() + 1, sprint.getLevel());
+		assertEquals(sprint.getLevel() + 1, scrum.get(scrum.size() - 1).getLevel());
+		verify(hierarchyLevelRepository, times(1)).findAllByOrderByLevel();
+		verify(filterCategoryLevelService, times(1)).getAdditionalFilterCategories();
+
+		// returned levels are copies of the snapshot
+		project.setLevel(99);
+		assertNotEquals(99, hierarchyLevelService.getProjectHierarchyLevel().getLevel());
+
+		hierarchyLevelService.invalidateHierarchyLevels();
+		hierarchyLevelService.getTopHierarchyLevels();
+		assertNotEquals(version, hierarchyLevelService.getHierarchyLevelVersion());
+		verify(hierarchyLevelRepository, times(2)).findAllByOrderByLevel();
+		verify(hierarchyVersionRepository).incrementVersion(HierarchyVersion.HIERARCHY_LEVELS);
+	}
+
+	@Test
+	public void testHierarchyLevelsAreReloadedWhenStoredVersionMoves() {
+		when(hierarchyLevelRepository.findAllByOrderByLevel()).thenReturn(mockHierarchyLevels);
+		when(hierarchyVersionRepository.findByName(HierarchyVersion.HIERARCHY_LEVELS)).thenReturn(version(1));
+		HierarchyLevelServiceImpl hierarchyLevelService = newService(0);
+		long version = hierarchyLevelService.getHierarchyLevelVersion();
+
+		// saved by another process, noticed once the check interval has passed
+		when(hierarchyVersionRepository.findByName(HierarchyVersion.HIERARCHY_LEVELS)).thenReturn(version(2));
+		assertEquals(version, hierarchyLevelService.getHierarchyLevelVersion());
+		secondsLater(hierarchyLevelService, 31);
+		long reloaded = hierarchyLevelService.getHierarchyLevelVersion();
+
+		assertNotEquals(version, reloaded);
+		secondsLater(hierarchyLevelService, 62);
+		assertEquals(reloaded, hierarchyLevelService.getHierarchyLevelVersion());
+		verify(hierarchyLevelRepository, times(2)).findAllByOrderByLevel();
+	}
+
+	@Test
+	public void testHierarchyLevelsExpire() {
+		when(hierarchyLevelRepository.findAllByOrderByLevel()).thenReturn(mockHierarchyLevels);
+		HierarchyLevelServiceImpl hierarchyLevelService = newService(0);
+		ReflectionTestUtils.setField(hierarchyLevelService, "versionCheckSeconds", 0L);
+		long version = hierarchyLevelService.getHierarchyLevelVersion();
+
+		secondsLater(hierarchyLevelService, 29 * 60L);
+		assertEquals(version, hierarchyLevelService.getHierarchyLevelVersion());
+		secondsLater(hierarchyLevelService, 30 * 60L);
+		assertNotEquals(version, hierarchyLevelService.getHierarchyLevelVersion());
+	}
+
+	private HierarchyLevelServiceImpl newService(long seconds) {
+		HierarchyLevelServiceImpl hierarchyLevelService = new HierarchyLevelServiceImpl(hierarchyLevelRepository,
+				filterCategoryLevelService, hierarchyVersionRepository);
+		secondsLater(hierarchyLevelService, seconds);
+		return hierarchyLevelService;
+	}
+
+	private static void secondsLater(HierarchyLevelServiceImpl hierarchyLevelService, long seconds) {
+		ReflectionTestUtils.setField(hierarchyLevelService, "clock",
+				Clock.fixed(START.plusSeconds(seconds), ZoneOffset.UTC));
+	}
+
+	private static HierarchyVersion version(long value) {
+		HierarchyVersion version = new HierarchyVersion();
+		version.setVersion(value);
+		return version;
+	}
 }
@@ -50,100 +50,153 @@ class HierarchyLevelSuggestionsServiceImplTest {
 	@Test
 	void testAddIfNotPresentNewHierarchyLevel() {
 		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(null);
-		when(hierarchyLevelSuggestionRepository.save(any(HierarchyLevelSuggestion.class)))
-				.thenReturn(suggestion);
+		when(hierarchyLevelSuggestionRepository.addValue("level1", "newValue", "newvalue")).thenReturn(true);
 
-		HierarchyLevelSuggestion result =
-				hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
 
-		assertNotNull(result);
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository).save(any(HierarchyLevelSuggestion.class));
+		assertEquals("level1", result.getHierarchyLevelId());
+		assertEquals(new TreeSet<>(List.of("newValue")), result.getValues());
+		assertEquals(new TreeSet<>(List.of("newvalue")), result.getNormalizedValues());
+		verify(hierarchyLevelSuggestionRepository).addValue("level1", "newValue", "newvalue");
+		verify(hierarchyLevelSuggestionRepository, never()).save(any());
 	}
 
 	@Test
 	void testAddIfNotPresentExistingHierarchyLevelNewValue() {
-		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1"))
-				.thenReturn(suggestion);
-		when(hierarchyLevelSuggestionRepository.save(suggestion)).thenReturn(suggestion);
+		suggestion.setNormalizedValues(new TreeSet<>(List.of("value1")));
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
+		when(hierarchyLevelSuggestionRepository.addValue("level1", "newValue", "newvalue")).thenReturn(true);
 
-		HierarchyLevelSuggestion result =
-				hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
 
-		assertNotNull(result);
 		assertTrue(result.getValues().contains("newValue"));
 		assertTrue(result.getValues().contains("value1"));
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository).save(suggestion);
+		verify(hierarchyLevelSuggestionRepository).addValue("level1", "newValue", "newvalue");
+		verify(hierarchyLevelSuggestionRepository, never()).addFoldedValues(anyString(), anyCollection());
 	}
 
 	@Test
 	void testAddIfNotPresentExistingHierarchyLevelDuplicateValue() {
-		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1"))
-				.thenReturn(suggestion);
-		when(hierarchyLevelSuggestionRepository.save(suggestion)).thenReturn(suggestion);
+		suggestion.setNormalizedValues(new TreeSet<>(List.of("value1")));
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
 
-		HierarchyLevelSuggestion result =
-				hierarchyLevelSuggestionsService.addIfNotPresent("level1", "value1");
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "value1");
 
-		assertNotNull(result);
 		assertEquals(1, result.getValues().size());
 		assertTrue(result.getValues().contains("value1"));
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository).save(suggestion);
+		verify(hierarchyLevelSuggestionRepository, never()).addValue(anyString(), anyString(), anyString());
 	}
 
 	@Test
 	void testAddIfNotPresentExistingHierarchyLevelCaseInsensitive() {
-		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1"))
-				.thenReturn(suggestion);
-		when(hierarchyLevelSuggestionRepository.save(suggestion)).thenReturn(suggestion);
+		suggestion.setNormalizedValues(new TreeSet<>(List.of("value1")));
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
 
-		HierarchyLevelSuggestion result =
-				hierarchyLevelSuggestionsService.addIfNotPresent("level1", "VALUE1");
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "VALUE1");
 
-		assertNotNull(result);
 		assertEquals(1, result.getValues().size());
 		assertTrue(result.getValues().contains("value1"));
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository).save(suggestion);
+		verify(hierarchyLevelSuggestionRepository, never()).addValue(anyString(), anyString(), anyString());
 	}
 
 	@Test
 	void testAddIfNotPresentWithWhitespace() {
 		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(null);
-		when(hierarchyLevelSuggestionRepository.save(any(HierarchyLevelSuggestion.class)))
-				.thenReturn(suggestion);
+		when(hierarchyLevelSuggestionRepository.addValue("level1", "spaced value", "spaced value")).thenReturn(true);
 
-		HierarchyLevelSuggestion result =
-				hierarchyLevelSuggestionsService.addIfNotPresent("level1", "  spaced value  ");
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1",
+				"  spaced   value  ");
 
-		assertNotNull(result);
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository).save(any(HierarchyLevelSuggestion.class));
+		assertTrue(result.getValues().contains("spaced value"));
+		verify(hierarchyLevelSuggestionRepository).addValue("level1", "spaced value", "spaced value");
 	}
 
 	@Test
-	void testAddIfNotPresentExistingHierarchyLevelEmptyValues() {
-		suggestion.setValues(new TreeSet<>());
+	void testAddIfNotPresentBlankValue() {
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(null);
+
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "   ");
+
+		assertTrue(result.getValues().isEmpty());
+		verify(hierarchyLevelSuggestionRepository, never()).addValue(anyString(), anyString(), anyString());
+	}
+
+	@Test
+	void testAddIfNotPresentLoadsLevelOnce() {
+		suggestion.setNormalizedValues(new TreeSet<>(List.of("value1")));
 		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
+		when(hierarchyLevelSuggestionRepository.addValue("level1", "newValue", "newvalue")).thenReturn(true);
 
-		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
+		hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "NEWVALUE");
 
-		assertNull(result);
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository, never()).save(any());
+		assertEquals(2, result.getValues().size());
+		verify(hierarchyLevelSuggestionRepository, times(1)).findByHierarchyLevelId("level1");
+		verify(hierarchyLevelSuggestionRepository, times(1)).addValue("level1", "newValue", "newvalue");
+	}
+
+	@Test
+	void testAddIfNotPresentBackfillsFoldedValues() {
+		suggestion.setValues(new TreeSet<>(List.of("Value1")));
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
+
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "value1");
+
+		assertEquals(new TreeSet<>(List.of("Value1")), result.getValues());
+		verify(hierarchyLevelSuggestionRepository).addFoldedValues(eq("level1"), argThat(v -> v.contains("value1")));
+		verify(hierarchyLevelSuggestionRepository, never()).addValue(anyString(), anyString(), anyString());
 	}
 
 	@Test
 	void testAddIfNotPresentExistingHierarchyLevelNullValues() {
 		suggestion.setValues(null);
 		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
+		when(hierarchyLevelSuggestionRepository.addValue("level1", "newValue", "newvalue")).thenReturn(true);
 
 		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
 
-		assertNull(result);
-		verify(hierarchyLevelSuggestionRepository).findByHierarchyLevelId("level1");
-		verify(hierarchyLevelSuggestionRepository, never()).save(any());
+		assertEquals(new TreeSet<>(List.of("newValue")), result.getValues());
+		verify(hierarchyLevelSuggestionRepository).addValue("level1", "newValue", "newvalue");
+	}
+
+	@Test
+	void testAddIfNotPresentCachesCasingStoredByAnotherInstance() {
+		HierarchyLevelSuggestion stored = new HierarchyLevelSuggestion();
+		stored.setHierarchyLevelId("level1");
+		stored.setValues(new TreeSet<>(List.of("value1", "NewValue")));
+		stored.setNormalizedValues(new TreeSet<>(List.of("value1", "newvalue")));
+		suggestion.setNormalizedValues(new TreeSet<>(List.of("value1")));
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion, stored);
+		when(hierarchyLevelSuggestionRepository.addValue("level1", "newValue", "newvalue")).thenReturn(false);
+
+		HierarchyLevelSuggestion result = hierarchyLevelSuggestionsService.addIfNotPresent("level1", "newValue");
+
+		assertEquals(new TreeSet<>(List.of("value1", "NewValue")), result.getValues());
+		assertEquals(List.of("NewValue"), hierarchyLevelSuggestionsService.findSuggestions("level1", "new", 5));
+	}
+
+	@Test
+	void testOnApplicationReadyEnsuresUniqueLevels() {
+		when(hierarchyLevelSuggestionRepository.ensureUniqueLevels()).thenReturn(2);
+
+		hierarchyLevelSuggestionsService.onApplicationReady();
+
+		verify(hierarchyLevelSuggestionRepository).ensureUniqueLevels();
+	}
+
+	@Test
+	void testFindSuggestionsByPrefix() {
+		suggestion.setValues(new TreeSet<>(List.of("Alpha", "alpine", "Beta", "al")));
+		suggestion.setNormalizedValues(new TreeSet<>(List.of("alpha", "alpine", "beta", "al")));
+		when(hierarchyLevelSuggestionRepository.findByHierarchyLevelId("level1")).thenReturn(suggestion);
+
+		assertEquals(List.of("al", "Alpha", "alpine"),
+				hierarchyLevelSuggestionsService.findSuggestions("level1", "AL", 10));
+		assertEquals(List.of("Alpha", "alpine"), hierarchyLevelSuggestionsService.findSuggestions("level1", "alp", 10));
+		assertEquals(List.of("al"), hierarchyLevelSuggestionsService.findSuggestions("level1", "a", 1));
+		assertEquals(4, hierarchyLevelSuggestionsService.findSuggestions("level1", null, 10).size());
+		assertTrue(hierarchyLevelSuggestionsService.findSuggestions("level1", "gamma", 10).isEmpty());
+		assertTrue(hierarchyLevelSuggestionsService.findSuggestions("level1", "a", 0).isEmpty());
+		verify(hierarchyLevelSuggestionRepository, times(1)).findByHierarchyLevelId("level1");
 	}
 }
@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.publicissapient.kpidashboard.common.model.application.HierarchyVersion;
+import com.publicissapient.kpidashboard.common.model.application.OrganizationHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.repository.application.HierarchyVersionRepository;
+import com.publicissapient.kpidashboard.common.repository.application.OrganizationHierarchyRepository;
+import com.publicissapient.kpidashboard.common.repository.application.ProjectHierarchyRepository;
+import com.publicissapient.kpidashboard.common.util.HierarchyTree;
+
+@ExtendWith(SpringExtension.class)
+public class HierarchyTreeServiceImplTest {
+
+	@Mock
+	private OrganizationHierarchyRepository organizationHierarchyRepository;
+
+	@Mock
+	private ProjectHierarchyRepository projectHierarchyRepository;
+
+	@Mock
+	private HierarchyVersionRepository hierarchyVersionRepository;
+
+	@InjectMocks
+	private HierarchyTreeServiceImpl hierarchyTreeService;
+
+	private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+	@BeforeEach
+	public void setUp() {
+		secondsLater(0);
+		when(organizationHierarchyRepository.findAll())
+				.thenReturn(List.of(OrganizationHierarchy.builder().nodeId("acc1").build()));
+	}
+
+	private void secondsLater(long seconds) {
+		ReflectionTestUtils.setField(hierarchyTreeService, "clock",
+				Clock.fixed(START.plusSeconds(seconds), ZoneOffset.UTC));
+	}
+
+	private static HierarchyVersion version(long value) {
+		HierarchyVersion version = new HierarchyVersion();
+		version.setVersion(value);
+		return version;
+	}
+
+	@Test
+	public void testTreeIsLoadedOnceUntilInvalidated() {
+		ProjectHierarchy project = new ProjectHierarchy();
+		project.setNodeId("proj1");
+		project.setParentId("acc1");
+		when(projectHierarchyRepository.findAll()).thenReturn(List.of(project));
+
+		HierarchyTree tree = hierarchyTreeService.getTree();
+		assertEquals(2, tree.size());
+		assertSame(tree, hierarchyTreeService.getTree());
+		verify(organizationHierarchyRepository, times(1)).findAll();
+
+		hierarchyTreeService.invalidate();
+		HierarchyTree reloaded = hierarchyTreeService.getTree();
+		assertNotSame(tree, reloaded);
+		assertSame(reloaded, hierarchyTreeService.getTree());
+
+		assertNotSame(reloaded, hierarchyTreeService.refresh());
+		verify(projectHierarchyRepository, times(3)).findAll();
+		verify(hierarchyVersionRepository).incrementVersion(HierarchyVersion.HIERARCHY_TREE);
+	}
+
+	@Test
+	public void testTreeIsReloadedWhenStoredVersionMoves() {
+		when(projectHierarchyRepository.findAll()).thenReturn(List.of());
+		when(hierarchyVersionRepository.findByName(HierarchyVersion.HIERARCHY_TREE)).thenReturn(version(1));
+		HierarchyTree tree = hierarchyTreeService.getTree();
+
+		// changed by another node, noticed once the check interval has passed
+		when(hierarchyVersionRepository.findByName(HierarchyVersion.HIERARCHY_TREE)).thenReturn(version(2));
+		assertSame(tree, hierarchyTreeService.getTree());
+		secondsLater(31);
+		HierarchyTree reloaded = hierarchyTreeService.getTree();
+
+		assertNotSame(tree, reloaded);
+		secondsLater(62);
+		assertSame(reloaded, hierarchyTreeService.getTree());
+	}
+
+	@Test
+	public void testTreeExpires() {
+		ReflectionTestUtils.setField(hierarchyTreeService, "versionCheckSeconds", 0L);
+		when(projectHierarchyRepository.findAll()).thenReturn(List.of());
+		HierarchyTree tree = hierarchyTreeService.getTree();
+
+		secondsLater(29 * 60L);
+		assertSame(tree, hierarchyTreeService.getTree());
+		secondsLater(30 * 60L);
+		assertNotSame(tree, hierarchyTreeService.getTree());
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.repository.excel.KanbanCapacityRepository;
+
+@ExtendWith(SpringExtension.class)
+public class KanbanCapacityIntervalServiceImplTest {
+
+	private static final ObjectId PROJECT = new ObjectId("6335363749794a18e8a4479b");
+
+	@Mock
+	private KanbanCapacityRepository kanbanCapacityRepository;
+
+	@InjectMocks
+	private KanbanCapacityIntervalServiceImpl intervalService;
+
+	private static KanbanCapacity capacity(String id, LocalDate start, LocalDate end, double value) {
+		KanbanCapacity capacity = KanbanCapacity.builder().basicProjectConfigId(PROJECT).startDate(start).endDate(end)
+				.capacity(value).build();
+		capacity.setId(new ObjectId(id));
+		return capacity;
+	}
+
+	@Test
+	public void testLookupsLoadProjectOnce() {
+		KanbanCapacity week1 = capacity("65a000000000000000000001", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7),
+				40);
+		KanbanCapacity week2 = capacity("65a000000000000000000002", LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 14),
+				35);
+		when(kanbanCapacityRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(List.of(week2, week1));
+
+		assertEquals(List.of(week1, week2),
+				intervalService.findOverlapping(PROJECT, LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 20)));
+		assertEquals(List.of(week2), intervalService.findOn(PROJECT, LocalDate.of(2024, 1, 8)));
+		assertTrue(intervalService.findOn(PROJECT, LocalDate.of(2024, 2, 1)).isEmpty());
+		verify(kanbanCapacityRepository, times(1)).findByBasicProjectConfigId(PROJECT);
+	}
+
+	@Test
+	public void testSavedCapacityReplacesCachedVersion() {
+		KanbanCapacity week1 = capacity("65a000000000000000000001", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7),
+				40);
+		when(kanbanCapacityRepository.findByBasicProjectConfigId(PROJECT)).thenReturn(List.of(week1));
+		intervalService.findOn(PROJECT, LocalDate.of(2024, 1, 1));
+
+		KanbanCapacity updated = capacity("65a000000000000000000001", LocalDate.of(2024, 1, 1),
+				LocalDate.of(2024, 1, 7), 20);
+		intervalService.onCapacitySaved(updated);
+
+		List<KanbanCapacity> found = intervalService.findOn(PROJECT, LocalDate.of(2024, 1, 3));
+		assertEquals(1, found.size());
+		assertEquals(20D, found.get(0).getCapacity());
+
+		intervalService.invalidate(PROJECT);
+		intervalService.findOn(PROJECT, LocalDate.of(2024, 1, 3));
+		verify(kanbanCapacityRepository, times(2)).findByBasicProjectConfigId(PROJECT);
+	}
+}
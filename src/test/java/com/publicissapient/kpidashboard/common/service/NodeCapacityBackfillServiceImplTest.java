@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.excel.CapacityKpiData;
+import com.publicissapient.kpidashboard.common.model.excel.KanbanCapacity;
+import com.publicissapient.kpidashboard.common.repository.excel.CapacityKpiDataRepository;
+import com.publicissapient.kpidashboard.common.repository.excel.KanbanCapacityRepository;
+import com.publicissapient.kpidashboard.common.repository.excel.NodeCapacityRepository;
+
+@ExtendWith(SpringExtension.class)
+public class NodeCapacityBackfillServiceImplTest {
+
+	@Mock
+	private CapacityKpiDataRepository capacityKpiDataRepository;
+
+	@Mock
+	private KanbanCapacityRepository kanbanCapacityRepository;
+
+	@Mock
+	private NodeCapacityRepository nodeCapacityRepository;
+
+	@Mock
+	private TaskScheduler taskScheduler;
+
+	@InjectMocks
+	private NodeCapacityBackfillServiceImpl backfillService;
+
+	@Test
+	public void testBackfillWalksBothCollections() {
+		CapacityKpiData first = CapacityKpiData.builder().sprintID("sprint1").build();
+		first.setId(new ObjectId());
+		CapacityKpiData second = CapacityKpiData.builder().sprintID("sprint2").build();
+		second.setId(new ObjectId());
+		KanbanCapacity kanban = KanbanCapacity.builder().build();
+		kanban.setId(new ObjectId());
+		when(capacityKpiDataRepository.findBatchAfter(isNull(), anyInt())).thenReturn(List.of(first, second));
+		when(capacityKpiDataRepository.findBatchAfter(eq(second.getId()), anyInt())).thenReturn(List.of());
+		when(kanbanCapacityRepository.findBatchAfter(isNull(), anyInt())).thenReturn(List.of(kanban));
+		when(kanbanCapacityRepository.findBatchAfter(eq(kanban.getId()), anyInt())).thenReturn(List.of());
+
+		assertEquals(3, backfillService.backfill());
+
+		verify(nodeCapacityRepository).replaceSprintCapacity(first);
+		verify(nodeCapacityRepository).replaceSprintCapacity(second);
+		verify(nodeCapacityRepository).replaceKanbanCapacity(kanban);
+	}
+
+	@Test
+	public void testStartBackfillRunsOnce() {
+		assertTrue(backfillService.startBackfill());
+		assertFalse(backfillService.startBackfill());
+	}
+
+	@Test
+	public void testStartBackfillResetsWhenSchedulingFails() {
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenThrow(new IllegalStateException());
+
+		assertThrows(IllegalStateException.class, () -> backfillService.startBackfill());
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenReturn(null);
+		assertTrue(backfillService.startBackfill());
+	}
+}
@@ -16,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.publicissapient.kpidashboard.common.constant.CommonConstant;
 import com.publicissapient.kpidashboard.common.model.application.ProjectBasicConfig;
 import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchySyncResult;
 import com.publicissapient.kpidashboard.common.repository.application.ProjectHierarchyRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +25,9 @@ class ProjectHierarchyServiceImplTest {
 	@Mock
 	private ProjectHierarchyRepository projectHierarchyRepository;
 
+	@Mock
+	private HierarchyTreeService hierarchyTreeService;
+
 	@InjectMocks
 	private ProjectHierarchyServiceImpl projectHierarchyService;
 
@@ -56,6 +60,7 @@ class ProjectHierarchyServiceImplTest {
 		projectHierarchyService.deleteByBasicProjectConfigId(projectConfigId);
 
 		verify(projectHierarchyRepository).deleteByBasicProjectConfigId(projectConfigId);
+		verify(hierarchyTreeService).invalidate();
 	}
 
 	@Test
@@ -133,6 +138,7 @@ class ProjectHierarchyServiceImplTest {
 		projectHierarchyService.saveAll(hierarchies);
 
 		verify(projectHierarchyRepository).saveAll(hierarchies);
+		verify(hierarchyTreeService).invalidate();
 	}
 
 	@Test
@@ -272,4 +278,18 @@ class ProjectHierarchyServiceImplTest {
 		assertEquals("Release 1" + CommonConstant.ADDITIONAL_FILTER_VALUE_ID_SEPARATOR + "Test Project Display",
 				projectHierarchy.getNodeDisplayName());
 	}
+
+	@Test
+	void testSyncProjectHierarchyInvalidatesTreeOnChange() {
+		List<ProjectHierarchy> nodes = List.of(projectHierarchy);
+		when(projectHierarchyRepository.syncProjectHierarchy(projectConfigId, nodes, Collections.emptyList()))
+				.thenReturn(new ProjectHierarchySyncResult(1, 0, 0, 0));
+		when(projectHierarchyRepository.syncProjectHierarchy(projectConfigId, nodes, List.of("sprint")))
+				.thenReturn(new ProjectHierarchySyncResult(0, 0, 0, 1));
+
+		assertEquals(1, projectHierarchyService.syncProjectHierarchy(projectConfigId, nodes).getInserted());
+		assertEquals(1, projectHierarchyService.syncProjectHierarchy(projectConfigId, nodes, List.of("sprint"))
+				.getUnchanged());
+		verify(hierarchyTreeService, times(1)).invalidate();
+	}
 }
@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.repository.scm.ScmCommitsRepository;
+
+@ExtendWith(SpringExtension.class)
+public class ScmCommitShaFilterServiceImplTest {
+
+	private static final ObjectId PROCESSOR_ITEM_ID = new ObjectId();
+
+	@Mock
+	private ScmCommitsRepository scmCommitsRepository;
+
+	@InjectMocks
+	private ScmCommitShaFilterServiceImpl shaFilterService;
+
+	@SuppressWarnings("unchecked")
+	private void storedShas(String... shas) {
+		when(scmCommitsRepository.countByProcessorItemId(PROCESSOR_ITEM_ID)).thenReturn((long) shas.length);
+		when(scmCommitsRepository.forEachSha(eq(PROCESSOR_ITEM_ID), any())).thenAnswer(invocation -> {
+			Consumer<String> consumer = invocation.getArgument(1);
+			for (String sha : shas) {
+				consumer.accept(sha);
+			}
+			return (long) shas.length;
+		});
+	}
+
+	@Test
+	void testFindNewShas_ConfirmsOnlyPossibleHits() {
+		storedShas("sha1", "sha2");
+		when(scmCommitsRepository.findExistingShas(eq(PROCESSOR_ITEM_ID), anyCollection())).thenReturn(Set.of("sha1"));
+
+		Set<String> newShas = shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("sha1", "sha3", "sha4"));
+
+		assertEquals(Set.of("sha3", "sha4"), newShas);
+		verify(scmCommitsRepository).findExistingShas(eq(PROCESSOR_ITEM_ID), eq(List.of("sha1")));
+	}
+
+	@Test
+	void testFindNewShas_NoDbCallWhenFilterRejectsAll() {
+		storedShas();
+
+		Set<String> newShas = shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("a", "b"));
+
+		assertEquals(Set.of("a", "b"), newShas);
+		verify(scmCommitsRepository, never()).findExistingShas(any(), anyCollection());
+	}
+
+	@Test
+	void testFilterIsBuiltOnceAndUpdatedOnRegister() {
+		storedShas("sha1");
+		when(scmCommitsRepository.findExistingShas(eq(PROCESSOR_ITEM_ID), anyCollection())).thenReturn(Set.of("sha9"));
+
+		shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("sha9"));
+		shaFilterService.registerShas(PROCESSOR_ITEM_ID, List.of("sha9"));
+		Set<String> newShas = shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("sha9"));
+
+		assertTrue(newShas.isEmpty());
+		verify(scmCommitsRepository, times(1)).forEachSha(eq(PROCESSOR_ITEM_ID), any());
+	}
+
+	@Test
+	void testFindNewShas_ReturnedShasAreConfirmedNextTime() {
+		storedShas();
+		when(scmCommitsRepository.findExistingShas(eq(PROCESSOR_ITEM_ID), anyCollection())).thenReturn(Set.of("a"));
+
+		assertEquals(Set.of("a"), shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("a")));
+		Set<String> newShas = shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("a"));
+
+		assertTrue(newShas.isEmpty());
+		verify(scmCommitsRepository).findExistingShas(eq(PROCESSOR_ITEM_ID), eq(List.of("a")));
+	}
+
+	@Test
+	void testInvalidateRebuildsFilter() {
+		storedShas("sha1");
+
+		shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("x"));
+		shaFilterService.invalidate(PROCESSOR_ITEM_ID);
+		shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of("x"));
+
+		verify(scmCommitsRepository, times(2)).forEachSha(eq(PROCESSOR_ITEM_ID), any());
+	}
+
+	@Test
+	void testFindNewShas_EmptyInput() {
+		assertTrue(shaFilterService.findNewShas(PROCESSOR_ITEM_ID, List.of()).isEmpty());
+		assertTrue(shaFilterService.findNewShas(null, List.of("a")).isEmpty());
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestCube;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequestTiming;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestCubeRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestTimingRepository;
+
+@ExtendWith(SpringExtension.class)
+public class ScmMergeRequestTimingServiceImplTest {
+
+	private static final ObjectId PROCESSOR_ITEM_ID = new ObjectId();
+	private static final long HOUR = 3_600_000L;
+
+	@Mock
+	private ScmMergeRequestTimingRepository timingRepository;
+
+	@Mock
+	private ScmMergeRequestCubeRepository cubeRepository;
+
+	@InjectMocks
+	private ScmMergeRequestTimingServiceImpl timingService;
+
+	private static ScmMergeRequests mergedRequest(String externalId, String author, long hoursToMerge, int lines) {
+		LocalDateTime created = LocalDateTime.of(2024, 2, 5, 9, 0);
+		long createdMillis = created.toInstant(ZoneOffset.UTC).toEpochMilli();
+		return ScmMergeRequests.builder().processorItemId(PROCESSOR_ITEM_ID).externalId(externalId)
+				.authorUserId(author).state("MERGED").createdDate(createdMillis).pickedForReviewOn(createdMillis + HOUR)
+				.mergedAt(created.plusHours(hoursToMerge)).linesChanged(lines).reviewerUserIds(List.of("r1", "r2"))
+				.build();
+	}
+
+	@Test
+	void testToTiming() {
+		ScmMergeRequestTiming timing = ScmMergeRequestTimingServiceImpl.toTiming(mergedRequest("1", "u1", 5, 120));
+
+		assertEquals(5 * HOUR, timing.getTimeToMerge());
+		assertEquals(HOUR, timing.getReviewLatency());
+		assertEquals(2, timing.getReviewerCount());
+		assertEquals(ScmMergeRequestTiming.SizeBucket.M, timing.getSizeBucket());
+		assertEquals("2024-02-05", timing.getWeek());
+	}
+
+	@Test
+	void testToTiming_OpenRequest() {
+		ScmMergeRequests open = ScmMergeRequests.builder().processorItemId(PROCESSOR_ITEM_ID).externalId("2")
+				.createdDate(LocalDateTime.of(2024, 2, 8, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli()).build();
+
+		ScmMergeRequestTiming timing = ScmMergeRequestTimingServiceImpl.toTiming(open);
+
+		assertNull(timing.getTimeToMerge());
+		assertEquals(ScmMergeRequestTiming.SizeBucket.XS, timing.getSizeBucket());
+		assertEquals("2024-02-05", timing.getWeek());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testRecordMergeRequests_BuildsRepositoryAndAuthorCells() {
+		List<ScmMergeRequests> mergeRequests = List.of(mergedRequest("1", "u1", 2, 5), mergedRequest("2", "u1", 4, 60),
+				mergedRequest("3", "u2", 10, 2000));
+		List<ScmMergeRequestTiming> timings = mergeRequests.stream().map(ScmMergeRequestTimingServiceImpl::toTiming)
+				.toList();
+		when(timingRepository.findByProcessorItemIdAndExternalIdIn(eq(PROCESSOR_ITEM_ID), anyCollection()))
+				.thenReturn(List.of());
+		when(timingRepository.findByProcessorItemIdAndWeek(PROCESSOR_ITEM_ID, "2024-02-05")).thenReturn(timings);
+		when(cubeRepository.findByProcessorItemIdAndWeek(PROCESSOR_ITEM_ID, "2024-02-05")).thenReturn(new ArrayList<>());
+
+		timingService.recordMergeRequests(mergeRequests);
+
+		ArgumentCaptor<Iterable<ScmMergeRequestCube>> saved = ArgumentCaptor.forClass(Iterable.class);
+		verify(cubeRepository).saveAll(saved.capture());
+		Map<String, ScmMergeRequestCube> cells = new HashMap<>();
+		saved.getValue().forEach(cell -> cells.put(cell.getAuthorUserId(), cell));
+		assertEquals(3, cells.size());
+		ScmMergeRequestCube all = cells.get(ScmMergeRequestCube.ALL_AUTHORS);
+		assertEquals(3, all.getMergedCount());
+		assertEquals(4 * HOUR, all.getTimeToMerge().getP50());
+		assertEquals(10 * HOUR, all.getTimeToMerge().getP95());
+		assertEquals(1, all.getSizeBuckets().get(ScmMergeRequestTiming.SizeBucket.XL));
+		assertEquals(2, cells.get("u1").getMergeRequestCount());
+		verify(cubeRepository, never()).deleteAll(anyList());
+	}
+
+	@Test
+	void testPercentileSummary() {
+		ScmMergeRequestCube.PercentileSummary summary = ScmMergeRequestCube.PercentileSummary
+				.of(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+		assertEquals(5L, summary.getP50());
+		assertEquals(9L, summary.getP90());
+		assertEquals(10L, summary.getMax());
+		assertNull(ScmMergeRequestCube.PercentileSummary.of(List.of()));
+	}
+
+	@Test
+	void testGetWeeklyCube_DefaultsToRepositoryCells() {
+		timingService.getWeeklyCube(List.of(PROCESSOR_ITEM_ID), null, LocalDate.of(2024, 2, 7), LocalDate.of(2024, 3, 1));
+
+		verify(cubeRepository).findCells(List.of(PROCESSOR_ITEM_ID), ScmMergeRequestCube.ALL_AUTHORS, "2024-02-05",
+				"2024-02-26");
+		assertTrue(timingService.getWeeklyCube(List.of(), null, LocalDate.now(), LocalDate.now()).isEmpty());
+	}
+
+	@Test
+	void testRecordMergeRequests_Empty() {
+		timingService.recordMergeRequests(List.of());
+		verify(timingRepository, never()).saveAll(any());
+	}
+}
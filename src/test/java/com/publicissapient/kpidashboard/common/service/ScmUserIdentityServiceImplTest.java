@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.mongodb.BasicDBList;
+import com.publicissapient.kpidashboard.common.model.scm.ScmCommits;
+import com.publicissapient.kpidashboard.common.model.scm.ScmMergeRequests;
+import com.publicissapient.kpidashboard.common.model.scm.User;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmCommitsRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmMergeRequestsRepository;
+import com.publicissapient.kpidashboard.common.repository.scm.ScmUserRepository;
+
+@ExtendWith(SpringExtension.class)
+public class ScmUserIdentityServiceImplTest {
+
+	@Mock
+	private ScmUserRepository scmUserRepository;
+
+	@Mock
+	private ScmCommitsRepository scmCommitsRepository;
+
+	@Mock
+	private ScmMergeRequestsRepository scmMergeRequestsRepository;
+
+	@InjectMocks
+	private ScmUserIdentityServiceImpl scmUserIdentityService;
+
+	private User author;
+	private User reviewer;
+
+	@BeforeEach
+	void setUp() {
+		author = User.builder().username("author").build();
+		author.setId(new ObjectId());
+		reviewer = User.builder().username("reviewer").build();
+		reviewer.setId(new ObjectId());
+	}
+
+	@Test
+	void testResolveUsers_LoadsOnceAndSharesInstance() {
+		String authorId = author.getId().toHexString();
+		when(scmUserRepository.findAllById(anyIterable())).thenReturn(List.of(author));
+
+		Map<String, User> first = scmUserIdentityService.resolveUsers(List.of(authorId, "not-an-id"));
+		Map<String, User> second = scmUserIdentityService.resolveUsers(List.of(authorId));
+
+		assertEquals(1, first.size());
+		assertSame(first.get(authorId), second.get(authorId));
+		verify(scmUserRepository, times(1)).findAllById(anyIterable());
+	}
+
+	@Test
+	void testResolveUsers_EmptyInput() {
+		assertTrue(scmUserIdentityService.resolveUsers(List.of()).isEmpty());
+		verify(scmUserRepository, never()).findAllById(anyIterable());
+	}
+
+	@Test
+	void testAttachCommitUsers() {
+		String authorId = author.getId().toHexString();
+		when(scmUserRepository.findAllById(anyIterable())).thenReturn(List.of(author));
+		ScmCommits first = ScmCommits.builder().sha("a").commitAuthorId(authorId).committerId(authorId).build();
+		ScmCommits second = ScmCommits.builder().sha("b").commitAuthorId(authorId).build();
+
+		scmUserIdentityService.attachCommitUsers(List.of(first, second));
+
+		assertSame(author, first.getCommitAuthor());
+		assertSame(author, first.getCommitter());
+		assertSame(author, second.getCommitAuthor());
+		assertNull(second.getCommitter());
+	}
+
+	@Test
+	void testAttachMergeRequestUsers() {
+		String authorId = author.getId().toHexString();
+		String reviewerId = reviewer.getId().toHexString();
+		when(scmUserRepository.findAllById(anyIterable())).thenReturn(List.of(author, reviewer));
+		ScmMergeRequests mergeRequest = ScmMergeRequests.builder().authorUserId(authorId)
+				.reviewerUserIds(List.of(reviewerId)).build();
+
+		scmUserIdentityService.attachMergeRequestUsers(List.of(mergeRequest));
+
+		assertSame(author, mergeRequest.getAuthorId());
+		assertEquals(1, mergeRequest.getReviewerUsers().size());
+		assertSame(reviewer, mergeRequest.getReviewerUsers().get(0));
+	}
+
+	@Test
+	void testFindCommitList_UsesProjectionWithoutUsers() {
+		String authorId = author.getId().toHexString();
+		BasicDBList filterList = new BasicDBList();
+		List<ScmCommits> commits = new ArrayList<>(
+				List.of(ScmCommits.builder().sha("a").commitAuthorId(authorId).build()));
+		when(scmCommitsRepository.findCommitListWithoutUsers(1L, 2L, filterList)).thenReturn(commits);
+		when(scmUserRepository.findAllById(anyIterable())).thenReturn(List.of(author));
+
+		List<ScmCommits> result = scmUserIdentityService.findCommitList(1L, 2L, filterList);
+
+		assertSame(author, result.get(0).getCommitAuthor());
+	}
+
+	@Test
+	void testEvictUsers_ReloadsFromRepository() {
+		String authorId = author.getId().toHexString();
+		when(scmUserRepository.findAllById(anyIterable())).thenReturn(List.of(author));
+
+		scmUserIdentityService.resolveUsers(List.of(authorId));
+		scmUserIdentityService.evictUsers(List.of(authorId));
+		scmUserIdentityService.resolveUsers(List.of(authorId));
+
+		verify(scmUserRepository, times(2)).findAllById(anyIterable());
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistory;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarHistoryDelta;
+import com.publicissapient.kpidashboard.common.model.sonar.SonarMetric;
+import com.publicissapient.kpidashboard.common.repository.sonar.SonarHistoryDeltaRepository;
+import com.publicissapient.kpidashboard.common.repository.sonar.SonarHistoryRepository;
+
+@ExtendWith(SpringExtension.class)
+public class SonarHistoryDeltaServiceImplTest {
+
+	private static final ObjectId PROCESSOR_ITEM_ID = new ObjectId();
+
+	@Mock
+	private SonarHistoryDeltaRepository deltaRepository;
+
+	@Mock
+	private SonarHistoryRepository sonarHistoryRepository;
+
+	@InjectMocks
+	private SonarHistoryDeltaServiceImpl deltaService;
+
+	/** stands in for the sonar_history_delta collection */
+	private final List<SonarHistoryDelta> store = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(deltaService, "keyframeInterval", 3);
+		when(deltaRepository.save(any(SonarHistoryDelta.class))).thenAnswer(invocation -> {
+			store.add(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+		when(deltaRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			store.addAll(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+		when(deltaRepository.findFirstByProcessorItemIdOrderBySequenceDesc(PROCESSOR_ITEM_ID))
+				.thenAnswer(invocation -> last(entry -> true));
+		when(deltaRepository.findFirstByProcessorItemIdAndTimestampLessThanEqualOrderBySequenceDesc(eq(PROCESSOR_ITEM_ID),
+				any())).thenAnswer(invocation -> {
+					long timestamp = invocation.getArgument(1);
+					return last(entry -> entry.getTimestamp() <= timestamp);
+				});
+		when(deltaRepository.findFirstByProcessorItemIdAndKeyframeTrueAndSequenceLessThanEqualOrderBySequenceDesc(
+				eq(PROCESSOR_ITEM_ID), anyLong())).thenAnswer(invocation -> {
+					long sequence = invocation.getArgument(1);
+					return last(entry -> entry.isKeyframe() && entry.getSequence() <= sequence);
+				});
+		when(deltaRepository.findSequenceRange(eq(PROCESSOR_ITEM_ID), anyLong(), anyLong())).thenAnswer(invocation -> {
+			long from = invocation.getArgument(1);
+			long to = invocation.getArgument(2);
+			return store.stream().filter(entry -> entry.getSequence() >= from && entry.getSequence() <= to)
+					.sorted(Comparator.comparingLong(SonarHistoryDelta::getSequence)).toList();
+		});
+	}
+
+	private SonarHistoryDelta last(Predicate<SonarHistoryDelta> filter) {
+		return store.stream().filter(filter).max(Comparator.comparingLong(SonarHistoryDelta::getSequence)).orElse(null);
+	}
+
+	private static SonarHistory analysis(long timestamp, Object coverage, Object bugs) {
+		List<SonarMetric> metrics = new ArrayList<>();
+		metrics.add(new SonarMetric("coverage", coverage));
+		if (bugs != null) {
+			metrics.add(new SonarMetric("bugs", bugs));
+		}
+		metrics.add(new SonarMetric("ncloc", 1000));
+		return SonarHistory.builder().processorItemId(PROCESSOR_ITEM_ID).timestamp(timestamp).metrics(metrics).build();
+	}
+
+	private static Map<String, Object> values(SonarHistory history) {
+		return history.getMetrics().stream()
+				.collect(Collectors.toMap(SonarMetric::getMetricName, SonarMetric::getMetricValue));
+	}
+
+	@Test
+	void testAppendStoresOnlyChangedMetrics() {
+		deltaService.append(analysis(100, 80.0, 3));
+		deltaService.append(analysis(200, 81.5, 3));
+		deltaService.append(analysis(300, 81.5, null));
+		deltaService.append(analysis(400, 82.0, 1));
+
+		assertEquals(4, store.size());
+		assertTrue(store.get(0).isKeyframe());
+		assertEquals(3, store.get(0).getMetrics().size());
+		assertFalse(store.get(1).isKeyframe());
+		assertEquals(List.of("coverage"), store.get(1).getMetrics().stream().map(SonarMetric::getMetricName).toList());
+		assertTrue(store.get(2).getMetrics().isEmpty());
+		assertEquals(List.of("bugs"), store.get(2).getRemovedMetrics());
+		// every third analysis is a keyframe again
+		assertTrue(store.get(3).isKeyframe());
+		assertEquals(3, store.get(3).getMetrics().size());
+	}
+
+	@Test
+	void testAppendIgnoresAnalysisDateOfMetrics() {
+		SonarHistory first = analysis(100, 80.0, 3);
+		SonarHistory second = analysis(200, 81.5, 3);
+		first.getMetrics().forEach(metric -> metric.setDate("2024-01-01T10:00:00+0000"));
+		second.getMetrics().forEach(metric -> metric.setDate("2024-01-02T10:00:00+0000"));
+
+		deltaService.append(first);
+		deltaService.append(second);
+
+		assertEquals(List.of("coverage"), store.get(1).getMetrics().stream().map(SonarMetric::getMetricName).toList());
+		assertEquals("2024-01-02T10:00:00+0000", store.get(1).getMetricDate());
+		SonarHistory snapshot = deltaService.getAt(PROCESSOR_ITEM_ID, 200);
+		assertEquals(Map.of("coverage", 81.5, "bugs", 3, "ncloc", 1000), values(snapshot));
+		assertTrue(snapshot.getMetrics().stream()
+				.allMatch(metric -> "2024-01-02T10:00:00+0000".equals(metric.getDate())));
+		SonarHistory firstSnapshot = deltaService.getAt(PROCESSOR_ITEM_ID, 100);
+		assertEquals("2024-01-01T10:00:00+0000", firstSnapshot.getMetrics().get(0).getDate());
+	}
+
+	@Test
+	void testAppendIgnoresOlderAnalysis() {
+		deltaService.append(analysis(200, 80.0, 3));
+
+		assertNull(deltaService.append(analysis(200, 81.0, 3)));
+		assertNull(deltaService.append(analysis(150, 81.0, 3)));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	void testGetAtReconstructsSnapshot() {
+		deltaService.append(analysis(100, 80.0, 3));
+		deltaService.append(analysis(200, 81.5, 3));
+		deltaService.append(analysis(300, 81.5, null));
+
+		assertEquals(Map.of("coverage", 81.5, "bugs", 3, "ncloc", 1000), values(deltaService.getAt(PROCESSOR_ITEM_ID, 250)));
+		assertEquals(Map.of("coverage", 81.5, "ncloc", 1000), values(deltaService.getAt(PROCESSOR_ITEM_ID, 300)));
+		assertNull(deltaService.getAt(PROCESSOR_ITEM_ID, 50));
+	}
+
+	@Test
+	void testGetSeriesReplaysWindow() {
+		deltaService.append(analysis(100, 80.0, 3));
+		deltaService.append(analysis(200, 81.0, 3));
+		deltaService.append(analysis(300, 82.0, 3));
+		deltaService.append(analysis(400, 83.0, 2));
+		deltaService.append(analysis(500, 84.0, 2));
+
+		List<SonarHistory> series = deltaService.getSeries(PROCESSOR_ITEM_ID, 250, 450);
+
+		assertEquals(List.of(300L, 400L), series.stream().map(SonarHistory::getTimestamp).toList());
+		assertEquals(Map.of("coverage", 82.0, "bugs", 3, "ncloc", 1000), values(series.get(0)));
+		assertEquals(Map.of("coverage", 83.0, "bugs", 2, "ncloc", 1000), values(series.get(1)));
+	}
+
+	@Test
+	void testRebuildEncodesExistingHistory() {
+		when(sonarHistoryRepository.findByProcessorItemIdOrderByTimestampAsc(PROCESSOR_ITEM_ID)).thenReturn(
+				List.of(analysis(100, 80.0, 3), analysis(100, 80.0, 3), analysis(200, 80.0, 4), analysis(300, 85.0, 4)));
+
+		assertEquals(3, deltaService.rebuild(PROCESSOR_ITEM_ID));
+		assertEquals(List.of(0L, 1L, 2L), store.stream().map(SonarHistoryDelta::getSequence).toList());
+		assertEquals(List.of("bugs"), store.get(1).getMetrics().stream().map(SonarMetric::getMetricName).toList());
+		assertEquals(Map.of("coverage", 85.0, "bugs", 4, "ncloc", 1000), values(deltaService.getAt(PROCESSOR_ITEM_ID, 300)));
+	}
+}
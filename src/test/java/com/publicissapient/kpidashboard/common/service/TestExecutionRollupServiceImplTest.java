@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.publicissapient.kpidashboard.common.model.testexecution.KanbanTestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecution;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup;
+import com.publicissapient.kpidashboard.common.model.testexecution.TestExecutionRollup.Granularity;
+import com.publicissapient.kpidashboard.common.repository.application.KanbanTestExecutionRepository;
+import com.publicissapient.kpidashboard.common.repository.application.TestExecutionRepository;
+import com.publicissapient.kpidashboard.common.repository.application.TestExecutionRollupRepository;
+
+@ExtendWith(SpringExtension.class)
+public class TestExecutionRollupServiceImplTest {
+
+	private static final String PROJECT = "project1";
+
+	@Mock
+	private TestExecutionRepository testExecutionRepository;
+
+	@Mock
+	private KanbanTestExecutionRepository kanbanTestExecutionRepository;
+
+	@Mock
+	private TestExecutionRollupRepository rollupRepository;
+
+	@InjectMocks
+	private TestExecutionRollupServiceImpl rollupService;
+
+	private static TestExecutionRollup rollup(Granularity granularity, String key, long executed) {
+		return TestExecutionRollup.builder().basicProjectConfigId(PROJECT).granularity(granularity).groupKey(key)
+				.executedTestCase(executed).build();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testOnTestExecutionsRefreshesTouchedSprints() {
+		when(testExecutionRepository.findSprintRollups(anyMap(), anyMap()))
+				.thenReturn(List.of(rollup(Granularity.SPRINT, "s1", 10)));
+		TestExecutionRollup oldS1 = rollup(Granularity.SPRINT, "s1", 4);
+		oldS1.setId(new ObjectId());
+		TestExecutionRollup oldS2 = rollup(Granularity.SPRINT, "s2", 7);
+		when(rollupRepository.findByBasicProjectConfigIdAndGranularityAndGroupKeyIn(PROJECT, Granularity.SPRINT,
+				Set.of("s1", "s2"))).thenReturn(List.of(oldS1, oldS2));
+
+		List<TestExecutionRollup> refreshed = rollupService.onTestExecutions(
+				List.of(TestExecution.builder().basicProjectConfigId(PROJECT).sprintId("s1").build(),
+						TestExecution.builder().basicProjectConfigId(PROJECT).sprintId("s2").build()));
+
+		assertEquals(1, refreshed.size());
+		assertEquals(oldS1.getId(), refreshed.get(0).getId());
+		ArgumentCaptor<Map<String, List<String>>> filters = ArgumentCaptor.forClass(Map.class);
+		verify(testExecutionRepository).findSprintRollups(filters.capture(), anyMap());
+		assertEquals(List.of(PROJECT), filters.getValue().get("basicProjectConfigId"));
+		assertEquals(Set.of("s1", "s2"), Set.copyOf(filters.getValue().get("sprintId")));
+		// s2 lost all its rows
+		ArgumentCaptor<Collection<TestExecutionRollup>> deleted = ArgumentCaptor.forClass(Collection.class);
+		verify(rollupRepository).deleteAll(deleted.capture());
+		assertEquals(List.of(oldS2), List.copyOf(deleted.getValue()));
+	}
+
+	@Test
+	void testOnKanbanTestExecutionsKeepsTouchedDaysOnly() {
+		when(kanbanTestExecutionRepository.findDailyRollups(anyMap(), anyMap(), eq("2024-02-05"),
+				eq("2024-02-07T23:59:59.999"))).thenReturn(List.of(rollup(Granularity.DAY, "2024-02-05", 3),
+						rollup(Granularity.DAY, "2024-02-06", 5), rollup(Granularity.DAY, "2024-02-07", 2)));
+
+		List<TestExecutionRollup> refreshed = rollupService.onKanbanTestExecutions(List.of(
+				KanbanTestExecution.builder().basicProjectConfigId(PROJECT).executionDate("2024-02-05T10:00:00").build(),
+				KanbanTestExecution.builder().basicProjectConfigId(PROJECT).executionDate("2024-02-07").build()));
+
+		assertEquals(List.of("2024-02-05", "2024-02-07"), refreshed.stream().map(TestExecutionRollup::getGroupKey).toList());
+		verify(rollupRepository, never()).deleteAll(anyCollection());
+	}
+
+	@Test
+	void testGetSprintRollupsWithoutSprints() {
+		assertTrue(rollupService.getSprintRollups(PROJECT, List.of()).isEmpty());
+	}
+}
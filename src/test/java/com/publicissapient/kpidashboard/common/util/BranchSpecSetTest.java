@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright 2014 CapitalOne, LLC.
+ * Further development Copyright 2022 Sapient Corporation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ ******************************************************************************/
+
+package com.publicissapient.kpidashboard.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class BranchSpecSetTest {
+
+	private static final List<String> SPEC_NAMES = List.of("master", "feature/*", "feature/**", "release-*", "*",
+			"", ":refs/heads/hotfix/\\d+", "origin/develop", "bugfix/*/done");
+
+	private static final List<String> REFS = List.of("master", "refs/heads/master", "origin/master",
+			"refs/remotes/origin/master", "remotes/origin/master", "feature/login", "refs/heads/feature/login",
+			"feature/login/ui", "remotes/feature/login", "release-1.2", "upstream/release-1.2", "refs/heads/hotfix/42",
+			"hotfix/42", "origin/develop", "refs/remotes/origin/develop", "bugfix/x/done", "bugfix/x/y/done", "develop",
+			"refs/tags/v1");
+
+	@Test
+	public void testMatchingSpecsAgreesWithEverySpec() {
+		BranchSpecSet specSet = BranchSpecSet.of(SPEC_NAMES);
+		for (String ref : REFS) {
+			List<GitBranchSpec> expected = specSet.getSpecs().stream().filter(spec -> spec.matches(ref))
+					.collect(Collectors.toList());
+			assertEquals(expected, specSet.matchingSpecs(ref), ref);
+			assertEquals(!expected.isEmpty(), specSet.matchesAny(ref), ref);
+		}
+	}
+
+	@Test
+	public void testMatchingSpecs() {
+		BranchSpecSet specSet = BranchSpecSet.of(List.of("master", "feature/*", ":refs/heads/hotfix/\\d+"));
+		assertEquals("master", specSet.matchingSpecs("refs/remotes/origin/master").get(0).getName());
+		assertEquals("feature/*", specSet.matchingSpecs("refs/heads/feature/login").get(0).getName());
+		assertTrue(specSet.matchesAny("refs/heads/hotfix/7"));
+		assertFalse(specSet.matchesAny("refs/heads/develop"));
+		assertTrue(specSet.matchingSpecs("develop").isEmpty());
+	}
+
+	@Test
+	public void testGetPatterns() {
+		BranchSpecSet specSet = BranchSpecSet.of(List.of("master", "feature/*"));
+		assertEquals(2, specSet.getPatterns().size());
+		assertTrue(specSet.getPatterns().get(1).matcher("feature/login").matches());
+	}
+}
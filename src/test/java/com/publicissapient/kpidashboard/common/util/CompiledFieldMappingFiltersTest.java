@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+
+public class CompiledFieldMappingFiltersTest {
+
+	private static FieldMapping fieldMapping() {
+		FieldMapping fieldMapping = new FieldMapping();
+		fieldMapping.setJiraDefectInjectionIssueTypeKPI14(Arrays.asList("Story", "Bug (P1)", "", null, "Story"));
+		fieldMapping.setJiraIssueTypeNames(new String[]{"Epic", "Story"});
+		fieldMapping.setJiraDefectCountlIssueTypeKPI28(List.of("Defect"));
+		return fieldMapping;
+	}
+
+	@Test
+	public void testCompiledValues() {
+		CompiledFieldMappingFilters filters = CompiledFieldMappingFilters.of(fieldMapping(), 4L);
+
+		assertEquals(4L, filters.getVersion());
+		assertEquals(List.of("Story", "Bug (P1)"), filters.getValues("jiraDefectInjectionIssueTypeKPI14"));
+		assertEquals(Set.of("story", "bug (p1)"), filters.getLowerCaseValues("jiraDefectInjectionIssueTypeKPI14"));
+		assertEquals(List.of("Epic", "Story"), filters.getValues("jiraIssueTypeNames"));
+		assertTrue(filters.matches("jiraIssueTypeNames", "EPIC"));
+		assertFalse(filters.matches("jiraIssueTypeNames", "Ep"));
+		assertFalse(filters.matches("jiraIssueTypeNames", null));
+		assertTrue(filters.getValues("jiraStatusForDevelopmentKPI82").isEmpty());
+	}
+
+	@Test
+	public void testPatternsMatchExactValueIgnoringCase() {
+		CompiledFieldMappingFilters filters = CompiledFieldMappingFilters.of(fieldMapping(), 1L);
+
+		List<Pattern> patterns = filters.getPatterns("jiraDefectInjectionIssueTypeKPI14");
+
+		assertEquals(2, patterns.size());
+		assertTrue(patterns.get(1).matcher("bug (p1)").matches());
+		assertFalse(patterns.get(1).matcher("Bug P1").matches());
+		assertFalse(patterns.get(0).matcher("User Story").find());
+		assertSame(patterns, filters.getPatterns("jiraDefectInjectionIssueTypeKPI14"));
+	}
+
+	@Test
+	public void testCriteria() {
+		CompiledFieldMappingFilters filters = CompiledFieldMappingFilters.of(fieldMapping(), 1L);
+
+		Document in = filters.in("typeName", "jiraDefectCountlIssueTypeKPI28").getCriteriaObject();
+		Document notIn = filters.notIn("typeName", "jiraDefectCountlIssueTypeKPI28").getCriteriaObject();
+
+		assertEquals(filters.getPatterns("jiraDefectCountlIssueTypeKPI28"),
+				((Document) in.get("typeName")).get("$in"));
+		assertEquals(filters.getPatterns("jiraDefectCountlIssueTypeKPI28"),
+				((Document) notIn.get("typeName")).get("$nin"));
+	}
+
+	@Test
+	public void testMissingFieldMappingAndInvalidFields() {
+		CompiledFieldMappingFilters empty = CompiledFieldMappingFilters.of(null, 0L);
+		CompiledFieldMappingFilters filters = CompiledFieldMappingFilters.of(fieldMapping(), 1L);
+
+		assertTrue(empty.getPatterns("jiraIssueTypeNames").isEmpty());
+		assertFalse(empty.matches("jiraIssueTypeNames", "Epic"));
+		assertThrows(IllegalArgumentException.class, () -> filters.getValues("unknown"));
+		assertThrows(IllegalArgumentException.class, () -> filters.getValues("notificationEnabler"));
+	}
+}
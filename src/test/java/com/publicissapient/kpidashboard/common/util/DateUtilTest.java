@@ -264,4 +264,18 @@ public class DateUtilTest {
 		String actualFormattedDate = DateUtil.getFormattedDate(dateTime);
 		assertEquals(expectedFormattedDate, actualFormattedDate);
 	}
+
+	@Test
+	public void testParseToEpochMillis() {
+		long expected = 1672574400000L; // 2023-01-01T12:00:00Z
+		assertEquals(expected, DateUtil.parseToEpochMillis("2023-01-01T12:00:00Z"));
+		assertEquals(expected, DateUtil.parseToEpochMillis("2023-01-01T12:00:00.000Z"));
+		assertEquals(expected, DateUtil.parseToEpochMillis("2023-01-01T13:00:00+01:00"));
+		assertEquals(expected, DateUtil.parseToEpochMillis("2023-01-01T12:00:00.0000000"));
+		assertEquals(expected, DateUtil.parseToEpochMillis("2023-01-01 12:00"));
+		assertEquals(1672531200000L, DateUtil.parseToEpochMillis("2023-01-01"));
+		assertNull(DateUtil.parseToEpochMillis(""));
+		assertNull(DateUtil.parseToEpochMillis("not a date"));
+	}
 }
+
@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+
+package com.publicissapient.kpidashboard.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import com.publicissapient.kpidashboard.common.model.application.ConfigurationHistoryChangeLog;
+import com.publicissapient.kpidashboard.common.model.application.FieldMapping;
+import com.publicissapient.kpidashboard.common.model.application.FieldMappingHistory;
+
+public class FieldAccessorTableTest {
+
+	@Test
+	public void testCoversDeclaredFields() {
+		FieldAccessorTable<FieldMapping> accessors = FieldAccessorTable.of(FieldMapping.class);
+
+		List<String> declared = Arrays.stream(FieldMapping.class.getDeclaredFields()).filter(f -> !f.isSynthetic())
+				.map(Field::getName).toList();
+		assertEquals(declared, List.copyOf(accessors.getFieldNames()));
+		assertTrue(accessors.contains("jiradefecttype"));
+		assertFalse(accessors.contains("historyjiradefecttype"));
+		assertFalse(accessors.contains("id"));
+	}
+
+	@Test
+	public void testMatchesReflection() throws Exception {
+		FieldMapping fieldMapping = new FieldMapping();
+		fieldMapping.setBasicProjectConfigId(new ObjectId());
+		fieldMapping.setJiradefecttype(List.of("Bug"));
+		fieldMapping.setJiraIssueTypeNames(new String[]{"Story"});
+		FieldAccessorTable<FieldMapping> accessors = FieldAccessorTable.of(FieldMapping.class);
+
+		for (Field field : FieldMapping.class.getDeclaredFields()) {
+			if (!field.isSynthetic()) {
+				field.setAccessible(true);
+				assertEquals(field.getType(), accessors.getFieldType(field.getName()));
+				assertSame(field.get(fieldMapping), accessors.get(fieldMapping, field.getName()));
+			}
+		}
+	}
+
+	@Test
+	public void testSet() throws Exception {
+		FieldMapping fieldMapping = new FieldMapping();
+		FieldAccessorTable<FieldMapping> accessors = FieldAccessorTable.of(FieldMapping.class);
+
+		accessors.set(fieldMapping, "jiradefecttype", List.of("Defect"));
+		accessors.set(fieldMapping, "notificationEnabler", false);
+
+		assertEquals(List.of("Defect"), fieldMapping.getJiradefecttype());
+		assertFalse(fieldMapping.getNotificationEnabler());
+		assertThrows(ClassCastException.class, () -> accessors.set(fieldMapping, "jiradefecttype", "Defect"));
+		assertThrows(IllegalAccessException.class, () -> accessors.set(fieldMapping, "READY_FOR_TESTING", "x"));
+		assertThrows(NoSuchFieldException.class, () -> accessors.set(fieldMapping, "unknown", "x"));
+	}
+
+	@Test
+	public void testSuperclassTable() throws Exception {
+		FieldMapping fieldMapping = new FieldMapping();
+		ConfigurationHistoryChangeLog changeLog = new ConfigurationHistoryChangeLog();
+		fieldMapping.setHistoryjiradefecttype(List.of(changeLog));
+		FieldAccessorTable<FieldMappingHistory> accessors = FieldAccessorTable.of(FieldMappingHistory.class);
+
+		assertEquals(List.of(changeLog), accessors.get(fieldMapping, "historyjiradefecttype"));
+		assertNull(accessors.get(fieldMapping, "historyepicName"));
+		assertThrows(NoSuchFieldException.class, () -> accessors.get(fieldMapping, "jiradefecttype"));
+	}
+
+	@Test
+	public void testFieldMappingHelperUsesAccessors() throws Exception {
+		FieldMapping db = new FieldMapping();
+		FieldMapping source = new FieldMapping();
+		source.setJiradefecttype(List.of("Bug"));
+		source.setSprintName("customfield_1");
+		db.setSprintName("customfield_2");
+
+		FieldMappingHelper.mergeIntoTarget(db, source);
+		FieldMappingHelper.setFieldValue(db, "jiraIssueTypeNames", List.of("Story", "Bug"));
+
+		assertEquals(List.of("Bug"), FieldMappingHelper.getFieldMappingField(db, FieldMapping.class, "jiradefecttype"));
+		assertEquals("customfield_2", db.getSprintName());
+		assertEquals(List.of("Story", "Bug"), Arrays.asList(db.getJiraIssueTypeNames()));
+		assertNull(FieldMappingHelper.getAccessibleFieldHistory(db, "jiradefecttype"));
+		assertThrows(NoSuchFieldException.class,
+				() -> FieldMappingHelper.getFieldMappingField(db, FieldMapping.class, "unknown"));
+	}
+}
@@ -21,6 +21,7 @@ package com.publicissapient.kpidashboard.common.util;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
@@ -69,4 +70,20 @@ public class GitBranchSpecTest {
 		assertTrue(branchSpec.matches("refs/heads/feature/2022-01-01"));
 		assertFalse(branchSpec.matches("refs/heads/feature/feature-branch"));
 	}
+
+	@Test
+	public void testPatternIsCompiledOnce() {
+		GitBranchSpec branchSpec = new GitBranchSpec("feature/*");
+		assertSame(branchSpec.getPattern(), branchSpec.getPattern());
+	}
+
+	@Test
+	public void testLiteralPrefix() {
+		assertEquals("feature/", new GitBranchSpec("feature/*").getLiteralPrefix());
+		assertEquals("master", new GitBranchSpec("master").getLiteralPrefix());
+		assertEquals("", new GitBranchSpec("").getLiteralPrefix());
+		assertTrue(new GitBranchSpec(":refs/heads/.*").isRegex());
+		assertFalse(new GitBranchSpec("master").isRegex());
+	}
 }
+
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.publicissapient.kpidashboard.common.model.application.OrganizationHierarchy;
+import com.publicissapient.kpidashboard.common.model.application.ProjectHierarchy;
+
+public class HierarchyTreeTest {
+
+	private static OrganizationHierarchy org(String nodeId, String parentId, String level) {
+		return OrganizationHierarchy.builder().nodeId(nodeId).parentId(parentId).hierarchyLevelId(level).build();
+	}
+
+	private static ProjectHierarchy projectNode(String nodeId, String parentId, String level) {
+		ProjectHierarchy hierarchy = new ProjectHierarchy();
+		hierarchy.setNodeId(nodeId);
+		hierarchy.setParentId(parentId);
+		hierarchy.setHierarchyLevelId(level);
+		return hierarchy;
+	}
+
+	private static List<String> ids(List<OrganizationHierarchy> nodes) {
+		return nodes.stream().map(OrganizationHierarchy::getNodeId).toList();
+	}
+
+	private static HierarchyTree sampleTree() {
+		return HierarchyTree.of(List.of(org("bu", null, "bu"), org("acc1", "bu", "account"),
+				org("acc2", "bu", "account"), org("port1", "acc1", "port"), projectNode("proj1", "port1", "project"),
+				projectNode("sprint1", "proj1", "sprint"), projectNode("sprint2", "proj1", "sprint"),
+				projectNode("release1", "proj1", "release"), org("orphan", "missing", "account")));
+	}
+
+	@Test
+	public void testAncestorChecks() {
+		HierarchyTree tree = sampleTree();
+		assertEquals(9, tree.size());
+		assertTrue(tree.isAncestor("bu", "sprint2"));
+		assertTrue(tree.isAncestor("proj1", "release1"));
+		assertFalse(tree.isAncestor("acc2", "sprint1"));
+		assertFalse(tree.isAncestor("sprint1", "sprint1"));
+		assertFalse(tree.isAncestor("sprint1", "proj1"));
+		assertFalse(tree.isAncestor("unknown", "proj1"));
+		assertEquals(List.of("bu", "orphan"), ids(tree.getRoots()));
+	}
+
+	@Test
+	public void testSubtreeNavigation() {
+		HierarchyTree tree = sampleTree();
+		assertEquals(List.of("acc1", "port1", "proj1", "sprint1", "sprint2", "release1"), ids(tree.getSubtree("acc1")));
+		assertEquals(List.of("sprint1", "sprint2"), ids(tree.getDescendants("bu", "SPRINT")));
+		assertEquals(List.of("acc1", "acc2"), ids(tree.getChildren("bu")));
+		assertEquals(List.of("sprint1", "sprint2", "release1"), ids(tree.getChildren("proj1")));
+		assertEquals(List.of("bu", "acc1", "port1", "proj1"), ids(tree.getAncestors("sprint1")));
+		assertEquals("port1", tree.getParent("proj1").getNodeId());
+		assertNull(tree.getParent("bu"));
+		assertEquals(4, tree.getDepth("release1"));
+		assertTrue(tree.getDescendants("sprint1").isEmpty());
+		assertTrue(tree.getSubtree("unknown").isEmpty());
+	}
+
+	@Test
+	public void testCyclesAndDuplicatesAreSkipped() {
+		HierarchyTree tree = HierarchyTree.of(List.of(org("root", null, "bu"), org("root", "x", "bu"),
+				org("a", "b", "account"), org("b", "a", "account")));
+		assertEquals(1, tree.size());
+		assertFalse(tree.contains("a"));
+		assertNull(tree.get("b"));
+		assertEquals(0, HierarchyTree.of(List.of()).size());
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2024 <Sapient Corporation>
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and limitations under the
+ *  License.
+ */
+
+package com.publicissapient.kpidashboard.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntervalTreeTest {
+
+	private record Interval(Integer start, Integer end) {
+	}
+
+	private static IntervalTree<Integer, Interval> tree(List<Interval> intervals) {
+		return IntervalTree.of(intervals, Interval::start, Interval::end);
+	}
+
+	@Test
+	public void testFindOverlapping() {
+		Interval jan = new Interval(1, 31);
+		Interval week = new Interval(8, 14);
+		Interval feb = new Interval(32, 59);
+		IntervalTree<Integer, Interval> tree = tree(Arrays.asList(feb, jan, week, new Interval(null, 5), null));
+
+		assertEquals(3, tree.size());
+		assertEquals(List.of(jan, week), tree.findOverlapping(10, 20));
+		assertEquals(List.of(jan, feb), tree.findOverlapping(31, 32));
+		assertEquals(List.of(jan), tree.findContaining(1));
+		assertTrue(tree.findOverlapping(60, 90).isEmpty());
+		assertTrue(tree(List.of()).findOverlapping(0, 10).isEmpty());
+	}
+
+	@Test
+	public void testMatchesLinearScan() {
+		Random random = new Random(42);
+		List<Interval> intervals = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			int start = random.nextInt(1000);
+			intervals.add(new Interval(start, start + random.nextInt(60)));
+		}
+		IntervalTree<Integer, Interval> tree = tree(intervals);
+		for (int i = 0; i < 200; i++) {
+			int from = random.nextInt(1100);
+			int to = from + random.nextInt(30);
+			List<Interval> expected = intervals.stream().filter(in -> in.start() <= to && in.end() >= from)
+					.sorted(Comparator.comparing(Interval::start)).toList();
+			List<Interval> actual = tree.findOverlapping(from, to);
+			assertEquals(expected.size(), actual.size());
+			assertTrue(actual.containsAll(expected));
+		}
+	}
+}